@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import kh.farrukh.progee_api.framework.Framework;
 import kh.farrukh.progee_api.global.base_entity.EntityWithId;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.security.utils.SecurityUtils;
 import kh.farrukh.progee_api.image.Image;
 import kh.farrukh.progee_api.image.ImageRepository;
 import kh.farrukh.progee_api.language.Language;
@@ -12,7 +13,6 @@ import kh.farrukh.progee_api.role.Role;
 import kh.farrukh.progee_api.role.RoleRepository;
 import lombok.*;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import javax.persistence.*;
@@ -173,11 +173,7 @@ public class AppUser extends EntityWithId implements UserDetails {
     @JsonIgnore
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return role
-                .getPermissions()
-                .stream()
-                .map(permission -> new SimpleGrantedAuthority(permission.name()))
-                .toList();
+        return SecurityUtils.toAuthorities(role.getPermissions());
     }
 
     @JsonIgnore
@@ -1,5 +1,10 @@
 package kh.farrukh.progee_api.app_user;
 
+import java.util.List;
+
+import static kh.farrukh.progee_api.image.ImageConstants.TABLE_NAME_IMAGE;
+import static kh.farrukh.progee_api.role.RoleConstants.TABLE_NAME_ROLE;
+
 /**
  * It contains constants that are used in the AppUser package
  */
@@ -8,5 +13,7 @@ public class AppUserConstants {
     public static final String ENDPOINT_USER = "/api/v1/users";
     public static final String TABLE_NAME_USER = "app_user";
     public static final String SEQUENCE_NAME_USER_ID = "app_user_id_sequence";
+    // Tables that the responses of users are read from (for the ETags of the lists)
+    public static final List<String> TABLES_OF_USER_RESPONSE = List.of(TABLE_NAME_USER, TABLE_NAME_ROLE, TABLE_NAME_IMAGE);
 
 }
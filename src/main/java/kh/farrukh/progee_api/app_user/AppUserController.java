@@ -1,10 +1,12 @@
 package kh.farrukh.progee_api.app_user;
 
 import kh.farrukh.progee_api.app_user.payloads.*;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -27,6 +29,9 @@ public class AppUserController {
      * @param pageSize The number of items to be returned in a page.
      * @param sortBy   The field to sort by.
      * @param orderBy  asc or desc
+     * @param cursor   true to use cursor pagination: page is ignored and sort_by can be only id.
+     * @param after    The next_cursor of the previous page. Cursor pagination is used if it is set.
+     * @param request  The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A ResponseEntity with a PagingResponse of AppUserResponseDTO objects.
      */
     @GetMapping
@@ -34,20 +39,33 @@ public class AppUserController {
             @RequestParam(name = "page", defaultValue = "1") int page,
             @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
             @RequestParam(name = "sort_by", defaultValue = "id") String sortBy,
-            @RequestParam(name = "order_by", defaultValue = "asc") String orderBy
+            @RequestParam(name = "order_by", defaultValue = "asc") String orderBy,
+            @RequestParam(name = "cursor", defaultValue = "false") boolean cursor,
+            @RequestParam(name = "after", required = false) String after,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(appUserService.getUsers(page, pageSize, sortBy, orderBy));
+        return ETagUtils.toConditionalResponse(request, appUserService.getUsersETag(), () -> {
+            if (cursor || after != null) {
+                return appUserService.getUsersByCursor(pageSize, sortBy, orderBy, after);
+            }
+            return appUserService.getUsers(page, pageSize, sortBy, orderBy);
+        });
     }
 
     /**
      * It returns a user by id.
      *
-     * @param id The id of the user you want to get.
+     * @param id      The id of the user you want to get.
+     * @param request The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A ResponseEntity with found AppUserResponseDTO.
      */
     @GetMapping("{id}")
-    public ResponseEntity<AppUserResponseDTO> getUserById(@PathVariable long id) {
-        return ResponseEntity.ok(appUserService.getUserById(id));
+    public ResponseEntity<AppUserResponseDTO> getUserById(@PathVariable long id, WebRequest request) {
+        return ETagUtils.toConditionalResponse(
+                request,
+                appUserService.getUserETag(id),
+                () -> appUserService.getUserById(id)
+        );
     }
 
     /**
@@ -7,6 +7,7 @@ import kh.farrukh.progee_api.role.RoleMappers;
 import kh.farrukh.progee_api.role.RoleRepository;
 import kh.farrukh.progee_api.app_user.payloads.AppUserRequestDTO;
 import kh.farrukh.progee_api.app_user.payloads.AppUserResponseDTO;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
 import org.springframework.beans.BeanUtils;
 
 /**
@@ -23,6 +24,16 @@ public class AppUserMappers {
         return appUserResponseDTO;
     }
 
+    // Versions of the user and of the entities that the response of the user contains
+    public static String toVersionTag(AppUser appUser) {
+        if (appUser == null) return ETagUtils.toVersionTag(null);
+        return String.join(",",
+                ETagUtils.toVersionTag(appUser),
+                ETagUtils.toVersionTag(appUser.getRole()),
+                ETagUtils.toVersionTag(appUser.getImage())
+        );
+    }
+
     public static AppUser toAppUser(AppUserResponseDTO appUserResponseDTO) {
         if (appUserResponseDTO == null) return null;
         AppUser appUser = new AppUser();
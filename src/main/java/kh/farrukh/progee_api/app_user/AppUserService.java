@@ -21,8 +21,19 @@ public interface AppUserService extends UserDetailsService {
             String orderBy
     );
 
+    PagingResponse<AppUserResponseDTO> getUsersByCursor(
+            int pageSize,
+            String sortBy,
+            String orderBy,
+            String after
+    );
+
     AppUserResponseDTO getUserById(Long id);
 
+    String getUserETag(long id);
+
+    String getUsersETag();
+
     AppUserResponseDTO getUserByEmail(String email);
 
     AppUserResponseDTO addUser(AppUserRequestDTO appUserRequestDto);
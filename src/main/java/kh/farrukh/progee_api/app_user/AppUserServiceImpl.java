@@ -1,9 +1,13 @@
 package kh.farrukh.progee_api.app_user;
 
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DuplicateResourceException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.NotEnoughPermissionException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPaginator;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.global.utils.paging_sorting.SortUtils;
 import kh.farrukh.progee_api.global.utils.user.CurrentUserUtils;
@@ -20,6 +24,9 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+import static kh.farrukh.progee_api.app_user.AppUserConstants.TABLES_OF_USER_RESPONSE;
 import static kh.farrukh.progee_api.global.utils.checkers.Checkers.*;
 
 /**
@@ -34,6 +41,9 @@ public class AppUserServiceImpl implements AppUserService {
     private final PasswordEncoder passwordEncoder;
     private final ImageRepository imageRepository;
     private final RoleRepository roleRepository;
+    private final CursorPaginator cursorPaginator;
+    private final CatalogCache catalogCache;
+    private final ChangeTracker changeTracker;
 
     /**
      * If the user exists in the database, return the user, otherwise throw an exception.
@@ -70,6 +80,30 @@ public class AppUserServiceImpl implements AppUserService {
         ).map(AppUserMappers::toAppUserResponseDTO));
     }
 
+    /**
+     * "Get users after the given cursor (keyset pagination), sorted by id in the given order." Unlike getUsers, it does
+     * not skip the rows of the previous pages and does not count all users.
+     *
+     * @param pageSize The number of items to return per page.
+     * @param sortBy   The field to sort by.
+     * @param orderBy  The direction of the sort. Can be either "asc" or "desc".
+     * @param after    The cursor of the previous page, or null to get the first page.
+     * @return A PagingResponse object with the cursor of the next page.
+     */
+    @Override
+    public PagingResponse<AppUserResponseDTO> getUsersByCursor(
+            int pageSize,
+            String sortBy,
+            String orderBy,
+            String after
+    ) {
+        Sort.Order order = new Sort.Order(SortUtils.parseDirection(orderBy), sortBy);
+        checkSortParams(Sort.by(order), List.of("id"));
+        return new PagingResponse<>(cursorPaginator.findAll(
+                AppUser.class, null, order, after, pageSize, null
+        ).map(AppUserMappers::toAppUserResponseDTO));
+    }
+
     /**
      * If the user exists, return the user, otherwise throw an exception.
      *
@@ -83,6 +117,32 @@ public class AppUserServiceImpl implements AppUserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
     }
 
+    /**
+     * This function returns the ETag of the user with the given id. The user is not mapped to the response,
+     * so a not modified user is returned without creating the response. (With open session in view,
+     * getUserById reads the same user from the persistence context without a query.)
+     *
+     * @param id The id of the user
+     * @return The strong ETag of the user
+     */
+    @Override
+    public String getUserETag(long id) {
+        return appUserRepository.findById(id)
+                .map(appUser -> ETagUtils.toStrongETag(AppUserMappers.toVersionTag(appUser)))
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
+    }
+
+    /**
+     * This function returns the weak ETag of the lists of users. It changes after any change of the tables
+     * that the lists are read from.
+     *
+     * @return The weak ETag of the lists
+     */
+    @Override
+    public String getUsersETag() {
+        return changeTracker.getWeakETag(TABLES_OF_USER_RESPONSE);
+    }
+
     /**
      * If the user exists, return the user, otherwise throw an exception.
      *
@@ -147,7 +207,9 @@ public class AppUserServiceImpl implements AppUserService {
             user.setImage(imageRepository.findById(appUserRequestDto.getImageId())
                     .orElseThrow(() -> new ResourceNotFoundException("Image", "id", appUserRequestDto.getImageId())));
 
-            return AppUserMappers.toAppUserResponseDTO(appUserRepository.save(user));
+            AppUserResponseDTO updatedUser = AppUserMappers.toAppUserResponseDTO(appUserRepository.save(user));
+            catalogCache.invalidateUser(id);
+            return updatedUser;
         } else {
             throw new NotEnoughPermissionException();
         }
@@ -162,6 +224,7 @@ public class AppUserServiceImpl implements AppUserService {
     public void deleteUser(long id) {
         checkUserId(appUserRepository, id);
         appUserRepository.deleteById(id);
+        catalogCache.invalidateUser(id);
     }
 
     /**
@@ -179,7 +242,9 @@ public class AppUserServiceImpl implements AppUserService {
         Role role = roleRepository.findById(roleDto.getRoleId())
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", roleDto.getRoleId()));
         user.setRole(role);
-        return AppUserMappers.toAppUserResponseDTO(appUserRepository.save(user));
+        AppUserResponseDTO updatedUser = AppUserMappers.toAppUserResponseDTO(appUserRepository.save(user));
+        catalogCache.invalidateUser(id);
+        return updatedUser;
     }
 
     /**
@@ -204,7 +269,9 @@ public class AppUserServiceImpl implements AppUserService {
             user.setImage(imageRepository.findById(imageDto.getImageId())
                     .orElseThrow(() -> new ResourceNotFoundException("Image", "id", imageDto.getImageId())));
 
-            return AppUserMappers.toAppUserResponseDTO(appUserRepository.save(user));
+            AppUserResponseDTO updatedUser = AppUserMappers.toAppUserResponseDTO(appUserRepository.save(user));
+            catalogCache.invalidateUser(id);
+            return updatedUser;
         } else {
             throw new NotEnoughPermissionException();
         }
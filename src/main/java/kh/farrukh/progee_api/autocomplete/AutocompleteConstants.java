@@ -0,0 +1,13 @@
+package kh.farrukh.progee_api.autocomplete;
+
+/**
+ * It contains constants that are used in the Autocomplete package
+ */
+public class AutocompleteConstants {
+
+    public static final String ENDPOINT_AUTOCOMPLETE = "/api/v1/autocomplete";
+
+    public static final int DEFAULT_AUTOCOMPLETE_LIMIT = 10;
+    public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+
+}
@@ -0,0 +1,40 @@
+package kh.farrukh.progee_api.autocomplete;
+
+import kh.farrukh.progee_api.autocomplete.payloads.AutocompleteItemDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.autocomplete.AutocompleteConstants.DEFAULT_AUTOCOMPLETE_LIMIT;
+import static kh.farrukh.progee_api.autocomplete.AutocompleteConstants.ENDPOINT_AUTOCOMPLETE;
+
+/**
+ * Controller that exposes the endpoint to suggest languages and frameworks while the user types their name
+ */
+@RestController
+@RequestMapping(ENDPOINT_AUTOCOMPLETE)
+@RequiredArgsConstructor
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * It returns the approved languages and frameworks whose names start with the query.
+     *
+     * @param query The prefix of the name (ignoring the case).
+     * @param limit The maximum number of the suggestions.
+     * @return A ResponseEntity containing the list of the suggestions and HttpStatus.
+     */
+    @GetMapping
+    public ResponseEntity<List<AutocompleteItemDTO>> autocomplete(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(name = "limit", defaultValue = "" + DEFAULT_AUTOCOMPLETE_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(autocompleteService.autocomplete(query, limit));
+    }
+}
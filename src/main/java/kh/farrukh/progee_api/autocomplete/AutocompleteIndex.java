@@ -0,0 +1,236 @@
+package kh.farrukh.progee_api.autocomplete;
+
+import kh.farrukh.progee_api.autocomplete.payloads.AutocompleteItemDTO;
+import kh.farrukh.progee_api.framework.Framework;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.language.Language;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * It keeps the names of the approved languages and frameworks in memory to suggest them by a prefix. Names are
+ * kept in a sorted array: a lookup is a binary search for the first name with the prefix and a scan of the next
+ * names, so it does not query the database and allocates only the list of the suggestions.
+ * <p>
+ * The index is loaded when the application is ready and is updated by the services after they commit the changes
+ * of the languages and the frameworks. Changes are applied to a copy of the arrays that replaces them at once,
+ * so lookups are never blocked (changes are rare compared to lookups). Changes that are written with SQL in bulk
+ * reload the whole index.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AutocompleteIndex {
+
+    private static final String JPQL_SELECT_LANGUAGES = """
+            SELECT language.id, language.name, image.url
+            FROM Language language
+                     LEFT JOIN language.image image
+            WHERE language.state = :state
+            """;
+
+    private static final String JPQL_SELECT_FRAMEWORKS = """
+            SELECT framework.id, framework.name, image.url, language.id
+            FROM Framework framework
+                     LEFT JOIN framework.image image
+                     LEFT JOIN framework.language language
+            WHERE framework.state = :state
+            """;
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator
+            .comparing((Entry entry) -> entry.key)
+            .thenComparing(entry -> entry.item.getType())
+            .thenComparingLong(entry -> entry.item.getId());
+
+    private final EntityManager entityManager;
+
+    // Keys (lower-case names) and items are in the same order, keys are separate for a compact binary search
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new AutocompleteItemDTO[0]);
+
+    /**
+     * This function finds the items whose names start with the prefix (ignoring the case).
+     *
+     * @param prefix The prefix of the name.
+     * @param limit  The maximum number of the items.
+     * @return The items sorted by the name, or an empty list if the prefix is blank.
+     */
+    public List<AutocompleteItemDTO> findByPrefix(String prefix, int limit) {
+        String key = toKey(prefix);
+        if (key.isEmpty()) return List.of();
+
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.keys, key);
+        // The prefix itself is the first key with the prefix if it is found, otherwise it is the insertion point
+        if (index < 0) index = -index - 1;
+        while (index > 0 && current.keys[index - 1].equals(key)) index--;
+
+        List<AutocompleteItemDTO> items = new ArrayList<>(Math.min(limit, current.keys.length - index));
+        for (int i = index; i < current.keys.length && items.size() < limit && current.keys[i].startsWith(key); i++) {
+            items.add(current.items[i]);
+        }
+        return items;
+    }
+
+    /**
+     * This function reloads the index from the database. Changes that are committed while it is reloaded are
+     * applied after it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Entry> entries = new ArrayList<>();
+        entityManager.createQuery(JPQL_SELECT_LANGUAGES, Object[].class)
+                .setParameter("state", ResourceState.APPROVED)
+                .getResultList()
+                .forEach(row -> entries.add(new Entry(new AutocompleteItemDTO(
+                        AutocompleteType.LANGUAGE, (Long) row[0], (String) row[1], (String) row[2], null
+                ))));
+        entityManager.createQuery(JPQL_SELECT_FRAMEWORKS, Object[].class)
+                .setParameter("state", ResourceState.APPROVED)
+                .getResultList()
+                .forEach(row -> entries.add(new Entry(new AutocompleteItemDTO(
+                        AutocompleteType.FRAMEWORK, (Long) row[0], (String) row[1], (String) row[2], (Long) row[3]
+                ))));
+        replace(entries);
+        log.info("Autocomplete index is loaded with {} names", entries.size());
+    }
+
+    /**
+     * This function reloads the index after the current transaction is committed (or at once without it).
+     * It is used after the languages or the frameworks are changed with SQL in bulk.
+     */
+    public void rebuildAfterCommit() {
+        afterCommit(this::rebuild);
+    }
+
+    /**
+     * This function adds or replaces the language in the index if it is approved, otherwise removes it.
+     *
+     * @param language The created or updated language.
+     */
+    public void putLanguage(Language language) {
+        AutocompleteItemDTO item = new AutocompleteItemDTO(
+                AutocompleteType.LANGUAGE,
+                language.getId(),
+                language.getName(),
+                language.getImage() != null ? language.getImage().getUrl() : null,
+                null
+        );
+        boolean approved = language.getState() == ResourceState.APPROVED;
+        afterCommit(() -> update(isItem(AutocompleteType.LANGUAGE, item.getId()), approved ? item : null));
+    }
+
+    /**
+     * This function removes the language and its frameworks (they are deleted with it) from the index.
+     *
+     * @param id The id of the deleted language.
+     */
+    public void removeLanguage(long id) {
+        afterCommit(() -> update(
+                isItem(AutocompleteType.LANGUAGE, id).or(item -> Objects.equals(item.getLanguageId(), id)),
+                null
+        ));
+    }
+
+    /**
+     * This function adds or replaces the framework in the index if it is approved, otherwise removes it.
+     *
+     * @param framework The created or updated framework.
+     */
+    public void putFramework(Framework framework) {
+        AutocompleteItemDTO item = new AutocompleteItemDTO(
+                AutocompleteType.FRAMEWORK,
+                framework.getId(),
+                framework.getName(),
+                framework.getImage() != null ? framework.getImage().getUrl() : null,
+                framework.getLanguage() != null ? framework.getLanguage().getId() : null
+        );
+        boolean approved = framework.getState() == ResourceState.APPROVED;
+        afterCommit(() -> update(isItem(AutocompleteType.FRAMEWORK, item.getId()), approved ? item : null));
+    }
+
+    /**
+     * This function removes the framework from the index.
+     *
+     * @param id The id of the deleted framework.
+     */
+    public void removeFramework(long id) {
+        afterCommit(() -> update(isItem(AutocompleteType.FRAMEWORK, id), null));
+    }
+
+    /**
+     * This function replaces the items that match the filter with the new item (or removes them if it is null).
+     */
+    private synchronized void update(Predicate<AutocompleteItemDTO> filter, AutocompleteItemDTO newItem) {
+        Snapshot current = snapshot;
+        List<Entry> entries = new ArrayList<>(current.items.length + 1);
+        for (int i = 0; i < current.items.length; i++) {
+            if (!filter.test(current.items[i])) entries.add(new Entry(current.keys[i], current.items[i]));
+        }
+        if (newItem != null) entries.add(new Entry(newItem));
+        replace(entries);
+    }
+
+    private void replace(List<Entry> entries) {
+        entries.sort(ENTRY_ORDER);
+        String[] keys = new String[entries.size()];
+        AutocompleteItemDTO[] items = new AutocompleteItemDTO[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key;
+            items[i] = entries.get(i).item;
+        }
+        snapshot = new Snapshot(keys, items);
+    }
+
+    /**
+     * This function runs the change after the current transaction is committed (and not at all if it is rolled
+     * back), so the index does not have the changes that are not visible in the database.
+     */
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static Predicate<AutocompleteItemDTO> isItem(AutocompleteType type, long id) {
+        return item -> item.getType() == type && item.getId() == id;
+    }
+
+    private static String toKey(String name) {
+        return name == null ? "" : name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    @AllArgsConstructor
+    private static class Snapshot {
+
+        private final String[] keys;
+        private final AutocompleteItemDTO[] items;
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+
+        private final String key;
+        private final AutocompleteItemDTO item;
+
+        private Entry(AutocompleteItemDTO item) {
+            this(toKey(item.getName()), item);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package kh.farrukh.progee_api.autocomplete;
+
+import kh.farrukh.progee_api.autocomplete.payloads.AutocompleteItemDTO;
+
+import java.util.List;
+
+/**
+ * A service interface to suggest languages and frameworks by the prefix of their names
+ */
+public interface AutocompleteService {
+
+    List<AutocompleteItemDTO> autocomplete(String query, int limit);
+}
@@ -0,0 +1,35 @@
+package kh.farrukh.progee_api.autocomplete;
+
+import kh.farrukh.progee_api.autocomplete.payloads.AutocompleteItemDTO;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.autocomplete.AutocompleteConstants.MAX_AUTOCOMPLETE_LIMIT;
+
+/**
+ * It implements the AutocompleteService interface. Suggestions are read from AutocompleteIndex, so the database
+ * is not queried on every keystroke
+ */
+@Service
+@RequiredArgsConstructor
+public class AutocompleteServiceImpl implements AutocompleteService {
+
+    private final AutocompleteIndex autocompleteIndex;
+
+    /**
+     * This function returns the approved languages and frameworks whose names start with the query (ignoring
+     * the case), sorted by the name.
+     *
+     * @param query The prefix of the name.
+     * @param limit The maximum number of the suggestions.
+     * @return A list of the suggestions (empty if the query is blank).
+     */
+    @Override
+    public List<AutocompleteItemDTO> autocomplete(String query, int limit) {
+        if (limit < 1 || limit > MAX_AUTOCOMPLETE_LIMIT) throw new BadRequestException("Limit");
+        return autocompleteIndex.findByPrefix(query, limit);
+    }
+}
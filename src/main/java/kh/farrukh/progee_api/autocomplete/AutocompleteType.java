@@ -0,0 +1,9 @@
+package kh.farrukh.progee_api.autocomplete;
+
+/**
+ * Enum class for the types of the resources that are suggested by the autocomplete
+ */
+public enum AutocompleteType {
+    LANGUAGE,
+    FRAMEWORK
+}
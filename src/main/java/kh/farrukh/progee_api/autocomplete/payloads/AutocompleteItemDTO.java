@@ -0,0 +1,33 @@
+package kh.farrukh.progee_api.autocomplete.payloads;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import kh.farrukh.progee_api.autocomplete.AutocompleteType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * It's a DTO that represents a suggestion of the autocomplete (an approved language or framework)
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AutocompleteItemDTO {
+
+    private AutocompleteType type;
+
+    private long id;
+
+    private String name;
+
+    @JsonProperty("image_url")
+    private String imageUrl;
+
+    // It is null (and omitted) for languages
+    @JsonProperty("language_id")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long languageId;
+}
@@ -0,0 +1,26 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * It writes the rows with a batch of INSERT statements. It is the portable fallback of PostgresCopyImportWriter
+ * for other databases (for example, H2 database in tests).
+ */
+class BatchInsertImportWriter implements ImportWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    BatchInsertImportWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void write(ImportResource resource, List<Object[]> records) {
+        String sql = "INSERT INTO " + resource.getTableName() + " (" + String.join(", ", resource.getColumns()) +
+                ") VALUES (" + String.join(", ", Collections.nCopies(resource.getColumns().size(), "?")) + ")";
+        jdbcTemplate.batchUpdate(sql, records);
+    }
+}
@@ -0,0 +1,26 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * It's a configuration class that reads the values of the bulk import from the application.yml file.
+ * `file` and `resource` are set only to run the import from the command line (BulkImportRunner).
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("bulk-import")
+public class BulkImportConfiguration {
+
+    // Number of rows that are validated and written together (in one transaction)
+    private int chunkSize = 1000;
+    // Maximum number of row errors in the report, other errors are only counted
+    private int maxReportedErrors = 100;
+
+    private String file;
+    private String resource;
+    private String format;
+}
@@ -0,0 +1,12 @@
+package kh.farrukh.progee_api.bulk_import;
+
+/**
+ * It contains constants that are used in the BulkImport package
+ */
+public class BulkImportConstants {
+
+    public static final String ENDPOINT_IMPORT = "/api/v1/import";
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    public static final String MEDIA_TYPE_CSV = "text/csv";
+
+}
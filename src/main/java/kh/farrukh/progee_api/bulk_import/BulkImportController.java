@@ -0,0 +1,46 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.bulk_import.payloads.ImportReportResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+import static kh.farrukh.progee_api.bulk_import.BulkImportConstants.*;
+
+/**
+ * Controller that exposes the endpoint to import resources in bulk
+ */
+@RestController
+@RequestMapping(ENDPOINT_IMPORT)
+@RequiredArgsConstructor
+public class BulkImportController {
+
+    private final BulkImportService bulkImportService;
+
+    /**
+     * It imports the rows of the request body (NDJSON or CSV, by the content type) to the resource. The body is
+     * streamed, so files of any size can be imported. Invalid rows do not fail the request, they are reported
+     * with their numbers.
+     *
+     * @param resource    The path of the resource to import (languages, frameworks, reviews or review-votes).
+     * @param contentType The content type of the body.
+     * @param request     The request to read the body from.
+     * @return A ResponseEntity containing ImportReportResponseDTO object and HttpStatus.
+     */
+    @PostMapping(value = "{resource}", consumes = {MEDIA_TYPE_NDJSON, MEDIA_TYPE_CSV})
+    public ResponseEntity<ImportReportResponseDTO> importRows(
+            @PathVariable String resource,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            HttpServletRequest request
+    ) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importRows(
+                ImportResource.fromPath(resource),
+                ImportFormat.fromContentType(contentType),
+                request.getInputStream()
+        ));
+    }
+}
@@ -0,0 +1,55 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.bulk_import.payloads.ImportReportResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * It imports a file from the command line and stops the application, for example:
+ * {@code java -jar progee-api.jar --bulk-import.file=languages.ndjson --bulk-import.resource=languages}
+ * <p>
+ * The format is resolved by `bulk-import.format` or by the extension of the file (ndjson or csv).
+ * The exit code is 1 if any row was not imported.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "bulk-import", name = "file")
+public class BulkImportRunner implements ApplicationRunner {
+
+    private final BulkImportService bulkImportService;
+    private final BulkImportConfiguration configuration;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ImportResource resource = ImportResource.fromPath(configuration.getResource());
+        ImportFormat format = ImportFormat.fromName(configuration.getFormat(), configuration.getFile());
+
+        ImportReportResponseDTO report;
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(Path.of(configuration.getFile())))) {
+            report = bulkImportService.importRows(resource, format, inputStream);
+        }
+
+        log.info("Imported {} of {} {} from {}", report.getImportedRows(), report.getTotalRows(),
+                report.getResource(), configuration.getFile());
+        report.getErrors().forEach(error -> log.warn("Row {}: {}", error.getRow(), error.getMessage()));
+        if (report.isErrorsTruncated()) {
+            log.warn("{} more rows failed", report.getFailedRows() - report.getErrors().size());
+        }
+
+        int exitCode = report.getFailedRows() > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+}
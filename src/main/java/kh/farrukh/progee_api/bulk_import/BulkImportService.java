@@ -0,0 +1,13 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.bulk_import.payloads.ImportReportResponseDTO;
+
+import java.io.InputStream;
+
+/**
+ * This interface is used to import resources in bulk from files
+ */
+public interface BulkImportService {
+
+    ImportReportResponseDTO importRows(ImportResource resource, ImportFormat format, InputStream inputStream);
+}
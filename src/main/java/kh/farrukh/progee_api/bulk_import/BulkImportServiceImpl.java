@@ -0,0 +1,203 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.autocomplete.AutocompleteIndex;
+import kh.farrukh.progee_api.bulk_import.payloads.ImportReportResponseDTO;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
+import kh.farrukh.progee_api.global.utils.database.DatabaseVendor;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.review.LanguageReviewStatsRepository;
+import kh.farrukh.progee_api.review.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW;
+
+/**
+ * It implements the BulkImportService interface. Rows are streamed from the file and processed in chunks:
+ * references of a chunk are loaded with a few IN queries, rows are validated against them and the valid rows
+ * are written in one transaction (with COPY on PostgreSQL). Only one chunk is kept in memory, so the memory does
+ * not depend on the size of the file.
+ * <p>
+ * A failed chunk does not stop the import: its rows are reported as failed and the next chunk is imported.
+ */
+@Slf4j
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private final ImportReferenceLoader referenceLoader;
+    private final ReviewRepository reviewRepository;
+    private final LanguageReviewStatsRepository languageReviewStatsRepository;
+    private final LanguageRepository languageRepository;
+    private final BulkImportConfiguration configuration;
+    private final CatalogCache catalogCache;
+    private final AutocompleteIndex autocompleteIndex;
+    private final ChangeTracker changeTracker;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseVendor databaseVendor;
+    private final ImportWriter copyWriter;
+    private final ImportWriter batchInsertWriter;
+
+    public BulkImportServiceImpl(
+            ImportReferenceLoader referenceLoader,
+            ReviewRepository reviewRepository,
+            LanguageReviewStatsRepository languageReviewStatsRepository,
+            LanguageRepository languageRepository,
+            BulkImportConfiguration configuration,
+            CatalogCache catalogCache,
+            AutocompleteIndex autocompleteIndex,
+            ChangeTracker changeTracker,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource
+    ) {
+        this.referenceLoader = referenceLoader;
+        this.reviewRepository = reviewRepository;
+        this.languageReviewStatsRepository = languageReviewStatsRepository;
+        this.languageRepository = languageRepository;
+        this.configuration = configuration;
+        this.catalogCache = catalogCache;
+        this.autocompleteIndex = autocompleteIndex;
+        this.changeTracker = changeTracker;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databaseVendor = new DatabaseVendor(dataSource);
+        this.copyWriter = new PostgresCopyImportWriter(dataSource);
+        this.batchInsertWriter = new BatchInsertImportWriter(jdbcTemplate);
+    }
+
+    /**
+     * This function imports the rows of the file to the table of the resource. If the file can not be read
+     * (for example, a row is not well-formed), the error is reported and the rows before it stay imported.
+     *
+     * @param resource    The resource to import.
+     * @param format      The format of the file.
+     * @param inputStream The content of the file.
+     * @return The report with the numbers of the imported and failed rows and the errors of the failed rows.
+     */
+    @Override
+    public ImportReportResponseDTO importRows(ImportResource resource, ImportFormat format, InputStream inputStream) {
+        ImportReport report = new ImportReport(resource, configuration.getMaxReportedErrors());
+        ImportIdAllocator idAllocator = resource.getSequenceName() != null
+                ? new ImportIdAllocator(jdbcTemplate, databaseVendor, resource.getSequenceName())
+                : null;
+
+        List<ImportRow> chunk = new ArrayList<>(configuration.getChunkSize());
+        long rowNumber = 0;
+        try (ImportRowReader reader = format.createReader(inputStream)) {
+            for (var values = reader.next(); values != null; values = reader.next()) {
+                chunk.add(new ImportRow(++rowNumber, values));
+                if (chunk.size() >= configuration.getChunkSize()) {
+                    importChunk(resource, chunk, idAllocator, report);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException exception) {
+            report.addFailed(rowNumber + 1, "Could not read the row: " + exception.getMessage());
+        }
+        importChunk(resource, chunk, idAllocator, report);
+
+        if (report.getImportedRows() > 0 &&
+                (resource == ImportResource.REVIEWS || resource == ImportResource.FRAMEWORKS)) {
+            recountLanguageAggregates(resource);
+        }
+        if (report.getImportedRows() > 0 &&
+                (resource == ImportResource.LANGUAGES || resource == ImportResource.FRAMEWORKS)) {
+            autocompleteIndex.rebuild();
+        }
+        return report.toResponseDTO();
+    }
+
+    /**
+     * This function validates the rows of the chunk and writes the valid ones in one transaction.
+     *
+     * @param resource    The imported resource.
+     * @param chunk       The rows of the chunk.
+     * @param idAllocator The allocator of the ids of the resource (null if the table does not have a sequence).
+     * @param report      The report of the import.
+     */
+    private void importChunk(
+            ImportResource resource,
+            List<ImportRow> chunk,
+            ImportIdAllocator idAllocator,
+            ImportReport report
+    ) {
+        if (chunk.isEmpty()) return;
+
+        ImportLookups lookups = referenceLoader.load(resource, chunk);
+        List<ImportRow> validRows = new ArrayList<>(chunk.size());
+        List<Object[]> records = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            try {
+                records.add(ImportRowConverter.convert(resource, row, lookups));
+                validRows.add(row);
+            } catch (ImportRowException exception) {
+                report.addFailed(row.getNumber(), exception.getMessage());
+            }
+        }
+        if (records.isEmpty()) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (idAllocator != null) records.forEach(record -> record[0] = idAllocator.next());
+                getWriter().write(resource, records);
+                // Rows are written with SQL directly, so entity listeners do not see them
+                changeTracker.markChanged(resource.getTableName());
+                if (resource == ImportResource.REVIEW_VOTES) updateVotedReviews(records);
+            });
+            report.addImported(records.size());
+        } catch (DataAccessException exception) {
+            log.error("Could not import a chunk of {} {}", records.size(), resource.getPath(), exception);
+            String message = "Could not write the row: " + NestedExceptionUtils.getMostSpecificCause(exception).getMessage();
+            validRows.forEach(row -> report.addFailed(row.getNumber(), message));
+        }
+    }
+
+    /**
+     * This function recomputes the vote counters and the ranks of the reviews that were voted on by the chunk,
+     * because the votes are written directly to the table.
+     *
+     * @param records The imported votes (review id, user id, value).
+     */
+    private void updateVotedReviews(List<Object[]> records) {
+        Set<Long> reviewIds = new LinkedHashSet<>();
+        records.forEach(record -> reviewIds.add((Long) record[0]));
+        reviewRepository.recountVoteCounters(reviewIds);
+        reviewRepository.refreshRanks(reviewIds);
+        changeTracker.markChanged(TABLE_NAME_REVIEW);
+    }
+
+    /**
+     * This function recomputes the review statistics and the aggregates of the languages after the reviews or
+     * the frameworks are imported, because they are written without updating them.
+     *
+     * @param resource The imported resource.
+     */
+    private void recountLanguageAggregates(ImportResource resource) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (resource == ImportResource.REVIEWS) languageReviewStatsRepository.recountAll();
+            languageRepository.recountAggregates();
+            changeTracker.markChanged(TABLE_NAME_LANGUAGE);
+        });
+        catalogCache.invalidateAll();
+    }
+
+    private ImportWriter getWriter() {
+        return databaseVendor.isPostgreSQL() ? copyWriter : batchInsertWriter;
+    }
+}
@@ -0,0 +1,100 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * It reads CSV (RFC 4180): the first record contains the column names. Values can be quoted with double quotes,
+ * quoted values can contain commas, line breaks and escaped ("") quotes. Empty values are skipped
+ */
+public class CsvRowReader implements ImportRowReader {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final BufferedReader reader;
+    private final List<String> header;
+
+    public CsvRowReader(InputStream inputStream) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<String> headerRecord = readRecord();
+        this.header = headerRecord != null ? headerRecord.stream().map(String::trim).toList() : List.of();
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> record = readRecord();
+        // Blank lines are skipped
+        while (record != null && record.size() == 1 && record.get(0).isEmpty()) {
+            record = readRecord();
+        }
+        if (record == null) return null;
+        if (record.size() > header.size()) {
+            throw new IOException("Row has more values (" + record.size() + ") than the header (" + header.size() + ")");
+        }
+
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < record.size(); i++) {
+            if (!record.get(i).isEmpty()) row.put(header.get(i), record.get(i));
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * This function reads one record. A quoted value can span several lines.
+     *
+     * @return Values of the record, or null if the end of the file is reached.
+     */
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) return null;
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) break;
+                // Line break inside a quoted value
+                line = reader.readLine();
+                if (line == null) throw new IOException("Quoted value is not closed");
+                value.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != QUOTE) {
+                    value.append(c);
+                } else if (i < line.length() && line.charAt(i) == QUOTE) {
+                    value.append(QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
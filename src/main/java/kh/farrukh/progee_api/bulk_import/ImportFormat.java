@@ -0,0 +1,65 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+import static kh.farrukh.progee_api.bulk_import.BulkImportConstants.MEDIA_TYPE_CSV;
+import static kh.farrukh.progee_api.bulk_import.BulkImportConstants.MEDIA_TYPE_NDJSON;
+
+/**
+ * Enum class for the formats of the import files
+ * <p>
+ * NDJSON - newline delimited JSON, one object per row
+ * CSV - comma separated values, the first row is the header
+ */
+public enum ImportFormat {
+    NDJSON,
+    CSV;
+
+    /**
+     * This function creates a reader that streams the rows of the input in this format.
+     *
+     * @param inputStream The content of the import file.
+     * @return The reader of the rows.
+     */
+    public ImportRowReader createReader(InputStream inputStream) throws IOException {
+        return switch (this) {
+            case NDJSON -> new NdjsonRowReader(inputStream);
+            case CSV -> new CsvRowReader(inputStream);
+        };
+    }
+
+    /**
+     * This function resolves the format by the content type of the request.
+     *
+     * @param contentType The content type of the request.
+     * @return The format of the import file.
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.US);
+            if (mediaType.equals(MEDIA_TYPE_NDJSON)) return NDJSON;
+            if (mediaType.equals(MEDIA_TYPE_CSV)) return CSV;
+        }
+        throw new BadRequestException("Content type");
+    }
+
+    /**
+     * This function resolves the format by its name or by the extension of the file name.
+     *
+     * @param format   The name of the format (optional).
+     * @param fileName The name of the import file.
+     * @return The format of the import file.
+     */
+    public static ImportFormat fromName(String format, String fileName) {
+        String name = format != null ? format : fileName.substring(fileName.lastIndexOf('.') + 1);
+        try {
+            return ImportFormat.valueOf(name.toUpperCase(Locale.US));
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Import format");
+        }
+    }
+}
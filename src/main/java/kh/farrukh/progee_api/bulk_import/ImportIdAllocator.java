@@ -0,0 +1,53 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.global.utils.database.DatabaseVendor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * It allocates ids for the imported rows from the sequence of the table, so they never collide with the
+ * ids that Hibernate generates from the same sequence.
+ * <p>
+ * The sequences are incremented by {@link #ALLOCATION_SIZE} and Hibernate uses the pooled optimizer:
+ * for a value v of the sequence it uses the ids (v - 49 ... v]. The allocator reserves blocks the same way,
+ * so one call to the sequence gives ids for 50 rows.
+ */
+class ImportIdAllocator {
+
+    static final int ALLOCATION_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+
+    private long nextId;
+    private long lastId;
+
+    ImportIdAllocator(JdbcTemplate jdbcTemplate, DatabaseVendor databaseVendor, String sequenceName) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = databaseVendor.isPostgreSQL()
+                ? "SELECT nextval('" + sequenceName + "')"
+                : "SELECT NEXT VALUE FOR " + sequenceName;
+    }
+
+    /**
+     * This function returns the next free id of the table.
+     *
+     * @return The id for the new row.
+     */
+    long next() {
+        if (nextId == 0 || nextId > lastId) {
+            long value = nextValue();
+            // The first value of a new sequence starts a block that is used by Hibernate differently (1 ... 51),
+            // so it is skipped.
+            if (value <= ALLOCATION_SIZE) value = nextValue();
+            nextId = value - ALLOCATION_SIZE + 1;
+            lastId = value;
+        }
+        return nextId++;
+    }
+
+    private long nextValue() {
+        Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        if (value == null) throw new IllegalStateException("Sequence returned no value");
+        return value;
+    }
+}
@@ -0,0 +1,62 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.review.ReviewVoteId;
+import lombok.AllArgsConstructor;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * It contains the references of one chunk of rows that are loaded from the database with a few IN queries:
+ * ids of the languages by their names, ids of the users by their emails, existing ids of the images and reviews,
+ * and existing names and votes that must not be imported twice.
+ * <p>
+ * Names and votes of the valid rows of the chunk are added to the existing ones, so duplicates in the same chunk
+ * are found too. Only the references of one chunk are kept in memory.
+ */
+@AllArgsConstructor
+class ImportLookups {
+
+    private final Map<String, Long> languageIdsByName;
+    private final Map<String, Long> userIdsByEmail;
+    private final Set<Long> imageIds;
+    private final Set<Long> reviewIds;
+    private final Set<String> takenNames;
+    private final Set<ReviewVoteId> takenVotes;
+
+    Long getLanguageId(String name) {
+        return languageIdsByName.get(name);
+    }
+
+    Long getUserId(String email) {
+        return userIdsByEmail.get(email);
+    }
+
+    boolean hasImage(long imageId) {
+        return imageIds.contains(imageId);
+    }
+
+    boolean hasReview(long reviewId) {
+        return reviewIds.contains(reviewId);
+    }
+
+    /**
+     * This function reserves the name for the row.
+     *
+     * @param name The name of the language or the framework.
+     * @return false if the name already exists in the database or in a previous row of the chunk.
+     */
+    boolean takeName(String name) {
+        return takenNames.add(name);
+    }
+
+    /**
+     * This function reserves the vote of the user on the review for the row.
+     *
+     * @param voteId The review and the user of the vote.
+     * @return false if the vote already exists in the database or in a previous row of the chunk.
+     */
+    boolean takeVote(ReviewVoteId voteId) {
+        return takenVotes.add(voteId);
+    }
+}
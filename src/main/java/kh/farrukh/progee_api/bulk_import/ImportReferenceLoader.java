@@ -0,0 +1,114 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.review.ReviewVoteId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static kh.farrukh.progee_api.app_user.AppUserConstants.TABLE_NAME_USER;
+import static kh.farrukh.progee_api.bulk_import.ImportRowConverter.*;
+import static kh.farrukh.progee_api.image.ImageConstants.TABLE_NAME_IMAGE;
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW;
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW_VOTE;
+
+/**
+ * It loads the references of one chunk of import rows. Every kind of reference is loaded with one IN query
+ * by the values that are used in the chunk, instead of one query per row.
+ */
+@Component
+@RequiredArgsConstructor
+public class ImportReferenceLoader {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * This function loads the references that the rows of the resource use.
+     *
+     * @param resource The imported resource.
+     * @param rows     The rows of the chunk.
+     * @return The references of the chunk.
+     */
+    ImportLookups load(ImportResource resource, List<ImportRow> rows) {
+        Set<String> languageNames = collect(rows, FIELD_LANGUAGE_NAME, Function.identity());
+        Set<String> emails = collect(rows, resource == ImportResource.REVIEW_VOTES ? FIELD_USER_EMAIL : FIELD_AUTHOR_EMAIL,
+                Function.identity());
+        Set<Long> imageIds = collect(rows, FIELD_IMAGE_ID, ImportReferenceLoader::parseIdOrNull);
+        Set<Long> reviewIds = collect(rows, FIELD_REVIEW_ID, ImportReferenceLoader::parseIdOrNull);
+
+        Map<String, Long> userIdsByEmail = findIdsByValue(TABLE_NAME_USER, "email", emails);
+        Set<String> takenNames = switch (resource) {
+            case LANGUAGES, FRAMEWORKS ->
+                    findIdsByValue(resource.getTableName(), "name", collect(rows, FIELD_NAME, Function.identity())).keySet();
+            default -> Set.of();
+        };
+
+        return new ImportLookups(
+                findIdsByValue(TABLE_NAME_LANGUAGE, "name", languageNames),
+                userIdsByEmail,
+                findExistingIds(TABLE_NAME_IMAGE, imageIds),
+                findExistingIds(TABLE_NAME_REVIEW, reviewIds),
+                new HashSet<>(takenNames),
+                findExistingVotes(reviewIds, userIdsByEmail.values())
+        );
+    }
+
+    private Map<String, Long> findIdsByValue(String tableName, String column, Set<String> values) {
+        Map<String, Long> ids = new HashMap<>();
+        if (values.isEmpty()) return ids;
+        jdbcTemplate.query(
+                "SELECT " + column + ", id FROM " + tableName + " WHERE " + column + " IN (:values)",
+                new MapSqlParameterSource("values", values),
+                resultSet -> {
+                    ids.put(resultSet.getString(1), resultSet.getLong(2));
+                }
+        );
+        return ids;
+    }
+
+    private Set<Long> findExistingIds(String tableName, Set<Long> ids) {
+        if (ids.isEmpty()) return Set.of();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM " + tableName + " WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                Long.class
+        ));
+    }
+
+    private Set<ReviewVoteId> findExistingVotes(Set<Long> reviewIds, Collection<Long> userIds) {
+        Set<ReviewVoteId> votes = new HashSet<>();
+        if (reviewIds.isEmpty() || userIds.isEmpty()) return votes;
+        jdbcTemplate.query(
+                "SELECT review_id, user_id FROM " + TABLE_NAME_REVIEW_VOTE +
+                        " WHERE review_id IN (:reviewIds) AND user_id IN (:userIds)",
+                new MapSqlParameterSource("reviewIds", reviewIds).addValue("userIds", userIds),
+                resultSet -> {
+                    votes.add(new ReviewVoteId(resultSet.getLong(1), resultSet.getLong(2)));
+                }
+        );
+        return votes;
+    }
+
+    private static <T> Set<T> collect(List<ImportRow> rows, String field, Function<String, T> parser) {
+        return rows.stream()
+                .map(row -> getValue(row, field))
+                .filter(Objects::nonNull)
+                .map(parser)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    // Ids that are not valid are reported by ImportRowConverter, they are not looked up.
+    private static Long parseIdOrNull(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+}
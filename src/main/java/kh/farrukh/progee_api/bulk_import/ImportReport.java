@@ -0,0 +1,50 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.bulk_import.payloads.ImportReportResponseDTO;
+import kh.farrukh.progee_api.bulk_import.payloads.ImportRowErrorDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * It counts the rows of an import and collects the errors of the failed rows. Only the first errors
+ * (up to the configured maximum) are kept, so the memory does not grow with the number of failed rows.
+ */
+class ImportReport {
+
+    private final ImportResource resource;
+    private final int maxReportedErrors;
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+
+    private long importedRows;
+    private long failedRows;
+
+    ImportReport(ImportResource resource, int maxReportedErrors) {
+        this.resource = resource;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void addImported(int count) {
+        importedRows += count;
+    }
+
+    void addFailed(long row, String message) {
+        failedRows++;
+        if (errors.size() < maxReportedErrors) errors.add(new ImportRowErrorDTO(row, message));
+    }
+
+    long getImportedRows() {
+        return importedRows;
+    }
+
+    ImportReportResponseDTO toResponseDTO() {
+        return new ImportReportResponseDTO(
+                resource.getPath(),
+                importedRows + failedRows,
+                importedRows,
+                failedRows,
+                errors,
+                failedRows > errors.size()
+        );
+    }
+}
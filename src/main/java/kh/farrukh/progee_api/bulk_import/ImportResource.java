@@ -0,0 +1,81 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.framework.FrameworkConstants.SEQUENCE_NAME_FRAMEWORK_ID;
+import static kh.farrukh.progee_api.framework.FrameworkConstants.TABLE_NAME_FRAMEWORK;
+import static kh.farrukh.progee_api.language.LanguageConstants.SEQUENCE_NAME_LANGUAGE_ID;
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
+import static kh.farrukh.progee_api.review.ReviewConstants.*;
+
+/**
+ * Enum class for the resources that can be imported. It contains the table of the resource and the columns
+ * that are written, in the order of the values that ImportRowConverter creates. The first column is the id
+ * of the row if the table has a sequence
+ * <p>
+ * Input columns of each resource:
+ * LANGUAGES - name, description, state, image_id, author_email, created_at
+ * FRAMEWORKS - name, description, state, language_name, image_id, author_email, created_at
+ * REVIEWS - body, value, language_name, author_email, created_at
+ * REVIEW_VOTES - review_id, user_email, vote (true/false or 1/-1)
+ */
+@Getter
+@AllArgsConstructor
+public enum ImportResource {
+    LANGUAGES(
+            "languages",
+            TABLE_NAME_LANGUAGE,
+            SEQUENCE_NAME_LANGUAGE_ID,
+            List.of(
+                    "id", "name", "description", "state", "image_id", "author_id", "created_at", "version",
+                    "review_count", "like_count", "review_score_sum", "avg_review_score", "framework_count"
+            )
+    ),
+    FRAMEWORKS(
+            "frameworks",
+            TABLE_NAME_FRAMEWORK,
+            SEQUENCE_NAME_FRAMEWORK_ID,
+            List.of(
+                    "id", "name", "description", "state", "language_id", "image_id", "author_id", "created_at",
+                    "version"
+            )
+    ),
+    REVIEWS(
+            "reviews",
+            TABLE_NAME_REVIEW,
+            SEQUENCE_NAME_REVIEW_ID,
+            List.of(
+                    "id", "body", "review_value", "language_id", "author_id", "created_at",
+                    "up_vote_count", "down_vote_count", "score", "hot_rank", "confidence_rank", "version"
+            )
+    ),
+    REVIEW_VOTES(
+            "review-votes",
+            TABLE_NAME_REVIEW_VOTE,
+            null,
+            List.of("review_id", "user_id", "vote_value")
+    );
+
+    private final String path;
+    private final String tableName;
+    // null if the table does not have a generated id
+    private final String sequenceName;
+    private final List<String> columns;
+
+    /**
+     * This function resolves the resource by its path in the import endpoint (or by its name).
+     *
+     * @param value The path or the name of the resource.
+     * @return The resource.
+     */
+    public static ImportResource fromPath(String value) {
+        for (ImportResource resource : values()) {
+            if (resource.path.equals(value) || resource.name().equalsIgnoreCase(value)) return resource;
+        }
+        throw new BadRequestException("Import resource");
+    }
+}
@@ -0,0 +1,17 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * It's a row of an import file with its number (starting from 1), so errors can be reported by row
+ */
+@Getter
+@AllArgsConstructor
+public class ImportRow {
+
+    private final long number;
+    private final Map<String, String> values;
+}
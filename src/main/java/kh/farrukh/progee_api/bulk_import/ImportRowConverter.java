@@ -0,0 +1,214 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.review.ReviewValue;
+import kh.farrukh.progee_api.review.ReviewVoteId;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.VOTE_VALUE_DOWN;
+import static kh.farrukh.progee_api.review.ReviewConstants.VOTE_VALUE_UP;
+
+/**
+ * It validates the rows of import files and converts them to the values of the columns of ImportResource.
+ * The id of the row (if the table has a sequence) is left null, it is allocated when the chunk is written.
+ * Validation rules are the same as the rules of the request DTOs of the resources.
+ */
+class ImportRowConverter {
+
+    static final String FIELD_NAME = "name";
+    static final String FIELD_DESCRIPTION = "description";
+    static final String FIELD_STATE = "state";
+    static final String FIELD_IMAGE_ID = "image_id";
+    static final String FIELD_AUTHOR_EMAIL = "author_email";
+    static final String FIELD_CREATED_AT = "created_at";
+    static final String FIELD_LANGUAGE_NAME = "language_name";
+    static final String FIELD_BODY = "body";
+    static final String FIELD_VALUE = "value";
+    static final String FIELD_REVIEW_ID = "review_id";
+    static final String FIELD_USER_EMAIL = "user_email";
+    static final String FIELD_VOTE = "vote";
+
+    private static final int MIN_NAME_LENGTH = 2;
+    private static final int MIN_BODY_LENGTH = 8;
+
+    private ImportRowConverter() {
+    }
+
+    /**
+     * This function validates the row and converts it to the values of the columns of the resource.
+     *
+     * @param resource The imported resource.
+     * @param row      The row of the import file.
+     * @param lookups  The references of the chunk of the row.
+     * @return The values of the columns in the order of {@link ImportResource#getColumns()}.
+     * @throws ImportRowException if the row is not valid.
+     */
+    static Object[] convert(ImportResource resource, ImportRow row, ImportLookups lookups) {
+        return switch (resource) {
+            case LANGUAGES -> new Object[]{
+                    null,
+                    getName(row, lookups),
+                    getValue(row, FIELD_DESCRIPTION),
+                    getState(row),
+                    getImageId(row, lookups),
+                    getUserId(row, FIELD_AUTHOR_EMAIL, lookups, false),
+                    getCreatedAt(row),
+                    0L,
+                    0L, 0L, 0L, 0.0, 0L
+            };
+            case FRAMEWORKS -> new Object[]{
+                    null,
+                    getName(row, lookups),
+                    getValue(row, FIELD_DESCRIPTION),
+                    getState(row),
+                    getLanguageId(row, lookups),
+                    getImageId(row, lookups),
+                    getUserId(row, FIELD_AUTHOR_EMAIL, lookups, false),
+                    getCreatedAt(row),
+                    0L
+            };
+            // New reviews have no votes, their ranks are computed by the rank sweeper (ranked_at is null).
+            case REVIEWS -> new Object[]{
+                    null,
+                    getBody(row),
+                    getReviewValue(row).getScore(),
+                    getLanguageId(row, lookups),
+                    getUserId(row, FIELD_AUTHOR_EMAIL, lookups, true),
+                    getCreatedAt(row),
+                    0, 0, 0, 0.0, 0.0, 0L
+            };
+            case REVIEW_VOTES -> {
+                long reviewId = getReviewId(row, lookups);
+                long userId = getUserId(row, FIELD_USER_EMAIL, lookups, true);
+                int vote = getVote(row);
+                if (!lookups.takeVote(new ReviewVoteId(reviewId, userId))) {
+                    throw new ImportRowException("User has already voted on the review " + reviewId);
+                }
+                yield new Object[]{reviewId, userId, vote};
+            }
+        };
+    }
+
+    /**
+     * This function returns the trimmed value of the field of the row.
+     *
+     * @param row   The row of the import file.
+     * @param field The name of the field.
+     * @return The value or null if the field is missing or blank.
+     */
+    static String getValue(ImportRow row, String field) {
+        String value = row.getValues().get(field);
+        if (value == null || value.isBlank()) return null;
+        return value.trim();
+    }
+
+    private static String getRequiredValue(ImportRow row, String field) {
+        String value = getValue(row, field);
+        if (value == null) throw new ImportRowException(field + " is required");
+        return value;
+    }
+
+    private static String getName(ImportRow row, ImportLookups lookups) {
+        String name = getRequiredValue(row, FIELD_NAME);
+        if (name.length() < MIN_NAME_LENGTH) {
+            throw new ImportRowException(FIELD_NAME + " must not be shorter than " + MIN_NAME_LENGTH + " characters");
+        }
+        if (!lookups.takeName(name)) throw new ImportRowException(FIELD_NAME + " '" + name + "' already exists");
+        return name;
+    }
+
+    private static String getBody(ImportRow row) {
+        String body = getRequiredValue(row, FIELD_BODY);
+        if (body.length() < MIN_BODY_LENGTH) {
+            throw new ImportRowException(FIELD_BODY + " must not be shorter than " + MIN_BODY_LENGTH + " characters");
+        }
+        return body;
+    }
+
+    private static String getState(ImportRow row) {
+        String state = getValue(row, FIELD_STATE);
+        if (state == null) return ResourceState.WAITING.name();
+        try {
+            return ResourceState.valueOf(state.toUpperCase(Locale.US)).name();
+        } catch (IllegalArgumentException exception) {
+            throw new ImportRowException(FIELD_STATE + " '" + state + "' is not valid");
+        }
+    }
+
+    private static Long getImageId(ImportRow row, ImportLookups lookups) {
+        String value = getValue(row, FIELD_IMAGE_ID);
+        if (value == null) return null;
+        long imageId = parseId(FIELD_IMAGE_ID, value);
+        if (!lookups.hasImage(imageId)) throw new ImportRowException("Image with id " + imageId + " not found");
+        return imageId;
+    }
+
+    private static long getReviewId(ImportRow row, ImportLookups lookups) {
+        long reviewId = parseId(FIELD_REVIEW_ID, getRequiredValue(row, FIELD_REVIEW_ID));
+        if (!lookups.hasReview(reviewId)) throw new ImportRowException("Review with id " + reviewId + " not found");
+        return reviewId;
+    }
+
+    private static long getLanguageId(ImportRow row, ImportLookups lookups) {
+        String name = getRequiredValue(row, FIELD_LANGUAGE_NAME);
+        Long languageId = lookups.getLanguageId(name);
+        if (languageId == null) throw new ImportRowException("Language with name '" + name + "' not found");
+        return languageId;
+    }
+
+    private static Long getUserId(ImportRow row, String field, ImportLookups lookups, boolean required) {
+        String email = required ? getRequiredValue(row, field) : getValue(row, field);
+        if (email == null) return null;
+        Long userId = lookups.getUserId(email);
+        if (userId == null) throw new ImportRowException("User with email '" + email + "' not found");
+        return userId;
+    }
+
+    // Value can be given by the name of ReviewValue or by its score
+    private static ReviewValue getReviewValue(ImportRow row) {
+        String value = getRequiredValue(row, FIELD_VALUE);
+        for (ReviewValue reviewValue : ReviewValue.values()) {
+            if (reviewValue.name().equalsIgnoreCase(value) || String.valueOf(reviewValue.getScore()).equals(value)) {
+                return reviewValue;
+            }
+        }
+        throw new ImportRowException(FIELD_VALUE + " '" + value + "' is not valid");
+    }
+
+    private static int getVote(ImportRow row) {
+        String vote = getRequiredValue(row, FIELD_VOTE);
+        return switch (vote.toLowerCase(Locale.US)) {
+            case "true", "1" -> VOTE_VALUE_UP;
+            case "false", "-1" -> VOTE_VALUE_DOWN;
+            default -> throw new ImportRowException(FIELD_VOTE + " '" + vote + "' is not valid");
+        };
+    }
+
+    // Dates without an offset are read in the time zone of the application, as Hibernate writes them
+    private static Timestamp getCreatedAt(ImportRow row) {
+        String value = getValue(row, FIELD_CREATED_AT);
+        if (value == null) return new Timestamp(System.currentTimeMillis());
+        try {
+            return Timestamp.from(ZonedDateTime.parse(value).toInstant());
+        } catch (DateTimeParseException exception) {
+            try {
+                return Timestamp.valueOf(LocalDateTime.parse(value));
+            } catch (DateTimeParseException localException) {
+                throw new ImportRowException(FIELD_CREATED_AT + " '" + value + "' is not valid");
+            }
+        }
+    }
+
+    private static long parseId(String field, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new ImportRowException(field + " '" + value + "' is not valid");
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package kh.farrukh.progee_api.bulk_import;
+
+/**
+ * It's thrown when a row of an import file is not valid. It is not an ApiException, because it does not fail
+ * the request: it is caught by the import and reported with the number of the row
+ */
+class ImportRowException extends RuntimeException {
+
+    ImportRowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * It reads the rows of an import file one by one, so the file is never loaded into memory as a whole
+ */
+public interface ImportRowReader extends Closeable {
+
+    /**
+     * This function reads the next row of the file.
+     *
+     * @return Values of the row by their column names, or null if there are no more rows.
+     * @throws IOException if the file can not be read or is not well-formed.
+     */
+    Map<String, String> next() throws IOException;
+}
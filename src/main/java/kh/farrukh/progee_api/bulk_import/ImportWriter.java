@@ -0,0 +1,18 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import java.util.List;
+
+/**
+ * It writes the converted rows of one chunk to the table of the imported resource. It is called in the
+ * transaction of the chunk
+ */
+interface ImportWriter {
+
+    /**
+     * This function writes the rows to the table of the resource.
+     *
+     * @param resource The imported resource.
+     * @param records  The values of the rows in the order of {@link ImportResource#getColumns()}.
+     */
+    void write(ImportResource resource, List<Object[]> records);
+}
@@ -0,0 +1,51 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * It reads newline delimited JSON: every line is a JSON object with the values of one row.
+ * Values that are not strings are converted to their text, null values are skipped
+ */
+public class NdjsonRowReader implements ImportRowReader {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final JsonParser parser;
+
+    public NdjsonRowReader(InputStream inputStream) throws IOException {
+        this.parser = OBJECT_MAPPER.getFactory().createParser(inputStream);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) return null;
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Row must be a JSON object at line " + parser.getCurrentLocation().getLineNr());
+        }
+
+        JsonNode node = OBJECT_MAPPER.readTree(parser);
+        Map<String, String> row = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!field.getValue().isNull()) {
+                row.put(field.getKey(), field.getValue().isValueNode() ? field.getValue().asText() : field.getValue().toString());
+            }
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
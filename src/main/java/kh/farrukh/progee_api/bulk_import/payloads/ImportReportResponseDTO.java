@@ -0,0 +1,39 @@
+package kh.farrukh.progee_api.bulk_import.payloads;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * It's a DTO that represents the result of an import: the numbers of the imported and failed rows
+ * and the errors of the failed rows
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"resource", "total_rows", "imported_rows", "failed_rows", "errors", "errors_truncated"})
+public class ImportReportResponseDTO {
+
+    private String resource;
+
+    @JsonProperty("total_rows")
+    private long totalRows;
+
+    @JsonProperty("imported_rows")
+    private long importedRows;
+
+    @JsonProperty("failed_rows")
+    private long failedRows;
+
+    private List<ImportRowErrorDTO> errors;
+
+    // true if there are more errors than the configured maximum number of the reported errors
+    @JsonProperty("errors_truncated")
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,22 @@
+package kh.farrukh.progee_api.bulk_import.payloads;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * It's a DTO that represents the error of one row of an import file
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"row", "message"})
+public class ImportRowErrorDTO {
+
+    // Number of the row in the file, starting from 1 (the header of CSV file is not counted)
+    private long row;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package kh.farrukh.progee_api.catalog;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLES_OF_LANGUAGE_WITH_FRAMEWORKS_RESPONSE;
+
+/**
+ * It contains constants that are used in the Catalog package
+ */
+public class CatalogConstants {
+
+    public static final String ENDPOINT_CATALOG = "/api/v1/catalog";
+    // Tables that the catalog snapshot is read from, the snapshot is refreshed after any of them is changed
+    public static final List<String> TABLES_OF_CATALOG = TABLES_OF_LANGUAGE_WITH_FRAMEWORKS_RESPONSE;
+
+}
@@ -0,0 +1,57 @@
+package kh.farrukh.progee_api.catalog;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+
+import static kh.farrukh.progee_api.catalog.CatalogConstants.ENDPOINT_CATALOG;
+
+/**
+ * Controller that exposes the endpoint to download the whole approved catalog
+ */
+@RestController
+@RequestMapping(ENDPOINT_CATALOG)
+@RequiredArgsConstructor
+public class CatalogController {
+
+    private static final String GZIP = "gzip";
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    /**
+     * It returns all approved languages with their approved frameworks from the pre-rendered snapshot. The
+     * snapshot is sent gzip-compressed if the client accepts gzip (Accept-Encoding header), otherwise it is
+     * decompressed, and each of them has its own ETag. The snapshot is refreshed shortly after the languages or
+     * the frameworks are changed.
+     *
+     * @param request  The current request. If its If-None-Match header matches the ETag, 304 is returned.
+     * @param response The response that the snapshot is written to.
+     */
+    @GetMapping
+    public void getCatalog(WebRequest request, HttpServletResponse response) throws IOException {
+        CatalogSnapshot snapshot = catalogSnapshotService.getSnapshot();
+        boolean compressed = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        // It also sets the ETag header of the response
+        if (request.checkNotModified(compressed ? snapshot.getGzipETag() : snapshot.getETag())) return;
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (compressed) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            response.setContentLengthLong(snapshot.getSize());
+        }
+        catalogSnapshotService.writeSnapshot(snapshot, compressed, response.getOutputStream());
+    }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains(GZIP);
+    }
+}
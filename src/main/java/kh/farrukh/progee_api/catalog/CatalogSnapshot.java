@@ -0,0 +1,20 @@
+package kh.farrukh.progee_api.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * It's a rendered catalog snapshot: the file with the gzip-compressed JSON and the strong ETags of its
+ * decompressed and compressed representations (each content-coding must have its own strong ETag)
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogSnapshot {
+
+    private final Path file;
+    private final String eTag;
+    private final String gzipETag;
+    private final long size;
+}
@@ -0,0 +1,21 @@
+package kh.farrukh.progee_api.catalog;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * It's a configuration class that reads the values of the catalog snapshot from the application.yml file
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("catalog-snapshot")
+public class CatalogSnapshotConfiguration {
+
+    // Directory of the snapshot files, a temporary directory is created if it is not set
+    private String directory;
+    // Time to wait after a change before the snapshot is rendered, so a burst of changes renders it only once
+    private long refreshDelayInMillis = 1000;
+}
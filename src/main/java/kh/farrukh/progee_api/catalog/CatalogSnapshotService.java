@@ -0,0 +1,16 @@
+package kh.farrukh.progee_api.catalog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A service interface to render the approved catalog to a file and to serve it
+ */
+public interface CatalogSnapshotService {
+
+    CatalogSnapshot getSnapshot();
+
+    void refresh();
+
+    void writeSnapshot(CatalogSnapshot snapshot, boolean compressed, OutputStream outputStream) throws IOException;
+}
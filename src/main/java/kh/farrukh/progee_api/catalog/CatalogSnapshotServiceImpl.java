@@ -0,0 +1,258 @@
+package kh.farrukh.progee_api.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kh.farrukh.progee_api.catalog.payloads.CatalogResponseDTO;
+import kh.farrukh.progee_api.framework.FrameworkMappers;
+import kh.farrukh.progee_api.framework.FrameworkRepository;
+import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
+import kh.farrukh.progee_api.global.change_tracking.TablesChangedEvent;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.language.LanguageMappers;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.language.LanguageSpecification;
+import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static kh.farrukh.progee_api.catalog.CatalogConstants.TABLES_OF_CATALOG;
+
+/**
+ * It renders the approved catalog (languages with their frameworks) to a gzip-compressed JSON file in the
+ * background, so requests of the catalog do not query the database and do not serialize or compress anything:
+ * the file is copied to the response as it is (or decompressed for the clients that do not accept gzip).
+ * <p>
+ * The snapshot is rendered when the application is ready and after the tables of the catalog are changed. Changes
+ * are debounced: the first change schedules a render after the configured delay and the next changes until the
+ * render starts are rendered with it. A new file is written next to the current one and replaces it at once, the
+ * previous file is kept until the next render, so the requests that are still copying it are not broken.
+ */
+@Slf4j
+@Service
+public class CatalogSnapshotServiceImpl implements CatalogSnapshotService {
+
+    private static final String FILE_PREFIX = "catalog-";
+    private static final String FILE_SUFFIX = ".json.gz";
+    // Languages are many, so their frameworks are loaded with a few IN queries instead of one long one
+    private static final int LANGUAGE_IDS_CHUNK_SIZE = 1000;
+
+    private final LanguageRepository languageRepository;
+    private final FrameworkRepository frameworkRepository;
+    private final ObjectMapper objectMapper;
+    private final CatalogSnapshotConfiguration catalogSnapshotConfiguration;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
+
+    private volatile CatalogSnapshot snapshot;
+    // File of the previous snapshot, it is deleted when the next snapshot replaces the current one
+    private Path previousFile;
+    private Path directory;
+
+    public CatalogSnapshotServiceImpl(
+            LanguageRepository languageRepository,
+            FrameworkRepository frameworkRepository,
+            ObjectMapper objectMapper,
+            CatalogSnapshotConfiguration catalogSnapshotConfiguration,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.languageRepository = languageRepository;
+        this.frameworkRepository = frameworkRepository;
+        this.objectMapper = objectMapper;
+        this.catalogSnapshotConfiguration = catalogSnapshotConfiguration;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * This function returns the current snapshot, it renders the snapshot at once if it is not rendered yet.
+     *
+     * @return The current catalog snapshot
+     */
+    @Override
+    public CatalogSnapshot getSnapshot() {
+        CatalogSnapshot current = snapshot;
+        if (current != null) return current;
+        refresh();
+        return snapshot;
+    }
+
+    /**
+     * This function renders the catalog to a new file and replaces the current snapshot with it. If the catalog
+     * is not changed (the file has the same hash), the current snapshot is kept.
+     */
+    @Override
+    public synchronized void refresh() {
+        CatalogResponseDTO catalog = transactionTemplate.execute(status -> loadCatalog());
+        try {
+            Path directory = getDirectory();
+            Path temporaryFile = Files.createTempFile(directory, FILE_PREFIX, ".tmp");
+            MessageDigest digest = createDigest();
+            try (OutputStream outputStream = new GZIPOutputStream(new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)), digest
+            ))) {
+                objectMapper.writeValue(outputStream, catalog);
+            }
+
+            // Gzip header does not have the time (it is zero), so the same catalog has the same hash
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String eTag = "\"" + hash + "\"";
+            CatalogSnapshot current = snapshot;
+            if (current != null && current.getETag().equals(eTag)) {
+                Files.deleteIfExists(temporaryFile);
+                return;
+            }
+
+            Path file = Files.move(
+                    temporaryFile,
+                    directory.resolve(FILE_PREFIX + hash + FILE_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE
+            );
+            snapshot = new CatalogSnapshot(file, eTag, "\"" + hash + "-gzip\"", Files.size(file));
+            // The previous file has the same name as the new one if the catalog is changed back to it
+            if (previousFile != null && !previousFile.equals(file)) Files.deleteIfExists(previousFile);
+            previousFile = current != null ? current.getFile() : null;
+            log.info("Catalog snapshot is rendered with {} languages to {}", catalog.getLanguages().size(), file);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * This function copies the snapshot file to the output stream. Compressed file is transferred from the file
+     * channel as it is, otherwise it is decompressed while it is copied.
+     *
+     * @param snapshot     The snapshot to write
+     * @param compressed   Whether to write the gzip-compressed bytes
+     * @param outputStream The stream to write the snapshot to (it is not closed)
+     */
+    @Override
+    public void writeSnapshot(
+            CatalogSnapshot snapshot,
+            boolean compressed,
+            OutputStream outputStream
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot.getFile(), StandardOpenOption.READ)) {
+            if (compressed) {
+                WritableByteChannel target = Channels.newChannel(outputStream);
+                long size = channel.size();
+                for (long position = 0; position < size; ) {
+                    position += channel.transferTo(position, size - position, target);
+                }
+            } else {
+                new GZIPInputStream(Channels.newInputStream(channel)).transferTo(outputStream);
+            }
+        }
+    }
+
+    /**
+     * This function renders the first snapshot in the background when the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRefresh(0);
+    }
+
+    /**
+     * This function schedules a render of the snapshot if any table of the catalog is changed.
+     *
+     * @param event The event with the names of the changed tables
+     */
+    @EventListener
+    public void onTablesChanged(TablesChangedEvent event) {
+        if (TABLES_OF_CATALOG.stream().anyMatch(event.getTableNames()::contains)) {
+            scheduleRefresh(catalogSnapshotConfiguration.getRefreshDelayInMillis());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleRefresh(long delayInMillis) {
+        if (refreshScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::refreshInBackground, delayInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void refreshInBackground() {
+        // The flag is cleared before the catalog is loaded, so changes while it is rendered schedule the next render
+        refreshScheduled.set(false);
+        try {
+            refresh();
+        } catch (RuntimeException exception) {
+            log.error("Catalog snapshot is not rendered", exception);
+        }
+    }
+
+    private CatalogResponseDTO loadCatalog() {
+        List<LanguageResponseDTO> languages = languageRepository.findAll(
+                new LanguageSpecification(ResourceState.APPROVED),
+                Sort.by("id")
+        ).stream().map(LanguageMappers::toLanguageResponseDTO).toList();
+
+        Map<Long, List<FrameworkResponseDTO>> frameworksByLanguageId = new HashMap<>();
+        List<Long> languageIds = languages.stream().map(LanguageResponseDTO::getId).toList();
+        for (int from = 0; from < languageIds.size(); from += LANGUAGE_IDS_CHUNK_SIZE) {
+            frameworkRepository.findAllByLanguageIdInAndState(
+                    languageIds.subList(from, Math.min(from + LANGUAGE_IDS_CHUNK_SIZE, languageIds.size())),
+                    ResourceState.APPROVED,
+                    Sort.by("id")
+            ).forEach(framework -> frameworksByLanguageId
+                    .computeIfAbsent(framework.getLanguage().getId(), languageId -> new ArrayList<>())
+                    .add(FrameworkMappers.toEmbeddedFrameworkResponseDTO(framework)));
+        }
+
+        languages.forEach(language ->
+                language.setFrameworks(frameworksByLanguageId.getOrDefault(language.getId(), List.of())));
+        return new CatalogResponseDTO(languages);
+    }
+
+    private synchronized Path getDirectory() throws IOException {
+        if (directory == null) {
+            String configuredDirectory = catalogSnapshotConfiguration.getDirectory();
+            directory = configuredDirectory == null || configuredDirectory.isBlank()
+                    ? Files.createTempDirectory("progee-catalog")
+                    : Files.createDirectories(Path.of(configuredDirectory));
+        }
+        return directory;
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package kh.farrukh.progee_api.catalog.payloads;
+
+import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * It's a DTO that represents the approved catalog: all approved languages with their approved frameworks. It does
+ * not have the time it is rendered at, so the same catalog is rendered to the same bytes (and the same ETag)
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogResponseDTO {
+
+    private List<LanguageResponseDTO> languages;
+}
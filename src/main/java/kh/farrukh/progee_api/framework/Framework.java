@@ -31,6 +31,17 @@ import static kh.farrukh.progee_api.global.base_entity.EntityWithId.GENERATOR_NA
         name = TABLE_NAME_FRAMEWORK,
         uniqueConstraints = @UniqueConstraint(name = "uk_framework_name", columnNames = "name")
 )
+@NamedEntityGraph(
+        name = "framework_with_details",
+        attributeNodes = {
+                @NamedAttributeNode("image"),
+                @NamedAttributeNode(value = "author", subgraph = "author")
+        },
+        subgraphs = @NamedSubgraph(name = "author", attributeNodes = {
+                @NamedAttributeNode("role"),
+                @NamedAttributeNode("image")
+        })
+)
 public class Framework extends EntityWithResourceState {
 
     private String name;
@@ -1,5 +1,12 @@
 package kh.farrukh.progee_api.framework;
 
+import java.util.List;
+
+import static kh.farrukh.progee_api.app_user.AppUserConstants.TABLE_NAME_USER;
+import static kh.farrukh.progee_api.image.ImageConstants.TABLE_NAME_IMAGE;
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
+import static kh.farrukh.progee_api.role.RoleConstants.TABLE_NAME_ROLE;
+
 /**
  * It contains constants that are used by the Framework package
  */
@@ -8,5 +15,8 @@ public class FrameworkConstants {
     public static final String ENDPOINT_FRAMEWORK = "/api/v1/frameworks";
     public static final String TABLE_NAME_FRAMEWORK = "framework";
     public static final String SEQUENCE_NAME_FRAMEWORK_ID = "framework_id_sequence";
+    // Tables that the responses of frameworks are read from (for the ETags of the lists)
+    public static final List<String> TABLES_OF_FRAMEWORK_RESPONSE =
+            List.of(TABLE_NAME_FRAMEWORK, TABLE_NAME_LANGUAGE, TABLE_NAME_IMAGE, TABLE_NAME_USER, TABLE_NAME_ROLE);
 
 }
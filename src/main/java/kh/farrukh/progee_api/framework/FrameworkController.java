@@ -4,11 +4,16 @@ import kh.farrukh.progee_api.framework.payloads.FrameworkRequestDTO;
 import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -33,6 +38,11 @@ public class FrameworkController {
      * @param pageSize   The number of items to return per page. Default is 10.
      * @param sortBy     The field to sort by. Allowed values: id, name, description, state, createdAt. Default is id.
      * @param orderBy    The order in which the results are returned. Allowed values: asc, desc. Default is asc.
+     * @param cursor     true to use cursor pagination: page is ignored and sort_by can be only id or createdAt.
+     * @param after      The next_cursor of the previous page. Cursor pagination is used if it is set.
+     * @param count      How to count the frameworks. Allowed values: exact, estimated (can be a bit outdated),
+     *                   none (only next_page is returned). Default is exact.
+     * @param request    The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A list of frameworks
      */
     @GetMapping
@@ -42,22 +52,35 @@ public class FrameworkController {
             @RequestParam(name = "page", defaultValue = "1") int page,
             @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
             @RequestParam(name = "sort_by", defaultValue = "id") String sortBy,
-            @RequestParam(name = "order_by", defaultValue = "asc") String orderBy
+            @RequestParam(name = "order_by", defaultValue = "asc") String orderBy,
+            @RequestParam(name = "cursor", defaultValue = "false") boolean cursor,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "exact") String count,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(frameworkService.getFrameworks(
-                languageId, state, page, pageSize, sortBy, orderBy
-        ));
+        CountMode countMode = CountMode.parse(count);
+        return ETagUtils.toConditionalResponse(request, frameworkService.getFrameworksETag(), () -> {
+            if (cursor || after != null) {
+                return frameworkService.getFrameworksByCursor(languageId, state, pageSize, sortBy, orderBy, after);
+            }
+            return frameworkService.getFrameworks(languageId, state, page, pageSize, sortBy, orderBy, countMode);
+        });
     }
 
     /**
      * This function returns a framework with the given id, if it exists
      *
-     * @param id The id of the framework you want to get
+     * @param id      The id of the framework you want to get
+     * @param request The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A ResponseEntity containing FrameworkResponseDTO object and HttpStatus.
      */
     @GetMapping("{id}")
-    public ResponseEntity<FrameworkResponseDTO> getFrameworkById(@PathVariable long id) {
-        return ResponseEntity.ok(frameworkService.getFrameworkById(id));
+    public ResponseEntity<FrameworkResponseDTO> getFrameworkById(@PathVariable long id, WebRequest request) {
+        return ETagUtils.toConditionalResponse(
+                request,
+                frameworkService.getFrameworkETag(id),
+                () -> frameworkService.getFrameworkById(id)
+        );
     }
 
     /**
@@ -117,4 +140,18 @@ public class FrameworkController {
     ) {
         return ResponseEntity.ok(frameworkService.setFrameworkState(id, setResourceStateRequestDto));
     }
-}
\ No newline at end of file
+
+    /**
+     * This function sets the state of many frameworks at once: the frameworks with the given ids, or all
+     * frameworks with the given filter_state (for example, approves all waiting frameworks).
+     *
+     * @param setResourceStatesRequestDto The ids or the filter_state of the frameworks, and the state to set.
+     * @return A ResponseEntity with the number of the changed frameworks and the result for each id.
+     */
+    @PatchMapping("state")
+    public ResponseEntity<SetResourceStatesResponseDTO> setFrameworkStates(
+            @Valid @RequestBody SetResourceStatesRequestDTO setResourceStatesRequestDto
+    ) {
+        return ResponseEntity.ok(frameworkService.setFrameworkStates(setResourceStatesRequestDto));
+    }
+}
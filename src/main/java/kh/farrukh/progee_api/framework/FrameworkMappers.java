@@ -8,6 +8,7 @@ import kh.farrukh.progee_api.image.ImageMappers;
 import kh.farrukh.progee_api.image.ImageRepository;
 import kh.farrukh.progee_api.language.LanguageMappers;
 import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
 import org.springframework.beans.BeanUtils;
 
 /**
@@ -25,6 +26,27 @@ public class FrameworkMappers {
         return frameworkResponseDTO;
     }
 
+    // The framework without its language, for the frameworks that are embedded to the response of their language
+    public static FrameworkResponseDTO toEmbeddedFrameworkResponseDTO(Framework framework) {
+        if (framework == null) return null;
+        FrameworkResponseDTO frameworkResponseDTO = new FrameworkResponseDTO();
+        BeanUtils.copyProperties(framework, frameworkResponseDTO, "language");
+        frameworkResponseDTO.setImage(ImageMappers.toImageResponseDto(framework.getImage()));
+        frameworkResponseDTO.setAuthor(AppUserMappers.toAppUserResponseDTO(framework.getAuthor()));
+        return frameworkResponseDTO;
+    }
+
+    // Versions of the framework and of the entities that the response of the framework contains
+    public static String toVersionTag(Framework framework) {
+        if (framework == null) return ETagUtils.toVersionTag(null);
+        return String.join(",",
+                ETagUtils.toVersionTag(framework),
+                ETagUtils.toVersionTag(framework.getImage()),
+                AppUserMappers.toVersionTag(framework.getAuthor()),
+                LanguageMappers.toVersionTag(framework.getLanguage())
+        );
+    }
+
     public static Framework toFramework(
             FrameworkRequestDTO frameworkRequestDTO,
             LanguageRepository languageRepository,
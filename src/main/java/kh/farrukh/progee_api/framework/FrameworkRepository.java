@@ -1,10 +1,16 @@
 package kh.farrukh.progee_api.framework;
 
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository for managing frameworks
  */
@@ -19,4 +25,18 @@ public interface FrameworkRepository extends JpaRepository<Framework, Long>, Jpa
      * @return A boolean value.
      */
     boolean existsByName(String name);
+
+    /**
+     * Find the frameworks of the given languages with the given state, and load their images and authors with the
+     * same query. It is the second phase of loading languages with their frameworks: the languages are paged
+     * first, then the frameworks of the whole page are loaded with one IN query (a collection fetch with paging
+     * would be paged in memory).
+     *
+     * @param languageIds The ids of the languages.
+     * @param state       The state of the frameworks.
+     * @param sort        The order of the frameworks.
+     * @return The frameworks of the languages.
+     */
+    @EntityGraph(value = "framework_with_details", type = EntityGraph.EntityGraphType.LOAD)
+    List<Framework> findAllByLanguageIdInAndState(Collection<Long> languageIds, ResourceState state, Sort sort);
 }
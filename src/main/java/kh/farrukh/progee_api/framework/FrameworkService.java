@@ -3,7 +3,10 @@ package kh.farrukh.progee_api.framework;
 import kh.farrukh.progee_api.framework.payloads.FrameworkRequestDTO;
 import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 
 /**
@@ -19,11 +22,25 @@ public interface FrameworkService {
             int page,
             int pageSize,
             String sortBy,
-            String orderBy
+            String orderBy,
+            CountMode countMode
+    );
+
+    PagingResponse<FrameworkResponseDTO> getFrameworksByCursor(
+            Long languageId,
+            ResourceState state,
+            int pageSize,
+            String sortBy,
+            String orderBy,
+            String after
     );
 
     FrameworkResponseDTO getFrameworkById(long id);
 
+    String getFrameworkETag(long id);
+
+    String getFrameworksETag();
+
     FrameworkResponseDTO addFramework(FrameworkRequestDTO frameworkRequestDto);
 
     FrameworkResponseDTO updateFramework(long id, FrameworkRequestDTO frameworkRequestDto);
@@ -31,4 +48,6 @@ public interface FrameworkService {
     void deleteFramework(long id);
 
     FrameworkResponseDTO setFrameworkState(long id, SetResourceStateRequestDTO setResourceStateRequestDto);
+
+    SetResourceStatesResponseDTO setFrameworkStates(SetResourceStatesRequestDTO setResourceStatesRequestDto);
 }
\ No newline at end of file
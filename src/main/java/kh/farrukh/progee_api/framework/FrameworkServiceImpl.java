@@ -3,28 +3,46 @@ package kh.farrukh.progee_api.framework;
 import kh.farrukh.progee_api.framework.payloads.FrameworkRequestDTO;
 import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
 import kh.farrukh.progee_api.image.ImageRepository;
+import kh.farrukh.progee_api.language.Language;
 import kh.farrukh.progee_api.language.LanguageRepository;
 import kh.farrukh.progee_api.role.Permission;
-import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.autocomplete.AutocompleteIndex;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DuplicateResourceException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.NotEnoughPermissionException;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceLeasedException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.resource_state.ResourceStateUpdater;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPaginator;
+import kh.farrukh.progee_api.global.utils.paging_sorting.OffsetPaginator;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.global.utils.paging_sorting.SortUtils;
 import kh.farrukh.progee_api.global.utils.user.CurrentUserUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static kh.farrukh.progee_api.framework.FrameworkConstants.TABLES_OF_FRAMEWORK_RESPONSE;
+import static kh.farrukh.progee_api.framework.FrameworkConstants.TABLE_NAME_FRAMEWORK;
 import static kh.farrukh.progee_api.global.utils.checkers.Checkers.*;
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
 
 /**
  * It implements the `FrameworkService` interface and uses the `FrameworkRepository`
@@ -38,6 +56,12 @@ public class FrameworkServiceImpl implements FrameworkService {
     private final LanguageRepository languageRepository;
     private final ImageRepository imageRepository;
     private final AppUserRepository appUserRepository;
+    private final CursorPaginator cursorPaginator;
+    private final OffsetPaginator offsetPaginator;
+    private final CatalogCache catalogCache;
+    private final ChangeTracker changeTracker;
+    private final ResourceStateUpdater resourceStateUpdater;
+    private final AutocompleteIndex autocompleteIndex;
 
     /**
      * This function returns a list of frameworks
@@ -48,6 +72,7 @@ public class FrameworkServiceImpl implements FrameworkService {
      * @param pageSize   The number of items to return per page.
      * @param sortBy     The field to sort by.
      * @param orderBy    The order of the results. Can be either "asc" or "desc".
+     * @param countMode  The way to count the frameworks. Only exact counts every request.
      * @return A list of frameworks
      */
     @Override
@@ -57,34 +82,109 @@ public class FrameworkServiceImpl implements FrameworkService {
             int page,
             int pageSize,
             String sortBy,
-            String orderBy
+            String orderBy,
+            CountMode countMode
     ) {
         checkPageNumber(page);
         if (languageId != null) checkLanguageId(languageRepository, languageId);
         Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by(SortUtils.parseDirection(orderBy), sortBy));
         checkSortParams(pageable, List.of("id", "name", "description", "state", "createdAt"));
 
-        // Checking if the user has permission to view frameworks by state. If not, it will throw an exception.
-        if (!CurrentUserUtils.hasPermission(Permission.CAN_VIEW_FRAMEWORKS_BY_STATE, appUserRepository)) {
-            if (state != null) throw new NotEnoughPermissionException();
-            state = ResourceState.APPROVED;
-        }
+        FrameworkSpecification specification = new FrameworkSpecification(languageId, getVisibleState(state));
+        Slice<Framework> frameworks = countMode == CountMode.EXACT
+                ? frameworkRepository.findAll(specification, pageable)
+                : offsetPaginator.findAll(Framework.class, specification, pageable, countMode, null);
+        return new PagingResponse<>(frameworks.map(FrameworkMappers::toFrameworkResponseDTO));
+    }
+
+    /**
+     * This function returns a list of frameworks after the given cursor (keyset pagination). Unlike
+     * getFrameworks, it does not skip the rows of the previous pages and does not count all frameworks.
+     *
+     * @param languageId The id of the language to filter by.
+     * @param state      The state of the framework.
+     * @param pageSize   The number of items to return per page.
+     * @param sortBy     The field to sort by.
+     * @param orderBy    The order of the results. Can be either "asc" or "desc".
+     * @param after      The cursor of the previous page, or null to get the first page.
+     * @return A list of frameworks with the cursor of the next page
+     */
+    @Override
+    public PagingResponse<FrameworkResponseDTO> getFrameworksByCursor(
+            Long languageId,
+            ResourceState state,
+            int pageSize,
+            String sortBy,
+            String orderBy,
+            String after
+    ) {
+        if (languageId != null) checkLanguageId(languageRepository, languageId);
+        Sort.Order order = new Sort.Order(SortUtils.parseDirection(orderBy), sortBy);
+        checkSortParams(Sort.by(order), List.of("id", "createdAt"));
 
-        return new PagingResponse<>(frameworkRepository.findAll(
-                new FrameworkSpecification(languageId, state),
-                pageable
+        return new PagingResponse<>(cursorPaginator.findAll(
+                Framework.class,
+                new FrameworkSpecification(languageId, getVisibleState(state)),
+                order,
+                after,
+                pageSize,
+                null
         ).map(FrameworkMappers::toFrameworkResponseDTO));
     }
 
     /**
      * If the languageId is valid, return the framework with the given id, or throw a ResourceNotFoundException if the
-     * framework doesn't exist.
+     * framework doesn't exist. Approved frameworks are read from the catalog cache.
      *
      * @param id The id of the framework to be retrieved
      * @return FrameworkResponseDTO
      */
     @Override
     public FrameworkResponseDTO getFrameworkById(long id) {
+        return catalogCache.getFramework(id, this::loadFrameworkById);
+    }
+
+    /**
+     * This function returns the ETag of the framework with the given id. The framework is not mapped to the
+     * response, so a not modified framework is returned without creating the response.
+     *
+     * @param id The id of the framework
+     * @return The strong ETag of the framework
+     */
+    @Override
+    public String getFrameworkETag(long id) {
+        return catalogCache.getFrameworkETag(id, frameworkId -> toETag(findFrameworkById(frameworkId)));
+    }
+
+    /**
+     * This function returns the weak ETag of the lists of frameworks. It changes after any change of the tables
+     * that the lists are read from.
+     *
+     * @return The weak ETag of the lists
+     */
+    @Override
+    public String getFrameworksETag() {
+        return changeTracker.getWeakETag(TABLES_OF_FRAMEWORK_RESPONSE);
+    }
+
+    /**
+     * This function loads the framework from the database and maps it to the response with its ETag.
+     *
+     * @param id The id of the framework to be retrieved
+     * @return FrameworkResponseDTO with its ETag
+     */
+    private CatalogCache.Entry<FrameworkResponseDTO> loadFrameworkById(long id) {
+        Framework framework = findFrameworkById(id);
+        return new CatalogCache.Entry<>(FrameworkMappers.toFrameworkResponseDTO(framework), toETag(framework));
+    }
+
+    /**
+     * This function loads the framework from the database and checks if the current user can view it.
+     *
+     * @param id The id of the framework to be retrieved
+     * @return Framework
+     */
+    private Framework findFrameworkById(long id) {
         Framework framework = frameworkRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Framework", "id", id));
 
@@ -94,16 +194,22 @@ public class FrameworkServiceImpl implements FrameworkService {
             throw new NotEnoughPermissionException();
         }
 
-        return FrameworkMappers.toFrameworkResponseDTO(framework);
+        return framework;
+    }
+
+    private String toETag(Framework framework) {
+        return ETagUtils.toStrongETag(FrameworkMappers.toVersionTag(framework));
     }
 
     /**
-     * This function adds a framework to the database
+     * This function adds a framework to the database. The number of the approved frameworks of its
+     * language is updated in the same transaction.
      *
      * @param frameworkRequestDto The DTO object that contains the framework information.
      * @return FrameworkResponseDTO
      */
     @Override
+    @Transactional
     public FrameworkResponseDTO addFramework(FrameworkRequestDTO frameworkRequestDto) {
         if (frameworkRequestDto.getLanguageId() == null) {
             throw new BadRequestException("Language id");
@@ -113,8 +219,7 @@ public class FrameworkServiceImpl implements FrameworkService {
         }
 
         Framework framework = FrameworkMappers.toFramework(frameworkRequestDto, languageRepository, imageRepository);
-        AppUser currentUser = CurrentUserUtils.getCurrentUser(appUserRepository);
-        framework.setAuthor(currentUser);
+        framework.setAuthor(CurrentUserUtils.getCurrentUserReference(appUserRepository));
         // It checks if the current user has permission to set the state of the framework. If not, it sets the state to
         // `WAITING`.
         if (CurrentUserUtils.hasPermission(Permission.CAN_SET_FRAMEWORK_STATE, appUserRepository)) {
@@ -123,17 +228,22 @@ public class FrameworkServiceImpl implements FrameworkService {
             framework.setState(ResourceState.WAITING);
         }
 
-        return FrameworkMappers.toFrameworkResponseDTO(frameworkRepository.save(framework));
+        applyLanguageFrameworkCountChange(framework.getLanguage(), null, framework.getState());
+        Framework savedFramework = frameworkRepository.save(framework);
+        autocompleteIndex.putFramework(savedFramework);
+        return FrameworkMappers.toFrameworkResponseDTO(savedFramework);
     }
 
     /**
-     * This function updates a framework in the database
+     * This function updates a framework in the database. The number of the approved frameworks of its
+     * language is updated in the same transaction.
      *
      * @param id                  The id of the framework to update
      * @param frameworkRequestDto The DTO object that contains the new values for the framework.
      * @return The updated framework.
      */
     @Override
+    @Transactional
     public FrameworkResponseDTO updateFramework(long id, FrameworkRequestDTO frameworkRequestDto) {
         Framework framework = frameworkRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Framework", "id", id));
@@ -157,43 +267,139 @@ public class FrameworkServiceImpl implements FrameworkService {
             framework.setImage(imageRepository.findById(frameworkRequestDto.getImageId()).orElseThrow(
                     () -> new ResourceNotFoundException("Image", "id", frameworkRequestDto.getImageId())
             ));
+            ResourceState previousState = framework.getState();
             if (CurrentUserUtils.hasPermission(Permission.CAN_SET_FRAMEWORK_STATE, appUserRepository)) {
                 framework.setState(ResourceState.APPROVED);
             } else {
                 framework.setState(ResourceState.WAITING);
             }
 
-            return FrameworkMappers.toFrameworkResponseDTO(frameworkRepository.save(framework));
+            Framework savedFramework = frameworkRepository.save(framework);
+            FrameworkResponseDTO updatedFramework = FrameworkMappers.toFrameworkResponseDTO(savedFramework);
+            catalogCache.invalidateFramework(id);
+            autocompleteIndex.putFramework(savedFramework);
+            applyLanguageFrameworkCountChange(framework.getLanguage(), previousState, framework.getState());
+            return updatedFramework;
         } else {
             throw new NotEnoughPermissionException();
         }
     }
 
     /**
-     * This function deletes a framework by id
+     * This function deletes a framework by id. The number of the approved frameworks of its
+     * language is updated in the same transaction.
      *
      * @param id The id of the framework to delete
      */
     @Override
+    @Transactional
     public void deleteFramework(long id) {
-        if (!frameworkRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Framework", "id", id);
-        }
+        Framework framework = frameworkRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Framework", "id", id));
         frameworkRepository.deleteById(id);
+        catalogCache.invalidateFramework(id);
+        autocompleteIndex.removeFramework(id);
+        applyLanguageFrameworkCountChange(framework.getLanguage(), framework.getState(), null);
     }
 
     /**
-     * This function sets the state of a framework
+     * This function sets the state of a framework. The number of the approved frameworks of its
+     * language is updated in the same transaction. The framework can not be moderated while another moderator
+     * has claimed it in the moderation queue, and the lease is released when the state is set.
      *
      * @param id               The id of the framework to update
      * @param setResourceStateRequestDto This is the object that contains the state that we want to set.
      * @return Framework
      */
     @Override
+    @Transactional
     public FrameworkResponseDTO setFrameworkState(long id, SetResourceStateRequestDTO setResourceStateRequestDto) {
         Framework framework = frameworkRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Framework", "id", id));
+        long currentUserId = CurrentUserUtils.getCurrentUserId(appUserRepository);
+        if (!resourceStateUpdater.releaseLease(TABLE_NAME_FRAMEWORK, id, currentUserId)) {
+            throw new ResourceLeasedException("Framework", id);
+        }
+        ResourceState previousState = framework.getState();
         framework.setState(setResourceStateRequestDto.getState());
-        return FrameworkMappers.toFrameworkResponseDTO(frameworkRepository.save(framework));
+        Framework savedFramework = frameworkRepository.save(framework);
+        FrameworkResponseDTO updatedFramework = FrameworkMappers.toFrameworkResponseDTO(savedFramework);
+        catalogCache.invalidateFramework(id);
+        autocompleteIndex.putFramework(savedFramework);
+        applyLanguageFrameworkCountChange(framework.getLanguage(), previousState, framework.getState());
+        return updatedFramework;
+    }
+
+    /**
+     * This function sets the state of many frameworks at once (for example, approves all waiting frameworks).
+     * Frameworks are changed with SQL in chunks, without loading them. The numbers of the approved frameworks
+     * of their languages are updated in the transaction of each chunk. Frameworks claimed by other moderators
+     * are not changed.
+     *
+     * @param setResourceStatesRequestDto The ids or the current state of the frameworks and the state to set.
+     * @return The number of the changed frameworks and the result for each id.
+     */
+    @Override
+    public SetResourceStatesResponseDTO setFrameworkStates(SetResourceStatesRequestDTO setResourceStatesRequestDto) {
+        ResourceState state = setResourceStatesRequestDto.getState();
+        AtomicBoolean changed = new AtomicBoolean();
+        try {
+            return resourceStateUpdater.setStates(
+                    TABLE_NAME_FRAMEWORK,
+                    setResourceStatesRequestDto,
+                    CurrentUserUtils.getCurrentUserId(appUserRepository),
+                    changedFrameworks -> {
+                        // Only the frameworks that are approved or are not approved anymore change the numbers
+                        List<Long> countedIds = changedFrameworks.entrySet().stream()
+                                .filter(entry -> state == ResourceState.APPROVED || entry.getValue() == ResourceState.APPROVED)
+                                .map(Map.Entry::getKey)
+                                .toList();
+                        int delta = state == ResourceState.APPROVED ? 1 : -1;
+                        if (languageRepository.applyFrameworkCountChanges(countedIds, delta) > 0) {
+                            changeTracker.markChanged(TABLE_NAME_LANGUAGE);
+                        }
+                        changeTracker.markChanged(TABLE_NAME_FRAMEWORK);
+                        changed.set(true);
+                    }
+            );
+        } finally {
+            // Each chunk is committed on its own, so the caches are invalidated even if a later chunk failed
+            if (changed.get()) {
+                catalogCache.invalidateAll();
+                autocompleteIndex.rebuildAfterCommit();
+            }
+        }
+    }
+
+    /**
+     * Checking if the user has permission to view frameworks by state. If not, it will throw an exception if the
+     * state is not null, otherwise return the APPROVED state.
+     *
+     * @param state The state from the request.
+     * @return The state to filter frameworks by.
+     */
+    private ResourceState getVisibleState(ResourceState state) {
+        if (!CurrentUserUtils.hasPermission(Permission.CAN_VIEW_FRAMEWORKS_BY_STATE, appUserRepository)) {
+            if (state != null) throw new NotEnoughPermissionException();
+            return ResourceState.APPROVED;
+        }
+        return state;
+    }
+
+    /**
+     * This function changes the number of the approved frameworks of the language, if the framework became
+     * approved or is not approved anymore. The number is changed with SQL directly, so the cached language
+     * is invalidated and the change is tracked.
+     *
+     * @param language      The language of the framework (optional).
+     * @param previousState The previous state of the framework, or null if the framework is created.
+     * @param state         The new state of the framework, or null if the framework is deleted.
+     */
+    private void applyLanguageFrameworkCountChange(Language language, ResourceState previousState, ResourceState state) {
+        int delta = (state == ResourceState.APPROVED ? 1 : 0) - (previousState == ResourceState.APPROVED ? 1 : 0);
+        if (language == null || delta == 0) return;
+        languageRepository.applyFrameworkCountChange(language.getId(), delta);
+        catalogCache.invalidateLanguage(language.getId());
+        changeTracker.markChanged(TABLE_NAME_LANGUAGE);
     }
-}
\ No newline at end of file
+}
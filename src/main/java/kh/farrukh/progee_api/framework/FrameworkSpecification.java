@@ -59,4 +59,9 @@ public class FrameworkSpecification implements Specification<Framework> {
         FrameworkSpecification that = (FrameworkSpecification) o;
         return Objects.equals(languageId, that.languageId) && state == that.state;
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(languageId, state);
+    }
 }
@@ -1,5 +1,6 @@
 package kh.farrukh.progee_api.framework.payloads;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import kh.farrukh.progee_api.image.payloads.ImageResponseDTO;
@@ -38,5 +39,7 @@ public class FrameworkResponseDTO {
     @JsonProperty("created_at")
     private ZonedDateTime createdAt;
 
+    // It is null (and omitted) if the framework is embedded to the response of its language
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private LanguageResponseDTO language;
 }
@@ -7,9 +7,13 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
 
 /**
  * This is a base class for all entities that have an id.
+ * <p>
+ * The version is incremented by Hibernate on every update. It is used for optimistic locking and
+ * to create the ETags of the responses.
  */
 @Getter
 @Setter
@@ -21,4 +25,7 @@ public abstract class EntityWithId {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = GENERATOR_NAME)
     private long id;
+
+    @Version
+    private long version;
 }
\ No newline at end of file
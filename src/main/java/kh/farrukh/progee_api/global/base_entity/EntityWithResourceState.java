@@ -4,9 +4,11 @@ import kh.farrukh.progee_api.global.resource_state.ResourceState;
 import lombok.Getter;
 import lombok.Setter;
 
+import javax.persistence.Column;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.MappedSuperclass;
+import java.time.ZonedDateTime;
 
 /**
  * It's a base class for entities that have a resource state
@@ -20,4 +22,12 @@ public abstract class EntityWithResourceState extends EntityWithId {
 
     @Enumerated(EnumType.STRING)
     private ResourceState state = ResourceState.WAITING;
+
+    // Lease of the moderation queue (ModerationQueueService). It is changed only with SQL, so saving the entity
+    // does not overwrite a lease that was taken after the entity was loaded.
+    @Column(insertable = false, updatable = false)
+    private Long claimedById;
+
+    @Column(insertable = false, updatable = false)
+    private ZonedDateTime claimExpiresAt;
 }
@@ -0,0 +1,252 @@
+package kh.farrukh.progee_api.global.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import kh.farrukh.progee_api.app_user.payloads.AppUserResponseDTO;
+import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.image.payloads.ImageResponseDTO;
+import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * It's a read-through cache of the responses of approved languages and frameworks by their ids. They are read
+ * much more often than they are changed, so the database and the mappers are skipped for most reads.
+ * <p>
+ * Only approved entries are cached, because other entries are visible only to the users with permissions and
+ * are checked on every read. Services invalidate the entries after every change of a language or a framework,
+ * and after the changes of the users and images that the responses contain.
+ * <p>
+ * The ETag of each response is cached with it, so conditional requests are answered without the database too.
+ * <p>
+ * Invalidations are applied after the current transaction is committed. Otherwise, a concurrent read between the
+ * invalidation and the commit would load the old committed row and cache it until it expires. A response that was
+ * loaded before an invalidation is not cached, so a concurrent read can not put back a value that was invalidated
+ * while it was loading. Hit, miss and eviction counts are exposed as `cache.*` metrics.
+ */
+@Component
+public class CatalogCache {
+
+    public static final String CACHE_NAME_LANGUAGES = "languages";
+    public static final String CACHE_NAME_FRAMEWORKS = "frameworks";
+
+    private final CatalogCacheConfiguration configuration;
+    private final Cache<Long, Entry<LanguageResponseDTO>> languages;
+    private final Cache<Long, Entry<FrameworkResponseDTO>> frameworks;
+    // Incremented on every invalidation, see getLanguage and getFramework
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CatalogCache(CatalogCacheConfiguration configuration, MeterRegistry meterRegistry) {
+        this.configuration = configuration;
+        this.languages = CaffeineCacheMetrics.monitor(meterRegistry, buildCache(), CACHE_NAME_LANGUAGES);
+        this.frameworks = CaffeineCacheMetrics.monitor(meterRegistry, buildCache(), CACHE_NAME_FRAMEWORKS);
+    }
+
+    /**
+     * This function returns the cached response of the language or loads it and caches it if it is approved.
+     *
+     * @param id     The id of the language.
+     * @param loader The function that loads the response and its ETag from the database (and checks permissions).
+     * @return The response of the language.
+     */
+    public LanguageResponseDTO getLanguage(long id, LongFunction<Entry<LanguageResponseDTO>> loader) {
+        return get(languages, id, loader, language -> language.getState() == ResourceState.APPROVED).getBody();
+    }
+
+    /**
+     * This function returns the ETag of the cached language or loads it. Loaded ETags are not cached, because
+     * the response is not created (and is not needed) for a not modified language.
+     *
+     * @param id     The id of the language.
+     * @param loader The function that loads the ETag from the database (and checks permissions).
+     * @return The ETag of the language.
+     */
+    public String getLanguageETag(long id, LongFunction<String> loader) {
+        return getETag(languages, id, loader);
+    }
+
+    /**
+     * This function returns the cached response of the framework or loads it and caches it if it is approved.
+     *
+     * @param id     The id of the framework.
+     * @param loader The function that loads the response and its ETag from the database (and checks permissions).
+     * @return The response of the framework.
+     */
+    public FrameworkResponseDTO getFramework(long id, LongFunction<Entry<FrameworkResponseDTO>> loader) {
+        return get(frameworks, id, loader, framework -> framework.getState() == ResourceState.APPROVED).getBody();
+    }
+
+    /**
+     * This function returns the ETag of the cached framework or loads it, see getLanguageETag.
+     *
+     * @param id     The id of the framework.
+     * @param loader The function that loads the ETag from the database (and checks permissions).
+     * @return The ETag of the framework.
+     */
+    public String getFrameworkETag(long id, LongFunction<String> loader) {
+        return getETag(frameworks, id, loader);
+    }
+
+    /**
+     * This function invalidates the language and the frameworks of the language (they contain the language).
+     *
+     * @param languageId The id of the changed or deleted language.
+     */
+    public void invalidateLanguage(long languageId) {
+        afterCommit(() -> {
+            languages.invalidate(languageId);
+            frameworks.asMap().values().removeIf(entry -> hasLanguage(entry.getBody(), languageId));
+        });
+    }
+
+    /**
+     * This function invalidates the framework.
+     *
+     * @param frameworkId The id of the changed or deleted framework.
+     */
+    public void invalidateFramework(long frameworkId) {
+        afterCommit(() -> frameworks.invalidate(frameworkId));
+    }
+
+    /**
+     * This function invalidates the languages and the frameworks that contain the user as their author (or as the
+     * author of their language). Users are rarely changed, so the entries are found by scanning the caches.
+     *
+     * @param userId The id of the changed or deleted user.
+     */
+    public void invalidateUser(long userId) {
+        afterCommit(() -> {
+            languages.asMap().values().removeIf(entry -> isUser(entry.getBody().getAuthor(), userId));
+            frameworks.asMap().values().removeIf(entry -> hasUser(entry.getBody(), userId));
+        });
+    }
+
+    /**
+     * This function invalidates the languages and the frameworks that contain the image (as their own image or as
+     * the image of an author).
+     *
+     * @param imageId The id of the changed or deleted image.
+     */
+    public void invalidateImage(long imageId) {
+        afterCommit(() -> {
+            languages.asMap().values().removeIf(entry -> hasImage(entry.getBody(), imageId));
+            frameworks.asMap().values().removeIf(entry -> hasImage(entry.getBody(), imageId));
+        });
+    }
+
+    /**
+     * This function invalidates all entries. It is used after the changes that can affect any entry,
+     * for example, a role of the authors is changed.
+     */
+    public void invalidateAll() {
+        afterCommit(() -> {
+            languages.invalidateAll();
+            frameworks.invalidateAll();
+        });
+    }
+
+    /**
+     * This function runs the invalidation after the current transaction is committed (and not at all if it is
+     * rolled back, the cached values are still valid then), or at once without a transaction.
+     */
+    private void afterCommit(Runnable invalidation) {
+        Runnable counted = () -> {
+            invalidations.incrementAndGet();
+            invalidation.run();
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counted.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counted.run();
+            }
+        });
+    }
+
+    private <T> Entry<T> get(
+            Cache<Long, Entry<T>> cache,
+            long id,
+            LongFunction<Entry<T>> loader,
+            Predicate<T> isCacheable
+    ) {
+        if (!configuration.isEnabled()) return loader.apply(id);
+
+        Entry<T> cached = cache.getIfPresent(id);
+        if (cached != null) return cached;
+
+        long invalidationsBeforeLoad = invalidations.get();
+        Entry<T> loaded = loader.apply(id);
+        if (isCacheable.test(loaded.getBody())) {
+            cache.put(id, loaded);
+            // The value may be invalidated while it was being put, so it is removed again.
+            if (invalidations.get() != invalidationsBeforeLoad) cache.invalidate(id);
+        }
+        return loaded;
+    }
+
+    private <T> String getETag(Cache<Long, Entry<T>> cache, long id, LongFunction<String> loader) {
+        Entry<T> cached = configuration.isEnabled() ? cache.getIfPresent(id) : null;
+        return cached != null ? cached.getETag() : loader.apply(id);
+    }
+
+    private <K, V> Cache<K, V> buildCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(configuration.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(configuration.getTimeToLiveInSeconds()))
+                .recordStats()
+                .build();
+    }
+
+    private boolean hasLanguage(FrameworkResponseDTO framework, long languageId) {
+        return framework.getLanguage() != null && framework.getLanguage().getId() == languageId;
+    }
+
+    private boolean hasUser(FrameworkResponseDTO framework, long userId) {
+        return isUser(framework.getAuthor(), userId) ||
+                (framework.getLanguage() != null && isUser(framework.getLanguage().getAuthor(), userId));
+    }
+
+    private boolean hasImage(FrameworkResponseDTO framework, long imageId) {
+        return isImage(framework.getImage(), imageId) ||
+                (framework.getAuthor() != null && isImage(framework.getAuthor().getImage(), imageId)) ||
+                (framework.getLanguage() != null && hasImage(framework.getLanguage(), imageId));
+    }
+
+    private boolean hasImage(LanguageResponseDTO language, long imageId) {
+        return isImage(language.getImage(), imageId) ||
+                (language.getAuthor() != null && isImage(language.getAuthor().getImage(), imageId));
+    }
+
+    private boolean isUser(AppUserResponseDTO user, long userId) {
+        return user != null && user.getId() == userId;
+    }
+
+    private boolean isImage(ImageResponseDTO image, long imageId) {
+        return image != null && image.getId() == imageId;
+    }
+
+    /**
+     * It's a cached response with its ETag
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry<T> {
+
+        private final T body;
+        private final String eTag;
+    }
+}
@@ -0,0 +1,22 @@
+package kh.farrukh.progee_api.global.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * It's a configuration class that reads the values of the catalog cache from the application.yml file.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("catalog-cache")
+public class CatalogCacheConfiguration {
+
+    private boolean enabled = true;
+    // Maximum number of the entries of each cache (languages and frameworks)
+    private long maximumSize = 10_000;
+    // Entries are removed after this time even if they were not invalidated
+    private long timeToLiveInSeconds = 600;
+}
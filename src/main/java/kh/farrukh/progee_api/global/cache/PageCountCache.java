@@ -0,0 +1,63 @@
+package kh.farrukh.progee_api.global.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * It's a short-lived cache of the total numbers of items for the lists with estimated counts. Counts are keyed by
+ * the entity and the specification (specifications are equal if they have the same filters), so all pages and
+ * sortings of the same filter share one count.
+ * <p>
+ * Counts are not invalidated after changes: they expire after a short time, so an estimated count is at most
+ * that old. Hit, miss and eviction counts are exposed as `cache.*` metrics.
+ */
+@Component
+public class PageCountCache {
+
+    public static final String CACHE_NAME_PAGE_COUNTS = "page_counts";
+
+    private final Cache<Key, Long> counts;
+
+    public PageCountCache(PageCountCacheConfiguration configuration, MeterRegistry meterRegistry) {
+        this.counts = CaffeineCacheMetrics.monitor(
+                meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(configuration.getMaximumSize())
+                        .expireAfterWrite(Duration.ofSeconds(configuration.getTimeToLiveInSeconds()))
+                        .recordStats()
+                        .build(),
+                CACHE_NAME_PAGE_COUNTS
+        );
+    }
+
+    /**
+     * This function returns the cached count of the entities that match the specification, or counts them and
+     * caches the count.
+     *
+     * @param domainClass   The class of the entity.
+     * @param specification The specification to filter the entities (optional). It must implement equals and
+     *                      hashCode, so the same filters are cached once.
+     * @param counter       The function that counts the entities in the database.
+     * @return The (possibly outdated) number of the entities.
+     */
+    public <T> long getCount(Class<T> domainClass, Specification<T> specification, LongSupplier counter) {
+        return counts.get(new Key(domainClass, specification), key -> counter.getAsLong());
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class Key {
+
+        private final Class<?> domainClass;
+        private final Specification<?> specification;
+    }
+}
@@ -0,0 +1,21 @@
+package kh.farrukh.progee_api.global.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * It's a configuration class that reads the values of the page count cache from the application.yml file.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("page-count-cache")
+public class PageCountCacheConfiguration {
+
+    // Maximum number of the cached counts (one for each entity and filter)
+    private long maximumSize = 1_000;
+    // Estimated counts are reused for this time, so they are at most this old
+    private long timeToLiveInSeconds = 30;
+}
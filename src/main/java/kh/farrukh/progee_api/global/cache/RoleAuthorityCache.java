@@ -0,0 +1,110 @@
+package kh.farrukh.progee_api.global.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.security.utils.SecurityUtils;
+import kh.farrukh.progee_api.role.Role;
+import kh.farrukh.progee_api.role.RoleRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * It's an in-memory cache of the authorities (permissions) of the roles, so authorizing a request with an access
+ * token does not query the database. Roles are few, so all of them are loaded when the application is ready and
+ * the cache is not bounded by size. Lists of the authorities are immutable and shared by the requests. Versions
+ * of the roles are cached with them, so the tokens that are created before the role is changed are found without
+ * querying the database.
+ * <p>
+ * The role service invalidates a role after it is added, updated or deleted. Roles that are changed outside the
+ * API are reloaded after the configured time (if it is set).
+ */
+@Component
+public class RoleAuthorityCache {
+
+    public static final String CACHE_NAME_ROLE_AUTHORITIES = "role_authorities";
+
+    private final RoleRepository roleRepository;
+    private final Cache<Long, Entry> authorities;
+
+    public RoleAuthorityCache(
+            RoleRepository roleRepository,
+            RoleAuthorityCacheConfiguration configuration,
+            MeterRegistry meterRegistry
+    ) {
+        this.roleRepository = roleRepository;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (configuration.getTimeToLiveInSeconds() > 0) {
+            builder.expireAfterWrite(Duration.ofSeconds(configuration.getTimeToLiveInSeconds()));
+        }
+        this.authorities = CaffeineCacheMetrics.monitor(meterRegistry, builder.build(), CACHE_NAME_ROLE_AUTHORITIES);
+    }
+
+    /**
+     * This function loads the authorities of all roles when the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        roleRepository.findAll().forEach(role -> authorities.put(role.getId(), toEntry(role)));
+    }
+
+    /**
+     * This function returns the cached authorities of the role, or loads and caches them.
+     *
+     * @param roleId The id of the role.
+     * @return The immutable list of the authorities of the role.
+     */
+    public List<GrantedAuthority> getAuthorities(long roleId) {
+        return getEntry(roleId).getAuthorities();
+    }
+
+    /**
+     * This function returns the cached version of the role, or loads and caches the role.
+     *
+     * @param roleId The id of the role.
+     * @return The version of the role.
+     */
+    public long getVersion(long roleId) {
+        return getEntry(roleId).getVersion();
+    }
+
+    /**
+     * This function invalidates the authorities of the role.
+     *
+     * @param roleId The id of the added, changed or deleted role.
+     */
+    public void invalidate(long roleId) {
+        authorities.invalidate(roleId);
+    }
+
+    private Entry getEntry(long roleId) {
+        // Missing roles are not cached (the loader returns null), so a role that is added later is found
+        Entry entry = authorities.get(
+                roleId,
+                id -> roleRepository.findById(id).map(RoleAuthorityCache::toEntry).orElse(null)
+        );
+        if (entry == null) throw new ResourceNotFoundException("Role", "id", roleId);
+        return entry;
+    }
+
+    private static Entry toEntry(Role role) {
+        return new Entry(role.getVersion(), SecurityUtils.toAuthorities(role.getPermissions()));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Entry {
+
+        private final long version;
+        private final List<GrantedAuthority> authorities;
+    }
+}
@@ -0,0 +1,20 @@
+package kh.farrukh.progee_api.global.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * It's a configuration class that reads the values of the role authority cache from the application.yml file.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("role-authority-cache")
+public class RoleAuthorityCacheConfiguration {
+
+    // Authorities are reloaded after this time even if the role is not changed by the API, 0 to keep them until
+    // the role is changed
+    private long timeToLiveInSeconds = 0;
+}
@@ -0,0 +1,33 @@
+package kh.farrukh.progee_api.global.change_tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import static kh.farrukh.progee_api.global.change_tracking.ChangeTrackingConstants.TABLE_NAME_CHANGE_COUNTER;
+
+/**
+ * It's a counter of the committed changes of a table. It is incremented by ChangeTracker after every
+ * transaction that changed the table, and it is used to create the weak ETags of the list endpoints
+ */
+@Entity
+@Table(name = TABLE_NAME_CHANGE_COUNTER)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeCounter {
+
+    @Id
+    @Column(name = "table_name")
+    private String tableName;
+
+    @Column(nullable = false)
+    private long changeCount;
+}
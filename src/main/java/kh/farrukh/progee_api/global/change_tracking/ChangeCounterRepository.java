@@ -0,0 +1,45 @@
+package kh.farrukh.progee_api.global.change_tracking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+/**
+ * Repository for the change counters of the tables
+ */
+@Repository
+public interface ChangeCounterRepository extends JpaRepository<ChangeCounter, String> {
+
+    /**
+     * This function increments the counters of the tables. Counters that do not exist are not created.
+     *
+     * @param tableNames The names of the changed tables.
+     * @return The number of the incremented counters.
+     */
+    @Modifying
+    @Query("update ChangeCounter c set c.changeCount = c.changeCount + 1 where c.tableName in :tableNames")
+    int increment(@Param("tableNames") Collection<String> tableNames);
+
+    /**
+     * This function creates the counter of the table with the first change. It fails if the counter exists.
+     *
+     * @param tableName The name of the changed table.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO change_counter (table_name, change_count) VALUES (:tableName, 1)", nativeQuery = true)
+    void create(@Param("tableName") String tableName);
+
+    /**
+     * This function returns the sum of the counters of the tables. It changes whenever any of the tables is
+     * changed, because the counters are only incremented.
+     *
+     * @param tableNames The names of the tables.
+     * @return The sum of the counters.
+     */
+    @Query("select coalesce(sum(c.changeCount), 0) from ChangeCounter c where c.tableName in :tableNames")
+    long sumChangeCounts(@Param("tableNames") Collection<String> tableNames);
+}
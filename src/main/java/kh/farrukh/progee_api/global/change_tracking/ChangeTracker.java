@@ -0,0 +1,128 @@
+package kh.farrukh.progee_api.global.change_tracking;
+
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * It counts the committed changes of the tables. The counters are used to create the weak ETags of the list
+ * endpoints: the ETag of a list changes whenever any table that the list is read from is changed.
+ * <p>
+ * Changes of entities are reported by ChangeTrackingListener. Services report the changes that are written
+ * with SQL directly (for example, votes and imports).
+ * <p>
+ * The counters are incremented after the commit, in a separate short transaction, so the writers of a table
+ * do not wait for each other on its counter. A reader can see the new rows with the old counter for a moment,
+ * which only causes one more full response, but it never sees the new counter with the old rows.
+ * <p>
+ * After the counters are incremented, TablesChangedEvent is published (even if the counters could not be
+ * incremented, because the tables are changed anyway).
+ */
+@Slf4j
+@Component
+public class ChangeTracker {
+
+    private final ChangeCounterRepository changeCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ChangeTracker(
+            ChangeCounterRepository changeCounterRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.changeCounterRepository = changeCounterRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * This function marks the tables as changed. If there is an active transaction, the counters are incremented
+     * once after it is committed (and not at all if it is rolled back), otherwise they are incremented immediately.
+     *
+     * @param tableNames The names of the changed tables.
+     */
+    public void markChanged(String... tableNames) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment(new HashSet<>(Arrays.asList(tableNames)));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> changedTables = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (changedTables == null) {
+            Set<String> tables = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, tables);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(tables);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeTracker.this);
+                }
+            });
+            changedTables = tables;
+        }
+        changedTables.addAll(Arrays.asList(tableNames));
+    }
+
+    /**
+     * This function creates the weak ETag of a list that is read from the tables. Lists can be different for
+     * different users (permissions, own votes), so the current user is a part of the ETag too.
+     *
+     * @param tableNames The names of the tables that the list is read from.
+     * @param variants   Other values that the list depends on (optional).
+     * @return The weak ETag.
+     */
+    public String getWeakETag(Collection<String> tableNames, Object... variants) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ETagUtils.toWeakETag(
+                changeCounterRepository.sumChangeCounts(tableNames),
+                authentication == null ? null : authentication.getName(),
+                Arrays.toString(variants)
+        );
+    }
+
+    /**
+     * This function increments the counters of the tables in a new transaction. The counters that do not
+     * exist yet are created. If another instance creates the same counter at the same time, it is retried.
+     */
+    private void increment(Set<String> tableNames) {
+        if (tableNames.isEmpty()) return;
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> incrementOrCreate(tableNames));
+            } catch (DataIntegrityViolationException exception) {
+                transactionTemplate.executeWithoutResult(status -> incrementOrCreate(tableNames));
+            }
+        } catch (DataAccessException exception) {
+            // Lists of the tables can be returned as not modified until the next change
+            log.error("Could not increment the change counters of {}", tableNames, exception);
+        }
+        eventPublisher.publishEvent(new TablesChangedEvent(Set.copyOf(tableNames)));
+    }
+
+    private void incrementOrCreate(Set<String> tableNames) {
+        if (changeCounterRepository.increment(tableNames) == tableNames.size()) return;
+        Set<String> missingTables = new HashSet<>(tableNames);
+        changeCounterRepository.findAllById(tableNames)
+                .forEach(changeCounter -> missingTables.remove(changeCounter.getTableName()));
+        missingTables.forEach(changeCounterRepository::create);
+    }
+}
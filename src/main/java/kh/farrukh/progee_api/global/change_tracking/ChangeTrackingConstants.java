@@ -0,0 +1,9 @@
+package kh.farrukh.progee_api.global.change_tracking;
+
+/**
+ * It's a class that contains constants of the change tracking
+ */
+public class ChangeTrackingConstants {
+
+    public static final String TABLE_NAME_CHANGE_COUNTER = "change_counter";
+}
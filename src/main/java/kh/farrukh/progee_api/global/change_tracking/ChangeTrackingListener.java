@@ -0,0 +1,66 @@
+package kh.farrukh.progee_api.global.change_tracking;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.persister.entity.Joinable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+import static kh.farrukh.progee_api.global.change_tracking.ChangeTrackingConstants.TABLE_NAME_CHANGE_COUNTER;
+
+/**
+ * It reports the tables of the inserted, updated and deleted entities to ChangeTracker. Changes of collections
+ * (for example, permissions of a role) are reported too, because they increment the version of their owner.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeTrackingListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeTracker changeTracker;
+
+    /**
+     * This function registers the listener in Hibernate.
+     */
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        markChanged(event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        markChanged(event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        markChanged(event.getPersister());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void markChanged(EntityPersister persister) {
+        if (persister instanceof Joinable joinable && !joinable.getTableName().equals(TABLE_NAME_CHANGE_COUNTER)) {
+            changeTracker.markChanged(joinable.getTableName());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package kh.farrukh.progee_api.global.change_tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * It's an application event that ChangeTracker publishes after the changes of the tables are committed. It is
+ * used to refresh the data that is derived from the tables in the background (for example, the catalog snapshot)
+ */
+@Getter
+@AllArgsConstructor
+public class TablesChangedEvent {
+
+    private final Set<String> tableNames;
+}
@@ -2,6 +2,7 @@ package kh.farrukh.progee_api.global.exceptions;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -15,6 +16,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
+import static kh.farrukh.progee_api.global.exceptions.ExceptionMessages.EXCEPTION_CONCURRENT_MODIFICATION;
 import static kh.farrukh.progee_api.global.exceptions.ExceptionMessages.EXCEPTION_METHOD_ARGUMENT_NOT_VALID;
 
 /**
@@ -78,6 +80,30 @@ public class ApiExceptionHandler {
         );
     }
 
+    /**
+     * It handles OptimisticLockingFailureException exceptions. They are thrown when the version of the entity
+     * was changed by another request while this request was updating it.
+     *
+     * @param exception The exception object that was thrown.
+     * @return A ResponseEntity<Object>
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException exception,
+            Locale locale
+    ) {
+        exception.printStackTrace();
+        return new ResponseEntity<>(
+                new ErrorResponse(
+                        messageSource.getMessage(EXCEPTION_CONCURRENT_MODIFICATION, null, locale),
+                        HttpStatus.CONFLICT,
+                        HttpStatus.CONFLICT.value(),
+                        ZonedDateTime.now()
+                ),
+                HttpStatus.CONFLICT
+        );
+    }
+
     /**
      * It handles all other unknown exceptions (not handled exceptions)
      *
@@ -22,4 +22,6 @@ public class ExceptionMessages {
     public static final String EXCEPTION_TOKEN_WRONG_TYPE = "message.exception.token_wrong_type";
     public static final String EXCEPTION_TOKEN_UNKNOWN = "message.exception.token_unknown";
     public static final String EXCEPTION_DEFAULT_ROLE_DELETION = "message.exception.default_role_deletion";
+    public static final String EXCEPTION_CONCURRENT_MODIFICATION = "message.exception.concurrent_modification";
+    public static final String EXCEPTION_RESOURCE_LEASED = "message.exception.resource_leased";
 }
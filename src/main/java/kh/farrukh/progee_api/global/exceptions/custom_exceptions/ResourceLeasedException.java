@@ -0,0 +1,30 @@
+package kh.farrukh.progee_api.global.exceptions.custom_exceptions;
+
+import kh.farrukh.progee_api.global.exceptions.ApiException;
+import kh.farrukh.progee_api.global.exceptions.ExceptionMessages;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * It's a custom exception class that extends the ApiException class,
+ * and thrown when the state of a resource is set while another moderator has claimed it in the moderation queue
+ * <p>
+ * HttpStatus of the response will be CONFLICT
+ */
+@Getter
+public class ResourceLeasedException extends ApiException {
+
+    private final String resourceName;
+    private final long id;
+
+    public ResourceLeasedException(String resourceName, long id) {
+        super(
+                String.format("%s with id %s is claimed by another moderator", resourceName, id),
+                HttpStatus.CONFLICT,
+                ExceptionMessages.EXCEPTION_RESOURCE_LEASED,
+                new Object[]{resourceName, id}
+        );
+        this.resourceName = resourceName;
+        this.id = id;
+    }
+}
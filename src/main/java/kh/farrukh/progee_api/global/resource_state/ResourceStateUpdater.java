@@ -0,0 +1,170 @@
+package kh.farrukh.progee_api.global.resource_state;
+
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO.ResourceStateResult;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO.Status;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * It sets the state of many resources (languages, frameworks) with SQL in chunks: the rows of a chunk are locked
+ * and read with one SELECT and changed with one UPDATE in their own transaction, so entities are not loaded and
+ * a failed chunk does not roll back the previous ones.
+ * <p>
+ * Versions of the changed rows are incremented, so the ETags of the resources change as with a single update.
+ * Rows are changed without JPA, so callers track the changes and invalidate the caches themselves.
+ * <p>
+ * Resources that are claimed by another moderator (the lease of the moderation queue has not expired) are not
+ * changed. Leases of the changed resources are released, because they are moderated.
+ */
+@Component
+public class ResourceStateUpdater {
+
+    public static final int MAX_IDS_SIZE = 10_000;
+    public static final int CHUNK_SIZE = 500;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ResourceStateUpdater(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * This function sets the state of the resources that are selected by the request.
+     *
+     * @param tableName      The table of the resources.
+     * @param request        The ids or the current state of the resources and the state to set.
+     * @param userId         The id of the current user. Resources claimed by other users are not changed.
+     * @param onChunkChanged The function that is called in the transaction of each chunk with the changed rows
+     *                       (ids and their previous states), for example, to update the aggregates.
+     * @return The number of the changed resources and the result of each selected id.
+     */
+    public SetResourceStatesResponseDTO setStates(
+            String tableName,
+            SetResourceStatesRequestDTO request,
+            long userId,
+            Consumer<Map<Long, ResourceState>> onChunkChanged
+    ) {
+        if ((request.getIds() == null) == (request.getFilterState() == null)) {
+            throw new BadRequestException("Ids or filter_state");
+        }
+
+        List<ResourceStateResult> results = new ArrayList<>();
+        if (request.getIds() != null) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+                results.addAll(setChunkStates(tableName, chunk, request.getState(), userId, onChunkChanged));
+            }
+        } else {
+            // Ids are paged by id (keyset), so the changed rows that leave the filter do not shift the next chunk
+            long afterId = 0;
+            for (List<Long> chunk = findIdsByState(tableName, request.getFilterState(), afterId);
+                 !chunk.isEmpty();
+                 chunk = findIdsByState(tableName, request.getFilterState(), afterId)) {
+                results.addAll(setChunkStates(tableName, chunk, request.getState(), userId, onChunkChanged));
+                afterId = chunk.get(chunk.size() - 1);
+            }
+        }
+
+        int updatedCount = (int) results.stream().filter(result -> result.getStatus() == Status.UPDATED).count();
+        return new SetResourceStatesResponseDTO(request.getState(), updatedCount, results);
+    }
+
+    /**
+     * This function releases the lease of the resource before its state is set in the current transaction. The row
+     * is locked until the transaction ends, so it can not be claimed before the state is set.
+     *
+     * @param tableName The table of the resource.
+     * @param id        The id of the resource.
+     * @param userId    The id of the current user.
+     * @return false if the resource is claimed by another user (it is not changed then), true otherwise.
+     */
+    public boolean releaseLease(String tableName, long id, long userId) {
+        return jdbcTemplate.update(
+                "UPDATE " + tableName + " SET claimed_by_id = NULL, claim_expires_at = NULL " +
+                        "WHERE id = :id AND (claimed_by_id IS NULL OR claimed_by_id = :userId OR claim_expires_at <= :now)",
+                new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("userId", userId)
+                        .addValue("now", Timestamp.from(Instant.now()))
+        ) > 0;
+    }
+
+    /**
+     * This function locks the rows of the chunk, changes the ones with another state that are not claimed by
+     * another user and returns their results.
+     */
+    private List<ResourceStateResult> setChunkStates(
+            String tableName,
+            List<Long> ids,
+            ResourceState state,
+            long userId,
+            Consumer<Map<Long, ResourceState>> onChunkChanged
+    ) {
+        Timestamp now = Timestamp.from(Instant.now());
+        Map<Long, Status> statuses = transactionTemplate.execute(status -> {
+            Map<Long, Status> rowStatuses = new HashMap<>();
+            Map<Long, ResourceState> changedRows = new HashMap<>();
+            jdbcTemplate.query(
+                    "SELECT id, state, claimed_by_id, claim_expires_at FROM " + tableName +
+                            " WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                    new MapSqlParameterSource("ids", ids),
+                    resultSet -> {
+                        long id = resultSet.getLong("id");
+                        ResourceState previousState = ResourceState.valueOf(resultSet.getString("state"));
+                        Long claimedById = resultSet.getObject("claimed_by_id", Long.class);
+                        Timestamp claimExpiresAt = resultSet.getTimestamp("claim_expires_at");
+                        if (previousState == state) {
+                            rowStatuses.put(id, Status.UNCHANGED);
+                        } else if (claimedById != null && claimedById != userId
+                                && claimExpiresAt != null && claimExpiresAt.after(now)) {
+                            rowStatuses.put(id, Status.LEASED);
+                        } else {
+                            rowStatuses.put(id, Status.UPDATED);
+                            changedRows.put(id, previousState);
+                        }
+                    }
+            );
+
+            if (!changedRows.isEmpty()) {
+                jdbcTemplate.update(
+                        "UPDATE " + tableName + " SET state = :state, version = version + 1, " +
+                                "claimed_by_id = NULL, claim_expires_at = NULL WHERE id IN (:ids)",
+                        new MapSqlParameterSource()
+                                .addValue("state", state.name())
+                                .addValue("ids", changedRows.keySet())
+                );
+                onChunkChanged.accept(changedRows);
+            }
+            return rowStatuses;
+        });
+
+        List<ResourceStateResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(new ResourceStateResult(id, Objects.requireNonNull(statuses).getOrDefault(id, Status.NOT_FOUND)));
+        }
+        return results;
+    }
+
+    private List<Long> findIdsByState(String tableName, ResourceState state, long afterId) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM " + tableName + " WHERE state = :state AND id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource()
+                        .addValue("state", state.name())
+                        .addValue("afterId", afterId)
+                        .addValue("limit", CHUNK_SIZE),
+                Long.class
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package kh.farrukh.progee_api.global.resource_state;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+import static kh.farrukh.progee_api.global.resource_state.ResourceStateUpdater.MAX_IDS_SIZE;
+
+/**
+ * It's a DTO to set the state of many resources at once. The resources are selected either by their ids or by
+ * their current state (filter_state), exactly one of them must be set
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SetResourceStatesRequestDTO {
+
+    @Size(max = MAX_IDS_SIZE)
+    private List<Long> ids;
+
+    // All resources with this state are selected (for example, WAITING to clear the backlog)
+    @JsonProperty("filter_state")
+    private ResourceState filterState;
+
+    @NotNull
+    private ResourceState state;
+}
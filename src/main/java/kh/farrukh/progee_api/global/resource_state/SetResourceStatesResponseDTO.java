@@ -0,0 +1,53 @@
+package kh.farrukh.progee_api.global.resource_state;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * It's a DTO with the result of setting the state of many resources: the number of the changed resources and
+ * the result for each selected id
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SetResourceStatesResponseDTO {
+
+    private ResourceState state;
+
+    @JsonProperty("updated_count")
+    private int updatedCount;
+
+    private List<ResourceStateResult> results;
+
+    /**
+     * It's the result of one selected id
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResourceStateResult {
+
+        private long id;
+        private Status status;
+    }
+
+    /**
+     * UPDATED - The state of the resource was changed
+     * UNCHANGED - The resource already had the state
+     * NOT_FOUND - There is no resource with the id
+     * LEASED - The resource is claimed by another moderator (moderation queue), so it was not changed
+     */
+    public enum Status {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        LEASED
+    }
+}
@@ -17,6 +17,10 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import static kh.farrukh.progee_api.app_user.AppUserConstants.ENDPOINT_USER;
 import static kh.farrukh.progee_api.auth.AuthConstants.ENDPOINT_REFRESH_TOKEN;
 import static kh.farrukh.progee_api.auth.AuthConstants.ENDPOINT_REGISTRATION;
+import static kh.farrukh.progee_api.autocomplete.AutocompleteConstants.ENDPOINT_AUTOCOMPLETE;
+import static kh.farrukh.progee_api.bulk_import.BulkImportConstants.ENDPOINT_IMPORT;
+import static kh.farrukh.progee_api.moderation_queue.ModerationQueueConstants.ENDPOINT_MODERATION_QUEUE;
+import static kh.farrukh.progee_api.catalog.CatalogConstants.ENDPOINT_CATALOG;
 import static kh.farrukh.progee_api.framework.FrameworkConstants.ENDPOINT_FRAMEWORK;
 import static kh.farrukh.progee_api.global.security.utils.AuthenticationFilterConfigurer.ENDPOINT_LOGIN;
 import static kh.farrukh.progee_api.home.HomeConstants.ENDPOINT_HOME;
@@ -24,6 +28,7 @@ import static kh.farrukh.progee_api.image.ImageConstants.ENDPOINT_IMAGE;
 import static kh.farrukh.progee_api.language.LanguageConstants.ENDPOINT_LANGUAGE;
 import static kh.farrukh.progee_api.review.ReviewConstants.ENDPOINT_REVIEW;
 import static kh.farrukh.progee_api.role.RoleConstants.ENDPOINT_ROLE;
+import static kh.farrukh.progee_api.search.SearchConstants.ENDPOINT_SEARCH;
 
 /**
  * It configures the security of the application using Spring Security via JWT.
@@ -35,6 +40,8 @@ public class SecurityConfiguration {
     public static final String ENDPOINT_REVIEW_VOTE = ENDPOINT_REVIEW + "/**/vote";
     public static final String ENDPOINT_LANGUAGE_STATE = ENDPOINT_LANGUAGE + "/**/state";
     public static final String ENDPOINT_FRAMEWORK_STATE = ENDPOINT_FRAMEWORK + "/**/state";
+    public static final String ENDPOINT_LANGUAGE_MODERATION_QUEUE = ENDPOINT_MODERATION_QUEUE + "/languages";
+    public static final String ENDPOINT_FRAMEWORK_MODERATION_QUEUE = ENDPOINT_MODERATION_QUEUE + "/frameworks";
     public static final String ENDPOINT_USER_ROLE = ENDPOINT_USER + "/**/role";
 
     /**
@@ -64,6 +71,12 @@ public class SecurityConfiguration {
         http.authorizeRequests()
                 //home endpoint
                 .antMatchers(HttpMethod.GET, ENDPOINT_HOME).permitAll()
+                //autocomplete endpoint
+                .antMatchers(HttpMethod.GET, ENDPOINT_AUTOCOMPLETE).permitAll()
+                //search endpoint
+                .antMatchers(HttpMethod.GET, ENDPOINT_SEARCH).permitAll()
+                //catalog endpoint
+                .antMatchers(HttpMethod.GET, ENDPOINT_CATALOG).permitAll()
                 //image endpoints
                 .antMatchers(HttpMethod.GET, withChildEndpoints(ENDPOINT_IMAGE)).permitAll()
                 .antMatchers(HttpMethod.POST, withChildEndpoints(ENDPOINT_IMAGE)).permitAll()
@@ -103,6 +116,11 @@ public class SecurityConfiguration {
                 .antMatchers(HttpMethod.PUT, withChildEndpoints(ENDPOINT_ROLE)).hasAuthority(Permission.CAN_UPDATE_ROLE.name())
                 .antMatchers(HttpMethod.PATCH, withChildEndpoints(ENDPOINT_ROLE)).hasAuthority(Permission.CAN_UPDATE_ROLE.name())
                 .antMatchers(HttpMethod.DELETE, withChildEndpoints(ENDPOINT_ROLE)).hasAuthority(Permission.CAN_DELETE_ROLE.name())
+                //bulk import endpoints
+                .antMatchers(HttpMethod.POST, withChildEndpoints(ENDPOINT_IMPORT)).hasAuthority(Permission.CAN_IMPORT_DATA.name())
+                //moderation queue endpoints
+                .antMatchers(HttpMethod.POST, withChildEndpoints(ENDPOINT_LANGUAGE_MODERATION_QUEUE)).hasAuthority(Permission.CAN_SET_LANGUAGE_STATE.name())
+                .antMatchers(HttpMethod.POST, withChildEndpoints(ENDPOINT_FRAMEWORK_MODERATION_QUEUE)).hasAuthority(Permission.CAN_SET_FRAMEWORK_STATE.name())
                 //auth endpoints
                 .antMatchers(
                         withChildEndpoints(ENDPOINT_REGISTRATION),
@@ -5,7 +5,7 @@ import com.auth0.jwt.exceptions.InvalidClaimException;
 import com.auth0.jwt.exceptions.SignatureVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import kh.farrukh.progee_api.role.RoleRepository;
+import kh.farrukh.progee_api.global.cache.RoleAuthorityCache;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.token_exceptions.*;
 import kh.farrukh.progee_api.global.security.jwt.TokenProvider;
 import kh.farrukh.progee_api.global.security.utils.SecurityUtils;
@@ -26,12 +26,15 @@ import javax.servlet.http.HttpServletResponse;
 import static kh.farrukh.progee_api.app_user.AppUserConstants.ENDPOINT_USER;
 import static kh.farrukh.progee_api.auth.AuthConstants.ENDPOINT_REFRESH_TOKEN;
 import static kh.farrukh.progee_api.auth.AuthConstants.ENDPOINT_REGISTRATION;
+import static kh.farrukh.progee_api.autocomplete.AutocompleteConstants.ENDPOINT_AUTOCOMPLETE;
+import static kh.farrukh.progee_api.catalog.CatalogConstants.ENDPOINT_CATALOG;
 import static kh.farrukh.progee_api.framework.FrameworkConstants.ENDPOINT_FRAMEWORK;
 import static kh.farrukh.progee_api.global.security.utils.AuthenticationFilterConfigurer.ENDPOINT_LOGIN;
 import static kh.farrukh.progee_api.home.HomeConstants.ENDPOINT_HOME;
 import static kh.farrukh.progee_api.image.ImageConstants.ENDPOINT_IMAGE;
 import static kh.farrukh.progee_api.language.LanguageConstants.ENDPOINT_LANGUAGE;
 import static kh.farrukh.progee_api.review.ReviewConstants.ENDPOINT_REVIEW;
+import static kh.farrukh.progee_api.search.SearchConstants.ENDPOINT_SEARCH;
 
 /**
  * If the request is not for the login or refresh token endpoints, then decode the JWT and set the authentication in the
@@ -41,16 +44,16 @@ import static kh.farrukh.progee_api.review.ReviewConstants.ENDPOINT_REVIEW;
 public class JWTAuthorizationFilter extends OncePerRequestFilter {
 
     private final TokenProvider tokenProvider;
-    private final RoleRepository roleRepository;
+    private final RoleAuthorityCache roleAuthorityCache;
     private final HandlerExceptionResolver resolver;
 
     public JWTAuthorizationFilter(
             TokenProvider tokenProvider,
-            RoleRepository roleRepository,
+            RoleAuthorityCache roleAuthorityCache,
             @Qualifier("handlerExceptionResolver") HandlerExceptionResolver resolver
     ) {
         this.tokenProvider = tokenProvider;
-        this.roleRepository = roleRepository;
+        this.roleAuthorityCache = roleAuthorityCache;
         this.resolver = resolver;
     }
 
@@ -77,11 +80,20 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
                 // refresh token request
                 request.getRequestURI().equals(ENDPOINT_REFRESH_TOKEN) ||
 
+                // autocomplete request (only approved languages and frameworks are suggested to all users)
+                (request.getRequestURI().equals(ENDPOINT_AUTOCOMPLETE) && request.getMethod().equals(HttpMethod.GET.name())) ||
+
+                // search request (only approved languages and frameworks are found for all users)
+                (request.getRequestURI().equals(ENDPOINT_SEARCH) && request.getMethod().equals(HttpMethod.GET.name())) ||
+
+                // catalog request (only approved languages and frameworks are in the catalog for all users)
+                (request.getRequestURI().equals(ENDPOINT_CATALOG) && request.getMethod().equals(HttpMethod.GET.name())) ||
+
                 // get users request
                 (request.getRequestURI().contains(ENDPOINT_USER) && request.getMethod().equals(HttpMethod.GET.name())) ||
 
-                // get reviews request
-                (request.getRequestURI().contains(ENDPOINT_REVIEW) && request.getMethod().equals(HttpMethod.GET.name())) ||
+                // get reviews request from non-logged user (votes of the logged user are returned with reviews)
+                (request.getRequestURI().contains(ENDPOINT_REVIEW) && request.getMethod().equals(HttpMethod.GET.name()) && request.getHeader(HttpHeaders.AUTHORIZATION) == null) ||
 
                 // upload or download image request
                 (request.getRequestURI().contains(ENDPOINT_IMAGE) && (request.getMethod().equals(HttpMethod.GET.name()) || request.getMethod().equals(HttpMethod.POST.name()))) ||
@@ -109,7 +121,7 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
         try {
             DecodedJWT decodedJWT = tokenProvider.validateToken(request.getHeader(HttpHeaders.AUTHORIZATION), false);
             UsernamePasswordAuthenticationToken authenticationToken =
-                    SecurityUtils.getAuthenticationFromDecodedJWT(decodedJWT, roleRepository);
+                    SecurityUtils.getAuthenticationFromDecodedJWT(decodedJWT, roleAuthorityCache);
             SecurityContextHolder.getContext().setAuthentication(authenticationToken);
             filterChain.doFilter(request, response);
         } catch (AlgorithmMismatchException exception) {
@@ -120,6 +132,8 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
             resolver.resolveException(request, response, null, new ExpiredTokenException());
         } catch (InvalidClaimException exception) {
             resolver.resolveException(request, response, null, new InvalidRoleTokenException());
+        } catch (InvalidRoleTokenException exception) {
+            resolver.resolveException(request, response, null, exception);
         } catch (MissingTokenException exception) {
             resolver.resolveException(request, response, null, new MissingTokenException());
         } catch (Exception exception) {
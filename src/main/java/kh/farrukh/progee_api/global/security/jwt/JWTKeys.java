@@ -6,4 +6,9 @@ package kh.farrukh.progee_api.global.security.jwt;
 public class JWTKeys {
 
     public static final String KEY_ROLE_ID = "role_id";
+    // Version of the role when the token was created, tokens of the older versions are rejected
+    public static final String KEY_ROLE_VERSION = "role_ver";
+    // Bitmask of the permissions of the role (see Permission.toBitmask)
+    public static final String KEY_PERMISSIONS = "perms";
+    public static final String KEY_USER_ID = "user_id";
 }
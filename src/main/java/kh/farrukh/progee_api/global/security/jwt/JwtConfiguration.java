@@ -18,4 +18,6 @@ public class JwtConfiguration {
     private String secret;
     private Long accessTokenValidityInSeconds;
     private Long refreshTokenValidityInSeconds;
+    // Maximum number of the verified access tokens that are not verified again until they expire, 0 to disable
+    private long verifiedTokenCacheMaximumSize = 10_000;
 }
@@ -4,10 +4,17 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.auth.payloads.AuthResponseDTO;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.token_exceptions.MissingTokenException;
+import kh.farrukh.progee_api.role.Permission;
 import kh.farrukh.progee_api.role.RoleMappers;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.InitializingBean;
@@ -15,26 +22,57 @@ import org.springframework.stereotype.Component;
 
 import java.time.ZonedDateTime;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
-import static kh.farrukh.progee_api.global.security.jwt.JWTKeys.KEY_ROLE_ID;
+import static kh.farrukh.progee_api.global.security.jwt.JWTKeys.*;
 
 /**
- * Component for providing and validating tokens
+ * Component for providing and validating tokens.
+ * <p>
+ * Verifiers of the tokens are built once. Clients send the same access token with each request until it expires,
+ * so verified access tokens are cached (bounded by size) until their expiration time and are not verified and
+ * decoded again. Tokens are not revoked before they expire. Permissions are read from the claim of the token, and
+ * the role version claim is checked against RoleAuthorityCache on every request (for the cached decoded tokens
+ * too), so a cached token of a changed role is rejected just like a token that is verified again.
  */
 @Getter
 @Component
 @RequiredArgsConstructor
 public class TokenProvider implements InitializingBean {
 
+    public static final String CACHE_NAME_VERIFIED_TOKENS = "verified_tokens";
+
     private Algorithm accessTokenAlgorithm;
     private Algorithm refreshTokenAlgorithm;
+    @Getter(AccessLevel.NONE)
+    private JWTVerifier accessTokenVerifier;
+    @Getter(AccessLevel.NONE)
+    private JWTVerifier refreshTokenVerifier;
+    // Verified access tokens by the token itself (it is already unique, so it is not hashed again)
+    @Getter(AccessLevel.NONE)
+    private Cache<String, DecodedJWT> verifiedAccessTokens;
 
     private final JwtConfiguration jwtConfiguration;
+    @Getter(AccessLevel.NONE)
+    private final MeterRegistry meterRegistry;
 
     @Override
     public void afterPropertiesSet() {
         accessTokenAlgorithm = Algorithm.HMAC256(jwtConfiguration.getSecret());
         refreshTokenAlgorithm = Algorithm.HMAC384(jwtConfiguration.getSecret());
+        accessTokenVerifier = JWT.require(accessTokenAlgorithm).build();
+        refreshTokenVerifier = JWT.require(refreshTokenAlgorithm).build();
+        if (jwtConfiguration.getVerifiedTokenCacheMaximumSize() > 0) {
+            verifiedAccessTokens = CaffeineCacheMetrics.monitor(
+                    meterRegistry,
+                    Caffeine.newBuilder()
+                            .maximumSize(jwtConfiguration.getVerifiedTokenCacheMaximumSize())
+                            .expireAfter(new UntilTokenExpires())
+                            .recordStats()
+                            .build(),
+                    CACHE_NAME_VERIFIED_TOKENS
+            );
+        }
     }
 
     /**
@@ -62,16 +100,17 @@ public class TokenProvider implements InitializingBean {
      * @return A DecodedJWT object
      */
     public DecodedJWT validateToken(String authHeader, boolean isRefresh) {
-        Algorithm algorithm;
-        if (isRefresh) {
-            algorithm = refreshTokenAlgorithm;
-        } else {
-            algorithm = accessTokenAlgorithm;
-        }
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring("Bearer ".length());
-            JWTVerifier jwtVerifier = JWT.require(algorithm).build();
-            return jwtVerifier.verify(token);
+            if (isRefresh) return refreshTokenVerifier.verify(token);
+            if (verifiedAccessTokens == null) return accessTokenVerifier.verify(token);
+
+            // Only verified tokens are cached, so invalid tokens are verified (and rejected) each time
+            DecodedJWT cachedJWT = verifiedAccessTokens.getIfPresent(token);
+            if (cachedJWT != null) return cachedJWT;
+            DecodedJWT decodedJWT = accessTokenVerifier.verify(token);
+            if (decodedJWT.getExpiresAt() != null) verifiedAccessTokens.put(token, decodedJWT);
+            return decodedJWT;
         } else {
             throw new MissingTokenException();
         }
@@ -101,7 +140,7 @@ public class TokenProvider implements InitializingBean {
 
     /**
      * It creates a JWT token with the username as the subject, the expiration date as the expiration date,
-     * and the permission names list as the claim
+     * and the id of the user, the id and the version of the role and the bitmask of its permissions as the claims
      *
      * @param user       The user object that contains the username and role.
      * @param expireDate The date when the token will expire.
@@ -112,7 +151,33 @@ public class TokenProvider implements InitializingBean {
         return JWT.create()
                 .withSubject(user.getUsername())
                 .withExpiresAt(Date.from(expireDate.toInstant()))
+                .withClaim(KEY_USER_ID, user.getId())
                 .withClaim(KEY_ROLE_ID, user.getRole().getId())
+                .withClaim(KEY_ROLE_VERSION, user.getRole().getVersion())
+                .withClaim(KEY_PERMISSIONS, Permission.toBitmask(user.getRole().getPermissions()))
                 .sign(algorithm);
     }
+
+    /**
+     * It expires a cached token at the expiration time of the token, so an expired token is verified again (and
+     * rejected).
+     */
+    private static class UntilTokenExpires implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String token, DecodedJWT decodedJWT, long currentTime) {
+            long millisToExpire = decodedJWT.getExpiresAt().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisToExpire, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, decodedJWT, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, DecodedJWT decodedJWT, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -4,15 +4,19 @@ import com.auth0.jwt.interfaces.DecodedJWT;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kh.farrukh.progee_api.auth.payloads.AuthResponseDTO;
-import kh.farrukh.progee_api.role.Role;
-import kh.farrukh.progee_api.role.RoleRepository;
-import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.cache.RoleAuthorityCache;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.token_exceptions.InvalidRoleTokenException;
+import kh.farrukh.progee_api.global.utils.user.AppUserPrincipal;
+import kh.farrukh.progee_api.role.Permission;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -23,28 +27,64 @@ import static kh.farrukh.progee_api.global.security.jwt.JWTKeys.*;
  */
 public class SecurityUtils {
 
+    // Authorities of the permissions by their ordinals, they are immutable and shared by the requests
+    private static final GrantedAuthority[] PERMISSION_AUTHORITIES = Arrays.stream(Permission.values())
+            .map(permission -> new SimpleGrantedAuthority(permission.name()))
+            .toArray(GrantedAuthority[]::new);
+
     /**
-     * It takes a decoded JWT and returns a UsernamePasswordAuthenticationToken with the username and permissions
-     * from the JWT
+     * It takes a decoded JWT and returns a UsernamePasswordAuthenticationToken with the user and permissions
+     * from the JWT. Permissions are read from the bitmask claim, and the version of the role is checked with the
+     * cached version, so the database is not queried. If the role is changed after the token was created, the token
+     * is rejected (the client refreshes it to get the new permissions).
+     * <p>
+     * The principal of the authentication is the AppUserPrincipal (the id, the email and the permissions of the
+     * user), so the services do not load the current user. Tokens without the user claims have only the email.
      *
-     * @param decodedJWT The decoded JWT.
+     * @param decodedJWT         The decoded JWT.
+     * @param roleAuthorityCache The cache of the permissions and the versions of the roles.
      * @return A UsernamePasswordAuthenticationToken object
      */
     public static UsernamePasswordAuthenticationToken getAuthenticationFromDecodedJWT(
-            DecodedJWT decodedJWT, RoleRepository roleRepository
+            DecodedJWT decodedJWT, RoleAuthorityCache roleAuthorityCache
     ) {
         String username = decodedJWT.getSubject();
         long roleId = decodedJWT.getClaim(KEY_ROLE_ID).asLong();
-        Role role = roleRepository.findById(roleId).orElseThrow(
-                () -> new ResourceNotFoundException("Role", "id", roleId)
-        );
+        Long roleVersion = decodedJWT.getClaim(KEY_ROLE_VERSION).asLong();
+        Long permissions = decodedJWT.getClaim(KEY_PERMISSIONS).asLong();
+        Long userId = decodedJWT.getClaim(KEY_USER_ID).asLong();
 
-        List<SimpleGrantedAuthority> authorities = role
-                .getPermissions()
-                .stream().map(permission -> new SimpleGrantedAuthority(permission.name()))
-                .toList();
+        // Tokens that were created without the permissions claim are authorized with the permissions of the role
+        if (roleVersion == null || permissions == null) {
+            return new UsernamePasswordAuthenticationToken(username, null, roleAuthorityCache.getAuthorities(roleId));
+        }
+        if (roleVersion != roleAuthorityCache.getVersion(roleId)) throw new InvalidRoleTokenException();
+
+        List<Permission> permissionList = Permission.fromBitmask(permissions);
+        Object principal = userId != null ? new AppUserPrincipal(userId, username, permissionList) : username;
+        return new UsernamePasswordAuthenticationToken(principal, null, toAuthorities(permissionList));
+    }
 
-        return new UsernamePasswordAuthenticationToken(username, null, authorities);
+    /**
+     * This function returns the authorities of the permissions in the bitmask.
+     *
+     * @param permissions The bitmask of the permissions (see Permission.toBitmask).
+     * @return The list of the authorities.
+     */
+    public static List<GrantedAuthority> toAuthorities(long permissions) {
+        return toAuthorities(Permission.fromBitmask(permissions));
+    }
+
+    /**
+     * This function returns the authorities of the permissions. Authorities are shared, so they are not created.
+     *
+     * @param permissions The permissions.
+     * @return The list of the authorities.
+     */
+    public static List<GrantedAuthority> toAuthorities(Collection<Permission> permissions) {
+        return permissions.stream()
+                .map(permission -> PERMISSION_AUTHORITIES[permission.ordinal()])
+                .toList();
     }
 
     /**
@@ -37,7 +37,16 @@ public class Checkers {
      * @param allowedSortFields A list of allowed sort fields.
      */
     public static void checkSortParams(Pageable pageable, List<String> allowedSortFields) {
-        Sort sort = pageable.getSort();
+        checkSortParams(pageable.getSort(), allowedSortFields);
+    }
+
+    /**
+     * If the sort is not empty, then check if all the fields in the sort are allowed. If not, throw an exception.
+     *
+     * @param sort              The sort information.
+     * @param allowedSortFields A list of allowed sort fields.
+     */
+    public static void checkSortParams(Sort sort, List<String> allowedSortFields) {
         if (sort.isUnsorted()) {
             return;
         }
@@ -56,6 +65,16 @@ public class Checkers {
         throw new SortParamException(notAllowedFields, allowedSortFields);
     }
 
+    /**
+     * If the include parameter is set and it is not one of the allowed values, throw a BadRequestException.
+     *
+     * @param include         The include parameter of the request (null if it is not set).
+     * @param allowedIncludes A list of allowed values.
+     */
+    public static void checkIncludeParam(String include, List<String> allowedIncludes) {
+        if (include != null && !allowedIncludes.contains(include)) throw new BadRequestException("Include");
+    }
+
     /**
      * If the languageId does not exist in the database, throw a ResourceNotFoundException
      *
@@ -0,0 +1,51 @@
+package kh.farrukh.progee_api.global.utils.database;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * It resolves the vendor of the database that application is connected to. It is used to choose between
+ * PostgreSQL-specific SQL and its portable fallback (for example, H2 database in tests).
+ * It is not a bean, so repository fragments can use it in sliced (data JPA) tests too.
+ */
+public class DatabaseVendor {
+
+    private static final String PRODUCT_NAME_POSTGRESQL = "PostgreSQL";
+
+    private final DataSource dataSource;
+
+    private volatile String productName;
+
+    public DatabaseVendor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * This function checks if the application is connected to PostgreSQL database.
+     *
+     * @return true if the database is PostgreSQL.
+     */
+    public boolean isPostgreSQL() {
+        return PRODUCT_NAME_POSTGRESQL.equals(getProductName());
+    }
+
+    /**
+     * This function returns the product name of the database. It is read from the connection metadata
+     * only once and cached after that.
+     *
+     * @return The product name of the database.
+     */
+    private String getProductName() {
+        if (productName == null) {
+            try {
+                productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            } catch (MetaDataAccessException exception) {
+                throw new IllegalStateException("Could not resolve the database vendor", exception);
+            }
+        }
+        return productName;
+    }
+}
@@ -0,0 +1,71 @@
+package kh.farrukh.progee_api.global.utils.etag;
+
+import kh.farrukh.progee_api.global.base_entity.EntityWithId;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * It's a utility class with methods for ETags and conditional GET requests
+ */
+public class ETagUtils {
+
+    private static final String PART_SEPARATOR = "|";
+    private static final String NO_ENTITY = "-";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    /**
+     * This function creates the version tag of the entity: its id and its version. The version tags of
+     * the entities that are included in a response are combined to create the ETag of the response.
+     *
+     * @param entity The entity (optional).
+     * @return The version tag of the entity.
+     */
+    public static String toVersionTag(EntityWithId entity) {
+        if (entity == null) return NO_ENTITY;
+        return entity.getId() + "." + entity.getVersion();
+    }
+
+    /**
+     * This function creates a strong ETag from the parts. The parts are hashed, so the ETag has a fixed length.
+     *
+     * @param parts The values that the response depends on (version tags, the current user, etc.).
+     * @return The quoted ETag.
+     */
+    public static String toStrongETag(Object... parts) {
+        String value = Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining(PART_SEPARATOR));
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * This function creates a weak ETag from the parts. Weak ETags are used for the responses that are
+     * semantically the same when the ETag matches, but are not created from the versions of their items.
+     *
+     * @param parts The values that the response depends on.
+     * @return The quoted ETag with the weak prefix.
+     */
+    public static String toWeakETag(Object... parts) {
+        return WEAK_ETAG_PREFIX + toStrongETag(parts);
+    }
+
+    /**
+     * This function answers a conditional GET request. If the ETag matches If-None-Match header of the request,
+     * the body is not created at all and 304 (Not Modified) is returned. Otherwise, the body is returned with
+     * the ETag.
+     *
+     * @param request The current request.
+     * @param eTag    The current ETag of the resource.
+     * @param body    The function that creates the body of the response.
+     * @return The response with the body, or null if the response is already completed with 304.
+     */
+    public static <T> ResponseEntity<T> toConditionalResponse(WebRequest request, String eTag, Supplier<T> body) {
+        // It also sets the ETag header of the response
+        if (request.checkNotModified(eTag)) return null;
+        return ResponseEntity.ok(body.get());
+    }
+}
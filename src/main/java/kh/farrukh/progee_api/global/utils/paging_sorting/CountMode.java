@@ -0,0 +1,31 @@
+package kh.farrukh.progee_api.global.utils.paging_sorting;
+
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * It's the way that the total number of items is returned with a page (the count parameter of the lists)
+ */
+public enum CountMode {
+    // Items are counted with the same filter on every request (default)
+    EXACT,
+    // The count of the same filter is reused for a short time, so it can be a bit outdated
+    ESTIMATED,
+    // Items are not counted: only next_page (and prev_page) is returned, total_items and total_pages are 0
+    NONE;
+
+    /**
+     * This function parses the count mode from the value of the request parameter.
+     *
+     * @param value The value of the count parameter (exact, estimated or none).
+     * @return The count mode.
+     */
+    public static CountMode parse(String value) {
+        try {
+            return CountMode.valueOf(value.toUpperCase(Locale.US));
+        } catch (Exception e) {
+            throw new BadRequestException("Count");
+        }
+    }
+}
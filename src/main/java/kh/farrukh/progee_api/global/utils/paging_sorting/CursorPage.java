@@ -0,0 +1,31 @@
+package kh.farrukh.progee_api.global.utils.paging_sorting;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * It's a page of items that is loaded with cursor (keyset) pagination. Unlike Spring Page, it does not
+ * know the total number of items, it only knows if there is a next page
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private final List<T> content;
+
+    // Token to get the next page, or null if this is the last page
+    private final String nextCursor;
+
+    /**
+     * This function converts the items of the page with the given mapper.
+     *
+     * @param mapper The function to convert an item.
+     * @return A new page with converted items and the same cursor.
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,171 @@
+package kh.farrukh.progee_api.global.utils.paging_sorting;
+
+import kh.farrukh.progee_api.global.base_entity.EntityWithId;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * It loads pages with cursor (keyset) pagination: instead of skipping the rows of the previous pages
+ * (OFFSET) and counting all rows, it continues after the sort key and the id of the last item of the previous
+ * page, so deep pages are as fast as the first one.
+ * <p>
+ * Only the fields that are never null can be used to sort, because null values are ordered differently
+ * by databases.
+ */
+@Component
+@RequiredArgsConstructor
+public class CursorPaginator {
+
+    private static final String FIELD_ID = "id";
+    private static final String HINT_LOAD_GRAPH = "javax.persistence.loadgraph";
+
+    private final EntityManager entityManager;
+
+    /**
+     * This function loads the page of the entities that match the specification and come after the cursor.
+     *
+     * @param domainClass   The class of the entity.
+     * @param specification The specification to filter the entities (optional).
+     * @param order         The field and the direction to sort by. Id is used as a tie-breaker.
+     * @param after         The cursor from the previous page, or null to get the first page.
+     * @param pageSize      The number of items to return.
+     * @param entityGraph   The name of the entity graph to load the entities with (optional).
+     * @return A page of the entities with the cursor of the next page.
+     */
+    public <T extends EntityWithId> CursorPage<T> findAll(
+            Class<T> domainClass,
+            Specification<T> specification,
+            Sort.Order order,
+            String after,
+            int pageSize,
+            String entityGraph
+    ) {
+        if (pageSize < 1) throw new BadRequestException("Page size");
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) predicates.add(predicate);
+        }
+        if (after != null) {
+            predicates.add(toKeysetPredicate(root, criteriaBuilder, order, decode(after, order)));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(toOrders(root, criteriaBuilder, order));
+
+        // One more item is loaded to know if there is a next page without counting
+        TypedQuery<T> typedQuery = entityManager.createQuery(query).setMaxResults(pageSize + 1);
+        if (entityGraph != null) {
+            typedQuery.setHint(HINT_LOAD_GRAPH, entityManager.getEntityGraph(entityGraph));
+        }
+        List<T> items = typedQuery.getResultList();
+
+        if (items.size() <= pageSize) {
+            return new CursorPage<>(items, null);
+        }
+        List<T> content = items.subList(0, pageSize);
+        return new CursorPage<>(content, toCursor(content.get(pageSize - 1), order).encode());
+    }
+
+    /**
+     * This function decodes the cursor and checks that it was created for the same sorting.
+     *
+     * @param after The cursor from the request.
+     * @param order The sorting of the request.
+     * @return The decoded cursor.
+     */
+    private PageCursor decode(String after, Sort.Order order) {
+        PageCursor cursor = PageCursor.decode(after);
+        if (!cursor.getSortBy().equals(order.getProperty()) || cursor.getDirection() != order.getDirection()) {
+            throw new BadRequestException("Cursor");
+        }
+        return cursor;
+    }
+
+    /**
+     * This function creates the condition for the rows after the cursor. (sort_key, id) > (value, last_id)
+     * is written in the expanded form, because JPA does not support row value comparison:
+     * sort_key >= value AND (sort_key > value OR (sort_key = value AND id > last_id)). The first condition is
+     * redundant, but the OR alone cannot be used as a range of an index, so without it every page would scan
+     * the (sort_key, id) index from its start.
+     */
+    private <T> Predicate toKeysetPredicate(
+            Root<T> root,
+            CriteriaBuilder criteriaBuilder,
+            Sort.Order order,
+            PageCursor cursor
+    ) {
+        Path<Long> id = root.get(FIELD_ID);
+        Predicate afterId = order.isAscending()
+                ? criteriaBuilder.greaterThan(id, cursor.getId())
+                : criteriaBuilder.lessThan(id, cursor.getId());
+        if (order.getProperty().equals(FIELD_ID)) return afterId;
+
+        Path<Comparable<Object>> sortKey = root.get(order.getProperty());
+        Comparable<Object> value = parseValue(cursor.getValue(), sortKey.getJavaType());
+        Predicate fromSortKey = order.isAscending()
+                ? criteriaBuilder.greaterThanOrEqualTo(sortKey, value)
+                : criteriaBuilder.lessThanOrEqualTo(sortKey, value);
+        Predicate afterSortKey = order.isAscending()
+                ? criteriaBuilder.greaterThan(sortKey, value)
+                : criteriaBuilder.lessThan(sortKey, value);
+        return criteriaBuilder.and(
+                fromSortKey,
+                criteriaBuilder.or(
+                        afterSortKey,
+                        criteriaBuilder.and(criteriaBuilder.equal(sortKey, value), afterId)
+                )
+        );
+    }
+
+    private <T> List<Order> toOrders(Root<T> root, CriteriaBuilder criteriaBuilder, Sort.Order order) {
+        List<Order> orders = new ArrayList<>();
+        if (!order.getProperty().equals(FIELD_ID)) {
+            Path<?> sortKey = root.get(order.getProperty());
+            orders.add(order.isAscending() ? criteriaBuilder.asc(sortKey) : criteriaBuilder.desc(sortKey));
+        }
+        Path<?> id = root.get(FIELD_ID);
+        orders.add(order.isAscending() ? criteriaBuilder.asc(id) : criteriaBuilder.desc(id));
+        return orders;
+    }
+
+    private PageCursor toCursor(EntityWithId entity, Sort.Order order) {
+        String value = "";
+        if (!order.getProperty().equals(FIELD_ID)) {
+            Object sortKey = new BeanWrapperImpl(entity).getPropertyValue(order.getProperty());
+            if (sortKey == null) throw new BadRequestException("Sort param");
+            value = sortKey instanceof Enum<?> enumValue ? enumValue.name() : sortKey.toString();
+        }
+        return new PageCursor(order.getProperty(), order.getDirection(), entity.getId(), value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> parseValue(String value, Class<?> javaType) {
+        try {
+            if (javaType == ZonedDateTime.class) {
+                return (Comparable<Object>) (Comparable<?>) ZonedDateTime.parse(value);
+            }
+            return (Comparable<Object>) DefaultConversionService.getSharedInstance()
+                    .convert(value, ClassUtils.resolvePrimitiveIfNecessary(javaType));
+        } catch (RuntimeException exception) {
+            throw new BadRequestException("Cursor");
+        }
+    }
+}
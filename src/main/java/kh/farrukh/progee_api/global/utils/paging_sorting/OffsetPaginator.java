@@ -0,0 +1,115 @@
+package kh.farrukh.progee_api.global.utils.paging_sorting;
+
+import kh.farrukh.progee_api.global.cache.PageCountCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+/**
+ * It loads pages with offset pagination (like JpaSpecificationExecutor.findAll) without counting all items on
+ * every request: counts of the same filter are reused for a short time (estimated), or items are not counted at
+ * all and only the next page is known (none).
+ * <p>
+ * One more item than the page size is loaded, so it is known if there is a next page without the count. If there
+ * is no next page, the total number of items is known from the offset and is never counted or estimated.
+ */
+@Component
+@RequiredArgsConstructor
+public class OffsetPaginator {
+
+    private static final String HINT_LOAD_GRAPH = "javax.persistence.loadgraph";
+
+    private final EntityManager entityManager;
+    private final PageCountCache pageCountCache;
+
+    /**
+     * This function loads the page of the entities that match the specification.
+     *
+     * @param domainClass   The class of the entity.
+     * @param specification The specification to filter the entities (optional).
+     * @param pageable      The page number, the page size and the sorting.
+     * @param countMode     The way to count the entities.
+     * @param entityGraph   The name of the entity graph to load the entities with (optional).
+     * @return A page (exact or estimated count) or a slice (no count) of the entities.
+     */
+    public <T> Slice<T> findAll(
+            Class<T> domainClass,
+            Specification<T> specification,
+            Pageable pageable,
+            CountMode countMode,
+            String entityGraph
+    ) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        applySpecification(specification, root, query, criteriaBuilder);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+
+        TypedQuery<T> typedQuery = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1);
+        if (entityGraph != null) {
+            typedQuery.setHint(HINT_LOAD_GRAPH, entityManager.getEntityGraph(entityGraph));
+        }
+        List<T> items = typedQuery.getResultList();
+
+        boolean hasNext = items.size() > pageable.getPageSize();
+        List<T> content = hasNext ? items.subList(0, pageable.getPageSize()) : items;
+        if (countMode == CountMode.NONE) {
+            return new SliceImpl<>(content, pageable, hasNext);
+        }
+        // The last page knows the total number itself (an empty page beyond the end is counted)
+        if (!hasNext && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return new PageImpl<>(content, pageable, pageable.getOffset() + content.size());
+        }
+
+        long total = countMode == CountMode.ESTIMATED
+                ? pageCountCache.getCount(domainClass, specification, () -> count(domainClass, specification))
+                : count(domainClass, specification);
+        // An outdated count can not end before the loaded items
+        if (hasNext) total = Math.max(total, pageable.getOffset() + pageable.getPageSize() + 1);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * This function counts the entities that match the specification.
+     *
+     * @param domainClass   The class of the entity.
+     * @param specification The specification to filter the entities (optional).
+     * @return The number of the entities.
+     */
+    private <T> long count(Class<T> domainClass, Specification<T> specification) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        applySpecification(specification, root, query, criteriaBuilder);
+        query.select(query.isDistinct() ? criteriaBuilder.countDistinct(root) : criteriaBuilder.count(root));
+        // Sorting does not change the count
+        query.orderBy(List.of());
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private <T> void applySpecification(
+            Specification<T> specification,
+            Root<T> root,
+            CriteriaQuery<?> query,
+            CriteriaBuilder criteriaBuilder
+    ) {
+        if (specification == null) return;
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) query.where(predicate);
+    }
+}
@@ -0,0 +1,60 @@
+package kh.farrukh.progee_api.global.utils.paging_sorting;
+
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * It's a position in the sorted list for cursor (keyset) pagination: the sort key and the id of the last
+ * returned item. It is sent to clients as an opaque token (`next_cursor`) and returned by them (`after`)
+ * to get the next page
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private static final String VERSION = "1";
+    private static final String SEPARATOR = "|";
+    private static final int PART_COUNT = 5;
+
+    private final String sortBy;
+    private final Sort.Direction direction;
+    private final long id;
+    // String representation of the sort key of the last item. It is not used when items are sorted by id.
+    private final String value;
+
+    /**
+     * This function encodes the cursor to an opaque URL-safe token.
+     *
+     * @return The token.
+     */
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sortBy, direction.name(), String.valueOf(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This function decodes the token that was created by {@link #encode()}.
+     *
+     * @param token The token from the request.
+     * @return The decoded cursor.
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value is the last part, so it can contain the separator.
+            String[] parts = raw.split(Pattern.quote(SEPARATOR), PART_COUNT);
+            if (parts.length != PART_COUNT || !parts[0].equals(VERSION)) {
+                throw new BadRequestException("Cursor");
+            }
+            return new PageCursor(parts[1], Sort.Direction.valueOf(parts[2]), Long.parseLong(parts[3]), parts[4]);
+        } catch (IllegalArgumentException exception) {
+            throw new BadRequestException("Cursor");
+        }
+    }
+}
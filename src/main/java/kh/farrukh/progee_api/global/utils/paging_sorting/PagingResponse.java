@@ -1,10 +1,12 @@
 package kh.farrukh.progee_api.global.utils.paging_sorting;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -12,7 +14,9 @@ import java.util.List;
  * It takes a Spring Page object and converts it into a
  * JSON object that can be returned by a REST endpoint
  * <p>
- * Used in all endpoints with pagination
+ * Used in all endpoints with pagination. With cursor pagination, only items and next_cursor are set:
+ * total numbers of items and pages are not counted. The same is true for a Slice (count=none), but it has
+ * the page numbers
  */
 @Getter
 @Setter
@@ -28,19 +32,31 @@ public class PagingResponse<T> {
     private long totalItems = 0;
     private int page = 1;
     private List<T> items = List.of();
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty("next_cursor")
+    private String nextCursor = null;
 
-    public PagingResponse(Page<T> page) {
-        if (page != null) {
-            if (page.hasNext()) {
-                this.nextPage = page.nextPageable().getPageNumber() + 1;
+    public PagingResponse(Slice<T> slice) {
+        if (slice != null) {
+            if (slice.hasNext()) {
+                this.nextPage = slice.nextPageable().getPageNumber() + 1;
+            }
+            if (slice.hasPrevious()) {
+                this.prevPage = slice.previousPageable().getPageNumber() + 1;
             }
-            if (page.hasPrevious()) {
-                this.prevPage = page.previousPageable().getPageNumber() + 1;
+            this.page = slice.getPageable().getPageNumber() + 1;
+            if (slice instanceof Page<T> page) {
+                this.totalPages = page.getTotalPages();
+                this.totalItems = page.getTotalElements();
             }
-            this.page = page.getPageable().getPageNumber() + 1;
-            this.totalPages = page.getTotalPages();
-            this.totalItems = page.getTotalElements();
+            this.items = slice.getContent();
+        }
+    }
+
+    public PagingResponse(CursorPage<T> page) {
+        if (page != null) {
             this.items = page.getContent();
+            this.nextCursor = page.getNextCursor();
         }
     }
 }
@@ -0,0 +1,50 @@
+package kh.farrukh.progee_api.global.utils.user;
+
+import kh.farrukh.progee_api.role.Permission;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * It's the principal of an authenticated request: the id, the email and the permissions of the user. It is created
+ * from the claims of the access token (or from the user once per request for the tokens without them), so the
+ * current user is known without querying the database.
+ */
+@Getter
+public class AppUserPrincipal implements Principal {
+
+    private final long id;
+    private final String email;
+    private final Set<Permission> permissions;
+
+    public AppUserPrincipal(long id, String email, Collection<Permission> permissions) {
+        this.id = id;
+        this.email = email;
+        this.permissions = Collections.unmodifiableSet(
+                permissions == null || permissions.isEmpty()
+                        ? EnumSet.noneOf(Permission.class)
+                        : EnumSet.copyOf(permissions)
+        );
+    }
+
+    public boolean hasPermission(Permission permission) {
+        return permissions.contains(permission);
+    }
+
+    /**
+     * The name of the principal is the email (it is the username of the user and the subject of the token).
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    @Override
+    public String toString() {
+        return email;
+    }
+}
@@ -4,11 +4,21 @@ import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
 import kh.farrukh.progee_api.role.Permission;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 
+import java.util.Optional;
+
 /**
- * It's a utility class with methods for user helper logic
+ * It's a utility class with methods for user helper logic.
+ * <p>
+ * The current user is the principal of the authentication of the request. The authorization filter creates it from
+ * the access token, so the user is not loaded from the database to check the permissions or to get the id. If the
+ * authentication has only the email (tokens without the user claims, tests), the user is loaded once and the
+ * principal replaces the email for the rest of the request.
  */
 public class CurrentUserUtils {
 
@@ -19,7 +29,7 @@ public class CurrentUserUtils {
      * @param permissionToChangeOthers The permission that the user needs to have to change other users' resources.
      * @param permissionToChangeOwn    The permission that the user needs to have to change their own resources.
      * @param authorId                 The id of the author of the resource you're trying to change.
-     * @param appUserRepository        The repository that contains the current user.
+     * @param appUserRepository        The repository that contains the current user (if it is not in the token).
      * @return A boolean value.
      */
     public static boolean hasPermissionOrIsAuthor(
@@ -28,40 +38,92 @@ public class CurrentUserUtils {
             long authorId,
             AppUserRepository appUserRepository
     ) {
-        try {
-            AppUser currentUser = getCurrentUser(appUserRepository);
-            return (currentUser.getId() != authorId && currentUser.getRole().getPermissions().contains(permissionToChangeOthers)) ||
-                    (currentUser.getId() == authorId && currentUser.getRole().getPermissions().contains(permissionToChangeOwn));
-        } catch (ResourceNotFoundException e) {
-            return false;
-        }
+        return findCurrentPrincipal(appUserRepository)
+                .map(principal -> principal.getId() == authorId
+                        ? principal.hasPermission(permissionToChangeOwn)
+                        : principal.hasPermission(permissionToChangeOthers))
+                .orElse(false);
     }
 
     /**
      * If the current user has the given permission, return true, otherwise return false.
      *
      * @param permission        The permission you want to check for.
-     * @param appUserRepository The repository that contains the current user.
+     * @param appUserRepository The repository that contains the current user (if it is not in the token).
      * @return A boolean value.
      */
     public static boolean hasPermission(Permission permission, AppUserRepository appUserRepository) {
-        try {
-            AppUser currentUser = getCurrentUser(appUserRepository);
-            return currentUser.getRole().getPermissions().contains(permission);
-        } catch (ResourceNotFoundException e) {
-            return false;
+        return findCurrentPrincipal(appUserRepository)
+                .map(principal -> principal.hasPermission(permission))
+                .orElse(false);
+    }
+
+    /**
+     * Get the id of the currently logged-in user.
+     *
+     * @return The id of the user that is currently logged in.
+     */
+    public static long getCurrentUserId(AppUserRepository appUserRepository) {
+        return getCurrentPrincipal(appUserRepository).getId();
+    }
+
+    /**
+     * Get a reference to the currently logged-in user to set it as the author of a new resource. The user is not
+     * loaded, so only its id can be read without a query. The token can outlive the user, so the user is checked to
+     * exist first (otherwise the write would fail with a foreign key violation).
+     *
+     * @return The reference to the user that is currently logged in.
+     */
+    public static AppUser getCurrentUserReference(AppUserRepository appUserRepository) {
+        long id = getCurrentUserId(appUserRepository);
+        if (!appUserRepository.existsById(id)) {
+            throw new ResourceNotFoundException("User", "id", id);
         }
+        return appUserRepository.getReferenceById(id);
     }
 
     /**
-     * Get the currently logged-in user.
+     * Get the principal of the currently logged-in user.
      *
-     * @return The user that is currently logged in.
+     * @return The principal of the user that is currently logged in.
      */
-    public static AppUser getCurrentUser(AppUserRepository appUserRepository) {
-        String email = getEmail();
-        return appUserRepository.findByEmail(email).orElseThrow(
-                () -> new ResourceNotFoundException("User", "email", email)
+    public static AppUserPrincipal getCurrentPrincipal(AppUserRepository appUserRepository) {
+        return findCurrentPrincipal(appUserRepository).orElseThrow(
+                () -> new ResourceNotFoundException("User", "email", getEmail())
+        );
+    }
+
+    /**
+     * Find the principal of the currently logged-in user. It is used by the endpoints that are available for
+     * non-logged users too.
+     *
+     * @return The principal of the user that is currently logged in or empty if the user is not logged in.
+     */
+    public static Optional<AppUserPrincipal> findCurrentPrincipal(AppUserRepository appUserRepository) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof AppUserPrincipal principal) {
+            return Optional.of(principal);
+        }
+
+        Optional<AppUserPrincipal> principal = appUserRepository.findByEmail(getEmail()).map(CurrentUserUtils::toPrincipal);
+        principal.ifPresent(loadedPrincipal -> {
+            UsernamePasswordAuthenticationToken authenticationWithPrincipal = new UsernamePasswordAuthenticationToken(
+                    loadedPrincipal, authentication.getCredentials(), authentication.getAuthorities()
+            );
+            authenticationWithPrincipal.setDetails(authentication.getDetails());
+            SecurityContextHolder.getContext().setAuthentication(authenticationWithPrincipal);
+        });
+        return principal;
+    }
+
+    private static AppUserPrincipal toPrincipal(AppUser user) {
+        return new AppUserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getRole() != null ? user.getRole().getPermissions() : null
         );
     }
 
@@ -78,7 +140,7 @@ public class CurrentUserUtils {
         if (principal instanceof User) {
             return ((User) principal).getUsername();
         } else {
-            return (String) principal;
+            return String.valueOf(principal);
         }
     }
 }
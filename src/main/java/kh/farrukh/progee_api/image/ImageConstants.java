@@ -1,5 +1,7 @@
 package kh.farrukh.progee_api.image;
 
+import java.util.List;
+
 /**
  * It's a class that contains constants that are used in the Image package.
  */
@@ -8,5 +10,7 @@ public class ImageConstants {
     public static final String ENDPOINT_IMAGE = "/api/v1/images";
     public static final String TABLE_NAME_IMAGE = "image";
     public static final String SEQUENCE_NAME_IMAGE_ID = "image_id_sequence";
+    // Tables that the responses of images are read from (for the ETags of the lists)
+    public static final List<String> TABLES_OF_IMAGE_RESPONSE = List.of(TABLE_NAME_IMAGE);
 
 }
@@ -1,6 +1,7 @@
 package kh.farrukh.progee_api.image;
 
 import kh.farrukh.progee_api.global.utils.file.NotEmptyFile;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.image.payloads.ImageResponseDTO;
 import lombok.RequiredArgsConstructor;
@@ -8,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import static kh.farrukh.progee_api.image.ImageConstants.ENDPOINT_IMAGE;
@@ -28,14 +30,25 @@ public class ImageController {
      *
      * @param page     The page number of the images to be returned.
      * @param pageSize The number of items to be returned in a page.
+     * @param cursor   true to use cursor pagination (page is ignored).
+     * @param after    The next_cursor of the previous page. Cursor pagination is used if it is set.
+     * @param request  The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A list of images
      */
     @GetMapping
     public ResponseEntity<PagingResponse<ImageResponseDTO>> getImages(
             @RequestParam(name = "page", defaultValue = "1") int page,
-            @RequestParam(name = "page_size", defaultValue = "10") int pageSize
+            @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
+            @RequestParam(name = "cursor", defaultValue = "false") boolean cursor,
+            @RequestParam(name = "after", required = false) String after,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(imageService.getImages(page, pageSize));
+        return ETagUtils.toConditionalResponse(request, imageService.getImagesETag(), () -> {
+            if (cursor || after != null) {
+                return imageService.getImagesByCursor(pageSize, after);
+            }
+            return imageService.getImages(page, pageSize);
+        });
     }
 
     /**
@@ -55,12 +68,13 @@ public class ImageController {
     /**
      * This function is a GET request that takes in an id and returns an image object
      *
-     * @param id The id of the image you want to retrieve.
+     * @param id      The id of the image you want to retrieve.
+     * @param request The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A ResponseEntity object is being returned.
      */
     @GetMapping(value = "{id}")
-    public ResponseEntity<ImageResponseDTO> getImageById(@PathVariable long id) {
-        return ResponseEntity.ok(imageService.getImageById(id));
+    public ResponseEntity<ImageResponseDTO> getImageById(@PathVariable long id, WebRequest request) {
+        return ETagUtils.toConditionalResponse(request, imageService.getImageETag(id), () -> imageService.getImageById(id));
     }
 
     /**
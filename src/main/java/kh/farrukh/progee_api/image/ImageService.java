@@ -14,9 +14,15 @@ public interface ImageService {
 
     PagingResponse<ImageResponseDTO> getImages(int page, int pageSize);
 
+    PagingResponse<ImageResponseDTO> getImagesByCursor(int pageSize, String after);
+
     ImageResponseDTO addImage(MultipartFile multipartImage);
 
     ImageResponseDTO getImageById(long id);
 
+    String getImageETag(long id);
+
+    String getImagesETag();
+
     void deleteImage(long id);
 }
@@ -1,17 +1,23 @@
 package kh.farrukh.progee_api.image;
 
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
 import kh.farrukh.progee_api.global.utils.file.FileUtils;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPaginator;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.image.payloads.ImageResponseDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 
 import static kh.farrukh.progee_api.global.utils.checkers.Checkers.checkPageNumber;
+import static kh.farrukh.progee_api.image.ImageConstants.TABLES_OF_IMAGE_RESPONSE;
 
 /**
  * It implements the ImageService interface and uses the ImageRepository
@@ -23,6 +29,9 @@ public class ImageServiceImpl implements ImageService {
 
     private final S3Repository s3Repository;
     private final ImageRepository imageRepository;
+    private final CursorPaginator cursorPaginator;
+    private final CatalogCache catalogCache;
+    private final ChangeTracker changeTracker;
 
     // A folder that is being used to save the images in the S3 bucket.
     public static final String IMAGES_FOLDER = "images";
@@ -43,6 +52,22 @@ public class ImageServiceImpl implements ImageService {
         );
     }
 
+    /**
+     * Get images after the given cursor (keyset pagination), sorted by id. Unlike getImages, it does not skip the
+     * rows of the previous pages and does not count all images.
+     *
+     * @param pageSize The number of items to return per page.
+     * @param after    The cursor of the previous page, or null to get the first page.
+     * @return A PagingResponse object with the cursor of the next page is being returned.
+     */
+    @Override
+    public PagingResponse<ImageResponseDTO> getImagesByCursor(int pageSize, String after) {
+        return new PagingResponse<>(
+                cursorPaginator.findAll(Image.class, null, Sort.Order.asc("id"), after, pageSize, null)
+                        .map(ImageMappers::toImageResponseDto)
+        );
+    }
+
     /**
      * It takes a multipart image, saves it to S3, creates an image object, saves it to the database, and returns an image
      * response DTO
@@ -75,6 +100,30 @@ public class ImageServiceImpl implements ImageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Image", "id", id));
     }
 
+    /**
+     * This function returns the ETag of the image with the given id. The image is not mapped to the response,
+     * so a not modified image is returned without creating the response.
+     *
+     * @param id The id of the image
+     * @return The strong ETag of the image
+     */
+    @Override
+    public String getImageETag(long id) {
+        return imageRepository.findById(id)
+                .map(image -> ETagUtils.toStrongETag(ETagUtils.toVersionTag(image)))
+                .orElseThrow(() -> new ResourceNotFoundException("Image", "id", id));
+    }
+
+    /**
+     * This function returns the weak ETag of the lists of images. It changes after any change of the images.
+     *
+     * @return The weak ETag of the lists
+     */
+    @Override
+    public String getImagesETag() {
+        return changeTracker.getWeakETag(TABLES_OF_IMAGE_RESPONSE);
+    }
+
     /**
      * It deletes an image from the database and from the S3 bucket
      *
@@ -86,5 +135,6 @@ public class ImageServiceImpl implements ImageService {
                 .orElseThrow(() -> new ResourceNotFoundException("Image", "id", id));
         s3Repository.deleteObject(IMAGES_FOLDER + "/" + image.getName());
         imageRepository.deleteById(id);
+        catalogCache.invalidateImage(id);
     }
 }
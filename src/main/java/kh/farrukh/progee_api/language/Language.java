@@ -30,10 +30,6 @@ import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUA
         name = TABLE_NAME_LANGUAGE,
         uniqueConstraints = @UniqueConstraint(name = "uk_language_name", columnNames = "name")
 )
-@NamedEntityGraphs({
-        @NamedEntityGraph(name = "language_with_frameworks", attributeNodes = @NamedAttributeNode("frameworks")),
-        @NamedEntityGraph(name = "language_with_reviews", attributeNodes = @NamedAttributeNode("reviews"))
-})
 public class Language extends EntityWithResourceState {
 
     private String name;
@@ -64,6 +60,25 @@ public class Language extends EntityWithResourceState {
     @CreationTimestamp
     private ZonedDateTime createdAt;
 
+    // Aggregates of the reviews and the approved frameworks of the language. They are changed only with SQL by
+    // LanguageRepository in the same transaction as the reviews and the frameworks.
+    @Column(nullable = false, updatable = false)
+    private long reviewCount;
+
+    @Column(nullable = false, updatable = false)
+    private long likeCount;
+
+    // Sum of the scores of the reviews, it is used to maintain the average score
+    @Column(nullable = false, updatable = false)
+    private long reviewScoreSum;
+
+    // It is 0 if the language has no reviews
+    @Column(nullable = false, updatable = false)
+    private double avgReviewScore;
+
+    @Column(nullable = false, updatable = false)
+    private long frameworkCount;
+
     public Language(long id) {
         super.setId(id);
     }
@@ -1,5 +1,12 @@
 package kh.farrukh.progee_api.language;
 
+import java.util.List;
+
+import static kh.farrukh.progee_api.app_user.AppUserConstants.TABLE_NAME_USER;
+import static kh.farrukh.progee_api.framework.FrameworkConstants.TABLE_NAME_FRAMEWORK;
+import static kh.farrukh.progee_api.image.ImageConstants.TABLE_NAME_IMAGE;
+import static kh.farrukh.progee_api.role.RoleConstants.TABLE_NAME_ROLE;
+
 /**
  * It's a class that contains constants that are used in the Language package
  */
@@ -8,5 +15,12 @@ public class LanguageConstants {
     public static final String ENDPOINT_LANGUAGE = "/api/v1/languages";
     public static final String TABLE_NAME_LANGUAGE = "language";
     public static final String SEQUENCE_NAME_LANGUAGE_ID = "language_id_sequence";
+    // Tables that the responses of languages are read from (for the ETags of the lists)
+    public static final List<String> TABLES_OF_LANGUAGE_RESPONSE =
+            List.of(TABLE_NAME_LANGUAGE, TABLE_NAME_IMAGE, TABLE_NAME_USER, TABLE_NAME_ROLE);
+    // Value of the include parameter that embeds the approved frameworks to the responses of languages
+    public static final String INCLUDE_FRAMEWORKS = "frameworks";
+    public static final List<String> TABLES_OF_LANGUAGE_WITH_FRAMEWORKS_RESPONSE =
+            List.of(TABLE_NAME_LANGUAGE, TABLE_NAME_FRAMEWORK, TABLE_NAME_IMAGE, TABLE_NAME_USER, TABLE_NAME_ROLE);
 
 }
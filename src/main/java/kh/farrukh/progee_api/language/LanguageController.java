@@ -3,16 +3,24 @@ package kh.farrukh.progee_api.language;
 import kh.farrukh.progee_api.language.payloads.LanguageRequestDTO;
 import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
+import java.util.List;
 
+import static kh.farrukh.progee_api.global.utils.checkers.Checkers.checkIncludeParam;
 import static kh.farrukh.progee_api.language.LanguageConstants.ENDPOINT_LANGUAGE;
+import static kh.farrukh.progee_api.language.LanguageConstants.INCLUDE_FRAMEWORKS;
 
 /**
  * Controller that exposes endpoints for managing frameworks
@@ -30,8 +38,15 @@ public class LanguageController {
      * @param state    The state of the resource. (Only for admins. Requires access token)
      * @param page     The page number to return. One-based index.
      * @param pageSize The number of items to return per page. Default is 10.
-     * @param sortBy   The field to sort by. Allowed values: id, name, description, state, createdAt. Default is id.
+     * @param sortBy   The field to sort by. Allowed values: id, name, description, state, createdAt, reviewCount,
+     *                 avgReviewScore, likeCount, frameworkCount. Default is id.
      * @param orderBy  The order in which the results are returned. Allowed values: asc, desc. Default is asc.
+     * @param cursor   true to use cursor pagination: page is ignored and sort_by can be only id or createdAt.
+     * @param after    The next_cursor of the previous page. Cursor pagination is used if it is set.
+     * @param count    How to count the languages. Allowed values: exact, estimated (can be a bit outdated),
+     *                 none (only next_page is returned). Default is exact.
+     * @param include  Allowed values: frameworks (embeds the approved frameworks to each language).
+     * @param request  The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A list of languages
      */
     @GetMapping
@@ -40,20 +55,51 @@ public class LanguageController {
             @RequestParam(name = "page", defaultValue = "1") int page,
             @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
             @RequestParam(name = "sort_by", defaultValue = "id") String sortBy,
-            @RequestParam(name = "order_by", defaultValue = "asc") String orderBy
+            @RequestParam(name = "order_by", defaultValue = "asc") String orderBy,
+            @RequestParam(name = "cursor", defaultValue = "false") boolean cursor,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "exact") String count,
+            @RequestParam(name = "include", required = false) String include,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(languageService.getLanguages(state, page, pageSize, sortBy, orderBy));
+        CountMode countMode = CountMode.parse(count);
+        checkIncludeParam(include, List.of(INCLUDE_FRAMEWORKS));
+        boolean includeFrameworks = include != null;
+        return ETagUtils.toConditionalResponse(request, languageService.getLanguagesETag(includeFrameworks), () -> {
+            if (cursor || after != null) {
+                return languageService.getLanguagesByCursor(state, pageSize, sortBy, orderBy, after, includeFrameworks);
+            }
+            return languageService.getLanguages(state, page, pageSize, sortBy, orderBy, countMode, includeFrameworks);
+        });
     }
 
     /**
      * This function returns a language with the given id, if it exists
      *
-     * @param id The id of the language you want to get
+     * @param id      The id of the language you want to get
+     * @param include Allowed values: frameworks (embeds the approved frameworks to the language).
+     * @param request The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A ResponseEntity containing LanguageResponseDTO object and HttpStatus.
      */
     @GetMapping("{id}")
-    public ResponseEntity<LanguageResponseDTO> getLanguageById(@PathVariable long id) {
-        return ResponseEntity.ok(languageService.getLanguageById(id));
+    public ResponseEntity<LanguageResponseDTO> getLanguageById(
+            @PathVariable long id,
+            @RequestParam(name = "include", required = false) String include,
+            WebRequest request
+    ) {
+        checkIncludeParam(include, List.of(INCLUDE_FRAMEWORKS));
+        if (include != null) {
+            return ETagUtils.toConditionalResponse(
+                    request,
+                    languageService.getLanguageWithFrameworksETag(id),
+                    () -> languageService.getLanguageWithFrameworksById(id)
+            );
+        }
+        return ETagUtils.toConditionalResponse(
+                request,
+                languageService.getLanguageETag(id),
+                () -> languageService.getLanguageById(id)
+        );
     }
 
     /**
@@ -111,4 +157,18 @@ public class LanguageController {
     ) {
         return ResponseEntity.ok(languageService.setLanguageState(id, setResourceStateRequestDto));
     }
-}
\ No newline at end of file
+
+    /**
+     * This function sets the state of many languages at once: the languages with the given ids, or all
+     * languages with the given filter_state (for example, approves all waiting languages).
+     *
+     * @param setResourceStatesRequestDto The ids or the filter_state of the languages, and the state to set.
+     * @return A ResponseEntity with the number of the changed languages and the result for each id.
+     */
+    @PatchMapping("state")
+    public ResponseEntity<SetResourceStatesResponseDTO> setLanguageStates(
+            @Valid @RequestBody SetResourceStatesRequestDTO setResourceStatesRequestDto
+    ) {
+        return ResponseEntity.ok(languageService.setLanguageStates(setResourceStatesRequestDto));
+    }
+}
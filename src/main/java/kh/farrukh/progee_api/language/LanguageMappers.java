@@ -6,6 +6,7 @@ import kh.farrukh.progee_api.language.payloads.LanguageRequestDTO;
 import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
 import kh.farrukh.progee_api.app_user.AppUserMappers;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
 import org.springframework.beans.BeanUtils;
 
 /**
@@ -16,12 +17,27 @@ public class LanguageMappers {
     public static LanguageResponseDTO toLanguageResponseDTO(Language language) {
         if (language == null) return null;
         LanguageResponseDTO languageResponseDTO = new LanguageResponseDTO();
-        BeanUtils.copyProperties(language, languageResponseDTO);
+        BeanUtils.copyProperties(language, languageResponseDTO, "frameworks");
         languageResponseDTO.setAuthor(AppUserMappers.toAppUserResponseDTO(language.getAuthor()));
         languageResponseDTO.setImage(ImageMappers.toImageResponseDto(language.getImage()));
         return languageResponseDTO;
     }
 
+    // Versions of the language and of the entities that the response of the language contains. Aggregates are
+    // changed with SQL directly (without the version), so they are a part of the tag.
+    public static String toVersionTag(Language language) {
+        if (language == null) return ETagUtils.toVersionTag(null);
+        return String.join(",",
+                ETagUtils.toVersionTag(language),
+                String.valueOf(language.getReviewCount()),
+                String.valueOf(language.getReviewScoreSum()),
+                String.valueOf(language.getLikeCount()),
+                String.valueOf(language.getFrameworkCount()),
+                ETagUtils.toVersionTag(language.getImage()),
+                AppUserMappers.toVersionTag(language.getAuthor())
+        );
+    }
+
     public static Language toLanguage(LanguageRequestDTO languageRequestDTO, ImageRepository imageRepository) {
         if (languageRequestDTO == null) return null;
         Language language = new Language();
@@ -3,10 +3,8 @@ package kh.farrukh.progee_api.language;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.validation.annotation.Validated;
 
@@ -15,7 +13,8 @@ import org.springframework.validation.annotation.Validated;
  */
 @Repository
 @Validated
-public interface LanguageRepository extends JpaRepository<Language, Long>, JpaSpecificationExecutor<Language> {
+public interface LanguageRepository
+        extends JpaRepository<Language, Long>, JpaSpecificationExecutor<Language>, LanguageRepositoryCustom {
 
     /**
      * Returns true if there is a language with the given name.
@@ -37,24 +36,4 @@ public interface LanguageRepository extends JpaRepository<Language, Long>, JpaSp
             ResourceState state,
             Pageable pageable
     );
-
-    /**
-     * Find all languages, and load their frameworks.
-     *
-     * @param pageable This is the pageable object that contains the page number, page size, and sort order.
-     * @return A Page of Language objects with the frameworks loaded.
-     */
-    @EntityGraph(value = "language_with_frameworks", type = EntityGraph.EntityGraphType.LOAD)
-    @Query("select l from Language l")
-    Page<Language> findAllWithFrameworks(Pageable pageable);
-
-    /**
-     * Find all languages, and load their reviews.
-     *
-     * @param pageable This is the Pageable object that we created in the controller.
-     * @return A Page of Language objects with their reviews loaded.
-     */
-    @EntityGraph(value = "language_with_reviews", type = EntityGraph.EntityGraphType.LOAD)
-    @Query("select l from Language l")
-    Page<Language> findAllWithReviews(Pageable pageable);
 }
@@ -0,0 +1,54 @@
+package kh.farrukh.progee_api.language;
+
+import kh.farrukh.progee_api.review.ReviewValue;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+/**
+ * Custom (SQL based) operations of the LanguageRepository. They maintain the aggregate columns of languages
+ * (review count, like count, average review score and framework count), so languages can be sorted by them
+ * without aggregating the reviews and the frameworks at read time
+ */
+public interface LanguageRepositoryCustom {
+
+    /**
+     * This function changes the review aggregates of the language by the difference of one review, without
+     * reading the language.
+     *
+     * @param languageId   The id of the language of the review.
+     * @param removedValue The previous value of the review, or null if the review is created.
+     * @param addedValue   The new value of the review, or null if the review is deleted.
+     */
+    @Transactional
+    void applyReviewChange(long languageId, ReviewValue removedValue, ReviewValue addedValue);
+
+    /**
+     * This function changes the number of the approved frameworks of the language, without reading the language.
+     *
+     * @param languageId The id of the language of the framework.
+     * @param delta      The difference of the number (1 if a framework is approved, -1 if it is not anymore).
+     */
+    @Transactional
+    void applyFrameworkCountChange(long languageId, int delta);
+
+    /**
+     * This function changes the numbers of the approved frameworks of the languages of the given frameworks
+     * with one UPDATE. It is used after the states of many frameworks are changed at once.
+     *
+     * @param frameworkIds The ids of the frameworks that are approved (or are not anymore).
+     * @param delta        The difference for each framework (1 if they are approved, -1 if they are not anymore).
+     * @return The number of the changed languages.
+     */
+    @Transactional
+    int applyFrameworkCountChanges(Collection<Long> frameworkIds, int delta);
+
+    /**
+     * This function recomputes the aggregates of all languages from the reviews and the frameworks. It is used
+     * after the reviews or the frameworks are written in bulk, and to repair the aggregates.
+     *
+     * @return The number of the recounted languages.
+     */
+    @Transactional
+    int recountAggregates();
+}
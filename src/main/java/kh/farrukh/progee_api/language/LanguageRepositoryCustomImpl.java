@@ -0,0 +1,131 @@
+package kh.farrukh.progee_api.language;
+
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.utils.database.DatabaseVendor;
+import kh.farrukh.progee_api.review.ReviewValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+
+/**
+ * Implementation of the LanguageRepositoryCustom. Each change is one UPDATE of the language row, so it takes
+ * the same row lock as an update of the language and concurrent changes are applied one after another
+ */
+public class LanguageRepositoryCustomImpl implements LanguageRepositoryCustom {
+
+    // Right-hand sides of SET read the values before the update, so the average is computed from the new sums
+    private static final String SQL_APPLY_REVIEW_CHANGE = """
+            UPDATE language
+            SET review_count     = review_count + :totalDelta,
+                like_count       = like_count + :likeDelta,
+                review_score_sum = review_score_sum + :scoreDelta,
+                avg_review_score = CASE
+                                       WHEN review_count + :totalDelta = 0 THEN 0
+                                       ELSE CAST(review_score_sum + :scoreDelta AS DOUBLE PRECISION) /
+                                            (review_count + :totalDelta)
+                    END
+            WHERE id = :languageId
+            """;
+
+    private static final String SQL_APPLY_FRAMEWORK_COUNT_CHANGE = """
+            UPDATE language
+            SET framework_count = framework_count + :delta
+            WHERE id = :languageId
+            """;
+
+    private static final String SQL_APPLY_FRAMEWORK_COUNT_CHANGES = """
+            UPDATE language
+            SET framework_count = framework_count + :delta * (SELECT COUNT(*)
+                                                              FROM framework
+                                                              WHERE framework.language_id = language.id
+                                                                AND framework.id IN (:frameworkIds))
+            WHERE id IN (SELECT language_id FROM framework WHERE id IN (:frameworkIds))
+            """;
+
+    /**
+     * Concurrent changes wait until the recount is committed, so they are applied to the recounted rows.
+     * Changes that were applied before the lock are committed before it is granted, so they are recounted.
+     */
+    private static final String SQL_LOCK_LANGUAGES_POSTGRESQL = "LOCK TABLE language IN EXCLUSIVE MODE";
+
+    // Null value of the review is read as DONT_HAVE_PRACTICE by ReviewValueConverter, so it is counted as that.
+    private static final String SQL_RECOUNT_SUMS = """
+            UPDATE language
+            SET review_count     = (SELECT COUNT(*) FROM review WHERE review.language_id = language.id),
+                like_count       = (SELECT COUNT(*)
+                                    FROM review
+                                    WHERE review.language_id = language.id
+                                      AND review.review_value = :likeScore),
+                review_score_sum = (SELECT COALESCE(SUM(COALESCE(review.review_value, :dontHavePracticeScore)), 0)
+                                    FROM review
+                                    WHERE review.language_id = language.id),
+                framework_count  = (SELECT COUNT(*)
+                                    FROM framework
+                                    WHERE framework.language_id = language.id
+                                      AND framework.state = :approvedState)
+            """;
+
+    private static final String SQL_RECOUNT_AVERAGES = """
+            UPDATE language
+            SET avg_review_score = CASE
+                                       WHEN review_count = 0 THEN 0
+                                       ELSE CAST(review_score_sum AS DOUBLE PRECISION) / review_count
+                END
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public LanguageRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseVendor = new DatabaseVendor(dataSource);
+    }
+
+    @Override
+    public void applyReviewChange(long languageId, ReviewValue removedValue, ReviewValue addedValue) {
+        if (removedValue == addedValue) return;
+
+        jdbcTemplate.update(SQL_APPLY_REVIEW_CHANGE, new MapSqlParameterSource()
+                .addValue("languageId", languageId)
+                .addValue("totalDelta", (addedValue != null ? 1 : 0) - (removedValue != null ? 1 : 0))
+                .addValue("likeDelta", (addedValue == ReviewValue.LIKE ? 1 : 0) - (removedValue == ReviewValue.LIKE ? 1 : 0))
+                .addValue("scoreDelta", getScore(addedValue) - getScore(removedValue)));
+    }
+
+    @Override
+    public void applyFrameworkCountChange(long languageId, int delta) {
+        if (delta == 0) return;
+
+        jdbcTemplate.update(SQL_APPLY_FRAMEWORK_COUNT_CHANGE, new MapSqlParameterSource()
+                .addValue("languageId", languageId)
+                .addValue("delta", delta));
+    }
+
+    @Override
+    public int applyFrameworkCountChanges(Collection<Long> frameworkIds, int delta) {
+        if (frameworkIds.isEmpty() || delta == 0) return 0;
+
+        return jdbcTemplate.update(SQL_APPLY_FRAMEWORK_COUNT_CHANGES, new MapSqlParameterSource()
+                .addValue("frameworkIds", frameworkIds)
+                .addValue("delta", delta));
+    }
+
+    @Override
+    public int recountAggregates() {
+        if (databaseVendor.isPostgreSQL()) {
+            jdbcTemplate.getJdbcTemplate().execute(SQL_LOCK_LANGUAGES_POSTGRESQL);
+        }
+        int languageCount = jdbcTemplate.update(SQL_RECOUNT_SUMS, new MapSqlParameterSource()
+                .addValue("likeScore", ReviewValue.LIKE.getScore())
+                .addValue("dontHavePracticeScore", ReviewValue.DONT_HAVE_PRACTICE.getScore())
+                .addValue("approvedState", ResourceState.APPROVED.name()));
+        jdbcTemplate.getJdbcTemplate().update(SQL_RECOUNT_AVERAGES);
+        return languageCount;
+    }
+
+    private int getScore(ReviewValue reviewValue) {
+        return reviewValue != null ? reviewValue.getScore() : 0;
+    }
+}
@@ -3,7 +3,10 @@ package kh.farrukh.progee_api.language;
 import kh.farrukh.progee_api.language.payloads.LanguageRequestDTO;
 import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 
 /**
@@ -17,11 +20,30 @@ public interface LanguageService {
             int page,
             int pageSize,
             String sortBy,
-            String orderBy
+            String orderBy,
+            CountMode countMode,
+            boolean includeFrameworks
+    );
+
+    PagingResponse<LanguageResponseDTO> getLanguagesByCursor(
+            ResourceState state,
+            int pageSize,
+            String sortBy,
+            String orderBy,
+            String after,
+            boolean includeFrameworks
     );
 
     LanguageResponseDTO getLanguageById(long id);
 
+    LanguageResponseDTO getLanguageWithFrameworksById(long id);
+
+    String getLanguageETag(long id);
+
+    String getLanguageWithFrameworksETag(long id);
+
+    String getLanguagesETag(boolean includeFrameworks);
+
     LanguageResponseDTO addLanguage(LanguageRequestDTO languageRequestDto);
 
     LanguageResponseDTO updateLanguage(long id, LanguageRequestDTO languageRequestDto);
@@ -29,4 +51,6 @@ public interface LanguageService {
     void deleteLanguage(long id);
 
     LanguageResponseDTO setLanguageState(long id, SetResourceStateRequestDTO setResourceStateRequestDto);
+
+    SetResourceStatesResponseDTO setLanguageStates(SetResourceStatesRequestDTO setResourceStatesRequestDto);
 }
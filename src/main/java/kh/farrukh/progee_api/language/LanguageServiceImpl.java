@@ -1,27 +1,48 @@
 package kh.farrukh.progee_api.language;
 
+import kh.farrukh.progee_api.framework.FrameworkMappers;
+import kh.farrukh.progee_api.framework.FrameworkRepository;
+import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
 import kh.farrukh.progee_api.image.ImageRepository;
 import kh.farrukh.progee_api.language.payloads.LanguageRequestDTO;
 import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
 import kh.farrukh.progee_api.role.Permission;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.autocomplete.AutocompleteIndex;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DuplicateResourceException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.NotEnoughPermissionException;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceLeasedException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.resource_state.ResourceStateUpdater;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPaginator;
+import kh.farrukh.progee_api.global.utils.paging_sorting.OffsetPaginator;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.global.utils.paging_sorting.SortUtils;
 import kh.farrukh.progee_api.global.utils.user.CurrentUserUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static kh.farrukh.progee_api.global.utils.checkers.Checkers.*;
+import static kh.farrukh.progee_api.language.LanguageConstants.*;
 
 /**
  * It implements the LanguageService interface and uses the LanguageRepository
@@ -32,8 +53,15 @@ import static kh.farrukh.progee_api.global.utils.checkers.Checkers.*;
 public class LanguageServiceImpl implements LanguageService {
 
     private final LanguageRepository languageRepository;
+    private final FrameworkRepository frameworkRepository;
     private final ImageRepository imageRepository;
     private final AppUserRepository appUserRepository;
+    private final CursorPaginator cursorPaginator;
+    private final OffsetPaginator offsetPaginator;
+    private final CatalogCache catalogCache;
+    private final ChangeTracker changeTracker;
+    private final ResourceStateUpdater resourceStateUpdater;
+    private final AutocompleteIndex autocompleteIndex;
 
     /**
      * This function returns a list of languages
@@ -43,42 +71,185 @@ public class LanguageServiceImpl implements LanguageService {
      * @param pageSize The number of items to return per page.
      * @param sortBy   The field to sort by.
      * @param orderBy  The order of the results. Can be either "asc" or "desc".
+     * @param countMode The way to count the languages. Only exact counts every request.
+     * @param includeFrameworks true to embed the approved frameworks to the languages.
      * @return A list of frameworks
      */
     @Override
+    @Transactional(readOnly = true)
     public PagingResponse<LanguageResponseDTO> getLanguages(
             ResourceState state,
             int page,
             int pageSize,
             String sortBy,
-            String orderBy
+            String orderBy,
+            CountMode countMode,
+            boolean includeFrameworks
     ) {
         checkPageNumber(page);
         Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by(SortUtils.parseDirection(orderBy), sortBy));
-        checkSortParams(pageable, List.of("id", "name", "description", "state", "createdAt"));
+        checkSortParams(pageable, List.of(
+                "id", "name", "description", "state", "createdAt",
+                "reviewCount", "avgReviewScore", "likeCount", "frameworkCount"
+        ));
 
-        // If the user doesn't have the permission to view languages by state, then if the state is not null, then throw an
-        // exception, otherwise set the APPROVED state.
-        if (!CurrentUserUtils.hasPermission(Permission.CAN_VIEW_LANGUAGES_BY_STATE, appUserRepository)) {
-            if (state != null) throw new NotEnoughPermissionException();
-            state = ResourceState.APPROVED;
-        }
+        LanguageSpecification specification = new LanguageSpecification(getVisibleState(state));
+        Slice<Language> languagePage = countMode == CountMode.EXACT
+                ? languageRepository.findAll(specification, pageable)
+                : offsetPaginator.findAll(Language.class, specification, pageable, countMode, null);
+        PagingResponse<LanguageResponseDTO> languages =
+                new PagingResponse<>(languagePage.map(LanguageMappers::toLanguageResponseDTO));
+        if (includeFrameworks) setFrameworks(languages.getItems());
+        return languages;
+    }
 
-        return new PagingResponse<>(languageRepository.findAll(
-                new LanguageSpecification(state),
-                pageable
+    /**
+     * This function returns a list of languages after the given cursor (keyset pagination). Unlike
+     * getLanguages, it does not skip the rows of the previous pages and does not count all languages.
+     *
+     * @param state    The state of the language.
+     * @param pageSize The number of items to return per page.
+     * @param sortBy   The field to sort by.
+     * @param orderBy  The order of the results. Can be either "asc" or "desc".
+     * @param after    The cursor of the previous page, or null to get the first page.
+     * @param includeFrameworks true to embed the approved frameworks to the languages.
+     * @return A list of languages with the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PagingResponse<LanguageResponseDTO> getLanguagesByCursor(
+            ResourceState state,
+            int pageSize,
+            String sortBy,
+            String orderBy,
+            String after,
+            boolean includeFrameworks
+    ) {
+        Sort.Order order = new Sort.Order(SortUtils.parseDirection(orderBy), sortBy);
+        checkSortParams(Sort.by(order), List.of("id", "createdAt"));
+
+        PagingResponse<LanguageResponseDTO> languages = new PagingResponse<>(cursorPaginator.findAll(
+                Language.class,
+                new LanguageSpecification(getVisibleState(state)),
+                order,
+                after,
+                pageSize,
+                null
         ).map(LanguageMappers::toLanguageResponseDTO));
+        if (includeFrameworks) setFrameworks(languages.getItems());
+        return languages;
     }
 
     /**
      * If the id is valid, return the language with the given id, or throw a ResourceNotFoundException if the
-     * language doesn't exist.
+     * language doesn't exist. Approved languages are read from the catalog cache.
      *
      * @param id The id of the language to be retrieved
      * @return Language
      */
     @Override
     public LanguageResponseDTO getLanguageById(long id) {
+        return catalogCache.getLanguage(id, this::loadLanguageById);
+    }
+
+    /**
+     * This function returns the language with the given id with its approved frameworks. The language and the
+     * frameworks are loaded with two queries. The response is not cached, because the cached responses of the
+     * languages do not contain the frameworks.
+     *
+     * @param id The id of the language to be retrieved
+     * @return Language with its frameworks
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LanguageResponseDTO getLanguageWithFrameworksById(long id) {
+        LanguageResponseDTO language = LanguageMappers.toLanguageResponseDTO(findLanguageById(id));
+        setFrameworks(List.of(language));
+        return language;
+    }
+
+    /**
+     * This function returns the ETag of the language with the given id. The language is not mapped to the
+     * response, so a not modified language is returned without creating the response.
+     *
+     * @param id The id of the language
+     * @return The strong ETag of the language
+     */
+    @Override
+    public String getLanguageETag(long id) {
+        return catalogCache.getLanguageETag(id, languageId -> toETag(findLanguageById(languageId)));
+    }
+
+    /**
+     * This function returns the weak ETag of the language with the given id with its frameworks. It changes after
+     * any change of the languages or the frameworks.
+     *
+     * @param id The id of the language
+     * @return The weak ETag of the language with its frameworks
+     */
+    @Override
+    public String getLanguageWithFrameworksETag(long id) {
+        // It checks that the language exists and the current user can view it
+        findLanguageById(id);
+        return changeTracker.getWeakETag(TABLES_OF_LANGUAGE_WITH_FRAMEWORKS_RESPONSE, id);
+    }
+
+    /**
+     * This function returns the weak ETag of the lists of languages. It changes after any change of the tables
+     * that the lists are read from.
+     *
+     * @param includeFrameworks true if the frameworks are embedded to the languages.
+     * @return The weak ETag of the lists
+     */
+    @Override
+    public String getLanguagesETag(boolean includeFrameworks) {
+        if (includeFrameworks) {
+            return changeTracker.getWeakETag(TABLES_OF_LANGUAGE_WITH_FRAMEWORKS_RESPONSE, INCLUDE_FRAMEWORKS);
+        }
+        return changeTracker.getWeakETag(TABLES_OF_LANGUAGE_RESPONSE);
+    }
+
+    /**
+     * This function embeds the approved frameworks to the languages. It is the second phase of the fetch: the
+     * languages are already loaded (paged), so the frameworks of all of them are loaded with one IN query
+     * instead of a query for each language.
+     *
+     * @param languages The languages to set the frameworks of.
+     */
+    private void setFrameworks(List<LanguageResponseDTO> languages) {
+        if (languages.isEmpty()) return;
+
+        Map<Long, List<FrameworkResponseDTO>> frameworksByLanguageId = new HashMap<>();
+        frameworkRepository.findAllByLanguageIdInAndState(
+                languages.stream().map(LanguageResponseDTO::getId).toList(),
+                ResourceState.APPROVED,
+                Sort.by("id")
+        ).forEach(framework -> frameworksByLanguageId
+                .computeIfAbsent(framework.getLanguage().getId(), languageId -> new ArrayList<>())
+                .add(FrameworkMappers.toEmbeddedFrameworkResponseDTO(framework)));
+
+        languages.forEach(language ->
+                language.setFrameworks(frameworksByLanguageId.getOrDefault(language.getId(), List.of())));
+    }
+
+    /**
+     * This function loads the language from the database and maps it to the response with its ETag.
+     *
+     * @param id The id of the language to be retrieved
+     * @return Language response with its ETag
+     */
+    private CatalogCache.Entry<LanguageResponseDTO> loadLanguageById(long id) {
+        Language language = findLanguageById(id);
+        return new CatalogCache.Entry<>(LanguageMappers.toLanguageResponseDTO(language), toETag(language));
+    }
+
+    /**
+     * This function loads the language from the database and checks if the current user can view it.
+     *
+     * @param id The id of the language to be retrieved
+     * @return Language
+     */
+    private Language findLanguageById(long id) {
         Language language = languageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Language", "id", id));
 
@@ -90,23 +261,29 @@ public class LanguageServiceImpl implements LanguageService {
             throw new NotEnoughPermissionException();
         }
 
-        return LanguageMappers.toLanguageResponseDTO(language);
+        return language;
+    }
+
+    private String toETag(Language language) {
+        return ETagUtils.toStrongETag(LanguageMappers.toVersionTag(language));
     }
 
     /**
-     * This function adds a language to the database
+     * This function adds a language to the database. The author is set by the reference to the current user, so
+     * the user is loaded (by its id) only to map the response.
      *
      * @param languageRequestDto The DTO object that contains the language information.
      * @return Language
      */
     @Override
+    @Transactional
     public LanguageResponseDTO addLanguage(LanguageRequestDTO languageRequestDto) {
         if (languageRepository.existsByName(languageRequestDto.getName())) {
             throw new DuplicateResourceException("Language", "name", languageRequestDto.getName());
         }
 
         Language language = LanguageMappers.toLanguage(languageRequestDto, imageRepository);
-        language.setAuthor(CurrentUserUtils.getCurrentUser(appUserRepository));
+        language.setAuthor(CurrentUserUtils.getCurrentUserReference(appUserRepository));
 
         // It checks if the user has the permission to set the state of the language. If the user has the permission, then
         // the state of the language is set to APPROVED, otherwise it is set to WAITING.
@@ -116,7 +293,9 @@ public class LanguageServiceImpl implements LanguageService {
             language.setState(ResourceState.WAITING);
         }
 
-        return LanguageMappers.toLanguageResponseDTO(languageRepository.save(language));
+        Language savedLanguage = languageRepository.save(language);
+        autocompleteIndex.putLanguage(savedLanguage);
+        return LanguageMappers.toLanguageResponseDTO(savedLanguage);
     }
 
     /**
@@ -156,7 +335,11 @@ public class LanguageServiceImpl implements LanguageService {
             existingLanguage.setImage(imageRepository.findById(languageRequestDto.getImageId())
                     .orElseThrow(() -> new ResourceNotFoundException("Image", "id", languageRequestDto.getImageId())));
 
-            return LanguageMappers.toLanguageResponseDTO(languageRepository.save(existingLanguage));
+            Language savedLanguage = languageRepository.save(existingLanguage);
+            LanguageResponseDTO updatedLanguage = LanguageMappers.toLanguageResponseDTO(savedLanguage);
+            catalogCache.invalidateLanguage(id);
+            autocompleteIndex.putLanguage(savedLanguage);
+            return updatedLanguage;
         } else {
             throw new NotEnoughPermissionException();
         }
@@ -171,20 +354,77 @@ public class LanguageServiceImpl implements LanguageService {
     public void deleteLanguage(long id) {
         checkLanguageId(languageRepository, id);
         languageRepository.deleteById(id);
+        catalogCache.invalidateLanguage(id);
+        autocompleteIndex.removeLanguage(id);
     }
 
     /**
-     * This function sets the state of a language
+     * This function sets the state of a language. The language can not be moderated while another moderator has
+     * claimed it in the moderation queue, and the lease is released when the state is set.
      *
      * @param id               The id of the language to update
      * @param setResourceStateRequestDto This is the object that contains the state that we want to set.
      * @return Language
      */
     @Override
+    @Transactional
     public LanguageResponseDTO setLanguageState(long id, SetResourceStateRequestDTO setResourceStateRequestDto) {
         Language language = languageRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Language", "id", id));
+        long currentUserId = CurrentUserUtils.getCurrentUserId(appUserRepository);
+        if (!resourceStateUpdater.releaseLease(TABLE_NAME_LANGUAGE, id, currentUserId)) {
+            throw new ResourceLeasedException("Language", id);
+        }
         language.setState(setResourceStateRequestDto.getState());
-        return LanguageMappers.toLanguageResponseDTO(languageRepository.save(language));
+        Language savedLanguage = languageRepository.save(language);
+        LanguageResponseDTO updatedLanguage = LanguageMappers.toLanguageResponseDTO(savedLanguage);
+        catalogCache.invalidateLanguage(id);
+        autocompleteIndex.putLanguage(savedLanguage);
+        return updatedLanguage;
+    }
+
+    /**
+     * This function sets the state of many languages at once (for example, approves all waiting languages).
+     * Languages are changed with SQL in chunks, without loading them. Languages claimed by other moderators are
+     * not changed.
+     *
+     * @param setResourceStatesRequestDto The ids or the current state of the languages and the state to set.
+     * @return The number of the changed languages and the result for each id.
+     */
+    @Override
+    public SetResourceStatesResponseDTO setLanguageStates(SetResourceStatesRequestDTO setResourceStatesRequestDto) {
+        AtomicBoolean changed = new AtomicBoolean();
+        try {
+            return resourceStateUpdater.setStates(
+                    TABLE_NAME_LANGUAGE,
+                    setResourceStatesRequestDto,
+                    CurrentUserUtils.getCurrentUserId(appUserRepository),
+                    changedLanguages -> {
+                        changeTracker.markChanged(TABLE_NAME_LANGUAGE);
+                        changed.set(true);
+                    }
+            );
+        } finally {
+            // Each chunk is committed on its own, so the caches are invalidated even if a later chunk failed
+            if (changed.get()) {
+                catalogCache.invalidateAll();
+                autocompleteIndex.rebuildAfterCommit();
+            }
+        }
+    }
+
+    /**
+     * If the user doesn't have the permission to view languages by state, then if the state is not null, then throw an
+     * exception, otherwise return the APPROVED state.
+     *
+     * @param state The state from the request.
+     * @return The state to filter languages by.
+     */
+    private ResourceState getVisibleState(ResourceState state) {
+        if (!CurrentUserUtils.hasPermission(Permission.CAN_VIEW_LANGUAGES_BY_STATE, appUserRepository)) {
+            if (state != null) throw new NotEnoughPermissionException();
+            return ResourceState.APPROVED;
+        }
+        return state;
     }
-}
\ No newline at end of file
+}
@@ -11,6 +11,7 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.util.Objects;
 
 /**
  * It's a specification that can be used to filter languages by their state
@@ -43,4 +44,9 @@ public class LanguageSpecification implements Specification<Language> {
         if (!(o instanceof LanguageSpecification that)) return false;
         return state == that.state;
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(state);
+    }
 }
@@ -1,7 +1,9 @@
 package kh.farrukh.progee_api.language.payloads;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
 import kh.farrukh.progee_api.image.payloads.ImageResponseDTO;
 import kh.farrukh.progee_api.app_user.payloads.AppUserResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
@@ -11,6 +13,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 
 /**
  * It's a DTO that represents a language
@@ -37,4 +40,21 @@ public class LanguageResponseDTO {
     @JsonProperty("created_at")
     private ZonedDateTime createdAt;
 
+    @JsonProperty("review_count")
+    private long reviewCount;
+
+    @JsonProperty("avg_review_score")
+    private double avgReviewScore;
+
+    @JsonProperty("like_count")
+    private long likeCount;
+
+    @JsonProperty("framework_count")
+    private long frameworkCount;
+
+    // Approved frameworks of the language. It is set (and returned) only if they are requested with
+    // include=frameworks
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<FrameworkResponseDTO> frameworks;
+
 }
@@ -0,0 +1,21 @@
+package kh.farrukh.progee_api.moderation_queue;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * It's a configuration class that reads the values of the moderation queue from the application.yml file
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("moderation-queue")
+public class ModerationQueueConfiguration {
+
+    // Time after which claimed resources return to the queue if the lease is not renewed
+    private long leaseTimeoutInSeconds = 300;
+    // Maximum number of resources that can be claimed (or renewed, released) with one request
+    private int maxClaimSize = 100;
+}
@@ -0,0 +1,10 @@
+package kh.farrukh.progee_api.moderation_queue;
+
+/**
+ * It contains constants that are used in the ModerationQueue package
+ */
+public class ModerationQueueConstants {
+
+    public static final String ENDPOINT_MODERATION_QUEUE = "/api/v1/moderation-queue";
+
+}
@@ -0,0 +1,73 @@
+package kh.farrukh.progee_api.moderation_queue;
+
+import kh.farrukh.progee_api.moderation_queue.payloads.ModerationLeaseRequestDTO;
+import kh.farrukh.progee_api.moderation_queue.payloads.ModerationLeaseResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+import static kh.farrukh.progee_api.moderation_queue.ModerationQueueConstants.ENDPOINT_MODERATION_QUEUE;
+
+/**
+ * Controller that exposes the endpoints to claim waiting languages and frameworks for moderation. Moderators
+ * claim the next resources, set their states with the state endpoints of the resources and renew or release
+ * the leases of the resources they did not moderate yet
+ */
+@RestController
+@RequestMapping(ENDPOINT_MODERATION_QUEUE)
+@RequiredArgsConstructor
+public class ModerationQueueController {
+
+    private final ModerationQueueService moderationQueueService;
+
+    /**
+     * It leases the next waiting resources that are not claimed by other users to the current user.
+     *
+     * @param resource The path of the resource to moderate (languages or frameworks).
+     * @param size     The maximum number of the resources to claim.
+     * @return A ResponseEntity with the ids of the claimed resources and the time their lease expires at.
+     */
+    @PostMapping("{resource}/claims")
+    public ResponseEntity<ModerationLeaseResponseDTO> claim(
+            @PathVariable String resource,
+            @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(moderationQueueService.claim(ModerationResource.fromPath(resource), size));
+    }
+
+    /**
+     * It extends the lease of the resources that are still claimed by the current user.
+     *
+     * @param resource                  The path of the moderated resource (languages or frameworks).
+     * @param moderationLeaseRequestDto The ids of the claimed resources.
+     * @return A ResponseEntity with the ids of the renewed resources and the new time their lease expires at.
+     */
+    @PostMapping("{resource}/claims/renew")
+    public ResponseEntity<ModerationLeaseResponseDTO> renew(
+            @PathVariable String resource,
+            @Valid @RequestBody ModerationLeaseRequestDTO moderationLeaseRequestDto
+    ) {
+        return ResponseEntity.ok(moderationQueueService.renew(
+                ModerationResource.fromPath(resource), moderationLeaseRequestDto.getIds()
+        ));
+    }
+
+    /**
+     * It returns the resources that are claimed by the current user to the queue.
+     *
+     * @param resource                  The path of the moderated resource (languages or frameworks).
+     * @param moderationLeaseRequestDto The ids of the claimed resources.
+     * @return A ResponseEntity with the ids of the released resources.
+     */
+    @PostMapping("{resource}/claims/release")
+    public ResponseEntity<ModerationLeaseResponseDTO> release(
+            @PathVariable String resource,
+            @Valid @RequestBody ModerationLeaseRequestDTO moderationLeaseRequestDto
+    ) {
+        return ResponseEntity.ok(moderationQueueService.release(
+                ModerationResource.fromPath(resource), moderationLeaseRequestDto.getIds()
+        ));
+    }
+}
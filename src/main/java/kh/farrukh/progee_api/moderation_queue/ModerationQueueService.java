@@ -0,0 +1,17 @@
+package kh.farrukh.progee_api.moderation_queue;
+
+import kh.farrukh.progee_api.moderation_queue.payloads.ModerationLeaseResponseDTO;
+
+import java.util.List;
+
+/**
+ * A service interface to claim waiting resources for moderation
+ */
+public interface ModerationQueueService {
+
+    ModerationLeaseResponseDTO claim(ModerationResource resource, int size);
+
+    ModerationLeaseResponseDTO renew(ModerationResource resource, List<Long> ids);
+
+    ModerationLeaseResponseDTO release(ModerationResource resource, List<Long> ids);
+}
@@ -0,0 +1,204 @@
+package kh.farrukh.progee_api.moderation_queue;
+
+import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.utils.database.DatabaseVendor;
+import kh.farrukh.progee_api.moderation_queue.payloads.ModerationLeaseResponseDTO;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static kh.farrukh.progee_api.global.utils.user.CurrentUserUtils.getCurrentUserId;
+
+/**
+ * It implements the ModerationQueueService interface. A claim leases the next waiting resources to the current
+ * user: they are selected with FOR UPDATE SKIP LOCKED, so concurrent claims (on any node) skip the rows that
+ * another claim is leasing at the moment instead of waiting for it, and never get the same rows.
+ * <p>
+ * Leased resources are not claimed again until the lease expires, so a moderator that stops working does not
+ * hold them forever. Leases are changed with SQL and do not change the versions (and the ETags) of the resources.
+ */
+@Service
+public class ModerationQueueServiceImpl implements ModerationQueueService {
+
+    private static final String SQL_SELECT_CLAIMABLE_IDS = """
+            SELECT id
+            FROM %s
+            WHERE state = :state
+              AND (claim_expires_at IS NULL OR claim_expires_at <= :now)
+            ORDER BY id
+            LIMIT :size
+            %s
+            """;
+
+    private static final String SQL_LOCK_SKIP_LOCKED_POSTGRESQL = "FOR UPDATE SKIP LOCKED";
+
+    // H2 database (in tests) does not support SKIP LOCKED, so concurrent claims wait for each other there
+    private static final String SQL_LOCK_FALLBACK = "FOR UPDATE";
+
+    private static final String SQL_SELECT_LEASED_IDS = """
+            SELECT id
+            FROM %s
+            WHERE id IN (:ids)
+              AND state = :state
+              AND claimed_by_id = :userId
+              AND claim_expires_at > :now
+            ORDER BY id
+            FOR UPDATE
+            """;
+
+    private static final String SQL_UPDATE_LEASES = """
+            UPDATE %s
+            SET claimed_by_id    = :userId,
+                claim_expires_at = :expiresAt
+            WHERE id IN (:ids)
+            """;
+
+    private final AppUserRepository appUserRepository;
+    private final ModerationQueueConfiguration configuration;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public ModerationQueueServiceImpl(
+            AppUserRepository appUserRepository,
+            ModerationQueueConfiguration configuration,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            DataSource dataSource
+    ) {
+        this.appUserRepository = appUserRepository;
+        this.configuration = configuration;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databaseVendor = new DatabaseVendor(dataSource);
+    }
+
+    /**
+     * This function leases the next waiting resources (the oldest first) that are not leased by anyone to the
+     * current user.
+     *
+     * @param resource The resource to moderate.
+     * @param size     The maximum number of the resources to claim.
+     * @return The ids of the claimed resources (less than size or empty if the queue is drained) and the time
+     * their lease expires at.
+     */
+    @Override
+    public ModerationLeaseResponseDTO claim(ModerationResource resource, int size) {
+        if (size < 1 || size > configuration.getMaxClaimSize()) throw new BadRequestException("Size");
+        long userId = getCurrentUserId(appUserRepository);
+        ZonedDateTime now = now();
+        ZonedDateTime expiresAt = now.plusSeconds(configuration.getLeaseTimeoutInSeconds());
+
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> claimableIds = jdbcTemplate.queryForList(
+                    SQL_SELECT_CLAIMABLE_IDS.formatted(
+                            resource.getTableName(),
+                            databaseVendor.isPostgreSQL() ? SQL_LOCK_SKIP_LOCKED_POSTGRESQL : SQL_LOCK_FALLBACK
+                    ),
+                    new MapSqlParameterSource()
+                            .addValue("state", ResourceState.WAITING.name())
+                            .addValue("now", toTimestamp(now))
+                            .addValue("size", size),
+                    Long.class
+            );
+            updateLeases(resource, claimableIds, userId, expiresAt);
+            return claimableIds;
+        });
+        return new ModerationLeaseResponseDTO(ids, expiresAt);
+    }
+
+    /**
+     * This function extends the lease of the resources that are still leased by the current user. Resources with
+     * an expired lease are not renewed, because they may be claimed by another user already.
+     *
+     * @param resource The moderated resource.
+     * @param ids      The ids of the claimed resources.
+     * @return The ids of the renewed resources and the new time their lease expires at.
+     */
+    @Override
+    public ModerationLeaseResponseDTO renew(ModerationResource resource, List<Long> ids) {
+        checkIds(ids);
+        long userId = getCurrentUserId(appUserRepository);
+        ZonedDateTime now = now();
+        ZonedDateTime expiresAt = now.plusSeconds(configuration.getLeaseTimeoutInSeconds());
+
+        List<Long> renewedIds = transactionTemplate.execute(status -> {
+            List<Long> leasedIds = findLeasedIds(resource, ids, userId, now);
+            updateLeases(resource, leasedIds, userId, expiresAt);
+            return leasedIds;
+        });
+        return new ModerationLeaseResponseDTO(renewedIds, expiresAt);
+    }
+
+    /**
+     * This function returns the resources that are leased by the current user to the queue (for example, if the
+     * moderator could not decide), so other users can claim them at once.
+     *
+     * @param resource The moderated resource.
+     * @param ids      The ids of the claimed resources.
+     * @return The ids of the released resources.
+     */
+    @Override
+    public ModerationLeaseResponseDTO release(ModerationResource resource, List<Long> ids) {
+        checkIds(ids);
+        long userId = getCurrentUserId(appUserRepository);
+        ZonedDateTime now = now();
+
+        List<Long> releasedIds = transactionTemplate.execute(status -> {
+            List<Long> leasedIds = findLeasedIds(resource, ids, userId, now);
+            updateLeases(resource, leasedIds, null, null);
+            return leasedIds;
+        });
+        return new ModerationLeaseResponseDTO(releasedIds, null);
+    }
+
+    /**
+     * This function locks and returns the given waiting resources whose lease is held by the user.
+     */
+    private List<Long> findLeasedIds(ModerationResource resource, List<Long> ids, long userId, ZonedDateTime now) {
+        return jdbcTemplate.queryForList(
+                SQL_SELECT_LEASED_IDS.formatted(resource.getTableName()),
+                new MapSqlParameterSource()
+                        .addValue("ids", new LinkedHashSet<>(ids))
+                        .addValue("state", ResourceState.WAITING.name())
+                        .addValue("userId", userId)
+                        .addValue("now", toTimestamp(now)),
+                Long.class
+        );
+    }
+
+    private void updateLeases(ModerationResource resource, List<Long> ids, Long userId, ZonedDateTime expiresAt) {
+        if (ids.isEmpty()) return;
+        jdbcTemplate.update(
+                SQL_UPDATE_LEASES.formatted(resource.getTableName()),
+                new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("userId", userId)
+                        .addValue("expiresAt", expiresAt != null ? toTimestamp(expiresAt) : null)
+        );
+    }
+
+    private void checkIds(List<Long> ids) {
+        if (ids.size() > configuration.getMaxClaimSize()) throw new BadRequestException("Ids");
+    }
+
+    // Leases are stored without a time zone like the other timestamps, so they are compared in the zone of the app
+    private ZonedDateTime now() {
+        return ZonedDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private Timestamp toTimestamp(ZonedDateTime dateTime) {
+        return Timestamp.from(dateTime.toInstant());
+    }
+}
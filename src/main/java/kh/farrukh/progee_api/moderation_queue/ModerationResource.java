@@ -0,0 +1,34 @@
+package kh.farrukh.progee_api.moderation_queue;
+
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import static kh.farrukh.progee_api.framework.FrameworkConstants.TABLE_NAME_FRAMEWORK;
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
+
+/**
+ * Enum class for the resources that have a moderation queue. It contains the table of the resource
+ */
+@Getter
+@AllArgsConstructor
+public enum ModerationResource {
+    LANGUAGES("languages", TABLE_NAME_LANGUAGE),
+    FRAMEWORKS("frameworks", TABLE_NAME_FRAMEWORK);
+
+    private final String path;
+    private final String tableName;
+
+    /**
+     * This function resolves the resource by its path in the moderation queue endpoint (or by its name).
+     *
+     * @param value The path or the name of the resource.
+     * @return The resource.
+     */
+    public static ModerationResource fromPath(String value) {
+        for (ModerationResource resource : values()) {
+            if (resource.path.equals(value) || resource.name().equalsIgnoreCase(value)) return resource;
+        }
+        throw new BadRequestException("Moderation resource");
+    }
+}
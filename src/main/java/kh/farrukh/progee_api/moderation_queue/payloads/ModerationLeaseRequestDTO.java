@@ -0,0 +1,20 @@
+package kh.farrukh.progee_api.moderation_queue.payloads;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+/**
+ * It's a DTO with the ids of the claimed resources to renew or release the lease of
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationLeaseRequestDTO {
+
+    @NotEmpty
+    private List<Long> ids;
+}
@@ -0,0 +1,28 @@
+package kh.farrukh.progee_api.moderation_queue.payloads;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * It's a DTO with the ids of the resources that are held by the current user and the time their lease expires
+ * at (null after the release)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationLeaseResponseDTO {
+
+    private List<Long> ids;
+
+    @JsonProperty("expires_at")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ZonedDateTime expiresAt;
+}
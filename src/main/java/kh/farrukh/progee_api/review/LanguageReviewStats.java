@@ -0,0 +1,78 @@
+package kh.farrukh.progee_api.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_LANGUAGE_REVIEW_STATS;
+
+/**
+ * It's a summary of the reviews of a language. It is changed by LanguageReviewStatsRepository in the same
+ * transaction as the reviews, so it is never computed from the reviews at read time
+ */
+@Entity
+@Table(name = TABLE_NAME_LANGUAGE_REVIEW_STATS)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LanguageReviewStats {
+
+    @Id
+    @Column(name = "language_id")
+    private long languageId;
+
+    @Column(nullable = false)
+    private long dislikeCount;
+
+    @Column(nullable = false)
+    private long dontHavePracticeCount;
+
+    @Column(nullable = false)
+    private long wantToLearnCount;
+
+    @Column(nullable = false)
+    private long likeCount;
+
+    @Column(nullable = false)
+    private long totalCount;
+
+    // Sum of the scores of the review values, it is used to calculate the average score
+    @Column(nullable = false)
+    private long scoreSum;
+
+    public LanguageReviewStats(long languageId) {
+        this.languageId = languageId;
+    }
+
+    /**
+     * This function returns the number of the reviews with the given value.
+     *
+     * @param reviewValue The value of the reviews.
+     * @return The number of the reviews.
+     */
+    public long getCount(ReviewValue reviewValue) {
+        return switch (reviewValue) {
+            case DISLIKE -> dislikeCount;
+            case DONT_HAVE_PRACTICE -> dontHavePracticeCount;
+            case WANT_TO_LEARN -> wantToLearnCount;
+            case LIKE -> likeCount;
+        };
+    }
+
+    /**
+     * This function calculates the average score of the reviews.
+     *
+     * @return The average score or null if the language has no reviews.
+     */
+    public Double getAverageScore() {
+        if (totalCount == 0) return null;
+        return (double) scoreSum / totalCount;
+    }
+}
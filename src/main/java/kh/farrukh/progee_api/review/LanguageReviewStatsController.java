@@ -0,0 +1,34 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.review.payloads.LanguageReviewStatsResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.ENDPOINT_LANGUAGE_REVIEW_STATS;
+
+/**
+ * Controller that exposes endpoints for the review statistics of languages
+ */
+@RestController
+@RequestMapping(ENDPOINT_LANGUAGE_REVIEW_STATS)
+@RequiredArgsConstructor
+public class LanguageReviewStatsController {
+
+    private final LanguageReviewStatsService languageReviewStatsService;
+
+    /**
+     * It returns the number of reviews by their values, the total number and the average score of the reviews
+     * of the language
+     *
+     * @param languageId The id of the language.
+     * @return A ResponseEntity containing LanguageReviewStatsResponseDTO object and HttpStatus.
+     */
+    @GetMapping
+    public ResponseEntity<LanguageReviewStatsResponseDTO> getLanguageReviewStats(@PathVariable long languageId) {
+        return ResponseEntity.ok(languageReviewStatsService.getLanguageReviewStats(languageId));
+    }
+}
@@ -0,0 +1,25 @@
+package kh.farrukh.progee_api.review;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * It recomputes the review statistics of languages from scratch by the configured cron expression
+ * (`review.stats.repair-cron`). It is disabled by default, because the statistics are kept up to date
+ * by the review operations, and it is needed only if reviews are changed outside the application.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LanguageReviewStatsRepairJob {
+
+    private final LanguageReviewStatsService languageReviewStatsService;
+
+    @Scheduled(cron = "${review.stats.repair-cron:-}")
+    public void repair() {
+        int languageCount = languageReviewStatsService.recountLanguageReviewStats();
+        log.info("Review statistics of {} languages are recounted", languageCount);
+    }
+}
@@ -0,0 +1,12 @@
+package kh.farrukh.progee_api.review;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for reading the review statistics of languages. They are changed only by the custom operations
+ */
+@Repository
+public interface LanguageReviewStatsRepository
+        extends JpaRepository<LanguageReviewStats, Long>, LanguageReviewStatsRepositoryCustom {
+}
@@ -0,0 +1,29 @@
+package kh.farrukh.progee_api.review;
+
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Custom (SQL based) operations of the LanguageReviewStatsRepository
+ */
+public interface LanguageReviewStatsRepositoryCustom {
+
+    /**
+     * This function changes the statistics of the language by the difference of one review, without
+     * reading them. The statistics row is created if the language does not have it yet.
+     *
+     * @param languageId   The id of the language of the review.
+     * @param removedValue The previous value of the review, or null if the review is created.
+     * @param addedValue   The new value of the review, or null if the review is deleted.
+     */
+    @Transactional
+    void applyChange(long languageId, ReviewValue removedValue, ReviewValue addedValue);
+
+    /**
+     * This function recomputes the statistics of all languages from the reviews. It is used to repair
+     * the statistics, if they are changed outside the application.
+     *
+     * @return The number of the languages that have reviews.
+     */
+    @Transactional
+    int recountAll();
+}
@@ -0,0 +1,120 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.global.utils.database.DatabaseVendor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Implementation of the LanguageReviewStatsRepositoryCustom. It uses a single upsert statement on PostgreSQL
+ * and a portable (update, then insert) fallback on other databases
+ */
+public class LanguageReviewStatsRepositoryCustomImpl implements LanguageReviewStatsRepositoryCustom {
+
+    private static final String SQL_APPLY_CHANGE_POSTGRESQL = """
+            INSERT INTO language_review_stats (language_id, dislike_count, dont_have_practice_count,
+                                               want_to_learn_count, like_count, total_count, score_sum)
+            VALUES (:languageId, :dislikeDelta, :dontHavePracticeDelta, :wantToLearnDelta, :likeDelta,
+                    :totalDelta, :scoreDelta)
+            ON CONFLICT (language_id) DO UPDATE
+                SET dislike_count            = language_review_stats.dislike_count + EXCLUDED.dislike_count,
+                    dont_have_practice_count = language_review_stats.dont_have_practice_count + EXCLUDED.dont_have_practice_count,
+                    want_to_learn_count      = language_review_stats.want_to_learn_count + EXCLUDED.want_to_learn_count,
+                    like_count               = language_review_stats.like_count + EXCLUDED.like_count,
+                    total_count              = language_review_stats.total_count + EXCLUDED.total_count,
+                    score_sum                = language_review_stats.score_sum + EXCLUDED.score_sum
+            """;
+
+    private static final String SQL_UPDATE_STATS = """
+            UPDATE language_review_stats
+            SET dislike_count            = dislike_count + :dislikeDelta,
+                dont_have_practice_count = dont_have_practice_count + :dontHavePracticeDelta,
+                want_to_learn_count      = want_to_learn_count + :wantToLearnDelta,
+                like_count               = like_count + :likeDelta,
+                total_count              = total_count + :totalDelta,
+                score_sum                = score_sum + :scoreDelta
+            WHERE language_id = :languageId
+            """;
+
+    private static final String SQL_INSERT_STATS = """
+            INSERT INTO language_review_stats (language_id, dislike_count, dont_have_practice_count,
+                                               want_to_learn_count, like_count, total_count, score_sum)
+            VALUES (:languageId, :dislikeDelta, :dontHavePracticeDelta, :wantToLearnDelta, :likeDelta,
+                    :totalDelta, :scoreDelta)
+            """;
+
+    /**
+     * Concurrent changes wait until the recount is committed, so they are applied to the recounted rows.
+     * Changes that were applied before the lock are committed before it is granted, so they are recounted.
+     */
+    private static final String SQL_LOCK_STATS_POSTGRESQL = "LOCK TABLE language_review_stats IN EXCLUSIVE MODE";
+
+    private static final String SQL_DELETE_ALL_STATS = "DELETE FROM language_review_stats";
+
+    // Null value of the review is read as DONT_HAVE_PRACTICE by ReviewValueConverter, so it is counted as that.
+    private static final String SQL_INSERT_ALL_STATS = """
+            INSERT INTO language_review_stats (language_id, dislike_count, dont_have_practice_count,
+                                               want_to_learn_count, like_count, total_count, score_sum)
+            SELECT language_id,
+                   SUM(CASE WHEN review_value = :dislikeScore THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN review_value = :dontHavePracticeScore THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN review_value = :wantToLearnScore THEN 1 ELSE 0 END),
+                   SUM(CASE WHEN review_value = :likeScore THEN 1 ELSE 0 END),
+                   COUNT(*),
+                   SUM(review_value)
+            FROM (SELECT language_id, COALESCE(review_value, :dontHavePracticeScore) AS review_value
+                  FROM review
+                  WHERE language_id IS NOT NULL) AS language_review
+            GROUP BY language_id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public LanguageReviewStatsRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseVendor = new DatabaseVendor(dataSource);
+    }
+
+    @Override
+    public void applyChange(long languageId, ReviewValue removedValue, ReviewValue addedValue) {
+        if (removedValue == addedValue) return;
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("languageId", languageId)
+                .addValue("dislikeDelta", getDelta(ReviewValue.DISLIKE, removedValue, addedValue))
+                .addValue("dontHavePracticeDelta", getDelta(ReviewValue.DONT_HAVE_PRACTICE, removedValue, addedValue))
+                .addValue("wantToLearnDelta", getDelta(ReviewValue.WANT_TO_LEARN, removedValue, addedValue))
+                .addValue("likeDelta", getDelta(ReviewValue.LIKE, removedValue, addedValue))
+                .addValue("totalDelta", (addedValue != null ? 1 : 0) - (removedValue != null ? 1 : 0))
+                .addValue("scoreDelta", getScore(addedValue) - getScore(removedValue));
+
+        if (databaseVendor.isPostgreSQL()) {
+            jdbcTemplate.update(SQL_APPLY_CHANGE_POSTGRESQL, params);
+        } else if (jdbcTemplate.update(SQL_UPDATE_STATS, params) == 0) {
+            jdbcTemplate.update(SQL_INSERT_STATS, params);
+        }
+    }
+
+    @Override
+    public int recountAll() {
+        if (databaseVendor.isPostgreSQL()) {
+            jdbcTemplate.getJdbcTemplate().execute(SQL_LOCK_STATS_POSTGRESQL);
+        }
+        jdbcTemplate.getJdbcTemplate().update(SQL_DELETE_ALL_STATS);
+        return jdbcTemplate.update(SQL_INSERT_ALL_STATS, new MapSqlParameterSource()
+                .addValue("dislikeScore", ReviewValue.DISLIKE.getScore())
+                .addValue("dontHavePracticeScore", ReviewValue.DONT_HAVE_PRACTICE.getScore())
+                .addValue("wantToLearnScore", ReviewValue.WANT_TO_LEARN.getScore())
+                .addValue("likeScore", ReviewValue.LIKE.getScore()));
+    }
+
+    private int getDelta(ReviewValue reviewValue, ReviewValue removedValue, ReviewValue addedValue) {
+        return (addedValue == reviewValue ? 1 : 0) - (removedValue == reviewValue ? 1 : 0);
+    }
+
+    private int getScore(ReviewValue reviewValue) {
+        return reviewValue != null ? reviewValue.getScore() : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.review.payloads.LanguageReviewStatsResponseDTO;
+
+/**
+ * LanguageReviewStatsService interface includes all functions that can be used in LanguageReviewStats Controller
+ */
+public interface LanguageReviewStatsService {
+
+    LanguageReviewStatsResponseDTO getLanguageReviewStats(long languageId);
+
+    int recountLanguageReviewStats();
+}
@@ -0,0 +1,57 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.review.payloads.LanguageReviewStatsResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import static kh.farrukh.progee_api.global.utils.checkers.Checkers.checkLanguageId;
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
+
+/**
+ * It implements the LanguageReviewStatsService interface and uses the LanguageReviewStatsRepository
+ * to read and repair the review statistics of languages
+ */
+@Service
+@RequiredArgsConstructor
+public class LanguageReviewStatsServiceImpl implements LanguageReviewStatsService {
+
+    private final LanguageReviewStatsRepository languageReviewStatsRepository;
+    private final LanguageRepository languageRepository;
+    private final CatalogCache catalogCache;
+    private final ChangeTracker changeTracker;
+
+    /**
+     * This function returns the review statistics of the language. It reads only one row, reviews are
+     * not scanned.
+     *
+     * @param languageId The id of the language.
+     * @return The statistics of the language (with zero counts, if the language has no reviews).
+     */
+    @Override
+    public LanguageReviewStatsResponseDTO getLanguageReviewStats(long languageId) {
+        checkLanguageId(languageRepository, languageId);
+        return ReviewMappers.toLanguageReviewStatsResponseDTO(
+                languageReviewStatsRepository.findById(languageId).orElseGet(() -> new LanguageReviewStats(languageId))
+        );
+    }
+
+    /**
+     * This function recomputes the review statistics of all languages from the reviews. Aggregates of
+     * the languages (review count, average score, etc.) are recomputed in the same transaction.
+     *
+     * @return The number of the languages that have reviews.
+     */
+    @Override
+    @Transactional
+    public int recountLanguageReviewStats() {
+        int languageCount = languageReviewStatsRepository.recountAll();
+        languageRepository.recountAggregates();
+        catalogCache.invalidateAll();
+        changeTracker.markChanged(TABLE_NAME_LANGUAGE);
+        return languageCount;
+    }
+}
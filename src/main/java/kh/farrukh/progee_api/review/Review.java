@@ -11,58 +11,92 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import javax.persistence.*;
 import java.time.ZonedDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 import static kh.farrukh.progee_api.global.base_entity.EntityWithId.GENERATOR_NAME;
-import static kh.farrukh.progee_api.review.ReviewConstants.SEQUENCE_NAME_REVIEW_ID;
-import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW;
+import static kh.farrukh.progee_api.review.ReviewConstants.*;
 
 /**
  * It's a review of a language
  */
 @Entity
-@Table(name = TABLE_NAME_REVIEW)
+@Table(
+        name = TABLE_NAME_REVIEW,
+        indexes = {
+                // Sort keys are indexed with the id, because cursor pages are sorted by (sort key, id)
+                @Index(name = "idx_review_score_id", columnList = "score, id"),
+                @Index(name = "idx_review_language_id_score_id", columnList = "language_id, score, id"),
+                @Index(name = "idx_review_hot_rank_id", columnList = "hotRank, id"),
+                @Index(name = "idx_review_language_id_hot_rank_id", columnList = "language_id, hotRank, id"),
+                @Index(name = "idx_review_confidence_rank_id", columnList = "confidenceRank, id"),
+                @Index(
+                        name = "idx_review_language_id_confidence_rank_id",
+                        columnList = "language_id, confidenceRank, id"
+                ),
+                @Index(name = "idx_review_up_vote_count_id", columnList = "upVoteCount, id"),
+                @Index(name = "idx_review_down_vote_count_id", columnList = "downVoteCount, id"),
+                @Index(name = "idx_review_created_at_id", columnList = "createdAt, id"),
+                @Index(name = "idx_review_language_id_created_at_id", columnList = "language_id, createdAt, id"),
+                @Index(name = "idx_review_ranked_at", columnList = "rankedAt")
+        }
+)
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 @SequenceGenerator(name = GENERATOR_NAME, sequenceName = SEQUENCE_NAME_REVIEW_ID)
+@NamedEntityGraph(
+        name = "review_with_details",
+        attributeNodes = {
+                @NamedAttributeNode(value = "author", subgraph = "author"),
+                @NamedAttributeNode(value = "language", subgraph = "language")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "author", attributeNodes = {
+                        @NamedAttributeNode("role"),
+                        @NamedAttributeNode("image")
+                }),
+                @NamedSubgraph(name = "language", attributeNodes = {
+                        @NamedAttributeNode("image"),
+                        @NamedAttributeNode(value = "author", subgraph = "author")
+                })
+        }
+)
 public class Review extends EntityWithId {
 
     private String body;
 
     private ReviewValue reviewValue;
 
-    @Column(name = "up_voter_id")
-    @ElementCollection
-    @CollectionTable(
-            name = "review_up_votes",
-            joinColumns = @JoinColumn(name = "review_id", referencedColumnName = "id"),
-            foreignKey = @ForeignKey(name = "fk_review_id_of_up_votes")
-    )
-    private Set<Long> upVotes = new HashSet<>();
-
-    @Column(name = "down_voter_id")
-    @ElementCollection
-    @CollectionTable(
-            name = "review_down_votes",
-            joinColumns = @JoinColumn(name = "review_id", referencedColumnName = "id"),
-            foreignKey = @ForeignKey(name = "fk_review_id_of_down_votes")
-    )
-    private Set<Long> downVotes = new HashSet<>();
+    // Vote counters are changed only in SQL by ReviewVoteRepository, so a stale entity never overwrites them.
+    @Column(nullable = false, updatable = false)
+    private int upVoteCount;
 
-    @Transient
+    @Column(nullable = false, updatable = false)
+    private int downVoteCount;
+
+    @Column(nullable = false, updatable = false)
     private int score;
 
-    @ManyToOne
+    // Ranks are computed by ReviewRanks and changed only in SQL by ReviewRepository, like the vote counters.
+    @Column(nullable = false, updatable = false)
+    private double hotRank;
+
+    @Column(nullable = false, updatable = false)
+    private double confidenceRank;
+
+    // Time when the ranks were computed last time, null if they were never computed
+    @Column(updatable = false)
+    private ZonedDateTime rankedAt;
+
+    // Associations are loaded only by the "review_with_details" graph, writes need only the row of the review
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(
             name = "language_id",
             foreignKey = @ForeignKey(name = "fk_language_id_of_review")
     )
     private Language language;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(
             name = "author_id",
             foreignKey = @ForeignKey(name = "fk_author_id_of_review")
@@ -76,9 +110,8 @@ public class Review extends EntityWithId {
             long id,
             String body,
             ReviewValue reviewValue,
-            Set<Long> upVotes,
-            Set<Long> downVotes,
-            int score,
+            int upVoteCount,
+            int downVoteCount,
             Language language,
             AppUser author,
             ZonedDateTime createdAt
@@ -86,9 +119,9 @@ public class Review extends EntityWithId {
         super.setId(id);
         this.body = body;
         this.reviewValue = reviewValue;
-        this.upVotes = upVotes;
-        this.downVotes = downVotes;
-        this.score = score;
+        this.upVoteCount = upVoteCount;
+        this.downVoteCount = downVoteCount;
+        this.score = upVoteCount - downVoteCount;
         this.language = language;
         this.author = author;
         this.createdAt = createdAt;
@@ -108,13 +141,4 @@ public class Review extends EntityWithId {
         this.reviewValue = reviewValue;
         this.language = language;
     }
-
-    /**
-     * The score of a review is the number of up-votes minus the number of down-votes.
-     *
-     * @return The difference between the number of up-votes and down-votes.
-     */
-    public int getScore() {
-        return this.upVotes.size() - this.downVotes.size();
-    }
 }
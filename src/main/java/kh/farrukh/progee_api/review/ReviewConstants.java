@@ -1,5 +1,12 @@
 package kh.farrukh.progee_api.review;
 
+import java.util.List;
+
+import static kh.farrukh.progee_api.app_user.AppUserConstants.TABLE_NAME_USER;
+import static kh.farrukh.progee_api.image.ImageConstants.TABLE_NAME_IMAGE;
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
+import static kh.farrukh.progee_api.role.RoleConstants.TABLE_NAME_ROLE;
+
 /**
  * It contains constants that are used in the Review package
  */
@@ -8,5 +15,23 @@ public class ReviewConstants {
     public static final String ENDPOINT_REVIEW = "/api/v1/reviews";
     public static final String TABLE_NAME_REVIEW = "review";
     public static final String SEQUENCE_NAME_REVIEW_ID = "review_id_sequence";
+    public static final String TABLE_NAME_REVIEW_VOTE = "review_vote";
+    public static final String TABLE_NAME_LANGUAGE_REVIEW_STATS = "language_review_stats";
+    // Tables that the responses of reviews and voters are read from (for the ETags of the lists)
+    public static final List<String> TABLES_OF_REVIEW_RESPONSE = List.of(
+            TABLE_NAME_REVIEW, TABLE_NAME_REVIEW_VOTE, TABLE_NAME_LANGUAGE, TABLE_NAME_IMAGE, TABLE_NAME_USER,
+            TABLE_NAME_ROLE
+    );
+    public static final List<String> TABLES_OF_REVIEW_VOTER_RESPONSE = List.of(TABLE_NAME_REVIEW_VOTE, TABLE_NAME_REVIEW);
+    public static final String ENDPOINT_LANGUAGE_REVIEW_STATS = "/api/v1/languages/{languageId}/stats";
+
+    public static final String SORT_BY_HOT = "hot";
+    public static final String SORT_BY_CONFIDENCE = "confidence";
+    public static final String SORT_BY_RELEVANCE = "relevance";
+    public static final String SORT_FIELD_HOT_RANK = "hotRank";
+    public static final String SORT_FIELD_CONFIDENCE_RANK = "confidenceRank";
+
+    public static final int VOTE_VALUE_UP = 1;
+    public static final int VOTE_VALUE_DOWN = -1;
 
 }
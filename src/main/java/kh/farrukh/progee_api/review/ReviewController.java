@@ -1,13 +1,19 @@
 package kh.farrukh.progee_api.review;
 
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.review.payloads.ReviewRequestDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewVoteRequestDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoteResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoterResponseDTO;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -28,33 +34,62 @@ public class ReviewController {
      *
      * @param languageId The id of the language to get reviews for.
      * @param value      ReviewValue to filter by (optional).
+     * @param query      The text to search in the bodies of the reviews (optional). Words are matched by their
+     *                   stems, "quoted phrases", -excluded words and OR are supported. It can not be used with
+     *                   cursor pagination.
      * @param page       The page number to return.
      * @param pageSize   The number of items to be returned in a single page.
-     * @param sortBy     The field to sort by.
+     * @param sortBy     The field to sort by. hot (score decayed by age) and confidence (Wilson lower bound of
+     *                   the up-vote ratio) sort by precomputed ranks, use them with order_by=desc. relevance
+     *                   sorts the search results (most relevant first), it is the default if q is set,
+     *                   otherwise the default is id.
      * @param orderBy    asc or desc
+     * @param cursor     true to use cursor pagination: page is ignored and sort_by can be only id, upVoteCount,
+     *                   downVoteCount, score, createdAt, hot or confidence.
+     * @param after      The next_cursor of the previous page. Cursor pagination is used if it is set.
+     * @param count      How to count the reviews. Allowed values: exact, estimated (can be a bit outdated),
+     *                   none (only next_page is returned). Default is exact. Search results are always counted.
+     * @param request    The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A list of reviews for a given language.
      */
     @GetMapping
     public ResponseEntity<PagingResponse<ReviewResponseDTO>> getReviews(
             @RequestParam(name = "language_id", required = false) Long languageId,
             @RequestParam(name = "value", required = false) ReviewValue value,
+            @RequestParam(name = "q", required = false) String query,
             @RequestParam(name = "page", defaultValue = "1") int page,
             @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
-            @RequestParam(name = "sort_by", defaultValue = "id") String sortBy,
-            @RequestParam(name = "order_by", defaultValue = "asc") String orderBy
+            @RequestParam(name = "sort_by", required = false) String sortBy,
+            @RequestParam(name = "order_by", defaultValue = "asc") String orderBy,
+            @RequestParam(name = "cursor", defaultValue = "false") boolean cursor,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "count", defaultValue = "exact") String count,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(reviewService.getReviews(languageId, value, page, pageSize, sortBy, orderBy));
+        CountMode countMode = CountMode.parse(count);
+        if ((cursor || after != null) && query != null) throw new BadRequestException("Cursor");
+        return ETagUtils.toConditionalResponse(request, reviewService.getReviewsETag(), () -> {
+            if (cursor || after != null) {
+                return reviewService.getReviewsByCursor(languageId, value, pageSize, sortBy, orderBy, after);
+            }
+            return reviewService.getReviews(languageId, value, query, page, pageSize, sortBy, orderBy, countMode);
+        });
     }
 
     /**
      * This function returns a review with the given id, if it exists
      *
-     * @param id The id of the review you want to get.
+     * @param id      The id of the review you want to get.
+     * @param request The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A review object
      */
     @GetMapping("{id}")
-    public ResponseEntity<ReviewResponseDTO> getReviewById(@PathVariable long id) {
-        return ResponseEntity.ok(reviewService.getReviewById(id));
+    public ResponseEntity<ReviewResponseDTO> getReviewById(@PathVariable long id, WebRequest request) {
+        return ETagUtils.toConditionalResponse(
+                request,
+                reviewService.getReviewETag(id),
+                () -> reviewService.getReviewById(id)
+        );
     }
 
     /**
@@ -102,13 +137,38 @@ public class ReviewController {
      *
      * @param id                   the id of the review
      * @param reviewVoteRequestDto This is the object that contains the vote value.
-     * @return Review
+     * @return New vote counters of the review
      */
     @PostMapping("{id}/vote")
-    public ResponseEntity<ReviewResponseDTO> voteReview(
+    public ResponseEntity<ReviewVoteResponseDTO> voteReview(
             @PathVariable long id,
             @Valid @RequestBody ReviewVoteRequestDTO reviewVoteRequestDto
     ) {
         return ResponseEntity.ok(reviewService.voteReview(id, reviewVoteRequestDto));
     }
-}
\ No newline at end of file
+
+    /**
+     * It returns a list (with pagination) of the users who voted on the review
+     *
+     * @param id       The id of the review.
+     * @param vote     true to get only up-voters, false to get only down-voters (optional).
+     * @param page     The page number to return.
+     * @param pageSize The number of items to be returned in a single page.
+     * @param request  The current request. If its If-None-Match header matches the ETag, 304 is returned.
+     * @return A list of the voters of the review.
+     */
+    @GetMapping("{id}/voters")
+    public ResponseEntity<PagingResponse<ReviewVoterResponseDTO>> getReviewVoters(
+            @PathVariable long id,
+            @RequestParam(name = "vote", required = false) Boolean vote,
+            @RequestParam(name = "page", defaultValue = "1") int page,
+            @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
+            WebRequest request
+    ) {
+        return ETagUtils.toConditionalResponse(
+                request,
+                reviewService.getReviewVotersETag(),
+                () -> reviewService.getReviewVoters(id, vote, page, pageSize)
+        );
+    }
+}
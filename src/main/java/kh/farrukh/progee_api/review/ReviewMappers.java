@@ -2,12 +2,18 @@ package kh.farrukh.progee_api.review;
 
 import kh.farrukh.progee_api.language.LanguageMappers;
 import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.review.payloads.LanguageReviewStatsResponseDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewRequestDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoteResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoterResponseDTO;
 import kh.farrukh.progee_api.app_user.AppUserMappers;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
 import org.springframework.beans.BeanUtils;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * It contains methods that map between the Review entity, ReviewRequestDTO and ReviewResponseDTO DTOs
  */
@@ -22,6 +28,12 @@ public class ReviewMappers {
         return reviewResponseDTO;
     }
 
+    public static ReviewResponseDTO toReviewResponseDTO(Review review, Boolean myVote) {
+        ReviewResponseDTO reviewResponseDTO = toReviewResponseDTO(review);
+        if (reviewResponseDTO != null) reviewResponseDTO.setMyVote(myVote);
+        return reviewResponseDTO;
+    }
+
     public static Review toReview(ReviewRequestDTO reviewRequestDTO, LanguageRepository languageRepository) {
         if (reviewRequestDTO == null) return null;
         Review review = new Review();
@@ -30,4 +42,34 @@ public class ReviewMappers {
                 .orElseThrow(() -> new ResourceNotFoundException("Language", "id", reviewRequestDTO.getLanguageId())));
         return review;
     }
+
+    public static ReviewVoteResponseDTO toReviewVoteResponseDTO(long reviewId, boolean vote, ReviewVoteCounts counts) {
+        if (counts == null) return null;
+        return new ReviewVoteResponseDTO(
+                reviewId,
+                vote,
+                counts.getScore(),
+                counts.getUpVoteCount(),
+                counts.getDownVoteCount()
+        );
+    }
+
+    public static ReviewVoterResponseDTO toReviewVoterResponseDTO(ReviewVote reviewVote) {
+        if (reviewVote == null) return null;
+        return new ReviewVoterResponseDTO(reviewVote.getId().getUserId(), reviewVote.getValue() > 0);
+    }
+
+    public static LanguageReviewStatsResponseDTO toLanguageReviewStatsResponseDTO(LanguageReviewStats stats) {
+        if (stats == null) return null;
+        Map<ReviewValue, Long> valueCounts = new EnumMap<>(ReviewValue.class);
+        for (ReviewValue reviewValue : ReviewValue.values()) {
+            valueCounts.put(reviewValue, stats.getCount(reviewValue));
+        }
+        return new LanguageReviewStatsResponseDTO(
+                stats.getLanguageId(),
+                stats.getTotalCount(),
+                stats.getAverageScore(),
+                valueCounts
+        );
+    }
 }
@@ -0,0 +1,21 @@
+package kh.farrukh.progee_api.review;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * It's a configuration class that reads the values of the review rank sweeper (periodic recomputation of
+ * the hot ranks) from the application.yml file
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("review.rank")
+public class ReviewRankConfiguration {
+
+    private boolean sweepEnabled = true;
+    private long sweepIntervalInMillis = 60000;
+    private int sweepBatchSize = 500;
+}
@@ -0,0 +1,42 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW;
+
+/**
+ * It periodically recomputes the ranks of all reviews that were not ranked since the sweep started. Hot rank
+ * decays with the age of a review even if nobody votes on it, so it must be refreshed on every sweep, whatever
+ * the size of the table. Reviews are recomputed in bounded batches, each in its own transaction, so the sweeper
+ * never locks or rewrites the whole review table at once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReviewRankSweeper {
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewRankConfiguration configuration;
+    private final ChangeTracker changeTracker;
+
+    @Scheduled(fixedDelayString = "${review.rank.sweep-interval-in-millis:60000}")
+    public void sweep() {
+        if (!configuration.isSweepEnabled()) return;
+        Instant startedAt = Instant.now();
+        int batchSize = configuration.getSweepBatchSize();
+        int count = 0;
+        int batchCount;
+        do {
+            batchCount = reviewRepository.refreshStaleRanks(batchSize, startedAt);
+            count += batchCount;
+        } while (batchCount == batchSize);
+        if (count > 0) changeTracker.markChanged(TABLE_NAME_REVIEW);
+        log.debug("Ranks of {} reviews are recomputed", count);
+    }
+}
@@ -0,0 +1,56 @@
+package kh.farrukh.progee_api.review;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+/**
+ * It contains the formulas of the ranks that reviews can be sorted by. Ranks are stored in the review table,
+ * so sorting by them is as cheap as sorting by any other indexed column
+ */
+public class ReviewRanks {
+
+    // The bigger it is, the faster the hot rank of a review decays with its age
+    public static final double HOT_GRAVITY = 1.8;
+    // Hot rank of a new review is divided by (2 hours ^ gravity), so it does not jump to the top with one vote
+    public static final double HOT_AGE_OFFSET_IN_HOURS = 2;
+    // z-score of the 95% confidence level
+    public static final double CONFIDENCE_Z = 1.96;
+
+    /**
+     * This function calculates the hot rank of a review: its score decays with its age, so new reviews with
+     * a few votes can be above old reviews with many votes. It changes with time, so it must be recomputed
+     * periodically (ReviewRankSweeper).
+     *
+     * @param score     The score of the review (up-votes minus down-votes).
+     * @param createdAt The creation time of the review. If it is unknown, the review is considered new.
+     * @param now       The time to calculate the rank at.
+     * @return The hot rank of the review.
+     */
+    public static double hot(int score, ZonedDateTime createdAt, ZonedDateTime now) {
+        double ageInHours = 0;
+        if (createdAt != null) {
+            ageInHours = Math.max(0, Duration.between(createdAt, now).toSeconds() / 3600.0);
+        }
+        return score / Math.pow(ageInHours + HOT_AGE_OFFSET_IN_HOURS, HOT_GRAVITY);
+    }
+
+    /**
+     * This function calculates the confidence rank of a review: the lower bound of the Wilson score interval
+     * of the ratio of up-votes. A review with 10 up-votes out of 10 votes is ranked higher than a review with
+     * 1 up-vote out of 1 vote, because its ratio is more certain. It does not depend on time.
+     *
+     * @param upVoteCount   The number of up-votes of the review.
+     * @param downVoteCount The number of down-votes of the review.
+     * @return The confidence rank of the review between 0 and 1 (0 if the review has no votes).
+     */
+    public static double confidence(int upVoteCount, int downVoteCount) {
+        int voteCount = upVoteCount + downVoteCount;
+        if (voteCount <= 0) return 0;
+
+        double ratio = (double) upVoteCount / voteCount;
+        double zSquared = CONFIDENCE_Z * CONFIDENCE_Z;
+        double center = ratio + zSquared / (2 * voteCount);
+        double margin = CONFIDENCE_Z * Math.sqrt((ratio * (1 - ratio) + zSquared / (4 * voteCount)) / voteCount);
+        return (center - margin) / (1 + zSquared / voteCount);
+    }
+}
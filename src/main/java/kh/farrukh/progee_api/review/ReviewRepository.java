@@ -1,14 +1,79 @@
 package kh.farrukh.progee_api.review;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository for managing reviews
  */
 @Repository
 @Validated
-public interface ReviewRepository extends JpaRepository<Review, Long>, JpaSpecificationExecutor<Review> {
+public interface ReviewRepository
+        extends JpaRepository<Review, Long>, JpaSpecificationExecutor<Review>, ReviewRepositoryCustom {
+
+    /**
+     * Find the review by id, and load its author and language (with their roles, images and the author of
+     * the language) with the same query. It is used only to return the review, findById loads only the review.
+     *
+     * @param id The id of the review.
+     * @return The review with everything the response needs loaded.
+     */
+    @EntityGraph(value = "review_with_details", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<Review> findWithDetailsById(long id);
+
+    /**
+     * Find all reviews that match the specification, and load their authors and languages (with their roles,
+     * images and the authors of the languages) with the same query. Total count is read with a second query.
+     *
+     * @param spec     The specification to filter the reviews.
+     * @param pageable The pageable object that contains the page number, page size, and sort information.
+     * @return A Page of Review objects with everything the response needs loaded.
+     */
+    @Override
+    @EntityGraph(value = "review_with_details", type = EntityGraph.EntityGraphType.LOAD)
+    Page<Review> findAll(Specification<Review> spec, Pageable pageable);
+
+    /**
+     * Find the reviews with the given ids, and load their authors and languages the same way as findAll.
+     * It is used to load the reviews that were found by the search.
+     *
+     * @param ids The ids of the reviews.
+     * @return The reviews in any order.
+     */
+    @EntityGraph(value = "review_with_details", type = EntityGraph.EntityGraphType.LOAD)
+    List<Review> findAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Find the version tag of the review with one query, without loading the review and its associations.
+     * It is used to answer the conditional requests of the review.
+     *
+     * @param id The id of the review.
+     * @return The version tag of the review and of everything its response contains.
+     */
+    @Query("select new kh.farrukh.progee_api.review.ReviewVersionTag(" +
+            "r.version, r.upVoteCount, r.downVoteCount, a.version, ar.version, ai.version, " +
+            "l.version, l.reviewCount, l.reviewScoreSum, l.likeCount, l.frameworkCount, li.version, " +
+            "la.version, lar.version, lai.version) " +
+            "from Review r " +
+            "left join r.author a left join a.role ar left join a.image ai " +
+            "left join r.language l left join l.image li " +
+            "left join l.author la left join la.role lar left join la.image lai " +
+            "where r.id = :id")
+    Optional<ReviewVersionTag> findVersionTagById(@Param("id") long id);
+
+    @Query("select new kh.farrukh.progee_api.review.ReviewVoteCounts(r.upVoteCount, r.downVoteCount, r.score) " +
+            "from Review r where r.id = :id")
+    Optional<ReviewVoteCounts> findVoteCountsById(@Param("id") long id);
 }
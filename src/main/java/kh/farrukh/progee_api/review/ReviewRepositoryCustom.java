@@ -0,0 +1,59 @@
+package kh.farrukh.progee_api.review;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Custom (SQL based) operations of the ReviewRepository
+ */
+public interface ReviewRepositoryCustom {
+
+    /**
+     * This function finds the ids of the reviews whose bodies match the search query. On PostgreSQL it uses
+     * the full-text index of the bodies, on other databases it falls back to matching every word of the query
+     * with LIKE.
+     *
+     * @param query      The search query (words, "quoted phrases", -excluded words or OR).
+     * @param languageId The id of the language to search reviews of (optional).
+     * @param value      ReviewValue to filter by (optional).
+     * @param pageable   The page and the sorting. {@link ReviewConstants#SORT_BY_RELEVANCE} sorts by the
+     *                   relevance of the reviews to the query (most relevant first).
+     * @return A page of the ids of the matching reviews in the requested order.
+     */
+    Page<Long> searchIds(String query, Long languageId, ReviewValue value, Pageable pageable);
+
+    /**
+     * This function recomputes the ranks (hot and confidence) of the given reviews from their current vote
+     * counters. It is called after the votes of the reviews are changed.
+     *
+     * @param reviewIds The ids of the reviews.
+     * @return The number of the reviews whose ranks were recomputed.
+     */
+    @Transactional
+    int refreshRanks(Collection<Long> reviewIds);
+
+    /**
+     * This function recomputes the vote counters (up-votes, down-votes and score) of the given reviews from
+     * their votes. It is used after the votes are written in bulk, without updating the counters.
+     *
+     * @param reviewIds The ids of the reviews.
+     * @return The number of the updated reviews.
+     */
+    @Transactional
+    int recountVoteCounters(Collection<Long> reviewIds);
+
+    /**
+     * This function recomputes the ranks of the reviews that were ranked least recently (never ranked
+     * reviews first), so hot ranks follow the age of the reviews.
+     *
+     * @param batchSize    The maximum number of the reviews to recompute.
+     * @param rankedBefore Only the reviews that were not ranked since this time are recomputed.
+     * @return The number of the reviews whose ranks were recomputed.
+     */
+    @Transactional
+    int refreshStaleRanks(int batchSize, Instant rankedBefore);
+}
@@ -0,0 +1,271 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.global.utils.database.DatabaseVendor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * Implementation of the ReviewRepositoryCustom. Ranks are computed in Java by ReviewRanks and written
+ * with JDBC batches. Search uses the full-text index on PostgreSQL and a portable (LIKE) fallback
+ * on other databases
+ */
+public class ReviewRepositoryCustomImpl implements ReviewRepositoryCustom {
+
+    /**
+     * body_tsv is a generated column with the tsvector of the body, it has a GIN index (V14 migration).
+     * websearch_to_tsquery never fails on user input, it supports "quoted phrases", -excluded words and OR.
+     */
+    private static final String SQL_SEARCH_IDS_POSTGRESQL = """
+            SELECT review.id
+            FROM review, websearch_to_tsquery('english', :query) AS query
+            WHERE review.body_tsv @@ query %s
+            ORDER BY %s
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final String SQL_COUNT_SEARCH_POSTGRESQL = """
+            SELECT COUNT(*)
+            FROM review, websearch_to_tsquery('english', :query) AS query
+            WHERE review.body_tsv @@ query %s
+            """;
+
+    private static final String SQL_RELEVANCE_POSTGRESQL = "ts_rank_cd(review.body_tsv, query)";
+
+    private static final String SQL_SEARCH_IDS = """
+            SELECT review.id
+            FROM review
+            WHERE %s %s
+            ORDER BY %s
+            LIMIT :limit OFFSET :offset
+            """;
+
+    private static final String SQL_COUNT_SEARCH = """
+            SELECT COUNT(*)
+            FROM review
+            WHERE %s %s
+            """;
+
+    // Columns of the fields that reviews can be sorted by
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "review.id",
+            "body", "review.body",
+            "reviewValue", "review.review_value",
+            "upVoteCount", "review.up_vote_count",
+            "downVoteCount", "review.down_vote_count",
+            "score", "review.score",
+            "createdAt", "review.created_at",
+            ReviewConstants.SORT_FIELD_HOT_RANK, "review.hot_rank",
+            ReviewConstants.SORT_FIELD_CONFIDENCE_RANK, "review.confidence_rank"
+    );
+
+    private static final String SQL_SELECT_RANK_INPUTS = """
+            SELECT id, up_vote_count, down_vote_count, score, created_at
+            FROM review
+            WHERE id IN (:reviewIds)
+            """;
+
+    // Index on ranked_at is used, so the batch is found without sorting the whole table.
+    private static final String SQL_SELECT_STALE_RANK_INPUTS = """
+            SELECT id, up_vote_count, down_vote_count, score, created_at
+            FROM review
+            WHERE ranked_at IS NULL OR ranked_at < :rankedBefore
+            ORDER BY ranked_at NULLS FIRST
+            LIMIT :batchSize
+            """;
+
+    private static final String SQL_UPDATE_RANKS = """
+            UPDATE review
+            SET hot_rank        = :hotRank,
+                confidence_rank = :confidenceRank,
+                ranked_at       = :rankedAt
+            WHERE id = :reviewId
+            """;
+
+    private static final String SQL_RECOUNT_VOTE_COUNTERS = """
+            UPDATE review
+            SET up_vote_count   = (SELECT COUNT(*) FROM review_vote WHERE review_id = review.id AND vote_value > 0),
+                down_vote_count = (SELECT COUNT(*) FROM review_vote WHERE review_id = review.id AND vote_value < 0),
+                score           = (SELECT COALESCE(SUM(vote_value), 0) FROM review_vote WHERE review_id = review.id)
+            WHERE id IN (:reviewIds)
+            """;
+
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private static final RowMapper<RankInputs> RANK_INPUTS_ROW_MAPPER = (resultSet, rowNumber) -> {
+        Timestamp createdAt = resultSet.getTimestamp("created_at");
+        return new RankInputs(
+                resultSet.getLong("id"),
+                resultSet.getInt("up_vote_count"),
+                resultSet.getInt("down_vote_count"),
+                resultSet.getInt("score"),
+                createdAt != null ? createdAt.toInstant().atZone(ZoneOffset.UTC) : null
+        );
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public ReviewRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseVendor = new DatabaseVendor(dataSource);
+    }
+
+    @Override
+    public Page<Long> searchIds(String query, Long languageId, ReviewValue value, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("limit", pageable.getPageSize())
+                .addValue("offset", pageable.getOffset());
+        StringBuilder filters = new StringBuilder();
+        if (languageId != null) {
+            filters.append(" AND review.language_id = :languageId");
+            params.addValue("languageId", languageId);
+        }
+        if (value != null) {
+            filters.append(" AND review.review_value = :reviewValue");
+            params.addValue("reviewValue", value.getScore());
+        }
+
+        String searchSql;
+        String countSql;
+        if (databaseVendor.isPostgreSQL()) {
+            searchSql = SQL_SEARCH_IDS_POSTGRESQL.formatted(filters, toOrderBy(pageable.getSort(), SQL_RELEVANCE_POSTGRESQL));
+            countSql = SQL_COUNT_SEARCH_POSTGRESQL.formatted(filters);
+        } else {
+            String matches = toWordMatches(query, params);
+            searchSql = SQL_SEARCH_IDS.formatted(matches, filters, toOrderBy(pageable.getSort(), null));
+            countSql = SQL_COUNT_SEARCH.formatted(matches, filters);
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(searchSql, params, Long.class);
+        return PageableExecutionUtils.getPage(ids, pageable, () -> {
+            Long count = jdbcTemplate.queryForObject(countSql, params, Long.class);
+            return count != null ? count : 0;
+        });
+    }
+
+    @Override
+    public int refreshRanks(Collection<Long> reviewIds) {
+        List<Long> ids = reviewIds.stream().distinct().toList();
+        int count = 0;
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+            MapSqlParameterSource params = new MapSqlParameterSource("reviewIds", new ArrayList<>(
+                    ids.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, ids.size()))
+            ));
+            count += updateRanks(jdbcTemplate.query(SQL_SELECT_RANK_INPUTS, params, RANK_INPUTS_ROW_MAPPER));
+        }
+        return count;
+    }
+
+    @Override
+    public int recountVoteCounters(Collection<Long> reviewIds) {
+        List<Long> ids = reviewIds.stream().distinct().toList();
+        int count = 0;
+        for (int from = 0; from < ids.size(); from += MAX_IDS_PER_STATEMENT) {
+            count += jdbcTemplate.update(SQL_RECOUNT_VOTE_COUNTERS, new MapSqlParameterSource("reviewIds",
+                    new ArrayList<>(ids.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, ids.size())))));
+        }
+        return count;
+    }
+
+    @Override
+    public int refreshStaleRanks(int batchSize, Instant rankedBefore) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("batchSize", batchSize)
+                .addValue("rankedBefore", Timestamp.from(rankedBefore));
+        return updateRanks(jdbcTemplate.query(SQL_SELECT_STALE_RANK_INPUTS, params, RANK_INPUTS_ROW_MAPPER));
+    }
+
+    /**
+     * This function creates the ORDER BY clause of the search. Id is used as a tie-breaker.
+     *
+     * @param sort      The sorting of the request. Its fields are checked by the service.
+     * @param relevance The SQL expression of the relevance of a review to the query, or null if all matching
+     *                  reviews are equally relevant (every word matches in the fallback), so they are ordered by id.
+     * @return The ORDER BY clause without the keyword.
+     */
+    private String toOrderBy(Sort sort, String relevance) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            if (order.getProperty().equals(ReviewConstants.SORT_BY_RELEVANCE)) {
+                if (relevance != null) orders.add(relevance + " DESC");
+            } else {
+                String column = SORT_COLUMNS.get(order.getProperty());
+                if (column == null) throw new IllegalArgumentException("Unknown sort field: " + order.getProperty());
+                orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        orders.add("review.id ASC");
+        return String.join(", ", orders);
+    }
+
+    /**
+     * This function creates the condition of the fallback search: the body must contain every word of the query
+     * (case-insensitive). Quotes, OR and excluded words of the query are ignored.
+     *
+     * @param query  The search query.
+     * @param params The parameters of the statement, the words are added to them.
+     * @return The condition of the search.
+     */
+    private String toWordMatches(String query, MapSqlParameterSource params) {
+        List<String> matches = new ArrayList<>();
+        for (String word : query.toLowerCase(Locale.ROOT).replace("\"", " ").split("\\s+")) {
+            if (word.isEmpty() || word.equals("or") || word.startsWith("-")) continue;
+            String name = "word" + matches.size();
+            String escaped = word.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            params.addValue(name, "%" + escaped + "%");
+            matches.add("LOWER(review.body) LIKE :" + name + " ESCAPE '\\'");
+        }
+        return matches.isEmpty() ? "1 = 0" : String.join(" AND ", matches);
+    }
+
+    /**
+     * This function computes the ranks of the reviews and writes them with one JDBC batch.
+     *
+     * @param reviews The current vote counters and creation times of the reviews.
+     * @return The number of the updated reviews.
+     */
+    private int updateRanks(List<RankInputs> reviews) {
+        if (reviews.isEmpty()) return 0;
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        Timestamp rankedAt = Timestamp.from(now.toInstant());
+        SqlParameterSource[] batch = reviews.stream()
+                .map(review -> new MapSqlParameterSource()
+                        .addValue("reviewId", review.getId())
+                        .addValue("hotRank", ReviewRanks.hot(review.getScore(), review.getCreatedAt(), now))
+                        .addValue("confidenceRank", ReviewRanks.confidence(review.getUpVoteCount(), review.getDownVoteCount()))
+                        .addValue("rankedAt", rankedAt))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(SQL_UPDATE_RANKS, batch);
+        return reviews.size();
+    }
+
+    /**
+     * Columns of a review that its ranks are computed from
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class RankInputs {
+
+        private final long id;
+        private final int upVoteCount;
+        private final int downVoteCount;
+        private final int score;
+        private final ZonedDateTime createdAt;
+    }
+}
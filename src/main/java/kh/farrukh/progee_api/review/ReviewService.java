@@ -3,6 +3,9 @@ package kh.farrukh.progee_api.review;
 import kh.farrukh.progee_api.review.payloads.ReviewRequestDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewVoteRequestDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoteResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoterResponseDTO;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 
 /**
@@ -14,19 +17,38 @@ public interface ReviewService {
     PagingResponse<ReviewResponseDTO> getReviews(
             Long languageId,
             ReviewValue value,
+            String query,
             int page,
             int pageSize,
             String sortBy,
-            String orderBy
+            String orderBy,
+            CountMode countMode
+    );
+
+    PagingResponse<ReviewResponseDTO> getReviewsByCursor(
+            Long languageId,
+            ReviewValue value,
+            int pageSize,
+            String sortBy,
+            String orderBy,
+            String after
     );
 
     ReviewResponseDTO getReviewById(long id);
 
+    String getReviewETag(long id);
+
+    String getReviewsETag();
+
     ReviewResponseDTO addReview(ReviewRequestDTO reviewRequestDto);
 
     ReviewResponseDTO updateReview(long id, ReviewRequestDTO reviewRequestDto);
 
     void deleteReview(long id);
 
-    ReviewResponseDTO voteReview(long id, ReviewVoteRequestDTO reviewVoteRequestDto);
+    ReviewVoteResponseDTO voteReview(long id, ReviewVoteRequestDTO reviewVoteRequestDto);
+
+    PagingResponse<ReviewVoterResponseDTO> getReviewVoters(long id, Boolean vote, int page, int pageSize);
+
+    String getReviewVotersETag();
 }
@@ -4,25 +4,40 @@ import kh.farrukh.progee_api.language.LanguageRepository;
 import kh.farrukh.progee_api.review.payloads.ReviewRequestDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewVoteRequestDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoteResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoterResponseDTO;
 import kh.farrukh.progee_api.role.Permission;
-import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.NotEnoughPermissionException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ReviewDuplicateVoteException;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPage;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPaginator;
+import kh.farrukh.progee_api.global.utils.paging_sorting.OffsetPaginator;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.global.utils.paging_sorting.SortUtils;
+import kh.farrukh.progee_api.global.utils.user.AppUserPrincipal;
 import kh.farrukh.progee_api.global.utils.user.CurrentUserUtils;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.*;
 
 import static kh.farrukh.progee_api.global.utils.checkers.Checkers.*;
+import static kh.farrukh.progee_api.language.LanguageConstants.TABLE_NAME_LANGUAGE;
+import static kh.farrukh.progee_api.review.ReviewConstants.*;
 
 /**
  * It implements the ReviewService interface and uses the ReviewRepository
@@ -33,38 +48,114 @@ import static kh.farrukh.progee_api.global.utils.checkers.Checkers.*;
 public class ReviewServiceImpl implements ReviewService {
 
     private final ReviewRepository reviewRepository;
+    private final ReviewVoteRepository reviewVoteRepository;
+    private final ReviewVoteBuffer reviewVoteBuffer;
+    private final LanguageReviewStatsRepository languageReviewStatsRepository;
     private final LanguageRepository languageRepository;
     private final AppUserRepository appUserRepository;
+    private final CursorPaginator cursorPaginator;
+    private final OffsetPaginator offsetPaginator;
+    private final CatalogCache catalogCache;
+    private final ChangeTracker changeTracker;
 
     /**
      * "Get all sorted by a given field, in a given order, and return a page of them."
      *
      * @param languageId The id of the language to get reviews for (optional).
      * @param value      ReviewValue to filter by (optional).
+     * @param query      The text to search in the bodies of the reviews (optional).
      * @param page       The page number to return.
      * @param pageSize   The number of items to return per page.
-     * @param sortBy     The field to sort by.
+     * @param sortBy     The field to sort by. "hot" and "confidence" sort by the precomputed ranks, "relevance"
+     *                   sorts the search results by their relevance to the query. By default, search results
+     *                   are sorted by relevance and other reviews are sorted by id.
      * @param orderBy    The direction of the sorting. Can be either "asc" or "desc".
+     * @param countMode  The way to count the reviews. Only exact counts every request. Search results are
+     *                   always counted exactly.
      * @return A PagingResponse object is being returned.
      */
     @Override
     public PagingResponse<ReviewResponseDTO> getReviews(
             Long languageId,
             ReviewValue value,
+            String query,
             int page,
             int pageSize,
             String sortBy,
-            String orderBy
+            String orderBy,
+            CountMode countMode
     ) {
         checkPageNumber(page);
         if (languageId != null) checkLanguageId(languageRepository, languageId);
-        Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by(SortUtils.parseDirection(orderBy), sortBy));
-        // TODO: 6/12/22 add custom (transient) field: score
-        checkSortParams(pageable, List.of("id", "body", "reviewValue", "upVotes", "downVotes", "createdAt"));
+        if (query != null && query.isBlank()) query = null;
+        if (sortBy == null) sortBy = query != null ? SORT_BY_RELEVANCE : "id";
+        Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by(SortUtils.parseDirection(orderBy), toSortField(sortBy)));
+        List<String> sortFields = new ArrayList<>(List.of(
+                "id", "body", "reviewValue", "upVoteCount", "downVoteCount", "score", "createdAt",
+                SORT_FIELD_HOT_RANK, SORT_FIELD_CONFIDENCE_RANK
+        ));
+        if (query != null) sortFields.add(SORT_BY_RELEVANCE);
+        checkSortParams(pageable, sortFields);
 
+        Slice<Review> reviews;
+        if (query != null) {
+            reviews = searchReviews(query, languageId, value, pageable);
+        } else if (countMode == CountMode.EXACT) {
+            reviews = reviewRepository.findAll(new ReviewSpecification(languageId, value), pageable);
+        } else {
+            reviews = offsetPaginator.findAll(
+                    Review.class,
+                    new ReviewSpecification(languageId, value),
+                    pageable,
+                    countMode,
+                    "review_with_details"
+            );
+        }
+        Map<Long, Boolean> myVotes = getMyVotes(reviews.map(Review::getId).getContent());
+        return new PagingResponse<>(
+                reviews.map(review -> ReviewMappers.toReviewResponseDTO(review, myVotes.get(review.getId())))
+        );
+    }
+
+    /**
+     * "Get reviews after the given cursor, sorted by a given field, in a given order." Unlike getReviews, it does not
+     * skip the rows of the previous pages and does not count all reviews, so it is used for infinite scrolling.
+     *
+     * @param languageId The id of the language to get reviews for (optional).
+     * @param value      ReviewValue to filter by (optional).
+     * @param pageSize   The number of items to return per page.
+     * @param sortBy     The field to sort by. "hot" and "confidence" sort by the precomputed ranks.
+     * @param orderBy    The direction of the sorting. Can be either "asc" or "desc".
+     * @param after      The cursor of the previous page, or null to get the first page.
+     * @return A PagingResponse object with the cursor of the next page is being returned.
+     */
+    @Override
+    public PagingResponse<ReviewResponseDTO> getReviewsByCursor(
+            Long languageId,
+            ReviewValue value,
+            int pageSize,
+            String sortBy,
+            String orderBy,
+            String after
+    ) {
+        if (languageId != null) checkLanguageId(languageRepository, languageId);
+        if (sortBy == null) sortBy = "id";
+        Sort.Order order = new Sort.Order(SortUtils.parseDirection(orderBy), toSortField(sortBy));
+        checkSortParams(Sort.by(order), List.of(
+                "id", "upVoteCount", "downVoteCount", "score", "createdAt", SORT_FIELD_HOT_RANK, SORT_FIELD_CONFIDENCE_RANK
+        ));
+
+        CursorPage<Review> reviews = cursorPaginator.findAll(
+                Review.class,
+                new ReviewSpecification(languageId, value),
+                order,
+                after,
+                pageSize,
+                "review_with_details"
+        );
+        Map<Long, Boolean> myVotes = getMyVotes(reviews.getContent().stream().map(Review::getId).toList());
         return new PagingResponse<>(
-                reviewRepository.findAll(new ReviewSpecification(languageId, value), pageable)
-                        .map(ReviewMappers::toReviewResponseDTO)
+                reviews.map(review -> ReviewMappers.toReviewResponseDTO(review, myVotes.get(review.getId())))
         );
     }
 
@@ -76,35 +167,74 @@ public class ReviewServiceImpl implements ReviewService {
      */
     @Override
     public ReviewResponseDTO getReviewById(long id) {
-        return reviewRepository.findById(id)
-                .map(ReviewMappers::toReviewResponseDTO)
+        return reviewRepository.findWithDetailsById(id)
+                .map(review -> ReviewMappers.toReviewResponseDTO(review, getMyVotes(List.of(id)).get(id)))
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "id", id));
     }
 
     /**
-     * It adds a review to a language.
+     * This function returns the ETag of the review with the given id. Only the versions of the review and of
+     * the entities of its response are read (with one query), so a not modified review is returned without
+     * loading it. The vote of the current user is a part of the response, so it is a part of the ETag too.
+     *
+     * @param id The id of the review
+     * @return The strong ETag of the review
+     */
+    @Override
+    public String getReviewETag(long id) {
+        return reviewRepository.findVersionTagById(id)
+                .map(versionTag -> ETagUtils.toStrongETag(
+                        versionTag.getValue(),
+                        getMyVotes(List.of(id)).get(id)
+                ))
+                .orElseThrow(() -> new ResourceNotFoundException("Review", "id", id));
+    }
+
+    /**
+     * This function returns the weak ETag of the lists of reviews. It changes after any change of the tables
+     * that the lists are read from and after any vote of this instance whose change is not counted in the
+     * tables yet.
+     *
+     * @return The weak ETag of the lists
+     */
+    @Override
+    public String getReviewsETag() {
+        return changeTracker.getWeakETag(TABLES_OF_REVIEW_RESPONSE, reviewVoteBuffer.getChangeCount());
+    }
+
+    /**
+     * It adds a review to a language. Ranks of the review, review statistics and aggregates of the language are
+     * updated in the same transaction.
      *
      * @param reviewRequestDto This is the object that will be used to create the new Review object.
      * @return A Review object
      */
     @Override
+    @Transactional
     public ReviewResponseDTO addReview(ReviewRequestDTO reviewRequestDto) {
         if (reviewRequestDto.getLanguageId() == null) {
             throw new BadRequestException("Language id");
         }
         Review review = ReviewMappers.toReview(reviewRequestDto, languageRepository);
-        review.setAuthor(CurrentUserUtils.getCurrentUser(appUserRepository));
-        return ReviewMappers.toReviewResponseDTO(reviewRepository.save(review));
+        review.setAuthor(CurrentUserUtils.getCurrentUserReference(appUserRepository));
+        // The review is inserted immediately, so its ranks are computed now and it is not at the bottom
+        // of the rank sorts until the next sweep
+        Review savedReview = reviewRepository.saveAndFlush(review);
+        reviewRepository.refreshRanks(List.of(review.getId()));
+        applyLanguageReviewChange(review.getLanguage().getId(), null, review.getReviewValue());
+        return ReviewMappers.toReviewResponseDTO(savedReview);
     }
 
     /**
-     * This function updates a review in the database
+     * This function updates a review in the database. If the value of the review is changed, review statistics
+     * and aggregates of the language are updated in the same transaction.
      *
      * @param id               The id of the review to update.
      * @param reviewRequestDto The ReviewDTO object that contains the new values for the review.
      * @return The updated review.
      */
     @Override
+    @Transactional
     public ReviewResponseDTO updateReview(long id, ReviewRequestDTO reviewRequestDto) {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "id", id));
@@ -116,6 +246,11 @@ public class ReviewServiceImpl implements ReviewService {
                 review.getAuthor().getId(),
                 appUserRepository
         )) {
+            applyLanguageReviewChange(
+                    review.getLanguage().getId(),
+                    review.getReviewValue(),
+                    reviewRequestDto.getReviewValue()
+            );
             review.setBody(reviewRequestDto.getBody());
             review.setReviewValue(reviewRequestDto.getReviewValue());
         } else {
@@ -126,11 +261,13 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     /**
-     * This function deletes a review by its id
+     * This function deletes a review by its id. Review statistics and aggregates of the language are updated
+     * in the same transaction.
      *
      * @param id The id of the review to delete.
      */
     @Override
+    @Transactional
     public void deleteReview(long id) {
         Review existingReview = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", "id", id));
@@ -143,44 +280,164 @@ public class ReviewServiceImpl implements ReviewService {
                 appUserRepository
         )) {
             reviewRepository.deleteById(id);
+            applyLanguageReviewChange(
+                    existingReview.getLanguage().getId(),
+                    existingReview.getReviewValue(),
+                    null
+            );
         } else {
             throw new NotEnoughPermissionException();
         }
     }
 
     /**
-     * If the user has not voted on the review, then add the user's id to the upVotes or downVotes list
+     * It saves the vote of the current user and updates the vote counters of the review with a single
+     * statement, without loading the review. If nothing was changed by the statement, then either the review
+     * does not exist or the user has already given the same vote. Ranks of the review are recomputed after the
+     * vote, and the change counters of the vote tables are incremented by the next flush of the vote buffer
+     * (once for all votes of the interval). If the vote buffer is enabled, the vote is recorded in memory and written (and ranked) later.
      *
      * @param id                   The id of the review to vote on.
      * @param reviewVoteRequestDto This is the DTO that contains the vote.
-     * @return Review
+     * @return New (or optimistic, if the vote is buffered) vote counters of the review
      */
     @Override
-    public ReviewResponseDTO voteReview(long id, ReviewVoteRequestDTO reviewVoteRequestDto) {
-        Review review = reviewRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Review", "id", id));
-
+    public ReviewVoteResponseDTO voteReview(long id, ReviewVoteRequestDTO reviewVoteRequestDto) {
         // Get the user who is currently logged in.
-        AppUser currentUser = CurrentUserUtils.getCurrentUser(appUserRepository);
-
-        // Checking if the currentUser has already voted on the review. If the current user has already voted on the review, then
-        // throw a ReviewDuplicateVoteException.
-        if (reviewVoteRequestDto.isVote()) {
-            if (review.getUpVotes().contains(currentUser.getId())) {
-                throw new ReviewDuplicateVoteException("up-vote");
-            }
+        long currentUserId = CurrentUserUtils.getCurrentUserId(appUserRepository);
+        int value = reviewVoteRequestDto.isVote() ? VOTE_VALUE_UP : VOTE_VALUE_DOWN;
 
-            review.getUpVotes().add(currentUser.getId());
-            review.getDownVotes().remove(currentUser.getId());
+        Optional<ReviewVoteCounts> counts;
+        if (reviewVoteBuffer.canAccept()) {
+            counts = reviewVoteBuffer.vote(id, currentUserId, value);
         } else {
-            if (review.getDownVotes().contains(currentUser.getId())) {
-                throw new ReviewDuplicateVoteException("down-vote");
+            // Older buffered vote of the user must not override this vote when it is flushed.
+            reviewVoteBuffer.discard(id, currentUserId);
+            counts = reviewVoteRepository.vote(id, currentUserId, value);
+            if (counts.isPresent()) {
+                reviewRepository.refreshRanks(List.of(id));
+                reviewVoteBuffer.recordDirectVote();
             }
+        }
+
+        return counts
+                .map(voteCounts -> ReviewMappers.toReviewVoteResponseDTO(id, reviewVoteRequestDto.isVote(), voteCounts))
+                .orElseThrow(() -> {
+                    // Checking if the review exists. Otherwise, the current user has already given the same vote.
+                    if (!reviewRepository.existsById(id)) {
+                        return new ResourceNotFoundException("Review", "id", id);
+                    }
+                    return new ReviewDuplicateVoteException(reviewVoteRequestDto.isVote() ? "up-vote" : "down-vote");
+                });
+    }
 
-            review.getDownVotes().add(currentUser.getId());
-            review.getUpVotes().remove(currentUser.getId());
+    /**
+     * "Get the users who voted on the review, and return a page of them." Votes that are buffered and not
+     * written to the database yet are not included.
+     *
+     * @param id       The id of the review.
+     * @param vote     true to get only up-voters, false to get only down-voters, null to get all voters.
+     * @param page     The page number to return.
+     * @param pageSize The number of items to return per page.
+     * @return A PagingResponse object is being returned.
+     */
+    @Override
+    public PagingResponse<ReviewVoterResponseDTO> getReviewVoters(long id, Boolean vote, int page, int pageSize) {
+        checkPageNumber(page);
+        if (!reviewRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Review", "id", id);
         }
+        Pageable pageable = PageRequest.of(page - 1, pageSize, Sort.by("id.userId"));
 
-        return ReviewMappers.toReviewResponseDTO(reviewRepository.save(review));
+        Page<ReviewVote> votes;
+        if (vote == null) {
+            votes = reviewVoteRepository.findAllByIdReviewId(id, pageable);
+        } else {
+            votes = reviewVoteRepository.findAllByIdReviewIdAndValue(id, vote ? VOTE_VALUE_UP : VOTE_VALUE_DOWN, pageable);
+        }
+        return new PagingResponse<>(votes.map(ReviewMappers::toReviewVoterResponseDTO));
+    }
+
+    /**
+     * This function returns the weak ETag of the lists of the voters of reviews. It changes after any change of
+     * the tables and after any vote of this instance whose change is not counted in the tables yet.
+     *
+     * @return The weak ETag of the lists
+     */
+    @Override
+    public String getReviewVotersETag() {
+        return changeTracker.getWeakETag(TABLES_OF_REVIEW_VOTER_RESPONSE, reviewVoteBuffer.getChangeCount());
+    }
+
+    /**
+     * It finds the votes of the current user for the given reviews with one query. Votes that are not flushed
+     * from the vote buffer yet override the votes from the database.
+     *
+     * @param reviewIds The ids of the reviews.
+     * @return A map of the review id to the vote (true for up-vote, false for down-vote). It is empty if the
+     * user is not logged in.
+     */
+    private Map<Long, Boolean> getMyVotes(List<Long> reviewIds) {
+        if (reviewIds.isEmpty()) return Map.of();
+        Optional<AppUserPrincipal> currentUser = CurrentUserUtils.findCurrentPrincipal(appUserRepository);
+        if (currentUser.isEmpty()) return Map.of();
+        long userId = currentUser.get().getId();
+
+        Map<Long, Boolean> myVotes = new HashMap<>();
+        reviewVoteRepository.findAllByIdUserIdAndIdReviewIdIn(userId, reviewIds)
+                .forEach(vote -> myVotes.put(vote.getId().getReviewId(), vote.getValue() > 0));
+        reviewIds.forEach(reviewId -> reviewVoteBuffer.getPendingVote(reviewId, userId)
+                .ifPresent(pendingVote -> myVotes.put(reviewId, pendingVote > 0)));
+        return myVotes;
+    }
+
+    /**
+     * This function finds the page of the ids of the reviews that match the query with the search index and
+     * loads the reviews of the page with one more query, keeping the order of the search.
+     *
+     * @param query      The text to search in the bodies of the reviews.
+     * @param languageId The id of the language to get reviews for (optional).
+     * @param value      ReviewValue to filter by (optional).
+     * @param pageable   The page and the sorting.
+     * @return A page of the found reviews.
+     */
+    private Page<Review> searchReviews(String query, Long languageId, ReviewValue value, Pageable pageable) {
+        Page<Long> ids = reviewRepository.searchIds(query, languageId, value, pageable);
+        if (ids.isEmpty()) return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+
+        Map<Long, Review> reviewsById = new HashMap<>();
+        reviewRepository.findAllByIdIn(ids.getContent()).forEach(review -> reviewsById.put(review.getId(), review));
+        List<Review> reviews = ids.getContent().stream().map(reviewsById::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(reviews, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * This function converts the names of the rank sorts to the fields of the Review entity.
+     *
+     * @param sortBy The sort_by parameter of the request.
+     * @return The field to sort by.
+     */
+    private String toSortField(String sortBy) {
+        return switch (sortBy) {
+            case SORT_BY_HOT -> SORT_FIELD_HOT_RANK;
+            case SORT_BY_CONFIDENCE -> SORT_FIELD_CONFIDENCE_RANK;
+            default -> sortBy;
+        };
+    }
+
+    /**
+     * This function applies the difference of one review to the statistics and the aggregates of its language.
+     * Aggregates are changed with SQL directly, so the cached language is invalidated and the change is tracked.
+     *
+     * @param languageId   The id of the language of the review.
+     * @param removedValue The previous value of the review, or null if the review is created.
+     * @param addedValue   The new value of the review, or null if the review is deleted.
+     */
+    private void applyLanguageReviewChange(long languageId, ReviewValue removedValue, ReviewValue addedValue) {
+        if (removedValue == addedValue) return;
+        languageReviewStatsRepository.applyChange(languageId, removedValue, addedValue);
+        languageRepository.applyReviewChange(languageId, removedValue, addedValue);
+        catalogCache.invalidateLanguage(languageId);
+        changeTracker.markChanged(TABLE_NAME_LANGUAGE);
     }
-}
\ No newline at end of file
+}
@@ -48,4 +48,9 @@ public class ReviewSpecification implements Specification<Review> {
         if (!(o instanceof ReviewSpecification that)) return false;
         return Objects.equals(languageId, that.languageId) && reviewValue == that.reviewValue;
     }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(languageId, reviewValue);
+    }
 }
@@ -0,0 +1,44 @@
+package kh.farrukh.progee_api.review;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * It's the version tag of a review that is read with one query, without loading the review and the entities
+ * that the response of the review contains (author and language with their roles, images and the author of
+ * the language). Vote counters and aggregates of the language are changed with SQL directly (without the
+ * version), so they are a part of the tag too. Versions of the entities that do not exist are null.
+ */
+@Getter
+public class ReviewVersionTag {
+
+    private final String value;
+
+    public ReviewVersionTag(
+            long reviewVersion,
+            int upVoteCount,
+            int downVoteCount,
+            Long authorVersion,
+            Long authorRoleVersion,
+            Long authorImageVersion,
+            Long languageVersion,
+            Long languageReviewCount,
+            Long languageReviewScoreSum,
+            Long languageLikeCount,
+            Long languageFrameworkCount,
+            Long languageImageVersion,
+            Long languageAuthorVersion,
+            Long languageAuthorRoleVersion,
+            Long languageAuthorImageVersion
+    ) {
+        this.value = Arrays.stream(new Object[]{
+                reviewVersion, upVoteCount, downVoteCount,
+                authorVersion, authorRoleVersion, authorImageVersion,
+                languageVersion, languageReviewCount, languageReviewScoreSum, languageLikeCount,
+                languageFrameworkCount, languageImageVersion,
+                languageAuthorVersion, languageAuthorRoleVersion, languageAuthorImageVersion
+        }).map(String::valueOf).collect(Collectors.joining(","));
+    }
+}
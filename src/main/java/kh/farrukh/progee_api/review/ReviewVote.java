@@ -0,0 +1,45 @@
+package kh.farrukh.progee_api.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import javax.persistence.*;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW_VOTE;
+
+/**
+ * It's a vote of a user for a review. Value of the vote is 1 for up-vote and -1 for down-vote
+ */
+@Entity
+@Table(name = TABLE_NAME_REVIEW_VOTE)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewVote {
+
+    @EmbeddedId
+    private ReviewVoteId id;
+
+    @MapsId("reviewId")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @JoinColumn(
+            name = "review_id",
+            foreignKey = @ForeignKey(name = "fk_review_id_of_review_vote")
+    )
+    private Review review;
+
+    @Column(name = "vote_value", nullable = false)
+    private int value;
+
+    public ReviewVote(Review review, long userId, int value) {
+        this.id = new ReviewVoteId(review.getId(), userId);
+        this.review = review;
+        this.value = value;
+    }
+}
@@ -0,0 +1,322 @@
+package kh.farrukh.progee_api.review;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW;
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW_VOTE;
+
+/**
+ * It's a write-behind buffer for the votes of reviews. When it is enabled, votes are accumulated in memory
+ * and written to the database by the background flusher with JDBC batches. Only the latest vote of each user
+ * for each review is written, so repeated votes are coalesced.
+ * <p>
+ * Votes are checked against the persisted vote of the user as with the direct writes: the same vote is rejected
+ * and a changed vote replaces the persisted one. The score returned for a buffered vote is optimistic: it is
+ * based on the counters of the last flush and on the votes that are not flushed yet (each one replacing the
+ * persisted vote of its user). It is corrected by the next flush.
+ * <p>
+ * Change counters of the vote tables are incremented once per flush, for the buffered votes and for the votes
+ * that were written directly meanwhile, so voters do not wait for each other on the shared counters. Lists of
+ * this instance change immediately with the change count of the buffer.
+ */
+@Slf4j
+@Component
+public class ReviewVoteBuffer {
+
+    public static final String METRIC_BUFFER_DEPTH = "review.vote.buffer.depth";
+    public static final String METRIC_FLUSH_LATENCY = "review.vote.buffer.flush";
+
+    private final ReviewRepository reviewRepository;
+    private final ReviewVoteRepository reviewVoteRepository;
+    private final ReviewVoteBufferConfiguration configuration;
+    private final ChangeTracker changeTracker;
+    private final Timer flushTimer;
+
+    // The latest not flushed vote of each user for each review
+    private final Map<ReviewVoteId, PendingVote> pendingVotes = new ConcurrentHashMap<>();
+    // Counters of not flushed up-votes and down-votes by review id. A counter and the votes of its review are
+    // changed only inside compute of the entry, so the flusher subtracts exactly the votes it has drained.
+    private final Map<Long, PendingVoteCounters> pendingCounters = new ConcurrentHashMap<>();
+    // Counters of the reviews as they were in the database after the last flush, by review id
+    private final Map<Long, ReviewVoteCounts> flushedCounts = new ConcurrentHashMap<>();
+    private final AtomicLong lastFlushedAt = new AtomicLong(System.currentTimeMillis());
+    // Number of the buffered and directly written votes, it is a part of the ETags of the lists of reviews
+    private final AtomicLong changeCount = new AtomicLong();
+    // Whether votes were written directly after the change counters were incremented last time
+    private final AtomicBoolean directVotesWritten = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public ReviewVoteBuffer(
+            ReviewRepository reviewRepository,
+            ReviewVoteRepository reviewVoteRepository,
+            ReviewVoteBufferConfiguration configuration,
+            ChangeTracker changeTracker,
+            MeterRegistry meterRegistry
+    ) {
+        this.reviewRepository = reviewRepository;
+        this.reviewVoteRepository = reviewVoteRepository;
+        this.configuration = configuration;
+        this.changeTracker = changeTracker;
+        Gauge.builder(METRIC_BUFFER_DEPTH, pendingVotes, Map::size)
+                .description("Number of the votes that are not flushed to the database yet")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC_FLUSH_LATENCY)
+                .description("Time spent to flush the buffered votes to the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * This function checks if a vote can be buffered. Votes are not buffered if the buffer is disabled or
+     * the flusher is behind more than the configured maximum lag (for example, the database is not available),
+     * so they are written directly and errors are visible to the voters.
+     *
+     * @return true if the vote can be buffered.
+     */
+    public boolean canAccept() {
+        if (!configuration.isEnabled()) return false;
+        long lag = System.currentTimeMillis() - lastFlushedAt.get();
+        return pendingVotes.isEmpty() || lag <= configuration.getMaxLagInMillis();
+    }
+
+    /**
+     * This function records the vote of the user in the buffer.
+     *
+     * @param reviewId The id of the review to vote on.
+     * @param userId   The id of the user who votes.
+     * @param value    1 for up-vote and -1 for down-vote.
+     * @return Optimistic vote counters of the review or empty if the user has already given the same vote
+     * (flushed or not).
+     */
+    public Optional<ReviewVoteCounts> vote(long reviewId, long userId, int value) {
+        ReviewVoteCounts loaded = getFlushedCounts(reviewId);
+        ReviewVoteId id = new ReviewVoteId(reviewId, userId);
+        // The persisted vote is read only if the user has no pending vote. If the pending vote is drained
+        // meanwhile, it is the vote that is being flushed, so it is the persisted vote for this one.
+        PendingVote observedVote = pendingVotes.get(id);
+        Integer persistedValue = observedVote != null
+                ? Integer.valueOf(observedVote.value)
+                : reviewVoteRepository.findValueById(id).orElse(null);
+        List<ReviewVoteCounts> result = new ArrayList<>(1);
+
+        pendingCounters.compute(reviewId, (key, counters) -> {
+            if (counters == null) counters = new PendingVoteCounters();
+            PendingVote previousVote = pendingVotes.get(id);
+            Integer replacedValue = previousVote != null ? previousVote.replacedValue : persistedValue;
+            Integer previousValue = previousVote != null ? Integer.valueOf(previousVote.value) : replacedValue;
+            if (previousValue != null && previousValue == value) return counters.isEmpty() ? null : counters;
+
+            PendingVote vote = new PendingVote(value, replacedValue);
+            pendingVotes.put(id, vote);
+            if (previousVote != null) counters.add(previousVote, -1);
+            counters.add(vote, 1);
+
+            // Counters of the last flush are read here, because the flusher replaces them together with the counters
+            ReviewVoteCounts flushed = flushedCounts.getOrDefault(reviewId, loaded);
+            int upVoteCount = flushed.getUpVoteCount() + counters.upVotes;
+            int downVoteCount = flushed.getDownVoteCount() + counters.downVotes;
+            result.add(new ReviewVoteCounts(upVoteCount, downVoteCount, upVoteCount - downVoteCount));
+            return counters;
+        });
+
+        if (result.isEmpty()) return Optional.empty();
+        changeCount.incrementAndGet();
+        return Optional.of(result.get(0));
+    }
+
+    /**
+     * This function returns the not flushed vote of the user.
+     *
+     * @param reviewId The id of the review.
+     * @param userId   The id of the user.
+     * @return 1 for up-vote, -1 for down-vote or empty if there is no not flushed vote of the user.
+     */
+    public Optional<Integer> getPendingVote(long reviewId, long userId) {
+        return Optional.ofNullable(pendingVotes.get(new ReviewVoteId(reviewId, userId))).map(vote -> vote.value);
+    }
+
+    /**
+     * This function returns the number of the votes that were buffered or written directly by this instance.
+     * It changes whenever a vote is given, before the change counters of the tables are incremented.
+     *
+     * @return The number of the votes.
+     */
+    public long getChangeCount() {
+        return changeCount.get();
+    }
+
+    /**
+     * This function records that a vote was written directly. The change counters of the tables are incremented
+     * by the next flush, together with the buffered votes.
+     */
+    public void recordDirectVote() {
+        changeCount.incrementAndGet();
+        directVotesWritten.set(true);
+    }
+
+    /**
+     * This function removes the not flushed vote of the user. It is used when the vote is written directly,
+     * so an older buffered vote does not override it later.
+     *
+     * @param reviewId The id of the review.
+     * @param userId   The id of the user.
+     */
+    public void discard(long reviewId, long userId) {
+        ReviewVoteId id = new ReviewVoteId(reviewId, userId);
+        pendingCounters.computeIfPresent(reviewId, (key, counters) -> {
+            PendingVote vote = pendingVotes.remove(id);
+            if (vote != null) counters.add(vote, -1);
+            return counters.isEmpty() ? null : counters;
+        });
+    }
+
+    /**
+     * This function writes the buffered votes to the database and recomputes the ranks of the voted reviews.
+     * The change counters of the tables are incremented once for the flushed and the directly written votes.
+     * It is called periodically by the scheduler.
+     * If writing fails, the votes are returned to the buffer (unless newer votes of the same users exist)
+     * and are written by the next flush.
+     */
+    @Scheduled(fixedDelayString = "${review.vote-buffer.flush-interval-in-millis:500}")
+    public void flush() {
+        if (!flushLock.tryLock()) return;
+        try {
+            if (pendingVotes.isEmpty()) {
+                lastFlushedAt.set(System.currentTimeMillis());
+                flushedCounts.clear();
+                if (directVotesWritten.getAndSet(false)) {
+                    changeTracker.markChanged(TABLE_NAME_REVIEW, TABLE_NAME_REVIEW_VOTE);
+                }
+                return;
+            }
+
+            Map<ReviewVoteId, PendingVote> votes = drainPendingVotes();
+            Map<ReviewVoteId, Integer> values = new HashMap<>();
+            votes.forEach((id, vote) -> values.put(id, vote.value));
+            try {
+                Map<Long, ReviewVoteCounts> counts = flushTimer.record(() -> reviewVoteRepository.voteAll(values));
+                reviewRepository.refreshRanks(counts.keySet());
+                directVotesWritten.set(false);
+                changeTracker.markChanged(TABLE_NAME_REVIEW, TABLE_NAME_REVIEW_VOTE);
+                lastFlushedAt.set(System.currentTimeMillis());
+                // Only counters of the reviews that are still voted on are kept in memory.
+                flushedCounts.keySet().retainAll(counts.keySet());
+                votes.forEach((id, vote) -> pendingCounters.computeIfPresent(id.getReviewId(), (key, counters) -> {
+                    ReviewVoteCounts reviewCounts = counts.get(key);
+                    if (reviewCounts != null) flushedCounts.put(key, reviewCounts);
+                    counters.add(vote, -1);
+                    return counters.isEmpty() ? null : counters;
+                }));
+                // Reviews whose pending votes were discarded meanwhile have no counters
+                counts.forEach(flushedCounts::putIfAbsent);
+            } catch (RuntimeException exception) {
+                // A vote that is changed meanwhile is counted with its new value, so the drained one is subtracted
+                votes.forEach((id, vote) -> pendingCounters.compute(id.getReviewId(), (key, counters) -> {
+                    if (counters == null) counters = new PendingVoteCounters();
+                    if (pendingVotes.putIfAbsent(id, vote) != null) counters.add(vote, -1);
+                    return counters.isEmpty() ? null : counters;
+                }));
+                log.error("Could not flush {} buffered review votes", votes.size(), exception);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * This function flushes the buffered votes before the application is stopped, if it is configured.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (configuration.isFlushOnShutdown()) {
+            flush();
+        }
+    }
+
+    /**
+     * This function removes the pending votes from the buffer. A vote is removed only if it was not changed
+     * concurrently, otherwise the newer vote stays for the next flush.
+     *
+     * @return The removed votes.
+     */
+    private Map<ReviewVoteId, PendingVote> drainPendingVotes() {
+        Map<ReviewVoteId, PendingVote> votes = new HashMap<>();
+        pendingVotes.forEach((id, vote) -> {
+            if (pendingVotes.remove(id, vote)) votes.put(id, vote);
+        });
+        return votes;
+    }
+
+    /**
+     * This function returns the counters of the review after the last flush. They are loaded from the
+     * database if the review was not flushed recently.
+     *
+     * @param reviewId The id of the review.
+     * @return The counters of the review.
+     */
+    private ReviewVoteCounts getFlushedCounts(long reviewId) {
+        ReviewVoteCounts counts = flushedCounts.get(reviewId);
+        if (counts == null) {
+            counts = reviewRepository.findVoteCountsById(reviewId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Review", "id", reviewId));
+            flushedCounts.putIfAbsent(reviewId, counts);
+        }
+        return counts;
+    }
+
+    /**
+     * A not flushed vote and the persisted vote of the same user that it replaces (null if there is none).
+     * Instances are compared by identity, so a vote is drained only if it was not given again meanwhile.
+     */
+    private static class PendingVote {
+
+        private final int value;
+        private final Integer replacedValue;
+
+        private PendingVote(int value, Integer replacedValue) {
+            this.value = value;
+            this.replacedValue = replacedValue;
+        }
+    }
+
+    /**
+     * Differences of the up-votes and down-votes of a review made by its not flushed votes. It is changed only
+     * inside compute of its map entry.
+     */
+    private static class PendingVoteCounters {
+
+        private int upVotes;
+        private int downVotes;
+
+        // A vote adds its value and removes the persisted vote that it replaces
+        private void add(PendingVote vote, int count) {
+            add(vote.value, count);
+            if (vote.replacedValue != null) add(vote.replacedValue, -count);
+        }
+
+        private void add(int value, int count) {
+            if (value > 0) {
+                upVotes += count;
+            } else {
+                downVotes += count;
+            }
+        }
+
+        private boolean isEmpty() {
+            return upVotes == 0 && downVotes == 0;
+        }
+    }
+}
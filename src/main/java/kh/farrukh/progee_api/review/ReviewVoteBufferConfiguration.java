@@ -0,0 +1,22 @@
+package kh.farrukh.progee_api.review;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * It's a configuration class that reads the values of the vote buffer (write-behind vote ingestion)
+ * from the application.yml file
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties("review.vote-buffer")
+public class ReviewVoteBufferConfiguration {
+
+    private boolean enabled;
+    private long flushIntervalInMillis = 500;
+    private long maxLagInMillis = 10000;
+    private boolean flushOnShutdown = true;
+}
@@ -0,0 +1,18 @@
+package kh.farrukh.progee_api.review;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * It's a snapshot of the vote counters of a review, returned by the database after a vote
+ */
+@Getter
+@AllArgsConstructor
+public class ReviewVoteCounts {
+
+    private int upVoteCount;
+
+    private int downVoteCount;
+
+    private int score;
+}
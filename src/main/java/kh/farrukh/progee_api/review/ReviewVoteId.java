@@ -0,0 +1,29 @@
+package kh.farrukh.progee_api.review;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+/**
+ * It's a composite id of the review vote: one user can vote on a review only once
+ */
+@Embeddable
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewVoteId implements Serializable {
+
+    @Column(name = "review_id")
+    private long reviewId;
+
+    @Column(name = "user_id")
+    private long userId;
+}
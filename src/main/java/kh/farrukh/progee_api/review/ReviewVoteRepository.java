@@ -0,0 +1,59 @@
+package kh.farrukh.progee_api.review;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for managing votes of reviews
+ */
+@Repository
+@Validated
+public interface ReviewVoteRepository extends JpaRepository<ReviewVote, ReviewVoteId>, ReviewVoteRepositoryCustom {
+
+    /**
+     * Find the votes of the user for the given reviews. It is used to get votes of the current user for a page
+     * of reviews with one query.
+     *
+     * @param userId    The id of the user.
+     * @param reviewIds The ids of the reviews.
+     * @return A list of the votes of the user (reviews without vote of the user are missing).
+     */
+    List<ReviewVote> findAllByIdUserIdAndIdReviewIdIn(long userId, Collection<Long> reviewIds);
+
+    /**
+     * Find the value of the vote of the user for the review, without loading the vote.
+     *
+     * @param id The id of the vote (the ids of the review and the user).
+     * @return 1 for up-vote, -1 for down-vote or empty if the user has not voted on the review.
+     */
+    @Query("select v.value from ReviewVote v where v.id = :id")
+    Optional<Integer> findValueById(@Param("id") ReviewVoteId id);
+
+    /**
+     * Find all votes of the review.
+     *
+     * @param reviewId The id of the review.
+     * @param pageable The pageable object that contains the page number, page size, and sort information.
+     * @return A Page of the votes of the review.
+     */
+    Page<ReviewVote> findAllByIdReviewId(long reviewId, Pageable pageable);
+
+    /**
+     * Find all votes of the review with the given value.
+     *
+     * @param reviewId The id of the review.
+     * @param value    1 for up-votes and -1 for down-votes.
+     * @param pageable The pageable object that contains the page number, page size, and sort information.
+     * @return A Page of the votes of the review.
+     */
+    Page<ReviewVote> findAllByIdReviewIdAndValue(long reviewId, int value, Pageable pageable);
+}
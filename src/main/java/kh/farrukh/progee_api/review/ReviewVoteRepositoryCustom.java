@@ -0,0 +1,34 @@
+package kh.farrukh.progee_api.review;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Custom (SQL based) operations of the ReviewVoteRepository
+ */
+public interface ReviewVoteRepositoryCustom {
+
+    /**
+     * This function saves the vote of the user and updates the vote counters of the review atomically.
+     *
+     * @param reviewId The id of the review to vote on.
+     * @param userId   The id of the user who votes.
+     * @param value    1 for up-vote and -1 for down-vote.
+     * @return New vote counters of the review or empty if nothing was changed: the user has already
+     * given the same vote, or the review does not exist.
+     */
+    @Transactional
+    Optional<ReviewVoteCounts> vote(long reviewId, long userId, int value);
+
+    /**
+     * This function saves the given votes in batches and changes the vote counters of their reviews by the
+     * differences. Votes for the reviews that do not exist anymore and votes that are not changed are skipped.
+     *
+     * @param votes Values of the votes (1 for up-vote and -1 for down-vote) by their ids.
+     * @return New vote counters of the reviews whose votes were changed, by their ids.
+     */
+    @Transactional
+    Map<Long, ReviewVoteCounts> voteAll(Map<ReviewVoteId, Integer> votes);
+}
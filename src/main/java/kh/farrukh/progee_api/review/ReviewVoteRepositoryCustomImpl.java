@@ -0,0 +1,284 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.global.utils.database.DatabaseVendor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import javax.sql.DataSource;
+import java.util.*;
+
+/**
+ * Implementation of the ReviewVoteRepositoryCustom. It uses a single upsert statement on PostgreSQL
+ * and a portable (row locking) fallback on other databases
+ */
+public class ReviewVoteRepositoryCustomImpl implements ReviewVoteRepositoryCustom {
+
+    /**
+     * The vote is inserted (or changed) and the counters of the review are updated in one statement.
+     * Conflicting row is updated only if the value of the vote is different, so duplicate vote affects no rows.
+     * `xmax = 0` is true only for the rows that were inserted (not updated) by the statement.
+     */
+    private static final String SQL_VOTE_POSTGRESQL = """
+            WITH vote AS (
+                INSERT INTO review_vote (review_id, user_id, vote_value)
+                SELECT id, :userId, :value
+                FROM review
+                WHERE id = :reviewId
+                ON CONFLICT (review_id, user_id) DO UPDATE
+                    SET vote_value = EXCLUDED.vote_value
+                    WHERE review_vote.vote_value <> EXCLUDED.vote_value
+                RETURNING (xmax = 0) AS inserted
+            )
+            UPDATE review
+            SET up_vote_count   = up_vote_count + CASE WHEN :value > 0 THEN 1 WHEN vote.inserted THEN 0 ELSE -1 END,
+                down_vote_count = down_vote_count + CASE WHEN :value < 0 THEN 1 WHEN vote.inserted THEN 0 ELSE -1 END,
+                score           = score + CASE WHEN vote.inserted THEN :value ELSE 2 * :value END
+            FROM vote
+            WHERE review.id = :reviewId
+            RETURNING review.up_vote_count, review.down_vote_count, review.score
+            """;
+
+    private static final String SQL_SELECT_REVIEW_FOR_UPDATE = """
+            SELECT id
+            FROM review
+            WHERE id = :reviewId
+            FOR UPDATE
+            """;
+
+    private static final String SQL_SELECT_VOTE = """
+            SELECT vote_value
+            FROM review_vote
+            WHERE review_id = :reviewId AND user_id = :userId
+            """;
+
+    private static final String SQL_INSERT_VOTE = """
+            INSERT INTO review_vote (review_id, user_id, vote_value)
+            VALUES (:reviewId, :userId, :value)
+            """;
+
+    private static final String SQL_UPDATE_VOTE = """
+            UPDATE review_vote
+            SET vote_value = :value
+            WHERE review_id = :reviewId AND user_id = :userId
+            """;
+
+    private static final String SQL_UPDATE_COUNTERS = """
+            UPDATE review
+            SET up_vote_count   = up_vote_count + :upVoteDelta,
+                down_vote_count = down_vote_count + :downVoteDelta,
+                score           = score + :upVoteDelta - :downVoteDelta
+            WHERE id = :reviewId
+            """;
+
+    private static final String SQL_SELECT_COUNTERS = """
+            SELECT up_vote_count, down_vote_count, score
+            FROM review
+            WHERE id = :reviewId
+            """;
+
+    /**
+     * Batch version of the vote: all votes of a chunk are upserted and the counters of their reviews are changed
+     * by the summed differences in one statement. Unchanged votes return no rows, so they change nothing.
+     */
+    private static final String SQL_VOTE_ALL_POSTGRESQL = """
+            WITH vote AS (
+                INSERT INTO review_vote (review_id, user_id, vote_value)
+                SELECT review.id, input.user_id, input.vote_value
+                FROM (VALUES :votes) AS input (review_id, user_id, vote_value)
+                         JOIN review ON review.id = input.review_id
+                ON CONFLICT (review_id, user_id) DO UPDATE
+                    SET vote_value = EXCLUDED.vote_value
+                    WHERE review_vote.vote_value <> EXCLUDED.vote_value
+                RETURNING review_id, vote_value, (xmax = 0) AS inserted
+            ),
+                 delta AS (
+                     SELECT review_id,
+                            SUM(CASE WHEN vote_value > 0 THEN 1 WHEN inserted THEN 0 ELSE -1 END) AS up_vote_delta,
+                            SUM(CASE WHEN vote_value < 0 THEN 1 WHEN inserted THEN 0 ELSE -1 END) AS down_vote_delta
+                     FROM vote
+                     GROUP BY review_id
+                 )
+            UPDATE review
+            SET up_vote_count   = up_vote_count + delta.up_vote_delta,
+                down_vote_count = down_vote_count + delta.down_vote_delta,
+                score           = score + delta.up_vote_delta - delta.down_vote_delta
+            FROM delta
+            WHERE review.id = delta.review_id
+            RETURNING review.id, review.up_vote_count, review.down_vote_count, review.score
+            """;
+
+    private static final String SQL_SELECT_REVIEWS_FOR_UPDATE = """
+            SELECT id
+            FROM review
+            WHERE id IN (:reviewIds)
+            FOR UPDATE
+            """;
+
+    private static final String SQL_SELECT_VOTES = """
+            SELECT review_id, user_id, vote_value
+            FROM review_vote
+            WHERE (review_id, user_id) IN (:ids)
+            """;
+
+    private static final String SQL_SELECT_ALL_COUNTERS = """
+            SELECT id, up_vote_count, down_vote_count, score
+            FROM review
+            WHERE id IN (:reviewIds)
+            """;
+
+    private static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private static final RowMapper<ReviewVoteCounts> COUNTS_ROW_MAPPER = (resultSet, rowNumber) -> new ReviewVoteCounts(
+            resultSet.getInt("up_vote_count"),
+            resultSet.getInt("down_vote_count"),
+            resultSet.getInt("score")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public ReviewVoteRepositoryCustomImpl(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseVendor = new DatabaseVendor(dataSource);
+    }
+
+    @Override
+    public Optional<ReviewVoteCounts> vote(long reviewId, long userId, int value) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("reviewId", reviewId)
+                .addValue("userId", userId)
+                .addValue("value", value);
+
+        if (databaseVendor.isPostgreSQL()) {
+            return jdbcTemplate.query(SQL_VOTE_POSTGRESQL, params, COUNTS_ROW_MAPPER).stream().findFirst();
+        } else {
+            return voteWithRowLock(params, value);
+        }
+    }
+
+    @Override
+    public Map<Long, ReviewVoteCounts> voteAll(Map<ReviewVoteId, Integer> votes) {
+        if (votes.isEmpty()) return Map.of();
+
+        List<Map.Entry<ReviewVoteId, Integer>> entries = new ArrayList<>(votes.entrySet());
+        Map<Long, ReviewVoteCounts> counts = new HashMap<>();
+        for (int from = 0; from < entries.size(); from += MAX_IDS_PER_STATEMENT) {
+            List<Map.Entry<ReviewVoteId, Integer>> chunk =
+                    entries.subList(from, Math.min(from + MAX_IDS_PER_STATEMENT, entries.size()));
+            if (databaseVendor.isPostgreSQL()) {
+                List<Object[]> values = chunk.stream()
+                        .map(vote -> new Object[]{vote.getKey().getReviewId(), vote.getKey().getUserId(), vote.getValue()})
+                        .toList();
+                jdbcTemplate.query(SQL_VOTE_ALL_POSTGRESQL, new MapSqlParameterSource("votes", values), resultSet -> {
+                    counts.put(resultSet.getLong("id"), COUNTS_ROW_MAPPER.mapRow(resultSet, resultSet.getRow()));
+                });
+            } else {
+                counts.putAll(voteAllWithRowLock(chunk));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Portable version of the batch vote: the reviews are locked, existing votes are selected to find the
+     * differences, then the votes are written and the counters are changed by the differences with JDBC batches.
+     *
+     * @param votes Values of the votes by their ids (at most MAX_IDS_PER_STATEMENT).
+     * @return New vote counters of the reviews whose votes were changed.
+     */
+    private Map<Long, ReviewVoteCounts> voteAllWithRowLock(List<Map.Entry<ReviewVoteId, Integer>> votes) {
+        List<Long> reviewIds = votes.stream().map(vote -> vote.getKey().getReviewId()).distinct().toList();
+        Set<Long> existingReviewIds = new HashSet<>(jdbcTemplate.queryForList(
+                SQL_SELECT_REVIEWS_FOR_UPDATE, new MapSqlParameterSource("reviewIds", reviewIds), Long.class
+        ));
+
+        Map<ReviewVoteId, Integer> existingValues = new HashMap<>();
+        List<Object[]> ids = votes.stream()
+                .map(vote -> new Object[]{vote.getKey().getReviewId(), vote.getKey().getUserId()})
+                .toList();
+        jdbcTemplate.query(SQL_SELECT_VOTES, new MapSqlParameterSource("ids", ids), resultSet -> {
+            existingValues.put(
+                    new ReviewVoteId(resultSet.getLong("review_id"), resultSet.getLong("user_id")),
+                    resultSet.getInt("vote_value")
+            );
+        });
+
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        List<SqlParameterSource> updates = new ArrayList<>();
+        Map<Long, int[]> deltas = new HashMap<>();
+        for (Map.Entry<ReviewVoteId, Integer> vote : votes) {
+            long reviewId = vote.getKey().getReviewId();
+            int value = vote.getValue();
+            Integer existingValue = existingValues.get(vote.getKey());
+            if (!existingReviewIds.contains(reviewId) || (existingValue != null && existingValue == value)) continue;
+
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("reviewId", reviewId)
+                    .addValue("userId", vote.getKey().getUserId())
+                    .addValue("value", value);
+            int[] delta = deltas.computeIfAbsent(reviewId, id -> new int[2]);
+            if (existingValue == null) {
+                inserts.add(params);
+                delta[value > 0 ? 0 : 1]++;
+            } else {
+                updates.add(params);
+                delta[0] += value > 0 ? 1 : -1;
+                delta[1] -= value > 0 ? 1 : -1;
+            }
+        }
+        if (deltas.isEmpty()) return Map.of();
+
+        jdbcTemplate.batchUpdate(SQL_INSERT_VOTE, inserts.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(SQL_UPDATE_VOTE, updates.toArray(SqlParameterSource[]::new));
+        jdbcTemplate.batchUpdate(SQL_UPDATE_COUNTERS, deltas.entrySet().stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("reviewId", delta.getKey())
+                        .addValue("upVoteDelta", delta.getValue()[0])
+                        .addValue("downVoteDelta", delta.getValue()[1]))
+                .toArray(SqlParameterSource[]::new));
+
+        Map<Long, ReviewVoteCounts> counts = new HashMap<>();
+        MapSqlParameterSource params = new MapSqlParameterSource("reviewIds", new ArrayList<>(deltas.keySet()));
+        jdbcTemplate.query(SQL_SELECT_ALL_COUNTERS, params, resultSet -> {
+            counts.put(resultSet.getLong("id"), COUNTS_ROW_MAPPER.mapRow(resultSet, resultSet.getRow()));
+        });
+        return counts;
+    }
+
+    /**
+     * Portable version of the vote: the review is locked, then the vote is inserted or changed, and the
+     * counters of the review are updated with the difference. It must be called inside a transaction.
+     * The review is locked instead of the vote, because there is no row to lock before the first vote of the
+     * user, and concurrent first votes of the same user would both try to insert it.
+     *
+     * @param params Parameters of the vote (review id, user id and value).
+     * @param value  1 for up-vote and -1 for down-vote.
+     * @return New vote counters of the review or empty if nothing was changed.
+     */
+    private Optional<ReviewVoteCounts> voteWithRowLock(MapSqlParameterSource params, int value) {
+        if (jdbcTemplate.queryForList(SQL_SELECT_REVIEW_FOR_UPDATE, params, Long.class).isEmpty()) {
+            return Optional.empty();
+        }
+        List<Integer> existingValues = jdbcTemplate.queryForList(SQL_SELECT_VOTE, params, Integer.class);
+
+        int upVoteDelta;
+        int downVoteDelta;
+        if (existingValues.isEmpty()) {
+            jdbcTemplate.update(SQL_INSERT_VOTE, params);
+            upVoteDelta = value > 0 ? 1 : 0;
+            downVoteDelta = value < 0 ? 1 : 0;
+        } else if (existingValues.get(0) == value) {
+            return Optional.empty();
+        } else {
+            jdbcTemplate.update(SQL_UPDATE_VOTE, params);
+            upVoteDelta = value > 0 ? 1 : -1;
+            downVoteDelta = -upVoteDelta;
+        }
+
+        params.addValue("upVoteDelta", upVoteDelta).addValue("downVoteDelta", downVoteDelta);
+        jdbcTemplate.update(SQL_UPDATE_COUNTERS, params);
+        return jdbcTemplate.query(SQL_SELECT_COUNTERS, params, COUNTS_ROW_MAPPER).stream().findFirst();
+    }
+}
@@ -0,0 +1,35 @@
+package kh.farrukh.progee_api.review.payloads;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import kh.farrukh.progee_api.review.ReviewValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * It's a DTO that represents the review statistics of a language
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"language_id", "total_count", "average_score", "value_counts"})
+public class LanguageReviewStatsResponseDTO {
+
+    @JsonProperty("language_id")
+    private long languageId;
+
+    @JsonProperty("total_count")
+    private long totalCount;
+
+    // null if the language has no reviews
+    @JsonProperty("average_score")
+    private Double averageScore;
+
+    @JsonProperty("value_counts")
+    private Map<ReviewValue, Long> valueCounts;
+}
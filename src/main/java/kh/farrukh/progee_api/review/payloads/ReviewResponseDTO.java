@@ -11,17 +11,15 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.ZonedDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
- * It's a DTO that represents a review
+ * It's a DTO that represents a review. Voters are not included, they are returned by a separate endpoint
  */
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@JsonPropertyOrder({"id", "body", "value", "score", "language", "up_votes", "down_votes"})
+@JsonPropertyOrder({"id", "body", "value", "score", "up_vote_count", "down_vote_count", "my_vote", "language"})
 public class ReviewResponseDTO {
 
     private long id;
@@ -31,13 +29,17 @@ public class ReviewResponseDTO {
     @JsonProperty("value")
     private ReviewValue reviewValue;
 
-    @JsonProperty("up_votes")
-    private Set<Long> upVotes = new HashSet<>();
+    private int score;
 
-    @JsonProperty("down_votes")
-    private Set<Long> downVotes = new HashSet<>();
+    @JsonProperty("up_vote_count")
+    private int upVoteCount;
 
-    private int score;
+    @JsonProperty("down_vote_count")
+    private int downVoteCount;
+
+    // true for up-vote, false for down-vote and null if the current user has not voted (or is not logged in)
+    @JsonProperty("my_vote")
+    private Boolean myVote;
 
     private LanguageResponseDTO language;
 
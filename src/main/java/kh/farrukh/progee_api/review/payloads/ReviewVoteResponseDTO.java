@@ -0,0 +1,32 @@
+package kh.farrukh.progee_api.review.payloads;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * It's a DTO that represents a result of the vote for review
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"review_id", "vote", "score", "up_vote_count", "down_vote_count"})
+public class ReviewVoteResponseDTO {
+
+    @JsonProperty("review_id")
+    private long reviewId;
+
+    private boolean vote;
+
+    private int score;
+
+    @JsonProperty("up_vote_count")
+    private int upVoteCount;
+
+    @JsonProperty("down_vote_count")
+    private int downVoteCount;
+}
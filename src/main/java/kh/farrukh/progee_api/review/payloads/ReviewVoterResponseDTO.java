@@ -0,0 +1,24 @@
+package kh.farrukh.progee_api.review.payloads;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * It's a DTO that represents a user who voted on a review
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"user_id", "vote"})
+public class ReviewVoterResponseDTO {
+
+    @JsonProperty("user_id")
+    private long userId;
+
+    private boolean vote;
+}
@@ -1,6 +1,11 @@
 package kh.farrukh.progee_api.role;
 
-// A list of permissions of users. Used in Role entity
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// A list of permissions of users. Used in Role entity. Ordinals of the permissions are the bits of the permission
+// bitmasks (in the role table and in the access tokens), so new permissions are added only to the end of the list
 public enum Permission {
 
     CAN_VIEW_LANGUAGES_BY_STATE,
@@ -35,5 +40,42 @@ public enum Permission {
     CAN_DELETE_ROLE,
 
     CAN_UPDATE_IMAGE,
-    CAN_DELETE_IMAGE
+    CAN_DELETE_IMAGE,
+
+    CAN_IMPORT_DATA;
+
+    private static final Permission[] VALUES = values();
+
+    static {
+        if (VALUES.length > Long.SIZE) throw new IllegalStateException("Permissions do not fit in a bitmask");
+    }
+
+    /**
+     * This function creates the bitmask of the permissions: the bit of each permission is its ordinal.
+     *
+     * @param permissions The permissions (optional).
+     * @return The bitmask of the permissions.
+     */
+    public static long toBitmask(Collection<Permission> permissions) {
+        long bitmask = 0;
+        if (permissions != null) {
+            for (Permission permission : permissions) bitmask |= 1L << permission.ordinal();
+        }
+        return bitmask;
+    }
+
+    /**
+     * This function returns the permissions of the bitmask in the order of their ordinals. Unknown bits are
+     * ignored.
+     *
+     * @param bitmask The bitmask of the permissions.
+     * @return The list of the permissions.
+     */
+    public static List<Permission> fromBitmask(long bitmask) {
+        List<Permission> permissions = new ArrayList<>(Long.bitCount(bitmask));
+        for (Permission permission : VALUES) {
+            if ((bitmask & (1L << permission.ordinal())) != 0) permissions.add(permission);
+        }
+        return permissions;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package kh.farrukh.progee_api.role;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * It converts the permissions of a role to the bitmask of their ordinals when saving to the database, and converts
+ * the bitmask to an EnumSet of the permissions when reading from the database
+ */
+@Converter
+public class PermissionsConverter implements AttributeConverter<Set<Permission>, Long> {
+
+    @Override
+    public Long convertToDatabaseColumn(Set<Permission> permissions) {
+        return Permission.toBitmask(permissions);
+    }
+
+    @Override
+    public Set<Permission> convertToEntityAttribute(Long bitmask) {
+        Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+        if (bitmask != null) permissions.addAll(Permission.fromBitmask(bitmask));
+        return permissions;
+    }
+}
@@ -8,7 +8,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import javax.persistence.*;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static kh.farrukh.progee_api.global.base_entity.EntityWithId.GENERATOR_NAME;
 import static kh.farrukh.progee_api.role.RoleConstants.SEQUENCE_NAME_ROLE_ID;
@@ -34,15 +37,11 @@ public class Role extends EntityWithId {
     @Column(nullable = false)
     private boolean isDefault = false;
 
-    @Column(name = "permission_name")
-    @ElementCollection(fetch = FetchType.EAGER)
-    @Enumerated(EnumType.STRING)
-    @CollectionTable(
-            name = "role_permissions",
-            joinColumns = @JoinColumn(name = "role_id", referencedColumnName = "id"),
-            foreignKey = @ForeignKey(name = "fk_role_id_of_permissions")
-    )
-    private List<Permission> permissions;
+    // Permissions are stored as the bitmask of their ordinals in the row of the role (see PermissionsConverter),
+    // so a role is loaded without a join, and a permission is checked with a bit test of the EnumSet.
+    @Column(nullable = false)
+    @Convert(converter = PermissionsConverter.class)
+    private Set<Permission> permissions = EnumSet.noneOf(Permission.class);
 
     @OneToMany(mappedBy = "role")
     private List<AppUser> users;
@@ -51,26 +50,38 @@ public class Role extends EntityWithId {
         super.setId(id);
     }
 
-    public Role(String title, boolean isDefault, List<Permission> permissions) {
+    public Role(String title, boolean isDefault, Collection<Permission> permissions) {
         this.title = title;
         this.isDefault = isDefault;
-        this.permissions = permissions;
+        setPermissions(permissions);
     }
 
-    public Role(long id, String title, boolean isDefault, List<Permission> permissions) {
+    public Role(long id, String title, boolean isDefault, Collection<Permission> permissions) {
         super.setId(id);
         this.title = title;
         this.isDefault = isDefault;
-        this.permissions = permissions;
+        setPermissions(permissions);
     }
 
-    public Role(List<Permission> permissions) {
+    public Role(Collection<Permission> permissions) {
         this.title = "test";
-        this.permissions = permissions;
+        setPermissions(permissions);
     }
 
     public Role(boolean isDefault, List<AppUser> users) {
         this.isDefault = isDefault;
         this.users = users;
     }
+
+    /**
+     * It sets the permissions of the role. They are copied to an EnumSet, so duplicates are removed and the
+     * permissions are iterated in the order of the enum.
+     *
+     * @param permissions The permissions of the role (optional).
+     */
+    public void setPermissions(Collection<Permission> permissions) {
+        this.permissions = permissions == null || permissions.isEmpty()
+                ? EnumSet.noneOf(Permission.class)
+                : EnumSet.copyOf(permissions);
+    }
 }
@@ -1,5 +1,7 @@
 package kh.farrukh.progee_api.role;
 
+import java.util.List;
+
 /**
  * It's a class that contains constants that are used in the Role package
  */
@@ -8,5 +10,7 @@ public class RoleConstants {
     public static final String ENDPOINT_ROLE = "/api/v1/roles";
     public static final String TABLE_NAME_ROLE = "role";
     public static final String SEQUENCE_NAME_ROLE_ID = "role_id_sequence";
+    // Tables that the responses of roles are read from (for the ETags of the lists)
+    public static final List<String> TABLES_OF_ROLE_RESPONSE = List.of(TABLE_NAME_ROLE);
 
 }
@@ -1,5 +1,6 @@
 package kh.farrukh.progee_api.role;
 
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.role.payloads.RoleRequestDTO;
 import kh.farrukh.progee_api.role.payloads.RoleResponseDTO;
@@ -7,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
@@ -27,25 +29,32 @@ public class RoleController {
      *
      * @param page The page number.
      * @param pageSize The number of items to be displayed on a page.
+     * @param request The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A list of roles
      */
     @GetMapping
     public ResponseEntity<PagingResponse<RoleResponseDTO>> getRoles(
             @RequestParam(name = "page", defaultValue = "1") int page,
-            @RequestParam(name = "page_size", defaultValue = "10") int pageSize
+            @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(roleService.getRoles(page, pageSize));
+        return ETagUtils.toConditionalResponse(
+                request,
+                roleService.getRolesETag(),
+                () -> roleService.getRoles(page, pageSize)
+        );
     }
 
     /**
      * Returns a role by id
      *
-     * @param id The id of the role you want to get.
+     * @param id      The id of the role you want to get.
+     * @param request The current request. If its If-None-Match header matches the ETag, 304 is returned.
      * @return A ResponseEntity containing RoleResponseDTO object and HttpStatus.
      */
     @GetMapping("{id}")
-    public ResponseEntity<RoleResponseDTO> getRoleById(@PathVariable long id) {
-        return ResponseEntity.ok(roleService.getRoleById(id));
+    public ResponseEntity<RoleResponseDTO> getRoleById(@PathVariable long id, WebRequest request) {
+        return ETagUtils.toConditionalResponse(request, roleService.getRoleETag(id), () -> roleService.getRoleById(id));
     }
 
     /**
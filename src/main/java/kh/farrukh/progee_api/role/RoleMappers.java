@@ -4,6 +4,8 @@ import kh.farrukh.progee_api.role.payloads.RoleRequestDTO;
 import kh.farrukh.progee_api.role.payloads.RoleResponseDTO;
 import org.springframework.beans.BeanUtils;
 
+import java.util.ArrayList;
+
 /**
  * It contains static methods that convert between Role, RoleRequestDTO and RoleResponseDTO
  */
@@ -12,21 +14,25 @@ public class RoleMappers {
     public static RoleResponseDTO toRoleResponseDTO(Role role) {
         if (role == null) return null;
         RoleResponseDTO roleResponseDTO = new RoleResponseDTO();
-        BeanUtils.copyProperties(role, roleResponseDTO);
+        // Permissions are a set in the role and a list in the DTO, so they are copied separately
+        BeanUtils.copyProperties(role, roleResponseDTO, "permissions");
+        roleResponseDTO.setPermissions(new ArrayList<>(role.getPermissions()));
         return roleResponseDTO;
     }
 
     public static Role toRole(RoleResponseDTO roleResponseDTO) {
         if (roleResponseDTO == null) return null;
         Role role = new Role();
-        BeanUtils.copyProperties(roleResponseDTO, role);
+        BeanUtils.copyProperties(roleResponseDTO, role, "permissions");
+        role.setPermissions(roleResponseDTO.getPermissions());
         return role;
     }
 
     public static Role toRole(RoleRequestDTO roleRequestDTO) {
         if (roleRequestDTO == null) return null;
         Role role = new Role();
-        BeanUtils.copyProperties(roleRequestDTO, role);
+        BeanUtils.copyProperties(roleRequestDTO, role, "permissions");
+        role.setPermissions(roleRequestDTO.getPermissions());
         return role;
     }
 }
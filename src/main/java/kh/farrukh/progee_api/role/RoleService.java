@@ -14,6 +14,10 @@ public interface RoleService {
 
     RoleResponseDTO getRoleById(long id);
 
+    String getRoleETag(long id);
+
+    String getRolesETag();
+
     RoleResponseDTO addRole(RoleRequestDTO roleRequestDTO);
 
     RoleResponseDTO updateRole(long id, RoleRequestDTO roleRequestDTO);
@@ -1,9 +1,13 @@
 package kh.farrukh.progee_api.role;
 
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.cache.RoleAuthorityCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DefaultRoleDeletionException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DuplicateResourceException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.global.utils.etag.ETagUtils;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.role.payloads.RoleRequestDTO;
 import kh.farrukh.progee_api.role.payloads.RoleResponseDTO;
@@ -13,6 +17,7 @@ import org.springframework.stereotype.Service;
 
 import static kh.farrukh.progee_api.global.utils.checkers.Checkers.checkPageNumber;
 import static kh.farrukh.progee_api.global.utils.checkers.Checkers.checkRoleIsUnique;
+import static kh.farrukh.progee_api.role.RoleConstants.TABLES_OF_ROLE_RESPONSE;
 
 /**
  * It implements the RoleService interface and uses the RoleRepository and AppUserRepository to perform CRUD operations on
@@ -24,6 +29,9 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleRepository roleRepository;
     private final AppUserRepository appUserRepository;
+    private final CatalogCache catalogCache;
+    private final RoleAuthorityCache roleAuthorityCache;
+    private final ChangeTracker changeTracker;
 
     /**
      * Get all roles from the database, map them to a DTO, and return them in a paged response
@@ -54,6 +62,30 @@ public class RoleServiceImpl implements RoleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
     }
 
+    /**
+     * This function returns the ETag of the role with the given id. The role is not mapped to the response,
+     * so a not modified role is returned without creating the response.
+     *
+     * @param id The id of the role
+     * @return The strong ETag of the role
+     */
+    @Override
+    public String getRoleETag(long id) {
+        return roleRepository.findById(id)
+                .map(role -> ETagUtils.toStrongETag(ETagUtils.toVersionTag(role)))
+                .orElseThrow(() -> new ResourceNotFoundException("Role", "id", id));
+    }
+
+    /**
+     * This function returns the weak ETag of the lists of roles. It changes after any change of the roles.
+     *
+     * @return The weak ETag of the lists
+     */
+    @Override
+    public String getRolesETag() {
+        return changeTracker.getWeakETag(TABLES_OF_ROLE_RESPONSE);
+    }
+
     /**
      * This function adds a role to the database
      *
@@ -64,6 +96,7 @@ public class RoleServiceImpl implements RoleService {
     public RoleResponseDTO addRole(RoleRequestDTO roleRequestDto) {
         checkRoleIsUnique(roleRepository, roleRequestDto);
         Role role = roleRepository.save(RoleMappers.toRole(roleRequestDto));
+        roleAuthorityCache.invalidate(role.getId());
         return RoleMappers.toRoleResponseDTO(role);
     }
 
@@ -88,7 +121,11 @@ public class RoleServiceImpl implements RoleService {
         existingRole.setTitle(roleRequestDto.getTitle());
         existingRole.setPermissions(roleRequestDto.getPermissions());
 
-        return RoleMappers.toRoleResponseDTO(roleRepository.save(existingRole));
+        RoleResponseDTO updatedRole = RoleMappers.toRoleResponseDTO(roleRepository.save(existingRole));
+        roleAuthorityCache.invalidate(id);
+        // Roles of the authors are in the cached languages and frameworks, and roles are rarely changed.
+        catalogCache.invalidateAll();
+        return updatedRole;
     }
 
     /**
@@ -119,5 +156,7 @@ public class RoleServiceImpl implements RoleService {
         }
 
         roleRepository.deleteById(id);
+        roleAuthorityCache.invalidate(id);
+        catalogCache.invalidateAll();
     }
 }
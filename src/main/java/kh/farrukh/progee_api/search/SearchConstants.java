@@ -0,0 +1,13 @@
+package kh.farrukh.progee_api.search;
+
+/**
+ * It contains constants that are used in the Search package
+ */
+public class SearchConstants {
+
+    public static final String ENDPOINT_SEARCH = "/api/v1/search";
+
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 50;
+
+}
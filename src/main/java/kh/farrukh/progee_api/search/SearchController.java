@@ -0,0 +1,40 @@
+package kh.farrukh.progee_api.search;
+
+import kh.farrukh.progee_api.search.payloads.SearchHitDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.search.SearchConstants.DEFAULT_SEARCH_LIMIT;
+import static kh.farrukh.progee_api.search.SearchConstants.ENDPOINT_SEARCH;
+
+/**
+ * Controller that exposes the endpoint to search languages, frameworks and users with one query
+ */
+@RestController
+@RequestMapping(ENDPOINT_SEARCH)
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final SearchService searchService;
+
+    /**
+     * It returns the languages, frameworks and users whose names are similar to the query, the most similar first.
+     *
+     * @param query The text to search.
+     * @param limit The maximum number of the hits.
+     * @return A ResponseEntity containing the list of the hits and HttpStatus.
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchHitDTO>> search(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(name = "limit", defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit
+    ) {
+        return ResponseEntity.ok(searchService.search(query, limit));
+    }
+}
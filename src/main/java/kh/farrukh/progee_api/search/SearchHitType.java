@@ -0,0 +1,10 @@
+package kh.farrukh.progee_api.search;
+
+/**
+ * Enum class for the types of the resources that are found by the search
+ */
+public enum SearchHitType {
+    LANGUAGE,
+    FRAMEWORK,
+    USER
+}
@@ -0,0 +1,139 @@
+package kh.farrukh.progee_api.search;
+
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.utils.database.DatabaseVendor;
+import kh.farrukh.progee_api.search.payloads.SearchHitDTO;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * It searches languages, frameworks and users with one UNION query. On PostgreSQL, names are matched by the
+ * trigram similarity (pg_trgm) or by a substring, both are served by the GIN trigram indexes of the names, and
+ * each part of the query returns only its most similar rows. Other databases (H2 database in tests) do not have
+ * pg_trgm, so they match only substrings and rank exact and prefix matches first.
+ */
+@Repository
+public class SearchRepository {
+
+    private static final String SQL_SEARCH_POSTGRESQL = """
+            (SELECT 'LANGUAGE' AS type, language.id, language.name, NULL AS username, image.url AS image_url,
+                    similarity(language.name, :query) AS score
+             FROM language
+                      LEFT JOIN image ON image.id = language.image_id
+             WHERE language.state = :state
+               AND (language.name % :query OR language.name ILIKE :pattern)
+             ORDER BY score DESC
+             LIMIT :limit)
+            UNION ALL
+            (SELECT 'FRAMEWORK' AS type, framework.id, framework.name, NULL AS username, image.url AS image_url,
+                    similarity(framework.name, :query) AS score
+             FROM framework
+                      LEFT JOIN image ON image.id = framework.image_id
+             WHERE framework.state = :state
+               AND (framework.name % :query OR framework.name ILIKE :pattern)
+             ORDER BY score DESC
+             LIMIT :limit)
+            UNION ALL
+            (SELECT 'USER' AS type, app_user.id, app_user.name, app_user.username, image.url AS image_url,
+                    GREATEST(similarity(app_user.name, :query), similarity(app_user.username, :query)) AS score
+             FROM app_user
+                      LEFT JOIN image ON image.id = app_user.image_id
+             WHERE app_user.name % :query
+                OR app_user.username % :query
+                OR app_user.name ILIKE :pattern
+                OR app_user.username ILIKE :pattern
+             ORDER BY score DESC
+             LIMIT :limit)
+            ORDER BY score DESC, type, id
+            LIMIT :limit
+            """;
+
+    private static final String SQL_SCORE_FALLBACK = """
+            CASE
+                WHEN LOWER(%1$s) = :lowerQuery THEN 1.0
+                WHEN LOWER(%1$s) LIKE :prefixPattern ESCAPE '\\' THEN 0.75
+                ELSE 0.5
+                END""";
+
+    private static final String SQL_SEARCH_FALLBACK = """
+            SELECT 'LANGUAGE' AS type, language.id, language.name, NULL AS username, image.url AS image_url,
+                   %1$s AS score
+            FROM language
+                     LEFT JOIN image ON image.id = language.image_id
+            WHERE language.state = :state
+              AND LOWER(language.name) LIKE :pattern ESCAPE '\\'
+            UNION ALL
+            SELECT 'FRAMEWORK' AS type, framework.id, framework.name, NULL AS username, image.url AS image_url,
+                   %2$s AS score
+            FROM framework
+                     LEFT JOIN image ON image.id = framework.image_id
+            WHERE framework.state = :state
+              AND LOWER(framework.name) LIKE :pattern ESCAPE '\\'
+            UNION ALL
+            SELECT 'USER' AS type, app_user.id, app_user.name, app_user.username, image.url AS image_url,
+                   GREATEST(%3$s, %4$s) AS score
+            FROM app_user
+                     LEFT JOIN image ON image.id = app_user.image_id
+            WHERE LOWER(app_user.name) LIKE :pattern ESCAPE '\\'
+               OR LOWER(app_user.username) LIKE :pattern ESCAPE '\\'
+            ORDER BY score DESC, type, id
+            LIMIT :limit
+            """.formatted(
+            SQL_SCORE_FALLBACK.formatted("language.name"),
+            SQL_SCORE_FALLBACK.formatted("framework.name"),
+            SQL_SCORE_FALLBACK.formatted("app_user.name"),
+            SQL_SCORE_FALLBACK.formatted("app_user.username")
+    );
+
+    private static final RowMapper<SearchHitDTO> SEARCH_HIT_MAPPER = (resultSet, rowNumber) -> new SearchHitDTO(
+            SearchHitType.valueOf(resultSet.getString("type")),
+            resultSet.getLong("id"),
+            resultSet.getString("name"),
+            resultSet.getString("username"),
+            resultSet.getString("image_url"),
+            resultSet.getDouble("score")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DatabaseVendor databaseVendor;
+
+    public SearchRepository(NamedParameterJdbcTemplate jdbcTemplate, DataSource dataSource) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseVendor = new DatabaseVendor(dataSource);
+    }
+
+    /**
+     * This function finds the approved languages, the approved frameworks and the users by the query.
+     *
+     * @param query The text to search (not blank).
+     * @param limit The maximum number of the hits.
+     * @return A list of the hits, the most similar first.
+     */
+    public List<SearchHitDTO> search(String query, int limit) {
+        String lowerQuery = query.toLowerCase(Locale.ROOT);
+        String escapedQuery = escapeLikePattern(lowerQuery);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("lowerQuery", lowerQuery)
+                .addValue("pattern", "%" + escapedQuery + "%")
+                .addValue("prefixPattern", escapedQuery + "%")
+                .addValue("state", ResourceState.APPROVED.name())
+                .addValue("limit", limit);
+        return jdbcTemplate.query(
+                databaseVendor.isPostgreSQL() ? SQL_SEARCH_POSTGRESQL : SQL_SEARCH_FALLBACK,
+                parameters,
+                SEARCH_HIT_MAPPER
+        );
+    }
+
+    // Wildcards of LIKE in the query are matched as they are (backslash is the escape character of both databases)
+    private String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,13 @@
+package kh.farrukh.progee_api.search;
+
+import kh.farrukh.progee_api.search.payloads.SearchHitDTO;
+
+import java.util.List;
+
+/**
+ * A service interface to search languages, frameworks and users by their names
+ */
+public interface SearchService {
+
+    List<SearchHitDTO> search(String query, int limit);
+}
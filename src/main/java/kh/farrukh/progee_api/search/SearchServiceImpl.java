@@ -0,0 +1,36 @@
+package kh.farrukh.progee_api.search;
+
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
+import kh.farrukh.progee_api.search.payloads.SearchHitDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.search.SearchConstants.MAX_SEARCH_LIMIT;
+
+/**
+ * It implements the SearchService interface
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private final SearchRepository searchRepository;
+
+    /**
+     * This function finds the approved languages, the approved frameworks and the users whose names are similar
+     * to the query (or contain it). Languages and frameworks that are not approved are not found, as they are not
+     * listed for all users.
+     *
+     * @param query The text to search.
+     * @param limit The maximum number of the hits.
+     * @return A list of the hits sorted by the similarity (empty if the query is blank).
+     */
+    @Override
+    public List<SearchHitDTO> search(String query, int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) throw new BadRequestException("Limit");
+        if (query == null || query.isBlank()) return List.of();
+        return searchRepository.search(query.strip(), limit);
+    }
+}
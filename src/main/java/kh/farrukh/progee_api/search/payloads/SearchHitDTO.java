@@ -0,0 +1,35 @@
+package kh.farrukh.progee_api.search.payloads;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import kh.farrukh.progee_api.search.SearchHitType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * It's a DTO that represents a resource that is found by the search and the similarity of its name to the query
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHitDTO {
+
+    private SearchHitType type;
+
+    private long id;
+
+    private String name;
+
+    // It is null (and omitted) for languages and frameworks
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String username;
+
+    @JsonProperty("image_url")
+    private String imageUrl;
+
+    // From 0 to 1, hits with a higher score are more similar to the query
+    private double score;
+}
@@ -0,0 +1,33 @@
+CREATE TABLE review_vote
+(
+    review_id  BIGINT  NOT NULL,
+    user_id    BIGINT  NOT NULL,
+    vote_value INTEGER NOT NULL,
+    CONSTRAINT pk_review_vote PRIMARY KEY (review_id, user_id)
+);
+
+ALTER TABLE review_vote
+    ADD CONSTRAINT fk_review_id_of_review_vote FOREIGN KEY (review_id) REFERENCES review (id) ON DELETE CASCADE;
+
+INSERT INTO review_vote (review_id, user_id, vote_value)
+SELECT DISTINCT review_id, up_voter_id, 1
+FROM review_up_votes
+WHERE up_voter_id IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+INSERT INTO review_vote (review_id, user_id, vote_value)
+SELECT DISTINCT review_id, down_voter_id, -1
+FROM review_down_votes
+WHERE down_voter_id IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+UPDATE review
+SET up_vote_count = (SELECT COUNT(*) FROM review_vote WHERE review_vote.review_id = review.id AND vote_value = 1),
+    down_vote_count = (SELECT COUNT(*) FROM review_vote WHERE review_vote.review_id = review.id AND vote_value = -1);
+
+UPDATE review
+SET score = up_vote_count - down_vote_count;
+
+DROP TABLE review_up_votes;
+
+DROP TABLE review_down_votes;
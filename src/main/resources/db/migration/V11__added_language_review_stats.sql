@@ -0,0 +1,27 @@
+CREATE TABLE language_review_stats
+(
+    language_id              BIGINT NOT NULL,
+    dislike_count            BIGINT NOT NULL DEFAULT 0,
+    dont_have_practice_count BIGINT NOT NULL DEFAULT 0,
+    want_to_learn_count      BIGINT NOT NULL DEFAULT 0,
+    like_count               BIGINT NOT NULL DEFAULT 0,
+    total_count              BIGINT NOT NULL DEFAULT 0,
+    score_sum                BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_language_review_stats PRIMARY KEY (language_id)
+);
+
+ALTER TABLE language_review_stats
+    ADD CONSTRAINT fk_language_id_of_language_review_stats FOREIGN KEY (language_id) REFERENCES language (id) ON DELETE CASCADE;
+
+INSERT INTO language_review_stats (language_id, dislike_count, dont_have_practice_count,
+                                   want_to_learn_count, like_count, total_count, score_sum)
+SELECT language_id,
+       COUNT(*) FILTER (WHERE COALESCE(review_value, 0) = -1),
+       COUNT(*) FILTER (WHERE COALESCE(review_value, 0) = 0),
+       COUNT(*) FILTER (WHERE COALESCE(review_value, 0) = 1),
+       COUNT(*) FILTER (WHERE COALESCE(review_value, 0) = 2),
+       COUNT(*),
+       SUM(COALESCE(review_value, 0))
+FROM review
+WHERE language_id IS NOT NULL
+GROUP BY language_id;
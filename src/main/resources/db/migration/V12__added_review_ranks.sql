@@ -0,0 +1,18 @@
+ALTER TABLE review
+    ADD hot_rank DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+ALTER TABLE review
+    ADD confidence_rank DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+ALTER TABLE review
+    ADD ranked_at TIMESTAMP WITHOUT TIME ZONE;
+
+CREATE INDEX idx_review_hot_rank ON review (hot_rank);
+
+CREATE INDEX idx_review_language_id_hot_rank ON review (language_id, hot_rank);
+
+CREATE INDEX idx_review_confidence_rank ON review (confidence_rank);
+
+CREATE INDEX idx_review_language_id_confidence_rank ON review (language_id, confidence_rank);
+
+CREATE INDEX idx_review_ranked_at ON review (ranked_at NULLS FIRST);
@@ -0,0 +1,2 @@
+INSERT INTO role_permissions (role_id, permission_name)
+VALUES (1, 'CAN_IMPORT_DATA');
@@ -0,0 +1,4 @@
+ALTER TABLE review
+    ADD body_tsv TSVECTOR GENERATED ALWAYS AS (TO_TSVECTOR('english', COALESCE(body, ''))) STORED;
+
+CREATE INDEX idx_review_body_tsv ON review USING GIN (body_tsv);
@@ -0,0 +1,19 @@
+ALTER TABLE image
+    ADD version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE role
+    ADD version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE app_user
+    ADD version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE language
+    ADD version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE framework
+    ADD version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE review
+    ADD version BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE change_counter
+(
+    table_name   VARCHAR(255) NOT NULL,
+    change_count BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_change_counter PRIMARY KEY (table_name)
+);
@@ -0,0 +1,42 @@
+ALTER TABLE language
+    ADD review_count BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE language
+    ADD like_count BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE language
+    ADD review_score_sum BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE language
+    ADD avg_review_score DOUBLE PRECISION NOT NULL DEFAULT 0;
+
+ALTER TABLE language
+    ADD framework_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE language
+SET review_count     = language_review.review_count,
+    like_count       = language_review.like_count,
+    review_score_sum = language_review.review_score_sum,
+    avg_review_score = CAST(language_review.review_score_sum AS DOUBLE PRECISION) / language_review.review_count
+FROM (SELECT language_id,
+             COUNT(*)                                              AS review_count,
+             COUNT(*) FILTER (WHERE COALESCE(review_value, 0) = 2) AS like_count,
+             SUM(COALESCE(review_value, 0))                        AS review_score_sum
+      FROM review
+      WHERE language_id IS NOT NULL
+      GROUP BY language_id) AS language_review
+WHERE language.id = language_review.language_id;
+
+UPDATE language
+SET framework_count = (SELECT COUNT(*)
+                       FROM framework
+                       WHERE framework.language_id = language.id
+                         AND framework.state = 'APPROVED');
+
+CREATE INDEX idx_language_state_review_count ON language (state, review_count);
+
+CREATE INDEX idx_language_state_like_count ON language (state, like_count);
+
+CREATE INDEX idx_language_state_avg_review_score ON language (state, avg_review_score);
+
+CREATE INDEX idx_language_state_framework_count ON language (state, framework_count);
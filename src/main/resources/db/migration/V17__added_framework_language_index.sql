@@ -0,0 +1 @@
+CREATE INDEX idx_framework_language_id_state ON framework (language_id, state);
@@ -0,0 +1,15 @@
+ALTER TABLE language
+    ADD claimed_by_id BIGINT;
+
+ALTER TABLE language
+    ADD claim_expires_at TIMESTAMP WITHOUT TIME ZONE;
+
+ALTER TABLE framework
+    ADD claimed_by_id BIGINT;
+
+ALTER TABLE framework
+    ADD claim_expires_at TIMESTAMP WITHOUT TIME ZONE;
+
+CREATE INDEX idx_language_waiting_id ON language (id) WHERE state = 'WAITING';
+
+CREATE INDEX idx_framework_waiting_id ON framework (id) WHERE state = 'WAITING';
@@ -0,0 +1,9 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_language_name_trgm ON language USING GIN (name gin_trgm_ops);
+
+CREATE INDEX idx_framework_name_trgm ON framework USING GIN (name gin_trgm_ops);
+
+CREATE INDEX idx_app_user_name_trgm ON app_user USING GIN (name gin_trgm_ops);
+
+CREATE INDEX idx_app_user_username_trgm ON app_user USING GIN (username gin_trgm_ops);
@@ -0,0 +1,41 @@
+-- Permissions are stored as a bitmask of the ordinals of Permission enum (the bit of each permission is its ordinal)
+ALTER TABLE role
+    ADD permissions BIGINT NOT NULL DEFAULT 0;
+
+UPDATE role
+SET permissions = COALESCE((SELECT BIT_OR(CAST(1 AS BIGINT) << permission.ordinal)
+                            FROM role_permissions
+                                     JOIN (VALUES
+                 ('CAN_VIEW_LANGUAGES_BY_STATE', 0),
+                 ('CAN_CREATE_LANGUAGE', 1),
+                 ('CAN_UPDATE_OWN_LANGUAGE', 2),
+                 ('CAN_UPDATE_OTHERS_LANGUAGE', 3),
+                 ('CAN_SET_LANGUAGE_STATE', 4),
+                 ('CAN_DELETE_LANGUAGE', 5),
+                 ('CAN_VIEW_FRAMEWORKS_BY_STATE', 6),
+                 ('CAN_CREATE_FRAMEWORK', 7),
+                 ('CAN_UPDATE_OWN_FRAMEWORK', 8),
+                 ('CAN_UPDATE_OTHERS_FRAMEWORK', 9),
+                 ('CAN_SET_FRAMEWORK_STATE', 10),
+                 ('CAN_DELETE_FRAMEWORK', 11),
+                 ('CAN_CREATE_REVIEW', 12),
+                 ('CAN_UPDATE_OWN_REVIEW', 13),
+                 ('CAN_UPDATE_OTHERS_REVIEW', 14),
+                 ('CAN_DELETE_OWN_REVIEW', 15),
+                 ('CAN_DELETE_OTHERS_REVIEW', 16),
+                 ('CAN_VOTE_REVIEW', 17),
+                 ('CAN_UPDATE_OWN_USER', 18),
+                 ('CAN_UPDATE_OTHER_USER', 19),
+                 ('CAN_DELETE_USER', 20),
+                 ('CAN_VIEW_ROLE', 21),
+                 ('CAN_CREATE_ROLE', 22),
+                 ('CAN_UPDATE_ROLE', 23),
+                 ('CAN_SET_USER_ROLE', 24),
+                 ('CAN_DELETE_ROLE', 25),
+                 ('CAN_UPDATE_IMAGE', 26),
+                 ('CAN_DELETE_IMAGE', 27),
+                 ('CAN_IMPORT_DATA', 28)) AS permission (name, ordinal)
+                                          ON permission.name = role_permissions.permission_name
+                            WHERE role_permissions.role_id = role.id), 0);
+
+DROP TABLE role_permissions;
@@ -0,0 +1,39 @@
+DROP INDEX idx_review_score;
+
+DROP INDEX idx_review_language_id_score;
+
+DROP INDEX idx_review_hot_rank;
+
+DROP INDEX idx_review_language_id_hot_rank;
+
+DROP INDEX idx_review_confidence_rank;
+
+DROP INDEX idx_review_language_id_confidence_rank;
+
+DROP INDEX idx_framework_language_id_state;
+
+CREATE INDEX idx_review_score_id ON review (score, id);
+
+CREATE INDEX idx_review_language_id_score_id ON review (language_id, score, id);
+
+CREATE INDEX idx_review_hot_rank_id ON review (hot_rank, id);
+
+CREATE INDEX idx_review_language_id_hot_rank_id ON review (language_id, hot_rank, id);
+
+CREATE INDEX idx_review_confidence_rank_id ON review (confidence_rank, id);
+
+CREATE INDEX idx_review_language_id_confidence_rank_id ON review (language_id, confidence_rank, id);
+
+CREATE INDEX idx_review_up_vote_count_id ON review (up_vote_count, id);
+
+CREATE INDEX idx_review_down_vote_count_id ON review (down_vote_count, id);
+
+CREATE INDEX idx_review_created_at_id ON review (created_at, id);
+
+CREATE INDEX idx_review_language_id_created_at_id ON review (language_id, created_at, id);
+
+CREATE INDEX idx_language_state_created_at_id ON language (state, created_at, id);
+
+CREATE INDEX idx_framework_state_created_at_id ON framework (state, created_at, id);
+
+CREATE INDEX idx_framework_language_id_state_created_at_id ON framework (language_id, state, created_at, id);
@@ -0,0 +1,19 @@
+ALTER TABLE review
+    ADD up_vote_count INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE review
+    ADD down_vote_count INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE review
+    ADD score INTEGER NOT NULL DEFAULT 0;
+
+UPDATE review
+SET up_vote_count = (SELECT COUNT(*) FROM review_up_votes WHERE review_up_votes.review_id = review.id),
+    down_vote_count = (SELECT COUNT(*) FROM review_down_votes WHERE review_down_votes.review_id = review.id);
+
+UPDATE review
+SET score = up_vote_count - down_vote_count;
+
+CREATE INDEX idx_review_score ON review (score);
+
+CREATE INDEX idx_review_language_id_score ON review (language_id, score);
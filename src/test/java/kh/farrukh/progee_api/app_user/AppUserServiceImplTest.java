@@ -4,6 +4,8 @@ import kh.farrukh.progee_api.app_user.payloads.AppUserRequestDTO;
 import kh.farrukh.progee_api.app_user.payloads.SetUserImageRequestDTO;
 import kh.farrukh.progee_api.app_user.payloads.SetUserPasswordRequestDTO;
 import kh.farrukh.progee_api.app_user.payloads.SetUserRoleRequestDTO;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DuplicateResourceException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.NotEnoughPermissionException;
@@ -56,6 +58,12 @@ class AppUserServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
     @InjectMocks
     private AppUserServiceImpl underTest;
 
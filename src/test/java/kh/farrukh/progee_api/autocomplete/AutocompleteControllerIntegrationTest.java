@@ -0,0 +1,143 @@
+package kh.farrukh.progee_api.autocomplete;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.autocomplete.payloads.AutocompleteItemDTO;
+import kh.farrukh.progee_api.framework.Framework;
+import kh.farrukh.progee_api.framework.FrameworkRepository;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.security.jwt.TokenProvider;
+import kh.farrukh.progee_api.image.Image;
+import kh.farrukh.progee_api.image.ImageRepository;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.language.payloads.LanguageRequestDTO;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import kh.farrukh.progee_api.role.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static kh.farrukh.progee_api.autocomplete.AutocompleteConstants.ENDPOINT_AUTOCOMPLETE;
+import static kh.farrukh.progee_api.language.LanguageConstants.ENDPOINT_LANGUAGE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AutocompleteControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Autowired
+    private FrameworkRepository frameworkRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @AfterEach
+    void tearDown() {
+        frameworkRepository.deleteAll();
+        languageRepository.deleteAll();
+        appUserRepository.deleteAll();
+        imageRepository.deleteAll();
+        roleRepository.deleteAll();
+        autocompleteIndex.rebuild();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void autocomplete_canSuggestApprovedLanguagesAndFrameworks_afterRebuild() throws Exception {
+        // given
+        Image existingImage = imageRepository.save(new Image("java.png", "https://images/java.png", 1f));
+        Language existingLanguage = new Language("Java", ResourceState.APPROVED);
+        existingLanguage.setImage(existingImage);
+        existingLanguage = languageRepository.save(existingLanguage);
+        languageRepository.save(new Language("JavaScript", ResourceState.WAITING));
+        frameworkRepository.save(new Framework("Javalin", ResourceState.APPROVED, existingLanguage));
+        autocompleteIndex.rebuild();
+
+        // when
+        List<AutocompleteItemDTO> actual = autocomplete("jav");
+
+        // then
+        assertThat(actual).extracting(AutocompleteItemDTO::getName).containsExactly("Java", "Javalin");
+        assertThat(actual.get(0).getImageUrl()).isEqualTo(existingImage.getUrl());
+        assertThat(actual.get(1).getLanguageId()).isEqualTo(existingLanguage.getId());
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void autocomplete_suggestsLanguage_whenItIsAddedByService() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_CREATE_LANGUAGE, Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Image existingImage = imageRepository.save(new Image("kotlin.png", "https://images/kotlin.png", 1f));
+        LanguageRequestDTO languageRequestDto = new LanguageRequestDTO("Kotlin", "", existingImage.getId());
+
+        // when
+        mvc.perform(post(ENDPOINT_LANGUAGE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(languageRequestDto))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        )))
+                .andExpect(status().isCreated());
+
+        // then
+        assertThat(autocomplete("kot")).extracting(AutocompleteItemDTO::getName).containsExactly("Kotlin");
+    }
+
+    @Test
+    @WithAnonymousUser
+    void autocomplete_returnsBadRequest_whenLimitIsNotValid() throws Exception {
+        mvc.perform(get(ENDPOINT_AUTOCOMPLETE).param("q", "j").param("limit", "0"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<AutocompleteItemDTO> autocomplete(String query) throws Exception {
+        MvcResult result = mvc.perform(get(ENDPOINT_AUTOCOMPLETE).param("q", query))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+    }
+}
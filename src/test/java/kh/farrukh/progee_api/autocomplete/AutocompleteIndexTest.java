@@ -0,0 +1,128 @@
+package kh.farrukh.progee_api.autocomplete;
+
+import kh.farrukh.progee_api.autocomplete.payloads.AutocompleteItemDTO;
+import kh.farrukh.progee_api.framework.Framework;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.image.Image;
+import kh.farrukh.progee_api.language.Language;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class AutocompleteIndexTest {
+
+    private final AutocompleteIndex underTest = new AutocompleteIndex(mock(EntityManager.class));
+
+    @Test
+    void findByPrefix_findsApprovedLanguagesAndFrameworksByPrefixIgnoringCase() {
+        // given
+        Language java = language(1, "Java", ResourceState.APPROVED);
+        underTest.putLanguage(java);
+        underTest.putLanguage(language(2, "JavaScript", ResourceState.APPROVED));
+        underTest.putLanguage(language(3, "Python", ResourceState.APPROVED));
+        underTest.putLanguage(language(4, "Jakarta", ResourceState.WAITING));
+        underTest.putFramework(framework(1, "javalin", java));
+
+        // when
+        List<AutocompleteItemDTO> actual = underTest.findByPrefix(" JAV", 10);
+
+        // then
+        assertThat(actual).extracting(AutocompleteItemDTO::getName).containsExactly("Java", "javalin", "JavaScript");
+        assertThat(actual.get(0).getImageUrl()).isEqualTo("https://images/1");
+        assertThat(actual.get(1).getType()).isEqualTo(AutocompleteType.FRAMEWORK);
+        assertThat(actual.get(1).getLanguageId()).isEqualTo(java.getId());
+    }
+
+    @Test
+    void findByPrefix_returnsLimitedItems() {
+        // given
+        underTest.putLanguage(language(1, "C", ResourceState.APPROVED));
+        underTest.putLanguage(language(2, "C#", ResourceState.APPROVED));
+        underTest.putLanguage(language(3, "C++", ResourceState.APPROVED));
+
+        // when
+        List<AutocompleteItemDTO> actual = underTest.findByPrefix("c", 2);
+
+        // then
+        assertThat(actual).extracting(AutocompleteItemDTO::getName).containsExactly("C", "C#");
+    }
+
+    @Test
+    void findByPrefix_returnsEmptyList_whenPrefixIsBlankOrNotFound() {
+        // given
+        underTest.putLanguage(language(1, "Java", ResourceState.APPROVED));
+
+        // when
+        // then
+        assertThat(underTest.findByPrefix(" ", 10)).isEmpty();
+        assertThat(underTest.findByPrefix("kotlin", 10)).isEmpty();
+        assertThat(underTest.findByPrefix("javas", 10)).isEmpty();
+    }
+
+    @Test
+    void putLanguage_replacesRenamedLanguage_andRemovesNotApprovedLanguage() {
+        // given
+        underTest.putLanguage(language(1, "Java", ResourceState.APPROVED));
+        underTest.putLanguage(language(2, "Go", ResourceState.APPROVED));
+
+        // when
+        underTest.putLanguage(language(1, "Kotlin", ResourceState.APPROVED));
+        underTest.putLanguage(language(2, "Go", ResourceState.WAITING));
+
+        // then
+        assertThat(underTest.findByPrefix("java", 10)).isEmpty();
+        assertThat(underTest.findByPrefix("go", 10)).isEmpty();
+        assertThat(underTest.findByPrefix("kot", 10)).extracting(AutocompleteItemDTO::getId).containsExactly(1L);
+    }
+
+    @Test
+    void removeLanguage_removesLanguageWithItsFrameworks() {
+        // given
+        Language java = language(1, "Java", ResourceState.APPROVED);
+        Language kotlin = language(2, "Kotlin", ResourceState.APPROVED);
+        underTest.putLanguage(java);
+        underTest.putLanguage(kotlin);
+        underTest.putFramework(framework(1, "Spring", java));
+        underTest.putFramework(framework(2, "Spek", kotlin));
+
+        // when
+        underTest.removeLanguage(java.getId());
+
+        // then
+        assertThat(underTest.findByPrefix("java", 10)).isEmpty();
+        assertThat(underTest.findByPrefix("sp", 10)).extracting(AutocompleteItemDTO::getName).containsExactly("Spek");
+    }
+
+    @Test
+    void removeFramework_removesOnlyFramework() {
+        // given
+        Language java = language(1, "Spring", ResourceState.APPROVED);
+        underTest.putLanguage(java);
+        underTest.putFramework(framework(1, "Spring", java));
+
+        // when
+        underTest.removeFramework(1);
+
+        // then
+        assertThat(underTest.findByPrefix("spring", 10))
+                .extracting(AutocompleteItemDTO::getType)
+                .containsExactly(AutocompleteType.LANGUAGE);
+    }
+
+    private Language language(long id, String name, ResourceState state) {
+        Language language = new Language(name, state);
+        language.setId(id);
+        language.setImage(new Image(id, name, "https://images/" + id, 1f));
+        return language;
+    }
+
+    private Framework framework(long id, String name, Language language) {
+        Framework framework = new Framework(name, ResourceState.APPROVED, language);
+        framework.setId(id);
+        return framework;
+    }
+}
@@ -0,0 +1,206 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.bulk_import.payloads.ImportReportResponseDTO;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.security.jwt.TokenProvider;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.review.*;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import kh.farrukh.progee_api.role.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static kh.farrukh.progee_api.bulk_import.BulkImportConstants.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "bulk-import.chunk-size=2")
+@AutoConfigureMockMvc
+class BulkImportControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ReviewVoteRepository reviewVoteRepository;
+
+    @Autowired
+    private LanguageReviewStatsRepository languageReviewStatsRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @AfterEach
+    void tearDown() {
+        reviewVoteRepository.deleteAll();
+        languageReviewStatsRepository.deleteAll();
+        reviewRepository.deleteAll();
+        languageRepository.deleteAll();
+        appUserRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com")
+    void importRows_importsValidLanguagesAndReportsInvalidRows() throws Exception {
+        // given
+        AppUser admin = saveAdmin();
+        languageRepository.save(new Language("Java", ResourceState.APPROVED));
+        String body = """
+                {"name": "Kotlin", "description": "JVM language", "state": "APPROVED", "author_email": "admin@mail.com"}
+                {"name": "Java"}
+                {"name": "Go", "created_at": "2022-01-01T10:00:00Z"}
+                {"name": "Go"}
+                {"name": "Rust", "state": "UNKNOWN"}
+                {"name": "Swift", "author_email": "unknown@mail.com"}
+                {"name": "Dart", "image_id": 999999}
+                """;
+
+        // when
+        ImportReportResponseDTO actual = importRows("languages", MEDIA_TYPE_NDJSON, body, admin);
+
+        // then
+        assertThat(actual.getTotalRows()).isEqualTo(7);
+        assertThat(actual.getImportedRows()).isEqualTo(2);
+        assertThat(actual.getFailedRows()).isEqualTo(5);
+        assertThat(actual.getErrors()).extracting("row").containsExactly(2L, 4L, 5L, 6L, 7L);
+        Language kotlin = findLanguage("Kotlin");
+        assertThat(kotlin.getState()).isEqualTo(ResourceState.APPROVED);
+        assertThat(kotlin.getAuthor().getId()).isEqualTo(admin.getId());
+        assertThat(findLanguage("Go").getState()).isEqualTo(ResourceState.WAITING);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com")
+    void importRows_importsReviewsByLanguageNameAndRecountsStats() throws Exception {
+        // given
+        AppUser admin = saveAdmin();
+        Language language = languageRepository.save(new Language("Java", ResourceState.APPROVED));
+        String body = """
+                body,value,language_name,author_email
+                "Great, fast language",LIKE,Java,admin@mail.com
+                Too verbose for me,-1,Java,admin@mail.com
+                short,2,Java,admin@mail.com
+                Interesting language,1,Kotlin,admin@mail.com
+                """;
+
+        // when
+        ImportReportResponseDTO actual = importRows("reviews", MEDIA_TYPE_CSV, body, admin);
+
+        // then
+        assertThat(actual.getImportedRows()).isEqualTo(2);
+        assertThat(actual.getErrors()).extracting("row").containsExactly(3L, 4L);
+        LanguageReviewStats stats = languageReviewStatsRepository.findById(language.getId()).orElseThrow();
+        assertThat(stats.getTotalCount()).isEqualTo(2);
+        assertThat(stats.getCount(ReviewValue.LIKE)).isEqualTo(1);
+        assertThat(stats.getCount(ReviewValue.DISLIKE)).isEqualTo(1);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@mail.com")
+    void importRows_importsVotesAndRecountsCounters() throws Exception {
+        // given
+        AppUser admin = saveAdmin();
+        AppUser user = appUserRepository.save(new AppUser("user@mail.com", admin.getRole()));
+        Language language = languageRepository.save(new Language("Java", ResourceState.APPROVED));
+        Review review = reviewRepository.save(new Review("test body", ReviewValue.LIKE, language));
+        String body = """
+                review_id,user_email,vote
+                %1$d,admin@mail.com,true
+                %1$d,user@mail.com,1
+                %1$d,user@mail.com,-1
+                """.formatted(review.getId());
+
+        // when
+        ImportReportResponseDTO actual = importRows("review-votes", MEDIA_TYPE_CSV, body, admin);
+
+        // then
+        assertThat(actual.getImportedRows()).isEqualTo(2);
+        assertThat(actual.getErrors()).extracting("row").containsExactly(3L);
+        ReviewVoteCounts counts = reviewRepository.findVoteCountsById(review.getId()).orElseThrow();
+        assertThat(counts.getUpVoteCount()).isEqualTo(2);
+        assertThat(counts.getScore()).isEqualTo(2);
+        assertThat(reviewRepository.findById(review.getId()).orElseThrow().getRankedAt()).isNotNull();
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void importRows_returnsForbidden_whenUserHasNoPermission() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_CREATE_LANGUAGE)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+
+        // when
+        // then
+        mvc.perform(post(ENDPOINT_IMPORT + "/languages")
+                        .contentType(MEDIA_TYPE_NDJSON)
+                        .content("{\"name\": \"Kotlin\"}")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(existingUser)))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+        assertThat(languageRepository.count()).isZero();
+    }
+
+    private Language findLanguage(String name) {
+        return languageRepository.findAll().stream()
+                .filter(language -> language.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private AppUser saveAdmin() {
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_IMPORT_DATA)));
+        return appUserRepository.save(new AppUser("admin@mail.com", existingRole));
+    }
+
+    private ImportReportResponseDTO importRows(String resource, String contentType, String body, AppUser user)
+            throws Exception {
+        MvcResult result = mvc
+                .perform(post(ENDPOINT_IMPORT + "/" + resource)
+                        .contentType(contentType)
+                        .content(body)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(user)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), ImportReportResponseDTO.class);
+    }
+
+    private String createAccessToken(AppUser user) {
+        return tokenProvider.createAccessToken(
+                user, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+        );
+    }
+}
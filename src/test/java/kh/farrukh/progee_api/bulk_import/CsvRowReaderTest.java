@@ -0,0 +1,59 @@
+package kh.farrukh.progee_api.bulk_import;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRowReaderTest {
+
+    @Test
+    void next_readsRowsByHeader_withQuotedValues() throws IOException {
+        // given
+        String csv = """
+                name,description
+                Java,"Object-oriented, ""strongly"" typed"
+                                
+                Kotlin,"Multi
+                line"
+                Go,
+                """;
+
+        try (CsvRowReader underTest = new CsvRowReader(toInputStream(csv))) {
+            // when
+            Map<String, String> first = underTest.next();
+            Map<String, String> second = underTest.next();
+            Map<String, String> third = underTest.next();
+            Map<String, String> end = underTest.next();
+
+            // then
+            assertThat(first).containsEntry("name", "Java")
+                    .containsEntry("description", "Object-oriented, \"strongly\" typed");
+            assertThat(second).containsEntry("name", "Kotlin").containsEntry("description", "Multi\nline");
+            assertThat(third).containsEntry("name", "Go");
+            assertThat(third.get("description")).isNullOrEmpty();
+            assertThat(end).isNull();
+        }
+    }
+
+    @Test
+    void next_throwsIOException_whenRowHasMoreValuesThanHeader() throws IOException {
+        // given
+        String csv = "name\nJava,extra\n";
+
+        try (CsvRowReader underTest = new CsvRowReader(toInputStream(csv))) {
+            // when
+            // then
+            assertThatThrownBy(underTest::next).isInstanceOf(IOException.class);
+        }
+    }
+
+    private ByteArrayInputStream toInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,191 @@
+package kh.farrukh.progee_api.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kh.farrukh.progee_api.catalog.payloads.CatalogResponseDTO;
+import kh.farrukh.progee_api.framework.Framework;
+import kh.farrukh.progee_api.framework.FrameworkRepository;
+import kh.farrukh.progee_api.global.change_tracking.TablesChangedEvent;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static kh.farrukh.progee_api.catalog.CatalogConstants.ENDPOINT_CATALOG;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Autowired
+    private FrameworkRepository frameworkRepository;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @AfterEach
+    void tearDown() {
+        frameworkRepository.deleteAll();
+        languageRepository.deleteAll();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getCatalog_returnsCompressedApprovedCatalog_whenGzipIsAccepted() throws Exception {
+        // given
+        Language java = languageRepository.save(new Language("Java", ResourceState.APPROVED));
+        languageRepository.save(new Language("Kotlin", ResourceState.WAITING));
+        frameworkRepository.save(new Framework("Spring", ResourceState.APPROVED, java));
+        frameworkRepository.save(new Framework("Struts", ResourceState.DECLINED, java));
+        catalogSnapshotService.refresh();
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_CATALOG).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        byte[] compressed = result.getResponse().getContentAsByteArray();
+        CatalogResponseDTO actual;
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            actual = objectMapper.readValue(inputStream, CatalogResponseDTO.class);
+        }
+
+        // then
+        assertThat(result.getResponse().getContentLength()).isEqualTo(compressed.length);
+        assertThat(actual.getLanguages()).extracting(LanguageResponseDTO::getName).containsExactly("Java");
+        assertThat(actual.getLanguages().get(0).getFrameworks()).extracting("name").containsExactly("Spring");
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getCatalog_returnsDecompressedCatalog_whenGzipIsNotAccepted() throws Exception {
+        // given
+        languageRepository.save(new Language("Java", ResourceState.APPROVED));
+        catalogSnapshotService.refresh();
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_CATALOG))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        CatalogResponseDTO actual = objectMapper.readValue(
+                result.getResponse().getContentAsByteArray(), CatalogResponseDTO.class
+        );
+
+        // then
+        assertThat(actual.getLanguages()).extracting(LanguageResponseDTO::getName).containsExactly("Java");
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getCatalog_returnsNotModified_whenETagMatches() throws Exception {
+        // given
+        languageRepository.save(new Language("Java", ResourceState.APPROVED));
+        catalogSnapshotService.refresh();
+        String eTag = mvc.perform(get(ENDPOINT_CATALOG)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        mvc.perform(get(ENDPOINT_CATALOG).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+
+                // then
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getCatalog_returnsDifferentETags_forCompressedAndDecompressedCatalog() throws Exception {
+        // given
+        languageRepository.save(new Language("Java", ResourceState.APPROVED));
+        catalogSnapshotService.refresh();
+        String eTag = mvc.perform(get(ENDPOINT_CATALOG)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_CATALOG)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        String gzipETag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipETag).isNotEqualTo(eTag);
+        mvc.perform(get(ENDPOINT_CATALOG)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void refresh_keepsSnapshot_whenCatalogIsNotChanged() {
+        // given
+        languageRepository.save(new Language("Java", ResourceState.APPROVED));
+        catalogSnapshotService.refresh();
+        CatalogSnapshot existingSnapshot = catalogSnapshotService.getSnapshot();
+
+        // when
+        catalogSnapshotService.refresh();
+
+        // then
+        assertThat(catalogSnapshotService.getSnapshot()).isSameAs(existingSnapshot);
+    }
+
+    @Test
+    void onTablesChanged_rendersNewSnapshot_whenLanguagesAreChanged() throws Exception {
+        // given
+        catalogSnapshotService.refresh();
+        CatalogSnapshot existingSnapshot = catalogSnapshotService.getSnapshot();
+        languageRepository.save(new Language("Java", ResourceState.APPROVED));
+
+        // when
+        eventPublisher.publishEvent(new TablesChangedEvent(Set.of("language")));
+
+        // then
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (catalogSnapshotService.getSnapshot() == existingSnapshot && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        CatalogSnapshot actual = catalogSnapshotService.getSnapshot();
+        assertThat(actual.getETag()).isNotEqualTo(existingSnapshot.getETag());
+        assertThat(actual.getFile()).exists();
+    }
+}
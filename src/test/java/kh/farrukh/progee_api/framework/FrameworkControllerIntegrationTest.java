@@ -8,6 +8,8 @@ import kh.farrukh.progee_api.framework.payloads.FrameworkRequestDTO;
 import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
 import kh.farrukh.progee_api.global.security.jwt.TokenProvider;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.image.Image;
@@ -28,10 +30,15 @@ import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static kh.farrukh.progee_api.framework.FrameworkConstants.ENDPOINT_FRAMEWORK;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -67,6 +74,12 @@ class FrameworkControllerIntegrationTest {
     @Autowired
     private TokenProvider tokenProvider;
 
+    @Autowired
+    private FrameworkService frameworkService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @AfterEach
     void tearDown() {
         frameworkRepository.deleteAll();
@@ -366,4 +379,114 @@ class FrameworkControllerIntegrationTest {
         assertThat(actual.getId()).isEqualTo(existingFramework.getId());
         assertThat(actual.getState()).isEqualTo(stateDto.getState());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void setFrameworkState_evictsCachedFramework_whenItIsReadBeforeCommit() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(
+                Permission.CAN_SET_FRAMEWORK_STATE, Permission.CAN_VIEW_FRAMEWORKS_BY_STATE
+        )));
+        appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Language existingLanguage = languageRepository.save(new Language());
+        long id = frameworkRepository.save(new Framework("test", ResourceState.APPROVED, existingLanguage)).getId();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // when
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                frameworkService.setFrameworkState(id, new SetResourceStateRequestDTO(ResourceState.WAITING));
+                // Another request reads the framework through the cache before the change is committed
+                try {
+                    FrameworkResponseDTO read = executor.submit(() -> frameworkService.getFrameworkById(id))
+                            .get(10, TimeUnit.SECONDS);
+                    assertThat(read.getState()).isEqualTo(ResourceState.APPROVED);
+                } catch (Exception exception) {
+                    throw new IllegalStateException(exception);
+                }
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(frameworkService.getFrameworkById(id).getState()).isEqualTo(ResourceState.WAITING);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void setFrameworkStates_canSetStatesOfFrameworks_andUpdatesFrameworkCountsOfLanguages() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(Collections.singletonList(Permission.CAN_SET_FRAMEWORK_STATE)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Language existingLanguage1 = languageRepository.save(new Language("test1", ResourceState.APPROVED));
+        Language existingLanguage2 = languageRepository.save(new Language("test2", ResourceState.APPROVED));
+        List<Framework> existingFrameworks = frameworkRepository.saveAll(List.of(
+                new Framework("test1", ResourceState.WAITING, existingLanguage1),
+                new Framework("test2", ResourceState.WAITING, existingLanguage1),
+                new Framework("test3", ResourceState.WAITING, existingLanguage2),
+                new Framework("test4", ResourceState.APPROVED, existingLanguage2)
+        ));
+        SetResourceStatesRequestDTO statesDto = new SetResourceStatesRequestDTO(
+                existingFrameworks.stream().map(Framework::getId).toList(), null, ResourceState.APPROVED
+        );
+
+        // when
+        MvcResult result = mvc
+                .perform(patch(ENDPOINT_FRAMEWORK + "/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statesDto))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        ))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        SetResourceStatesResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), SetResourceStatesResponseDTO.class);
+        assertThat(actual.getUpdatedCount()).isEqualTo(3);
+        assertThat(frameworkRepository.findAll().stream().allMatch(framework -> framework.getState() == ResourceState.APPROVED))
+                .isTrue();
+        assertThat(languageRepository.findById(existingLanguage1.getId()).orElseThrow().getFrameworkCount())
+                .isEqualTo(existingLanguage1.getFrameworkCount() + 2);
+        assertThat(languageRepository.findById(existingLanguage2.getId()).orElseThrow().getFrameworkCount())
+                .isEqualTo(existingLanguage2.getFrameworkCount() + 1);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void setFrameworkStates_decreasesFrameworkCountsOfLanguages_whenApprovedFrameworksAreDeclined() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(Collections.singletonList(Permission.CAN_SET_FRAMEWORK_STATE)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Language existingLanguage = languageRepository.save(new Language("test", ResourceState.APPROVED));
+        frameworkRepository.saveAll(List.of(
+                new Framework("test1", ResourceState.APPROVED, existingLanguage),
+                new Framework("test2", ResourceState.APPROVED, existingLanguage),
+                new Framework("test3", ResourceState.WAITING, existingLanguage)
+        ));
+        long frameworkCount = languageRepository.findById(existingLanguage.getId()).orElseThrow().getFrameworkCount();
+        SetResourceStatesRequestDTO statesDto = new SetResourceStatesRequestDTO(null, ResourceState.APPROVED, ResourceState.DECLINED);
+
+        // when
+        MvcResult result = mvc
+                .perform(patch(ENDPOINT_FRAMEWORK + "/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statesDto))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        ))
+                )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        SetResourceStatesResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), SetResourceStatesResponseDTO.class);
+        assertThat(actual.getUpdatedCount()).isEqualTo(2);
+        assertThat(languageRepository.findById(existingLanguage.getId()).orElseThrow().getFrameworkCount())
+                .isEqualTo(frameworkCount - 2);
+    }
+}
@@ -1,18 +1,47 @@
 package kh.farrukh.progee_api.framework;
 
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.image.Image;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
 
-@DataJpaTest
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class FrameworkRepositoryTest {
 
     @Autowired
     private FrameworkRepository underTest;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
     @AfterEach
     void tearDown() {
         underTest.deleteAll();
@@ -67,4 +96,58 @@ class FrameworkRepositoryTest {
         // then
         assertThat(actual).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByLanguageIdInAndState_loadsFrameworksOfLanguagesWithFixedNumberOfStatements() {
+        // given
+        List<Language> languages = createLanguagesWithFrameworks();
+        // languages are already loaded by the first phase of the fetch
+        languages.forEach(language -> entityManager.find(Language.class, language.getId()));
+        statistics.clear();
+
+        // when
+        List<FrameworkResponseDTO> actual = underTest.findAllByLanguageIdInAndState(
+                languages.stream().map(Language::getId).toList(),
+                ResourceState.APPROVED,
+                Sort.by("id")
+        ).stream().map(FrameworkMappers::toEmbeddedFrameworkResponseDTO).toList();
+
+        // then
+        // frameworks only (permissions are in the rows of the roles)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(actual).hasSize(6);
+        assertThat(actual).allMatch(framework -> framework.getState() == ResourceState.APPROVED);
+        assertThat(actual.get(0).getAuthor().getRole().getPermissions()).isNotEmpty();
+    }
+
+    /**
+     * This function creates 3 languages with approved and waiting frameworks of different authors, and clears
+     * the persistence context.
+     *
+     * @return Created languages.
+     */
+    private List<Language> createLanguagesWithFrameworks() {
+        Role role = entityManager.persist(new Role("user", true, List.of(Permission.CAN_VIEW_ROLE)));
+        List<Language> languages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            AppUser user = new AppUser("user" + i + "@mail.com", "user" + i, "password", role);
+            user.setImage(entityManager.persist(new Image("image" + i, "url" + i, 1F)));
+            entityManager.persist(user);
+            Language language = entityManager.persist(new Language("language" + i, ResourceState.APPROVED));
+            languages.add(language);
+            for (int j = 0; j < 3; j++) {
+                Framework framework = new Framework(
+                        "framework" + i + j,
+                        j == 2 ? ResourceState.WAITING : ResourceState.APPROVED,
+                        language
+                );
+                framework.setAuthor(user);
+                framework.setImage(entityManager.persist(new Image("framework" + i + j, "url" + i + j, 1F)));
+                entityManager.persist(framework);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return languages;
+    }
+}
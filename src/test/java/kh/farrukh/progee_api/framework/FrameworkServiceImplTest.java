@@ -2,13 +2,21 @@ package kh.farrukh.progee_api.framework;
 
 import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.autocomplete.AutocompleteIndex;
 import kh.farrukh.progee_api.framework.payloads.FrameworkRequestDTO;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DuplicateResourceException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.NotEnoughPermissionException;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceLeasedException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.resource_state.ResourceStateUpdater;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
 import kh.farrukh.progee_api.global.utils.paging_sorting.SortUtils;
 import kh.farrukh.progee_api.image.Image;
 import kh.farrukh.progee_api.image.ImageRepository;
@@ -33,13 +41,17 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
 
 @SecurityTestExecutionListeners
 @ExtendWith(SpringExtension.class)
@@ -58,6 +70,18 @@ class FrameworkServiceImplTest {
     @Mock
     private AppUserRepository appUserRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
+    @Mock
+    private ResourceStateUpdater resourceStateUpdater;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
     @InjectMocks
     private FrameworkServiceImpl underTest;
 
@@ -70,7 +94,7 @@ class FrameworkServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getFrameworks(1L, null, 1, 10, "id", "ASC");
+        underTest.getFrameworks(1L, null, 1, 10, "id", "ASC", CountMode.EXACT);
 
         // then
         verify(frameworkRepository).findAll(
@@ -91,7 +115,7 @@ class FrameworkServiceImplTest {
 
         // when
         // then
-        assertThatThrownBy(() -> underTest.getFrameworks(1L, ResourceState.WAITING, 1, 10, "id", "ASC"))
+        assertThatThrownBy(() -> underTest.getFrameworks(1L, ResourceState.WAITING, 1, 10, "id", "ASC", CountMode.EXACT))
                 .isInstanceOf(NotEnoughPermissionException.class);
     }
 
@@ -104,7 +128,7 @@ class FrameworkServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getFrameworks(1L, null, 1, 10, "id", "ASC");
+        underTest.getFrameworks(1L, null, 1, 10, "id", "ASC", CountMode.EXACT);
 
         // then
         verify(frameworkRepository).findAll(
@@ -126,7 +150,7 @@ class FrameworkServiceImplTest {
         // when
         // then
         assertThatThrownBy(
-                () -> underTest.getFrameworks(1L, ResourceState.WAITING, 1, 10, "id", "ASC")
+                () -> underTest.getFrameworks(1L, ResourceState.WAITING, 1, 10, "id", "ASC", CountMode.EXACT)
         ).isInstanceOf(NotEnoughPermissionException.class);
     }
 
@@ -141,7 +165,7 @@ class FrameworkServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getFrameworks(1L, null, 1, 10, "id", "ASC");
+        underTest.getFrameworks(1L, null, 1, 10, "id", "ASC", CountMode.EXACT);
 
         // then
         verify(frameworkRepository).findAll(
@@ -165,7 +189,7 @@ class FrameworkServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getFrameworks(1L, ResourceState.WAITING, 1, 10, "id", "ASC");
+        underTest.getFrameworks(1L, ResourceState.WAITING, 1, 10, "id", "ASC", CountMode.EXACT);
 
         // then
         verify(frameworkRepository).findAll(
@@ -187,7 +211,7 @@ class FrameworkServiceImplTest {
         // when
         // then
         assertThatThrownBy(
-                () -> underTest.getFrameworks(languageId, null, 1, 10, "id", "ASC")
+                () -> underTest.getFrameworks(languageId, null, 1, 10, "id", "ASC", CountMode.EXACT)
         ).isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Language")
                 .hasMessageContaining(String.valueOf(languageId));
@@ -197,6 +221,7 @@ class FrameworkServiceImplTest {
     @WithMockUser
     void getFrameworkById_canGetApprovedFrameworkById_whenUserWithoutPermission() {
         // given
+        givenCatalogCacheMiss();
         long frameworkId = 1;
         when(frameworkRepository.findById(frameworkId))
                 .thenReturn(Optional.of(new Framework("test", ResourceState.APPROVED, new Language(1))));
@@ -212,6 +237,7 @@ class FrameworkServiceImplTest {
     @WithMockUser
     void getFrameworkById_throwsException_whenUserWithoutPermission() {
         // given
+        givenCatalogCacheMiss();
         long frameworkId = 1;
         Role role = new Role(Collections.emptyList());
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser("test@mail.com", role)));
@@ -228,6 +254,7 @@ class FrameworkServiceImplTest {
     @WithMockUser
     void getFrameworkById_canGetNonApprovedFrameworkById_whenUserWithPermission() {
         // given
+        givenCatalogCacheMiss();
         long frameworkId = 1;
         Role role = new Role(Collections.singletonList(Permission.CAN_VIEW_FRAMEWORKS_BY_STATE));
         when(frameworkRepository.findById(frameworkId))
@@ -244,6 +271,7 @@ class FrameworkServiceImplTest {
     @Test
     void getFrameworkById_throwsException_whenFrameworkDoesNotExistWithId() {
         // given
+        givenCatalogCacheMiss();
         long frameworkId = 1;
 
         // when
@@ -275,7 +303,10 @@ class FrameworkServiceImplTest {
         FrameworkRequestDTO frameworkRequestDto = new FrameworkRequestDTO("", "", 1, 1L);
         when(languageRepository.findById(frameworkRequestDto.getLanguageId())).thenReturn(Optional.of(new Language(1)));
         when(imageRepository.findById(frameworkRequestDto.getImageId())).thenReturn(Optional.of(new Image()));
-        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser("user@mail.com", role)));
+        AppUser user = new AppUser("user@mail.com", role);
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
+        when(appUserRepository.existsById(user.getId())).thenReturn(true);
+        when(appUserRepository.getReferenceById(user.getId())).thenReturn(user);
 
         // when
         underTest.addFramework(frameworkRequestDto);
@@ -288,6 +319,7 @@ class FrameworkServiceImplTest {
         assertThat(actual.getLanguage().getId()).isEqualTo(frameworkRequestDto.getLanguageId());
         assertThat(actual.getAuthor().getUsername()).isEqualTo("user@mail.com");
         assertThat(actual.getState()).isEqualTo(ResourceState.WAITING);
+        verify(languageRepository, never()).applyFrameworkCountChange(anyLong(), anyInt());
     }
 
     @Test
@@ -300,6 +332,8 @@ class FrameworkServiceImplTest {
         when(languageRepository.findById(frameworkRequestDto.getLanguageId())).thenReturn(Optional.of(new Language(1)));
         when(imageRepository.findById(frameworkRequestDto.getImageId())).thenReturn(Optional.of(new Image()));
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
+        when(appUserRepository.existsById(user.getId())).thenReturn(true);
+        when(appUserRepository.getReferenceById(user.getId())).thenReturn(user);
 
         // when
         underTest.addFramework(frameworkRequestDto);
@@ -312,6 +346,8 @@ class FrameworkServiceImplTest {
         assertThat(actual.getLanguage().getId()).isEqualTo(frameworkRequestDto.getLanguageId());
         assertThat(actual.getAuthor().getUsername()).isEqualTo("user@mail.com");
         assertThat(actual.getState()).isEqualTo(ResourceState.APPROVED);
+        verify(languageRepository).applyFrameworkCountChange(1, 1);
+        verify(catalogCache).invalidateLanguage(1);
     }
 
     @Test
@@ -557,13 +593,16 @@ class FrameworkServiceImplTest {
     void deleteFramework_canDeleteFrameworkById_whenIdIsValid() {
         // given
         long frameworkId = 1;
-        when(frameworkRepository.existsById(frameworkId)).thenReturn(true);
+        when(frameworkRepository.findById(frameworkId))
+                .thenReturn(Optional.of(new Framework("", ResourceState.APPROVED, new Language(2))));
 
         // when
         underTest.deleteFramework(frameworkId);
 
         // then
         verify(frameworkRepository).deleteById(frameworkId);
+        verify(languageRepository).applyFrameworkCountChange(2, -1);
+        verify(catalogCache).invalidateLanguage(2);
     }
 
     @Test
@@ -587,6 +626,8 @@ class FrameworkServiceImplTest {
         long frameworkId = 1;
         SetResourceStateRequestDTO stateDto = new SetResourceStateRequestDTO(ResourceState.APPROVED);
         when(frameworkRepository.findById(frameworkId)).thenReturn(Optional.of(new Framework()));
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser(1)));
+        when(resourceStateUpdater.releaseLease(anyString(), eq(frameworkId), eq(1L))).thenReturn(true);
 
         // when
         underTest.setFrameworkState(frameworkId, stateDto);
@@ -598,6 +639,24 @@ class FrameworkServiceImplTest {
         assertThat(actual.getState()).isEqualTo(stateDto.getState());
     }
 
+    @Test
+    @WithMockUser
+    void setFrameworkState_throwsException_whenFrameworkIsClaimedByAnotherModerator() {
+        // given
+        long frameworkId = 1;
+        SetResourceStateRequestDTO stateDto = new SetResourceStateRequestDTO(ResourceState.APPROVED);
+        when(frameworkRepository.findById(frameworkId)).thenReturn(Optional.of(new Framework()));
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser(1)));
+        when(resourceStateUpdater.releaseLease(anyString(), eq(frameworkId), eq(1L))).thenReturn(false);
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.setFrameworkState(frameworkId, stateDto))
+                .isInstanceOf(ResourceLeasedException.class)
+                .hasMessageContaining("Framework");
+        verify(frameworkRepository, never()).save(any());
+    }
+
     @Test
     @WithMockUser
     void setFrameworkState_throwsException_whenFrameworkToSetStateDoesNotExistWithId() {
@@ -613,4 +672,50 @@ class FrameworkServiceImplTest {
                 .hasMessageContaining("Framework")
                 .hasMessageContaining(String.valueOf(frameworkId));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void setFrameworkStates_invalidatesCaches_whenLaterChunkFails() {
+        // given
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser(1)));
+        SetResourceStatesRequestDTO statesDTO = new SetResourceStatesRequestDTO(List.of(1L, 2L), null, ResourceState.APPROVED);
+        when(resourceStateUpdater.setStates(any(), any(), eq(1L), any())).thenAnswer(invocation -> {
+            // The first chunk is committed, the next one fails
+            invocation.<Consumer<Map<Long, ResourceState>>>getArgument(3).accept(Map.of(1L, ResourceState.WAITING));
+            throw new IllegalStateException("Database is not available");
+        });
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.setFrameworkStates(statesDTO)).isInstanceOf(IllegalStateException.class);
+        verify(catalogCache).invalidateAll();
+        verify(autocompleteIndex).rebuildAfterCommit();
+    }
+
+    @Test
+    @WithMockUser
+    void setFrameworkStates_doesNotInvalidateCaches_whenNothingIsChanged() {
+        // given
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser(1)));
+        SetResourceStatesRequestDTO statesDTO = new SetResourceStatesRequestDTO(List.of(1L), null, ResourceState.APPROVED);
+        when(resourceStateUpdater.setStates(any(), any(), eq(1L), any()))
+                .thenReturn(new SetResourceStatesResponseDTO(ResourceState.APPROVED, 0, List.of()));
+
+        // when
+        underTest.setFrameworkStates(statesDTO);
+
+        // then
+        verify(catalogCache, never()).invalidateAll();
+        verify(autocompleteIndex, never()).rebuildAfterCommit();
+    }
+
+    /**
+     * This function makes the mocked catalog cache load the framework with the loader of the service.
+     */
+    private void givenCatalogCacheMiss() {
+        when(catalogCache.getFramework(anyLong(), any())).thenAnswer(invocation ->
+                invocation.<LongFunction<CatalogCache.Entry<?>>>getArgument(1)
+                        .apply(invocation.<Long>getArgument(0))
+                        .getBody());
+    }
+}
@@ -0,0 +1,266 @@
+package kh.farrukh.progee_api.global.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kh.farrukh.progee_api.app_user.payloads.AppUserResponseDTO;
+import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.image.payloads.ImageResponseDTO;
+import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogCacheTest {
+
+    private CatalogCacheConfiguration configuration;
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new CatalogCacheConfiguration();
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new CatalogCache(configuration, meterRegistry);
+    }
+
+    @Test
+    void getLanguage_loadsApprovedLanguageOnce() {
+        // given
+        CountingLoader<LanguageResponseDTO> loader = new CountingLoader<>(id -> language(id, ResourceState.APPROVED));
+
+        // when
+        underTest.getLanguage(1, loader);
+        LanguageResponseDTO actual = underTest.getLanguage(1, loader);
+
+        // then
+        assertThat(actual.getId()).isEqualTo(1);
+        assertThat(loader.count.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CatalogCache.CACHE_NAME_LANGUAGES)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getLanguage_doesNotCacheLanguage_whenStateIsNotApproved() {
+        // given
+        CountingLoader<LanguageResponseDTO> loader = new CountingLoader<>(id -> language(id, ResourceState.WAITING));
+
+        // when
+        underTest.getLanguage(1, loader);
+        underTest.getLanguage(1, loader);
+
+        // then
+        assertThat(loader.count.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getLanguage_doesNotCacheLanguage_whenCacheIsDisabled() {
+        // given
+        configuration.setEnabled(false);
+        CountingLoader<LanguageResponseDTO> loader = new CountingLoader<>(id -> language(id, ResourceState.APPROVED));
+
+        // when
+        underTest.getLanguage(1, loader);
+        underTest.getLanguage(1, loader);
+
+        // then
+        assertThat(loader.count.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateLanguage_evictsLanguageAndItsFrameworks() {
+        // given
+        CountingLoader<LanguageResponseDTO> languageLoader =
+                new CountingLoader<>(id -> language(id, ResourceState.APPROVED));
+        CountingLoader<FrameworkResponseDTO> frameworkLoader = new CountingLoader<>(id -> framework(id, 1));
+        underTest.getLanguage(1, languageLoader);
+        underTest.getFramework(10, frameworkLoader);
+        underTest.getFramework(20, new CountingLoader<>(id -> framework(id, 2)));
+
+        // when
+        underTest.invalidateLanguage(1);
+        underTest.getLanguage(1, languageLoader);
+        underTest.getFramework(10, frameworkLoader);
+        CountingLoader<FrameworkResponseDTO> otherFrameworkLoader = new CountingLoader<>(id -> framework(id, 2));
+        underTest.getFramework(20, otherFrameworkLoader);
+
+        // then
+        assertThat(languageLoader.count.get()).isEqualTo(2);
+        assertThat(frameworkLoader.count.get()).isEqualTo(2);
+        assertThat(otherFrameworkLoader.count.get()).isZero();
+    }
+
+    @Test
+    void invalidateUser_evictsEntriesOfAuthor() {
+        // given
+        CountingLoader<LanguageResponseDTO> languageLoader =
+                new CountingLoader<>(id -> language(id, ResourceState.APPROVED));
+        CountingLoader<FrameworkResponseDTO> frameworkLoader = new CountingLoader<>(id -> framework(id, 1));
+        underTest.getLanguage(1, languageLoader);
+        underTest.getFramework(10, frameworkLoader);
+
+        // when
+        // the author of the language (and of the language of the framework)
+        underTest.invalidateUser(101);
+        underTest.getLanguage(1, languageLoader);
+        underTest.getFramework(10, frameworkLoader);
+
+        // then
+        assertThat(languageLoader.count.get()).isEqualTo(2);
+        assertThat(frameworkLoader.count.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateImage_evictsEntriesWithImage() {
+        // given
+        CountingLoader<LanguageResponseDTO> languageLoader =
+                new CountingLoader<>(id -> language(id, ResourceState.APPROVED));
+        CountingLoader<FrameworkResponseDTO> frameworkLoader = new CountingLoader<>(id -> framework(id, 2));
+        underTest.getLanguage(1, languageLoader);
+        underTest.getFramework(10, frameworkLoader);
+
+        // when
+        // the image of the framework
+        underTest.invalidateImage(210);
+        underTest.getLanguage(1, languageLoader);
+        underTest.getFramework(10, frameworkLoader);
+
+        // then
+        assertThat(languageLoader.count.get()).isEqualTo(1);
+        assertThat(frameworkLoader.count.get()).isEqualTo(2);
+    }
+
+    @Test
+    void getLanguage_doesNotCacheLanguage_whenInvalidatedWhileLoading() {
+        // given
+        CountingLoader<LanguageResponseDTO> loader = new CountingLoader<>(id -> {
+            underTest.invalidateLanguage(id);
+            return language(id, ResourceState.APPROVED);
+        });
+
+        // when
+        underTest.getLanguage(1, loader);
+        underTest.getLanguage(1, loader);
+
+        // then
+        assertThat(loader.count.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateFramework_evictsFrameworkReadBeforeCommit_whenTransactionIsCommitted() {
+        // given
+        CountingLoader<FrameworkResponseDTO> loader = new CountingLoader<>(id -> framework(id, 1));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            underTest.invalidateFramework(10);
+            // The old committed framework is read through the cache before the change is committed
+            underTest.getFramework(10, loader);
+            underTest.getFramework(10, loader);
+            assertThat(loader.count.get()).isEqualTo(1);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        underTest.getFramework(10, loader);
+
+        // then
+        assertThat(loader.count.get()).isEqualTo(2);
+    }
+
+    @Test
+    void invalidateFramework_keepsFramework_whenTransactionIsRolledBack() {
+        // given
+        CountingLoader<FrameworkResponseDTO> loader = new CountingLoader<>(id -> framework(id, 1));
+        underTest.getFramework(10, loader);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            underTest.invalidateFramework(10);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        underTest.getFramework(10, loader);
+
+        // then
+        assertThat(loader.count.get()).isEqualTo(1);
+    }
+
+    @Test
+    void getLanguageETag_returnsETagOfCachedLanguageWithoutLoading() {
+        // given
+        underTest.getLanguage(1, new CountingLoader<>(id -> language(id, ResourceState.APPROVED)));
+        CountingLoader<String> eTagLoader = new CountingLoader<>(id -> "\"other\"");
+
+        // when
+        String actual = underTest.getLanguageETag(1, id -> eTagLoader.apply(id).getBody());
+
+        // then
+        assertThat(actual).isEqualTo("\"etag1\"");
+        assertThat(eTagLoader.count.get()).isZero();
+    }
+
+    @Test
+    void getFrameworkETag_loadsETag_whenFrameworkIsNotCached() {
+        // given
+        CountingLoader<String> eTagLoader = new CountingLoader<>(id -> "\"loaded\"");
+
+        // when
+        String actual = underTest.getFrameworkETag(10, id -> eTagLoader.apply(id).getBody());
+        underTest.getFrameworkETag(10, id -> eTagLoader.apply(id).getBody());
+
+        // then
+        assertThat(actual).isEqualTo("\"loaded\"");
+        assertThat(eTagLoader.count.get()).isEqualTo(2);
+    }
+
+    private LanguageResponseDTO language(long id, ResourceState state) {
+        LanguageResponseDTO language = new LanguageResponseDTO();
+        language.setId(id);
+        language.setState(state);
+        language.setImage(image(id + 100));
+        language.setAuthor(user(id + 100));
+        return language;
+    }
+
+    private FrameworkResponseDTO framework(long id, long languageId) {
+        FrameworkResponseDTO framework = new FrameworkResponseDTO();
+        framework.setId(id);
+        framework.setState(ResourceState.APPROVED);
+        framework.setImage(image(id + 200));
+        framework.setAuthor(user(id + 200));
+        framework.setLanguage(language(languageId, ResourceState.APPROVED));
+        return framework;
+    }
+
+    private AppUserResponseDTO user(long id) {
+        AppUserResponseDTO user = new AppUserResponseDTO();
+        user.setId(id);
+        return user;
+    }
+
+    private ImageResponseDTO image(long id) {
+        return new ImageResponseDTO(id, "image" + id, "url" + id, 1F);
+    }
+
+    private static class CountingLoader<T> implements LongFunction<CatalogCache.Entry<T>> {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final LongFunction<T> delegate;
+
+        private CountingLoader(LongFunction<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public CatalogCache.Entry<T> apply(long id) {
+            count.incrementAndGet();
+            return new CatalogCache.Entry<>(delegate.apply(id), "\"etag" + id + "\"");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package kh.farrukh.progee_api.global.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageSpecification;
+import kh.farrukh.progee_api.review.Review;
+import kh.farrukh.progee_api.review.ReviewSpecification;
+import kh.farrukh.progee_api.review.ReviewValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageCountCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PageCountCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new PageCountCache(new PageCountCacheConfiguration(), meterRegistry);
+    }
+
+    @Test
+    void getCount_countsEqualSpecificationsOnce() {
+        // given
+        AtomicInteger counts = new AtomicInteger();
+
+        // when
+        underTest.getCount(Language.class, new LanguageSpecification(ResourceState.APPROVED), () -> {
+            counts.incrementAndGet();
+            return 5;
+        });
+        long actual = underTest.getCount(Language.class, new LanguageSpecification(ResourceState.APPROVED), () -> {
+            counts.incrementAndGet();
+            return 6;
+        });
+
+        // then
+        assertThat(actual).isEqualTo(5);
+        assertThat(counts.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", PageCountCache.CACHE_NAME_PAGE_COUNTS)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getCount_countsDifferentSpecificationsSeparately() {
+        // when
+        long approved = underTest.getCount(Language.class, new LanguageSpecification(ResourceState.APPROVED), () -> 5);
+        long waiting = underTest.getCount(Language.class, new LanguageSpecification(ResourceState.WAITING), () -> 2);
+        long liked = underTest.getCount(Review.class, new ReviewSpecification(1L, ReviewValue.LIKE), () -> 7);
+        long disliked = underTest.getCount(Review.class, new ReviewSpecification(1L, ReviewValue.DISLIKE), () -> 3);
+
+        // then
+        assertThat(approved).isEqualTo(5);
+        assertThat(waiting).isEqualTo(2);
+        assertThat(liked).isEqualTo(7);
+        assertThat(disliked).isEqualTo(3);
+    }
+
+    @Test
+    void getCount_countsAgain_whenCountIsExpired() {
+        // given
+        PageCountCacheConfiguration configuration = new PageCountCacheConfiguration();
+        configuration.setTimeToLiveInSeconds(0);
+        underTest = new PageCountCache(configuration, meterRegistry);
+        AtomicInteger counts = new AtomicInteger();
+
+        // when
+        underTest.getCount(Language.class, null, counts::incrementAndGet);
+        long actual = underTest.getCount(Language.class, null, counts::incrementAndGet);
+
+        // then
+        assertThat(actual).isEqualTo(2);
+    }
+}
@@ -0,0 +1,83 @@
+package kh.farrukh.progee_api.global.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import kh.farrukh.progee_api.role.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleAuthorityCacheTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private RoleAuthorityCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new RoleAuthorityCache(
+                roleRepository, new RoleAuthorityCacheConfiguration(), new SimpleMeterRegistry()
+        );
+    }
+
+    @Test
+    void getAuthorities_doesNotQueryRoles_whenCacheIsWarmedUp() {
+        // given
+        Role role = new Role(1, "Admin", false, List.of(Permission.CAN_VIEW_ROLE, Permission.CAN_CREATE_ROLE));
+        when(roleRepository.findAll()).thenReturn(List.of(role));
+        underTest.warmUp();
+
+        // when
+        List<GrantedAuthority> actual = underTest.getAuthorities(1);
+        underTest.getAuthorities(1);
+
+        // then
+        assertThat(actual).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(Permission.CAN_VIEW_ROLE.name(), Permission.CAN_CREATE_ROLE.name());
+        assertThat(underTest.getAuthorities(1)).isSameAs(actual);
+        verify(roleRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getAuthorities_reloadsRole_whenRoleIsInvalidated() {
+        // given
+        Role role = new Role(1, "Admin", false, List.of(Permission.CAN_VIEW_ROLE));
+        when(roleRepository.findById(1L)).thenReturn(Optional.of(role));
+        underTest.getAuthorities(1);
+        role.setPermissions(List.of(Permission.CAN_CREATE_ROLE));
+
+        // when
+        underTest.invalidate(1);
+        List<GrantedAuthority> actual = underTest.getAuthorities(1);
+
+        // then
+        assertThat(actual).extracting(GrantedAuthority::getAuthority).containsExactly(Permission.CAN_CREATE_ROLE.name());
+        verify(roleRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getAuthorities_throwsException_whenRoleDoesNotExist() {
+        // given
+        when(roleRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.getAuthorities(1))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Role");
+    }
+}
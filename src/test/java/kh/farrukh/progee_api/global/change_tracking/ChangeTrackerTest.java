@@ -0,0 +1,125 @@
+package kh.farrukh.progee_api.global.change_tracking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeTrackerTest {
+
+    @Mock
+    private ChangeCounterRepository changeCounterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ChangeTracker underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ChangeTracker(changeCounterRepository, transactionManager, eventPublisher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(underTest);
+    }
+
+    @Test
+    void markChanged_incrementsCountersImmediately_whenThereIsNoTransaction() {
+        // given
+        when(changeCounterRepository.increment(any())).thenReturn(2);
+
+        // when
+        underTest.markChanged("language", "image");
+
+        // then
+        verify(changeCounterRepository).increment(Set.of("language", "image"));
+        verify(changeCounterRepository, never()).create(any());
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(((TablesChangedEvent) event.getValue()).getTableNames()).isEqualTo(Set.of("language", "image"));
+    }
+
+    @Test
+    void markChanged_incrementsCountersOnceAfterCommit_whenThereIsTransaction() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        when(changeCounterRepository.increment(any())).thenReturn(2);
+
+        // when
+        underTest.markChanged("language");
+        underTest.markChanged("language", "image");
+
+        // then
+        verify(changeCounterRepository, never()).increment(any());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(changeCounterRepository).increment(Set.of("language", "image"));
+    }
+
+    @Test
+    void markChanged_doesNotIncrementCounters_whenTransactionIsRolledBack() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        underTest.markChanged("language");
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // then
+        verify(changeCounterRepository, never()).increment(any());
+        assertThat(TransactionSynchronizationManager.hasResource(underTest)).isFalse();
+    }
+
+    @Test
+    void markChanged_createsMissingCounters() {
+        // given
+        when(changeCounterRepository.increment(any())).thenReturn(1);
+        when(changeCounterRepository.findAllById(any())).thenReturn(List.of(new ChangeCounter("language", 1)));
+
+        // when
+        underTest.markChanged("language", "image");
+
+        // then
+        verify(changeCounterRepository).create("image");
+        verify(changeCounterRepository, never()).create("language");
+    }
+
+    @Test
+    void getWeakETag_changes_whenCountersAreChanged() {
+        // given
+        when(changeCounterRepository.sumChangeCounts(List.of("language"))).thenReturn(1L, 1L, 2L);
+
+        // when
+        String first = underTest.getWeakETag(List.of("language"));
+        String second = underTest.getWeakETag(List.of("language"));
+        String third = underTest.getWeakETag(List.of("language"));
+
+        // then
+        assertThat(first).startsWith("W/\"").isEqualTo(second).isNotEqualTo(third);
+    }
+}
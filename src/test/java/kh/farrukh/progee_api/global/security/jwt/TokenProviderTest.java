@@ -0,0 +1,127 @@
+package kh.farrukh.progee_api.global.security.jwt;
+
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.token_exceptions.MissingTokenException;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static kh.farrukh.progee_api.global.security.jwt.JWTKeys.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenProviderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtConfiguration jwtConfiguration;
+    private TokenProvider underTest;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtConfiguration = new JwtConfiguration();
+        jwtConfiguration.setSecret("secret");
+        underTest = new TokenProvider(jwtConfiguration, meterRegistry);
+        underTest.afterPropertiesSet();
+    }
+
+    @Test
+    void validateToken_returnsCachedToken_whenAccessTokenIsVerifiedAgain() {
+        // given
+        String token = underTest.createAccessToken(createUser(), ZonedDateTime.now().plusMinutes(5));
+
+        // when
+        DecodedJWT first = underTest.validateToken("Bearer " + token, false);
+        DecodedJWT actual = underTest.validateToken("Bearer " + token, false);
+
+        // then
+        assertThat(actual).isSameAs(first);
+        assertThat(actual.getSubject()).isEqualTo("user@mail.com");
+        assertThat(actual.getClaim(KEY_ROLE_ID).asLong()).isEqualTo(1);
+        assertThat(actual.getClaim(KEY_ROLE_VERSION).asLong()).isEqualTo(2);
+        assertThat(actual.getClaim(KEY_USER_ID).asLong()).isEqualTo(5);
+        assertThat(Permission.fromBitmask(actual.getClaim(KEY_PERMISSIONS).asLong()))
+                .containsExactly(Permission.CAN_CREATE_LANGUAGE, Permission.CAN_VIEW_ROLE);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", TokenProvider.CACHE_NAME_VERIFIED_TOKENS)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void validateToken_throwsException_whenAccessTokenIsExpired() {
+        // given
+        String token = underTest.createAccessToken(createUser(), ZonedDateTime.now().minusSeconds(5));
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.validateToken("Bearer " + token, false))
+                .isInstanceOf(TokenExpiredException.class);
+        assertThatThrownBy(() -> underTest.validateToken("Bearer " + token, false))
+                .isInstanceOf(TokenExpiredException.class);
+    }
+
+    @Test
+    void validateToken_throwsException_whenRefreshTokenIsUsedAsAccessToken() {
+        // given
+        String token = underTest.createRefreshToken(createUser(), ZonedDateTime.now().plusMinutes(5));
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.validateToken("Bearer " + token, false))
+                .isInstanceOf(Exception.class)
+                .isNotInstanceOf(MissingTokenException.class);
+        assertThat(underTest.validateToken("Bearer " + token, true).getSubject()).isEqualTo("user@mail.com");
+    }
+
+    @Test
+    void validateToken_throwsException_whenSignatureIsInvalid() {
+        // given
+        String token = underTest.createAccessToken(createUser(), ZonedDateTime.now().plusMinutes(5));
+        underTest.validateToken("Bearer " + token, false);
+        String tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.validateToken("Bearer " + tamperedToken, false))
+                .isInstanceOf(SignatureVerificationException.class);
+    }
+
+    @Test
+    void validateToken_verifiesEachTime_whenCacheIsDisabled() {
+        // given
+        jwtConfiguration.setVerifiedTokenCacheMaximumSize(0);
+        underTest = new TokenProvider(jwtConfiguration, meterRegistry);
+        underTest.afterPropertiesSet();
+        String token = underTest.createAccessToken(createUser(), ZonedDateTime.now().plusMinutes(5));
+
+        // when
+        DecodedJWT first = underTest.validateToken("Bearer " + token, false);
+        DecodedJWT actual = underTest.validateToken("Bearer " + token, false);
+
+        // then
+        assertThat(actual).isNotSameAs(first);
+        assertThat(actual.getToken()).isEqualTo(token);
+    }
+
+    @Test
+    void validateToken_throwsException_whenHeaderIsMissing() {
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.validateToken(null, false)).isInstanceOf(MissingTokenException.class);
+    }
+
+    private AppUser createUser() {
+        Role role = new Role(1, "User", true, List.of(Permission.CAN_VIEW_ROLE, Permission.CAN_CREATE_LANGUAGE));
+        role.setVersion(2);
+        AppUser user = new AppUser("user@mail.com", "user", "password", role);
+        user.setId(5);
+        return user;
+    }
+}
@@ -0,0 +1,108 @@
+package kh.farrukh.progee_api.global.security.utils;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import kh.farrukh.progee_api.global.cache.RoleAuthorityCache;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.token_exceptions.InvalidRoleTokenException;
+import kh.farrukh.progee_api.global.utils.user.AppUserPrincipal;
+import kh.farrukh.progee_api.role.Permission;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.global.security.jwt.JWTKeys.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecurityUtilsTest {
+
+    @Mock
+    private RoleAuthorityCache roleAuthorityCache;
+
+    @Test
+    void getAuthenticationFromDecodedJWT_readsPermissionsFromClaim_whenRoleVersionIsCurrent() {
+        // given
+        DecodedJWT decodedJWT = decode(JWT.create()
+                .withSubject("user@mail.com")
+                .withClaim(KEY_USER_ID, 5L)
+                .withClaim(KEY_ROLE_ID, 1L)
+                .withClaim(KEY_ROLE_VERSION, 3L)
+                .withClaim(KEY_PERMISSIONS, Permission.toBitmask(List.of(
+                        Permission.CAN_VIEW_ROLE, Permission.CAN_CREATE_LANGUAGE
+                ))));
+        when(roleAuthorityCache.getVersion(1)).thenReturn(3L);
+
+        // when
+        UsernamePasswordAuthenticationToken actual =
+                SecurityUtils.getAuthenticationFromDecodedJWT(decodedJWT, roleAuthorityCache);
+
+        // then
+        assertThat(actual.getName()).isEqualTo("user@mail.com");
+        assertThat(actual.getPrincipal()).isInstanceOfSatisfying(AppUserPrincipal.class, principal -> {
+            assertThat(principal.getId()).isEqualTo(5);
+            assertThat(principal.getPermissions())
+                    .containsExactlyInAnyOrder(Permission.CAN_VIEW_ROLE, Permission.CAN_CREATE_LANGUAGE);
+        });
+        assertThat(actual.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(Permission.CAN_CREATE_LANGUAGE.name(), Permission.CAN_VIEW_ROLE.name());
+        verify(roleAuthorityCache, never()).getAuthorities(anyLong());
+    }
+
+    @Test
+    void getAuthenticationFromDecodedJWT_throwsException_whenRoleIsChangedAfterToken() {
+        // given
+        DecodedJWT decodedJWT = decode(JWT.create()
+                .withSubject("user@mail.com")
+                .withClaim(KEY_ROLE_ID, 1L)
+                .withClaim(KEY_ROLE_VERSION, 3L)
+                .withClaim(KEY_PERMISSIONS, Permission.toBitmask(List.of(Permission.CAN_VIEW_ROLE))));
+        when(roleAuthorityCache.getVersion(1)).thenReturn(4L);
+
+        // when
+        // then
+        assertThatThrownBy(() -> SecurityUtils.getAuthenticationFromDecodedJWT(decodedJWT, roleAuthorityCache))
+                .isInstanceOf(InvalidRoleTokenException.class);
+    }
+
+    @Test
+    void getAuthenticationFromDecodedJWT_readsPermissionsOfRole_whenTokenHasNoPermissionsClaim() {
+        // given
+        DecodedJWT decodedJWT = decode(JWT.create().withSubject("user@mail.com").withClaim(KEY_ROLE_ID, 1L));
+        when(roleAuthorityCache.getAuthorities(1))
+                .thenReturn(List.of(new SimpleGrantedAuthority(Permission.CAN_VIEW_ROLE.name())));
+
+        // when
+        UsernamePasswordAuthenticationToken actual =
+                SecurityUtils.getAuthenticationFromDecodedJWT(decodedJWT, roleAuthorityCache);
+
+        // then
+        assertThat(actual.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(Permission.CAN_VIEW_ROLE.name());
+    }
+
+    @Test
+    void toAuthorities_ignoresUnknownBits() {
+        // given
+        long permissions = Permission.toBitmask(List.of(Permission.CAN_IMPORT_DATA)) | (1L << 63);
+
+        // when
+        List<GrantedAuthority> actual = SecurityUtils.toAuthorities(permissions);
+
+        // then
+        assertThat(actual).extracting(GrantedAuthority::getAuthority).containsExactly(Permission.CAN_IMPORT_DATA.name());
+    }
+
+    private DecodedJWT decode(JWTCreator.Builder builder) {
+        return JWT.decode(builder.sign(Algorithm.HMAC256("secret")));
+    }
+}
@@ -0,0 +1,104 @@
+package kh.farrukh.progee_api.global.utils.user;
+
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserUtilsTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void hasPermissionOrIsAuthor_readsPrincipal_whenAuthenticationHasPrincipal() {
+        // given
+        authenticate(new AppUserPrincipal(1, "user@mail.com", List.of(Permission.CAN_UPDATE_OWN_LANGUAGE)));
+
+        // when
+        boolean own = CurrentUserUtils.hasPermissionOrIsAuthor(
+                Permission.CAN_UPDATE_OTHERS_LANGUAGE, Permission.CAN_UPDATE_OWN_LANGUAGE, 1, appUserRepository
+        );
+        boolean others = CurrentUserUtils.hasPermissionOrIsAuthor(
+                Permission.CAN_UPDATE_OTHERS_LANGUAGE, Permission.CAN_UPDATE_OWN_LANGUAGE, 2, appUserRepository
+        );
+
+        // then
+        assertThat(own).isTrue();
+        assertThat(others).isFalse();
+        assertThat(CurrentUserUtils.getCurrentUserId(appUserRepository)).isEqualTo(1);
+        verifyNoInteractions(appUserRepository);
+    }
+
+    @Test
+    void hasPermission_loadsUserOnce_whenAuthenticationHasOnlyEmail() {
+        // given
+        AppUser user = new AppUser("user@mail.com", new Role(List.of(Permission.CAN_SET_LANGUAGE_STATE)));
+        user.setId(5);
+        when(appUserRepository.findByEmail("user@mail.com")).thenReturn(Optional.of(user));
+        authenticate("user@mail.com");
+
+        // when
+        boolean actual = CurrentUserUtils.hasPermission(Permission.CAN_SET_LANGUAGE_STATE, appUserRepository);
+        long actualId = CurrentUserUtils.getCurrentUserId(appUserRepository);
+
+        // then
+        assertThat(actual).isTrue();
+        assertThat(actualId).isEqualTo(5);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("user@mail.com");
+        verify(appUserRepository, times(1)).findByEmail("user@mail.com");
+    }
+
+    @Test
+    @WithAnonymousUser
+    void hasPermission_returnsFalse_whenUserIsAnonymous() {
+        // when
+        boolean actual = CurrentUserUtils.hasPermission(Permission.CAN_VIEW_LANGUAGES_BY_STATE, appUserRepository);
+
+        // then
+        assertThat(actual).isFalse();
+        verifyNoInteractions(appUserRepository);
+    }
+
+    @Test
+    void getCurrentUserReference_throwsException_whenUserIsDeleted() {
+        // given
+        authenticate(new AppUserPrincipal(1, "user@mail.com", List.of(Permission.CAN_CREATE_LANGUAGE)));
+        when(appUserRepository.existsById(1L)).thenReturn(false);
+
+        // when
+        // then
+        assertThatThrownBy(() -> CurrentUserUtils.getCurrentUserReference(appUserRepository))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("User");
+        verify(appUserRepository, never()).getReferenceById(anyLong());
+    }
+
+    private void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of())
+        );
+    }
+}
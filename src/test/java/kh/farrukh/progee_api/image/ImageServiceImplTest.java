@@ -1,5 +1,7 @@
 package kh.farrukh.progee_api.image;
 
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +33,12 @@ class ImageServiceImplTest {
     @Mock
     private ImageRepository imageRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
     @InjectMocks
     private ImageServiceImpl underTest;
 
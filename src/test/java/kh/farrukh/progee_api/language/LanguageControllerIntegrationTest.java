@@ -4,8 +4,15 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.framework.Framework;
+import kh.farrukh.progee_api.framework.FrameworkRepository;
+import kh.farrukh.progee_api.framework.payloads.FrameworkResponseDTO;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO.ResourceStateResult;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO.Status;
 import kh.farrukh.progee_api.global.security.jwt.TokenProvider;
 import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.image.Image;
@@ -26,9 +33,12 @@ import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import static kh.farrukh.progee_api.language.LanguageConstants.ENDPOINT_LANGUAGE;
@@ -50,6 +60,9 @@ class LanguageControllerIntegrationTest {
     @Autowired
     private LanguageRepository languageRepository;
 
+    @Autowired
+    private FrameworkRepository frameworkRepository;
+
     @Autowired
     private AppUserRepository appUserRepository;
 
@@ -67,6 +80,7 @@ class LanguageControllerIntegrationTest {
 
     @AfterEach
     void tearDown() {
+        frameworkRepository.deleteAll();
         languageRepository.deleteAll();
         appUserRepository.deleteAll();
         imageRepository.deleteAll();
@@ -100,6 +114,53 @@ class LanguageControllerIntegrationTest {
         assertThat(actual.getItems().stream().allMatch(language -> expectedIds.contains(language.getId()))).isTrue();
     }
 
+    @Test
+    @WithAnonymousUser
+    void getLanguages_canGetApprovedLanguagesByCursor_whenSortedByCreatedAt() throws Exception {
+        // given
+        languageRepository.saveAll(List.of(
+                new Language("test1", ResourceState.APPROVED),
+                new Language("test2", ResourceState.APPROVED),
+                new Language("test3", ResourceState.WAITING),
+                new Language("test4", ResourceState.APPROVED),
+                new Language("test5", ResourceState.APPROVED),
+                new Language("test6", ResourceState.APPROVED)
+        ));
+        List<Long> expectedIds = languageRepository.findAll().stream()
+                .filter(language -> language.getState() == ResourceState.APPROVED)
+                .sorted(Comparator.comparing(Language::getCreatedAt).thenComparingLong(Language::getId).reversed())
+                .map(Language::getId)
+                .toList();
+
+        // when
+        List<Long> actualIds = new ArrayList<>();
+        String nextCursor = null;
+        int requestCount = 0;
+        do {
+            MockHttpServletRequestBuilder request = get(ENDPOINT_LANGUAGE)
+                    .param("cursor", "true")
+                    .param("page_size", "2")
+                    .param("sort_by", "createdAt")
+                    .param("order_by", "desc");
+            if (nextCursor != null) request.param("after", nextCursor);
+            MvcResult result = mvc.perform(request)
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andReturn();
+            PagingResponse<LanguageResponseDTO> page = objectMapper.readValue(
+                    result.getResponse().getContentAsString(), new TypeReference<>() {
+                    }
+            );
+            page.getItems().forEach(language -> actualIds.add(language.getId()));
+            nextCursor = page.getNextCursor();
+            requestCount++;
+        } while (nextCursor != null);
+
+        // then
+        assertThat(requestCount).isEqualTo(3);
+        assertThat(actualIds).isEqualTo(expectedIds);
+    }
+
     @Test
     @WithMockUser(username = "user@mail.com")
     void getLanguages_canGetLanguagesWithFilter() throws Exception {
@@ -136,6 +197,91 @@ class LanguageControllerIntegrationTest {
         assertThat(actual.getItems().stream().allMatch(language -> expectedIds.contains(language.getId()))).isTrue();
     }
 
+    @Test
+    @WithAnonymousUser
+    void getLanguages_returnsNextPageWithoutCount_whenCountIsNone() throws Exception {
+        // given
+        languageRepository.saveAll(List.of(
+                new Language("test1", ResourceState.APPROVED),
+                new Language("test2", ResourceState.APPROVED),
+                new Language("test3", ResourceState.APPROVED)
+        ));
+
+        // when
+        MvcResult firstResult = mvc
+                .perform(get(ENDPOINT_LANGUAGE).param("page_size", "2").param("count", "none"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult lastResult = mvc
+                .perform(get(ENDPOINT_LANGUAGE).param("page", "2").param("page_size", "2").param("count", "none"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        PagingResponse<LanguageResponseDTO> first = objectMapper.readValue(
+                firstResult.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        PagingResponse<LanguageResponseDTO> last = objectMapper.readValue(
+                lastResult.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        assertThat(first.getItems().size()).isEqualTo(2);
+        assertThat(first.getNextPage()).isEqualTo(2);
+        assertThat(first.getTotalItems()).isEqualTo(0L);
+        assertThat(last.getItems().size()).isEqualTo(1);
+        assertThat(last.getNextPage()).isNull();
+        assertThat(last.getPrevPage()).isEqualTo(1);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguages_reusesCount_whenCountIsEstimated() throws Exception {
+        // given
+        languageRepository.saveAll(List.of(
+                new Language("test1", ResourceState.APPROVED),
+                new Language("test2", ResourceState.APPROVED),
+                new Language("test3", ResourceState.APPROVED)
+        ));
+        mvc.perform(get(ENDPOINT_LANGUAGE).param("page_size", "1").param("count", "estimated"))
+                .andExpect(status().isOk());
+        languageRepository.save(new Language("test4", ResourceState.APPROVED));
+
+        // when
+        MvcResult estimatedResult = mvc
+                .perform(get(ENDPOINT_LANGUAGE).param("page_size", "1").param("count", "estimated"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+        MvcResult exactResult = mvc
+                .perform(get(ENDPOINT_LANGUAGE).param("page_size", "1").param("count", "exact"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        PagingResponse<LanguageResponseDTO> estimated = objectMapper.readValue(
+                estimatedResult.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        PagingResponse<LanguageResponseDTO> exact = objectMapper.readValue(
+                exactResult.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        assertThat(estimated.getTotalItems()).isEqualTo(3L);
+        assertThat(exact.getTotalItems()).isEqualTo(4L);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguages_returnsBadRequest_whenCountIsNotValid() throws Exception {
+        // when
+        // then
+        mvc.perform(get(ENDPOINT_LANGUAGE).param("count", "approximate"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithAnonymousUser
     void getLanguageById_canGetLanguageById() throws Exception {
@@ -154,6 +300,177 @@ class LanguageControllerIntegrationTest {
         assertThat(actual.getId()).isEqualTo(existingLanguage.getId());
     }
 
+    @Test
+    @WithAnonymousUser
+    void getLanguageById_returnsNotModified_whenETagMatches() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language("test", ResourceState.APPROVED));
+        String eTag = mvc.perform(get(ENDPOINT_LANGUAGE + "/" + existingLanguage.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_LANGUAGE + "/" + existingLanguage.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        // then
+        assertThat(eTag).isNotNull();
+        assertThat(result.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void getLanguageById_returnsLanguage_whenItIsUpdatedAfterETag() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(
+                Permission.CAN_UPDATE_OWN_LANGUAGE, Permission.CAN_VIEW_LANGUAGES_BY_STATE
+        )));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Image existingImage = imageRepository.save(new Image());
+        LanguageResponseDTO existingLanguage = languageService.addLanguage(new LanguageRequestDTO("test", "test", existingImage.getId()));
+        String eTag = mvc.perform(get(ENDPOINT_LANGUAGE + "/" + existingLanguage.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(put(ENDPOINT_LANGUAGE + "/" + existingLanguage.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LanguageRequestDTO("test-update", "test", existingImage.getId())))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        )))
+                .andExpect(status().isOk());
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_LANGUAGE + "/" + existingLanguage.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        LanguageResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), LanguageResponseDTO.class);
+        assertThat(actual.getName()).isEqualTo("test-update");
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguages_returnsNotModified_untilLanguagesAreChanged() throws Exception {
+        // given
+        languageRepository.save(new Language("test1", ResourceState.APPROVED));
+        String eTag = mvc.perform(get(ENDPOINT_LANGUAGE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        mvc.perform(get(ENDPOINT_LANGUAGE).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        languageRepository.save(new Language("test2", ResourceState.APPROVED));
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_LANGUAGE).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        assertThat(eTag).startsWith("W/");
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguageById_canGetLanguageWithApprovedFrameworks_whenFrameworksAreIncluded() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language("test", ResourceState.APPROVED));
+        Language otherLanguage = languageRepository.save(new Language("other", ResourceState.APPROVED));
+        List<Framework> approvedFrameworks = frameworkRepository.saveAll(List.of(
+                new Framework("test1", ResourceState.APPROVED, existingLanguage),
+                new Framework("test2", ResourceState.APPROVED, existingLanguage)
+        ));
+        frameworkRepository.saveAll(List.of(
+                new Framework("test3", ResourceState.WAITING, existingLanguage),
+                new Framework("test4", ResourceState.APPROVED, otherLanguage)
+        ));
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_LANGUAGE + "/" + existingLanguage.getId()).param("include", "frameworks"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        LanguageResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), LanguageResponseDTO.class);
+        assertThat(actual.getId()).isEqualTo(existingLanguage.getId());
+        assertThat(actual.getFrameworks().stream().map(FrameworkResponseDTO::getId).toList())
+                .isEqualTo(approvedFrameworks.stream().map(Framework::getId).toList());
+        assertThat(actual.getFrameworks().get(0).getLanguage()).isNull();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguageById_doesNotReturnFrameworks_whenFrameworksAreNotIncluded() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language("test", ResourceState.APPROVED));
+        frameworkRepository.save(new Framework("test", ResourceState.APPROVED, existingLanguage));
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_LANGUAGE + "/" + existingLanguage.getId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("\"frameworks\"");
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguageById_returnsBadRequest_whenIncludeIsNotValid() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language("test", ResourceState.APPROVED));
+
+        // when
+        // then
+        mvc.perform(get(ENDPOINT_LANGUAGE + "/" + existingLanguage.getId()).param("include", "reviews"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguages_canGetLanguagesWithApprovedFrameworks_whenFrameworksAreIncluded() throws Exception {
+        // given
+        List<Language> approvedLanguages = languageRepository.saveAll(List.of(
+                new Language("test1", ResourceState.APPROVED),
+                new Language("test2", ResourceState.APPROVED)
+        ));
+        frameworkRepository.saveAll(List.of(
+                new Framework("test1", ResourceState.APPROVED, approvedLanguages.get(0)),
+                new Framework("test2", ResourceState.APPROVED, approvedLanguages.get(0)),
+                new Framework("test3", ResourceState.WAITING, approvedLanguages.get(1))
+        ));
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_LANGUAGE).param("include", "frameworks").param("sort_by", "id"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        PagingResponse<LanguageResponseDTO> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        assertThat(actual.getItems().size()).isEqualTo(2);
+        assertThat(actual.getItems().get(0).getFrameworks().size()).isEqualTo(2);
+        assertThat(actual.getItems().get(1).getFrameworks().isEmpty()).isTrue();
+    }
+
     @Test
     @WithMockUser(username = "user@mail.com")
     void addLanguage_canAddLanguage() throws Exception {
@@ -259,4 +576,91 @@ class LanguageControllerIntegrationTest {
         assertThat(actual.getId()).isEqualTo(existingLanguage.getId());
         assertThat(actual.getState()).isEqualTo(stateDto.getState());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void setLanguageStates_canSetStatesOfLanguagesById() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(Collections.singletonList(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Language waitingLanguage = languageRepository.save(new Language("test1", ResourceState.WAITING));
+        Language approvedLanguage = languageRepository.save(new Language("test2", ResourceState.APPROVED));
+        long notExistingId = approvedLanguage.getId() + 100;
+        SetResourceStatesRequestDTO statesDto = new SetResourceStatesRequestDTO(
+                List.of(waitingLanguage.getId(), approvedLanguage.getId(), notExistingId), null, ResourceState.APPROVED
+        );
+
+        // when
+        MvcResult result = mvc
+                .perform(patch(ENDPOINT_LANGUAGE + "/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statesDto))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        )))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        SetResourceStatesResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), SetResourceStatesResponseDTO.class);
+        assertThat(actual.getUpdatedCount()).isEqualTo(1);
+        assertThat(actual.getResults().stream().map(ResourceStateResult::getStatus).toList())
+                .isEqualTo(List.of(Status.UPDATED, Status.UNCHANGED, Status.NOT_FOUND));
+        Language updatedLanguage = languageRepository.findById(waitingLanguage.getId()).orElseThrow();
+        assertThat(updatedLanguage.getState()).isEqualTo(ResourceState.APPROVED);
+        assertThat(updatedLanguage.getVersion()).isEqualTo(waitingLanguage.getVersion() + 1);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void setLanguageStates_canSetStatesOfLanguagesByFilterState() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(Collections.singletonList(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        languageRepository.saveAll(List.of(
+                new Language("test1", ResourceState.WAITING),
+                new Language("test2", ResourceState.WAITING),
+                new Language("test3", ResourceState.DECLINED)
+        ));
+        SetResourceStatesRequestDTO statesDto = new SetResourceStatesRequestDTO(null, ResourceState.WAITING, ResourceState.APPROVED);
+
+        // when
+        MvcResult result = mvc
+                .perform(patch(ENDPOINT_LANGUAGE + "/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statesDto))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        )))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        SetResourceStatesResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), SetResourceStatesResponseDTO.class);
+        assertThat(actual.getUpdatedCount()).isEqualTo(2);
+        assertThat(languageRepository.findAll().stream().filter(language -> language.getState() == ResourceState.APPROVED).count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void setLanguageStates_returnsBadRequest_whenIdsAndFilterStateAreGiven() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(Collections.singletonList(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        SetResourceStatesRequestDTO statesDto = new SetResourceStatesRequestDTO(List.of(1L), ResourceState.WAITING, ResourceState.APPROVED);
+
+        // when
+        // then
+        mvc.perform(patch(ENDPOINT_LANGUAGE + "/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(statesDto))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        )))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,12 +1,17 @@
 package kh.farrukh.progee_api.language;
 
+import kh.farrukh.progee_api.framework.Framework;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.review.Review;
+import kh.farrukh.progee_api.review.ReviewValue;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -18,6 +23,9 @@ class LanguageRepositoryTest {
     @Autowired
     private LanguageRepository underTest;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     @AfterEach
     void tearDown() {
         underTest.deleteAll();
@@ -162,4 +170,86 @@ class LanguageRepositoryTest {
         // then
         assertThat(pagedData.getContent().size()).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    void applyReviewChange_updatesAggregatesOfLanguage() {
+        // given
+        Language language = underTest.saveAndFlush(new Language("Java", ResourceState.APPROVED));
+        underTest.applyReviewChange(language.getId(), null, ReviewValue.LIKE);
+        underTest.applyReviewChange(language.getId(), null, ReviewValue.DISLIKE);
+
+        // when
+        underTest.applyReviewChange(language.getId(), ReviewValue.DISLIKE, ReviewValue.WANT_TO_LEARN);
+
+        // then
+        entityManager.clear();
+        Language actual = entityManager.find(Language.class, language.getId());
+        assertThat(actual.getReviewCount()).isEqualTo(2);
+        assertThat(actual.getLikeCount()).isEqualTo(1);
+        assertThat(actual.getReviewScoreSum()).isEqualTo(3);
+        assertThat(actual.getAvgReviewScore()).isEqualTo(1.5);
+    }
+
+    @Test
+    void applyReviewChange_resetsAverageScore_whenLastReviewIsDeleted() {
+        // given
+        Language language = underTest.saveAndFlush(new Language("Java", ResourceState.APPROVED));
+        underTest.applyReviewChange(language.getId(), null, ReviewValue.LIKE);
+
+        // when
+        underTest.applyReviewChange(language.getId(), ReviewValue.LIKE, null);
+
+        // then
+        entityManager.clear();
+        Language actual = entityManager.find(Language.class, language.getId());
+        assertThat(actual.getReviewCount()).isZero();
+        assertThat(actual.getLikeCount()).isZero();
+        assertThat(actual.getAvgReviewScore()).isZero();
+    }
+
+    @Test
+    void recountAggregates_computesAggregatesFromReviewsAndApprovedFrameworks() {
+        // given
+        Language language = underTest.save(new Language("Java", ResourceState.APPROVED));
+        Language otherLanguage = underTest.save(new Language("Kotlin", ResourceState.APPROVED));
+        entityManager.persist(new Review("", ReviewValue.LIKE, language));
+        entityManager.persist(new Review("", ReviewValue.LIKE, language));
+        entityManager.persist(new Review("", ReviewValue.DISLIKE, language));
+        entityManager.persist(new Framework("Spring", ResourceState.APPROVED, language));
+        entityManager.persist(new Framework("Quarkus", ResourceState.WAITING, language));
+        entityManager.flush();
+
+        // when
+        int actual = underTest.recountAggregates();
+
+        // then
+        entityManager.clear();
+        Language recountedLanguage = entityManager.find(Language.class, language.getId());
+        Language recountedOtherLanguage = entityManager.find(Language.class, otherLanguage.getId());
+        assertThat(actual).isEqualTo(2);
+        assertThat(recountedLanguage.getReviewCount()).isEqualTo(3);
+        assertThat(recountedLanguage.getLikeCount()).isEqualTo(2);
+        assertThat(recountedLanguage.getAvgReviewScore()).isEqualTo(1.0);
+        assertThat(recountedLanguage.getFrameworkCount()).isEqualTo(1);
+        assertThat(recountedOtherLanguage.getReviewCount()).isZero();
+        assertThat(recountedOtherLanguage.getFrameworkCount()).isZero();
+    }
+
+    @Test
+    void findAll_sortsLanguagesByLikeCount() {
+        // given
+        Language leastLiked = underTest.save(new Language("Java", ResourceState.APPROVED));
+        Language mostLiked = underTest.saveAndFlush(new Language("Kotlin", ResourceState.APPROVED));
+        underTest.applyReviewChange(leastLiked.getId(), null, ReviewValue.LIKE);
+        underTest.applyReviewChange(mostLiked.getId(), null, ReviewValue.LIKE);
+        underTest.applyReviewChange(mostLiked.getId(), null, ReviewValue.LIKE);
+        entityManager.clear();
+
+        // when
+        List<Language> actual = underTest.findAll(Sort.by(Sort.Direction.DESC, "likeCount"));
+
+        // then
+        assertThat(actual.get(0).getId()).isEqualTo(mostLiked.getId());
+        assertThat(actual.get(1).getId()).isEqualTo(leastLiked.getId());
+    }
+}
@@ -2,15 +2,29 @@ package kh.farrukh.progee_api.language;
 
 import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.autocomplete.AutocompleteIndex;
+import kh.farrukh.progee_api.framework.Framework;
+import kh.farrukh.progee_api.framework.FrameworkRepository;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DuplicateResourceException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.NotEnoughPermissionException;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceLeasedException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
 import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.resource_state.ResourceStateUpdater;
 import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPage;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPaginator;
+import kh.farrukh.progee_api.global.utils.paging_sorting.OffsetPaginator;
 import kh.farrukh.progee_api.global.utils.paging_sorting.SortUtils;
 import kh.farrukh.progee_api.image.Image;
 import kh.farrukh.progee_api.image.ImageRepository;
 import kh.farrukh.progee_api.language.payloads.LanguageRequestDTO;
+import kh.farrukh.progee_api.language.payloads.LanguageResponseDTO;
 import kh.farrukh.progee_api.role.Permission;
 import kh.farrukh.progee_api.role.Role;
 import org.junit.jupiter.api.Test;
@@ -20,8 +34,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.test.context.annotation.SecurityTestExecutionListeners;
 import org.springframework.security.test.context.support.WithAnonymousUser;
@@ -30,7 +46,10 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -44,12 +63,33 @@ class LanguageServiceImplTest {
     @Mock
     private LanguageRepository languageRepository;
 
+    @Mock
+    private FrameworkRepository frameworkRepository;
+
     @Mock
     private ImageRepository imageRepository;
 
     @Mock
     private AppUserRepository appUserRepository;
 
+    @Mock
+    private CursorPaginator cursorPaginator;
+
+    @Mock
+    private OffsetPaginator offsetPaginator;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
+    @Mock
+    private ResourceStateUpdater resourceStateUpdater;
+
+    @Mock
+    private AutocompleteIndex autocompleteIndex;
+
     @InjectMocks
     private LanguageServiceImpl underTest;
 
@@ -61,7 +101,7 @@ class LanguageServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getLanguages(null, 1, 10, "id", "ASC");
+        underTest.getLanguages(null, 1, 10, "id", "ASC", CountMode.EXACT, false);
 
         // then
         verify(languageRepository).findAll(
@@ -74,12 +114,63 @@ class LanguageServiceImplTest {
         );
     }
 
+    @Test
+    @WithAnonymousUser
+    void getLanguages_doesNotCountLanguagesWithRepository_whenCountIsNotExact() {
+        // given
+        when(offsetPaginator.findAll(eq(Language.class), any(), any(), any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(), Pageable.ofSize(10), false));
+
+        // when
+        underTest.getLanguages(null, 1, 10, "id", "ASC", CountMode.NONE, false);
+
+        // then
+        verify(offsetPaginator).findAll(
+                Language.class,
+                new LanguageSpecification(ResourceState.APPROVED),
+                PageRequest.of(0, 10, Sort.by(SortUtils.parseDirection("ASC"), "id")),
+                CountMode.NONE,
+                null
+        );
+        verify(languageRepository, never()).findAll(any(LanguageSpecification.class), any(Pageable.class));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguagesByCursor_canGetApprovedLanguages_whenUnauthenticatedUser() {
+        // given
+        when(cursorPaginator.findAll(eq(Language.class), any(), any(), any(), anyInt(), any()))
+                .thenReturn(new CursorPage<>(List.of(), null));
+
+        // when
+        underTest.getLanguagesByCursor(null, 10, "createdAt", "DESC", null, false);
+
+        // then
+        verify(cursorPaginator).findAll(
+                Language.class,
+                new LanguageSpecification(ResourceState.APPROVED),
+                Sort.Order.desc("createdAt"),
+                null,
+                10,
+                null
+        );
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguagesByCursor_throwsException_whenUnauthenticatedUserTriesToFilterLanguagesByState() {
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.getLanguagesByCursor(ResourceState.WAITING, 10, "id", "ASC", null, false))
+                .isInstanceOf(NotEnoughPermissionException.class);
+    }
+
     @Test
     @WithAnonymousUser
     void getLanguages_throwsException_whenUnauthenticatedUserTriesToFilterLanguagesByState() {
         // when
         // then
-        assertThatThrownBy(() -> underTest.getLanguages(ResourceState.WAITING, 1, 10, "id", "ASC"))
+        assertThatThrownBy(() -> underTest.getLanguages(ResourceState.WAITING, 1, 10, "id", "ASC", CountMode.EXACT, false))
                 .isInstanceOf(NotEnoughPermissionException.class);
         verify(languageRepository, never()).findByState(any(), any());
     }
@@ -92,7 +183,7 @@ class LanguageServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getLanguages(null, 1, 10, "id", "ASC");
+        underTest.getLanguages(null, 1, 10, "id", "ASC", CountMode.EXACT, false);
 
         // then
         verify(languageRepository).findAll(
@@ -110,7 +201,7 @@ class LanguageServiceImplTest {
     void getLanguages_throwsException_whenUserWithoutRequiredPermissionFiltersLanguagesByState() {
         // when
         // then
-        assertThatThrownBy(() -> underTest.getLanguages(ResourceState.WAITING, 1, 10, "id", "ASC"))
+        assertThatThrownBy(() -> underTest.getLanguages(ResourceState.WAITING, 1, 10, "id", "ASC", CountMode.EXACT, false))
                 .isInstanceOf(NotEnoughPermissionException.class);
         verify(languageRepository, never()).findByState(any(), any());
     }
@@ -125,7 +216,7 @@ class LanguageServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getLanguages(ResourceState.WAITING, 1, 10, "id", "ASC");
+        underTest.getLanguages(ResourceState.WAITING, 1, 10, "id", "ASC", CountMode.EXACT, false);
 
         // then
         verify(languageRepository).findAll(
@@ -148,7 +239,7 @@ class LanguageServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getLanguages(null, 1, 10, "id", "ASC");
+        underTest.getLanguages(null, 1, 10, "id", "ASC", CountMode.EXACT, false);
 
         // then
         verify(languageRepository).findAll(
@@ -165,6 +256,7 @@ class LanguageServiceImplTest {
     @WithAnonymousUser
     void getLanguageById_canGetLanguageById_whenStateIsApproved() {
         // given
+        givenCatalogCacheMiss();
         long id = 1;
         when(languageRepository.findById(id))
                 .thenReturn(Optional.of(new Language("test", ResourceState.APPROVED)));
@@ -180,6 +272,7 @@ class LanguageServiceImplTest {
     @WithMockUser
     void getLanguageById_throwsException_whenUserWithoutRequiredPermissionTriesToGetsNonApprovedLanguageById() {
         // given
+        givenCatalogCacheMiss();
         long id = 1;
         Role role = new Role(Collections.emptyList());
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser("test@mail.com", role)));
@@ -195,6 +288,7 @@ class LanguageServiceImplTest {
     @WithAnonymousUser
     void getLanguageById_throwsException_whenLanguageDoesNotExistWithId() {
         // given
+        givenCatalogCacheMiss();
         long id = 1;
 
         // when
@@ -206,12 +300,84 @@ class LanguageServiceImplTest {
                 .hasMessageContaining(String.valueOf(id));
     }
 
+    @Test
+    @WithAnonymousUser
+    void getLanguages_loadsFrameworksOfPageWithOneQuery_whenFrameworksAreIncluded() {
+        // given
+        Language first = new Language(1);
+        Language second = new Language(2);
+        when(languageRepository.findAll(any(LanguageSpecification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(first, second), Pageable.ofSize(10), 2));
+        when(frameworkRepository.findAllByLanguageIdInAndState(List.of(1L, 2L), ResourceState.APPROVED, Sort.by("id")))
+                .thenReturn(List.of(
+                        new Framework("first", ResourceState.APPROVED, first),
+                        new Framework("second", ResourceState.APPROVED, first)
+                ));
+
+        // when
+        List<LanguageResponseDTO> actual = underTest.getLanguages(null, 1, 10, "id", "ASC", CountMode.EXACT, true).getItems();
+
+        // then
+        verify(frameworkRepository).findAllByLanguageIdInAndState(any(), any(), any());
+        assertThat(actual.get(0).getFrameworks().size()).isEqualTo(2);
+        assertThat(actual.get(0).getFrameworks().get(0).getLanguage()).isNull();
+        assertThat(actual.get(1).getFrameworks().isEmpty()).isTrue();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguages_doesNotLoadFrameworks_whenFrameworksAreNotIncluded() {
+        // given
+        when(languageRepository.findAll(any(LanguageSpecification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new Language(1)), Pageable.ofSize(10), 1));
+
+        // when
+        List<LanguageResponseDTO> actual = underTest.getLanguages(null, 1, 10, "id", "ASC", CountMode.EXACT, false).getItems();
+
+        // then
+        verifyNoInteractions(frameworkRepository);
+        assertThat(actual.get(0).getFrameworks()).isNull();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguageWithFrameworksById_canGetLanguageWithFrameworks_whenStateIsApproved() {
+        // given
+        long id = 1;
+        Language language = new Language("test", ResourceState.APPROVED);
+        language.setId(id);
+        when(languageRepository.findById(id)).thenReturn(Optional.of(language));
+        when(frameworkRepository.findAllByLanguageIdInAndState(List.of(id), ResourceState.APPROVED, Sort.by("id")))
+                .thenReturn(List.of(new Framework("test", ResourceState.APPROVED, language)));
+
+        // when
+        LanguageResponseDTO actual = underTest.getLanguageWithFrameworksById(id);
+
+        // then
+        verifyNoInteractions(catalogCache);
+        assertThat(actual.getFrameworks().size()).isEqualTo(1);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getLanguageWithFrameworksById_throwsException_whenLanguageDoesNotExistWithId() {
+        // given
+        long id = 1;
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.getLanguageWithFrameworksById(id))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verifyNoInteractions(frameworkRepository);
+    }
+
     @Test
     @WithMockUser
     void addLanguage_createsLanguageWithWaitingState_whenUserWithOnlyCreatePermission() {
         // given
         Role role = new Role(Collections.singletonList(Permission.CAN_CREATE_LANGUAGE));
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser("test@mail.com", role)));
+        when(appUserRepository.existsById(anyLong())).thenReturn(true);
         LanguageRequestDTO languageRequestDTO = new LanguageRequestDTO("test", "test", 1);
         when(imageRepository.findById(languageRequestDTO.getImageId()))
                 .thenReturn(Optional.of(new Image(languageRequestDTO.getImageId())));
@@ -236,6 +402,7 @@ class LanguageServiceImplTest {
         // given
         Role role = new Role(List.of(Permission.CAN_CREATE_LANGUAGE, Permission.CAN_SET_LANGUAGE_STATE));
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser("test@mail.com", role)));
+        when(appUserRepository.existsById(anyLong())).thenReturn(true);
         LanguageRequestDTO languageRequestDTO = new LanguageRequestDTO("test", "test", 1);
         when(imageRepository.findById(languageRequestDTO.getImageId()))
                 .thenReturn(Optional.of(new Image(languageRequestDTO.getImageId())));
@@ -524,6 +691,8 @@ class LanguageServiceImplTest {
         long id = 1;
         SetResourceStateRequestDTO stateDTO = new SetResourceStateRequestDTO(ResourceState.APPROVED);
         when(languageRepository.findById(id)).thenReturn(Optional.of(new Language()));
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser(1)));
+        when(resourceStateUpdater.releaseLease(anyString(), eq(id), eq(1L))).thenReturn(true);
 
         // when
         underTest.setLanguageState(id, stateDTO);
@@ -536,6 +705,24 @@ class LanguageServiceImplTest {
         assertThat(actual.getState()).isEqualTo(stateDTO.getState());
     }
 
+    @Test
+    @WithMockUser
+    void setLanguageState_throwsException_whenLanguageIsClaimedByAnotherModerator() {
+        // given
+        long id = 1;
+        SetResourceStateRequestDTO stateDTO = new SetResourceStateRequestDTO(ResourceState.APPROVED);
+        when(languageRepository.findById(id)).thenReturn(Optional.of(new Language()));
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser(1)));
+        when(resourceStateUpdater.releaseLease(anyString(), eq(id), eq(1L))).thenReturn(false);
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.setLanguageState(id, stateDTO))
+                .isInstanceOf(ResourceLeasedException.class)
+                .hasMessageContaining("Language");
+        verify(languageRepository, never()).save(any());
+    }
+
     @Test
     @WithMockUser
     void setLanguageState_throwsException_whenLanguageToSetStateDoesNotExistWithId() {
@@ -552,4 +739,50 @@ class LanguageServiceImplTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining(String.valueOf(id));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void setLanguageStates_invalidatesCaches_whenLaterChunkFails() {
+        // given
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser(1)));
+        SetResourceStatesRequestDTO statesDTO = new SetResourceStatesRequestDTO(List.of(1L, 2L), null, ResourceState.APPROVED);
+        when(resourceStateUpdater.setStates(any(), any(), eq(1L), any())).thenAnswer(invocation -> {
+            // The first chunk is committed, the next one fails
+            invocation.<Consumer<Map<Long, ResourceState>>>getArgument(3).accept(Map.of(1L, ResourceState.WAITING));
+            throw new IllegalStateException("Database is not available");
+        });
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.setLanguageStates(statesDTO)).isInstanceOf(IllegalStateException.class);
+        verify(catalogCache).invalidateAll();
+        verify(autocompleteIndex).rebuildAfterCommit();
+    }
+
+    @Test
+    @WithMockUser
+    void setLanguageStates_doesNotInvalidateCaches_whenNothingIsChanged() {
+        // given
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser(1)));
+        SetResourceStatesRequestDTO statesDTO = new SetResourceStatesRequestDTO(List.of(1L), null, ResourceState.APPROVED);
+        when(resourceStateUpdater.setStates(any(), any(), eq(1L), any()))
+                .thenReturn(new SetResourceStatesResponseDTO(ResourceState.APPROVED, 0, List.of()));
+
+        // when
+        underTest.setLanguageStates(statesDTO);
+
+        // then
+        verify(catalogCache, never()).invalidateAll();
+        verify(autocompleteIndex, never()).rebuildAfterCommit();
+    }
+
+    /**
+     * This function makes the mocked catalog cache load the language with the loader of the service.
+     */
+    private void givenCatalogCacheMiss() {
+        when(catalogCache.getLanguage(anyLong(), any())).thenAnswer(invocation ->
+                invocation.<LongFunction<CatalogCache.Entry<?>>>getArgument(1)
+                        .apply(invocation.<Long>getArgument(0))
+                        .getBody());
+    }
+}
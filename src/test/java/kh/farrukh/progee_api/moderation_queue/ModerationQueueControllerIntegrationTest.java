@@ -0,0 +1,319 @@
+package kh.farrukh.progee_api.moderation_queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.framework.FrameworkRepository;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStateRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesRequestDTO;
+import kh.farrukh.progee_api.global.resource_state.SetResourceStatesResponseDTO;
+import kh.farrukh.progee_api.global.security.jwt.TokenProvider;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.moderation_queue.payloads.ModerationLeaseRequestDTO;
+import kh.farrukh.progee_api.moderation_queue.payloads.ModerationLeaseResponseDTO;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import kh.farrukh.progee_api.role.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static kh.farrukh.progee_api.language.LanguageConstants.ENDPOINT_LANGUAGE;
+import static kh.farrukh.progee_api.moderation_queue.ModerationQueueConstants.ENDPOINT_MODERATION_QUEUE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ModerationQueueControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Autowired
+    private FrameworkRepository frameworkRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        frameworkRepository.deleteAll();
+        languageRepository.deleteAll();
+        appUserRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void claim_claimsEachWaitingLanguageOnce() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser moderator1 = appUserRepository.save(new AppUser("user1@mail.com", existingRole));
+        AppUser moderator2 = appUserRepository.save(new AppUser("user2@mail.com", existingRole));
+        List<Language> waitingLanguages = languageRepository.saveAll(List.of(
+                new Language("test1", ResourceState.WAITING),
+                new Language("test2", ResourceState.WAITING),
+                new Language("test3", ResourceState.WAITING)
+        ));
+        languageRepository.save(new Language("test4", ResourceState.APPROVED));
+
+        // when
+        ModerationLeaseResponseDTO lease1 = claim("languages", 2, moderator1);
+        ModerationLeaseResponseDTO lease2 = claim("languages", 10, moderator2);
+        ModerationLeaseResponseDTO lease3 = claim("languages", 10, moderator1);
+
+        // then
+        assertThat(lease1.getIds()).containsExactly(waitingLanguages.get(0).getId(), waitingLanguages.get(1).getId());
+        assertThat(lease1.getExpiresAt()).isAfter(ZonedDateTime.now());
+        assertThat(lease2.getIds()).containsExactly(waitingLanguages.get(2).getId());
+        assertThat(lease3.getIds()).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(username = "user2@mail.com")
+    void claim_claimsLanguagesWithExpiredLease() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser moderator1 = appUserRepository.save(new AppUser("user1@mail.com", existingRole));
+        AppUser moderator2 = appUserRepository.save(new AppUser("user2@mail.com", existingRole));
+        Language waitingLanguage = languageRepository.save(new Language("test1", ResourceState.WAITING));
+        claim("languages", 10, moderator1);
+        expireLeases();
+
+        // when
+        ModerationLeaseResponseDTO lease = claim("languages", 10, moderator2);
+
+        // then
+        assertThat(lease.getIds()).containsExactly(waitingLanguage.getId());
+        Language claimedLanguage = languageRepository.findById(waitingLanguage.getId()).orElseThrow();
+        assertThat(claimedLanguage.getClaimedById()).isEqualTo(moderator2.getId());
+        assertThat(claimedLanguage.getVersion()).isEqualTo(waitingLanguage.getVersion());
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void renew_renewsOnlyLanguagesThatAreStillLeasedByUser() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser moderator1 = appUserRepository.save(new AppUser("user1@mail.com", existingRole));
+        AppUser moderator2 = appUserRepository.save(new AppUser("user2@mail.com", existingRole));
+        Language language1 = languageRepository.save(new Language("test1", ResourceState.WAITING));
+        Language language2 = languageRepository.save(new Language("test2", ResourceState.WAITING));
+        claim("languages", 1, moderator1);
+        claim("languages", 1, moderator2);
+
+        // when
+        MvcResult result = mvc
+                .perform(post(ENDPOINT_MODERATION_QUEUE + "/languages/claims/renew")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ModerationLeaseRequestDTO(List.of(language1.getId(), language2.getId()))
+                        ))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(moderator1)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        ModerationLeaseResponseDTO lease = objectMapper.readValue(result.getResponse().getContentAsString(), ModerationLeaseResponseDTO.class);
+        assertThat(lease.getIds()).containsExactly(language1.getId());
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void release_returnsLanguagesToQueue() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser moderator1 = appUserRepository.save(new AppUser("user1@mail.com", existingRole));
+        AppUser moderator2 = appUserRepository.save(new AppUser("user2@mail.com", existingRole));
+        Language waitingLanguage = languageRepository.save(new Language("test1", ResourceState.WAITING));
+        claim("languages", 10, moderator1);
+
+        // when
+        MvcResult result = mvc
+                .perform(post(ENDPOINT_MODERATION_QUEUE + "/languages/claims/release")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ModerationLeaseRequestDTO(List.of(waitingLanguage.getId()))))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(moderator1)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        ModerationLeaseResponseDTO release = objectMapper.readValue(result.getResponse().getContentAsString(), ModerationLeaseResponseDTO.class);
+        assertThat(release.getIds()).containsExactly(waitingLanguage.getId());
+        assertThat(claim("languages", 10, moderator2).getIds()).containsExactly(waitingLanguage.getId());
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void claim_returnsForbidden_whenUserCanNotSetFrameworkState() throws Exception {
+        // given
+        AppUser moderator = saveModerator("user1@mail.com", Permission.CAN_SET_LANGUAGE_STATE);
+
+        // when
+        // then
+        mvc.perform(post(ENDPOINT_MODERATION_QUEUE + "/frameworks/claims")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(moderator)))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void claim_returnsBadRequest_whenSizeIsNotValid() throws Exception {
+        // given
+        AppUser moderator = saveModerator("user1@mail.com", Permission.CAN_SET_LANGUAGE_STATE);
+
+        // when
+        // then
+        mvc.perform(post(ENDPOINT_MODERATION_QUEUE + "/languages/claims")
+                        .param("size", "0")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(moderator)))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "user2@mail.com")
+    void setLanguageState_returnsConflict_whenLanguageIsClaimedByAnotherModerator() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser moderator1 = appUserRepository.save(new AppUser("user1@mail.com", existingRole));
+        AppUser moderator2 = appUserRepository.save(new AppUser("user2@mail.com", existingRole));
+        Language waitingLanguage = languageRepository.save(new Language("test1", ResourceState.WAITING));
+        claim("languages", 10, moderator1);
+
+        // when
+        // then
+        mvc.perform(patch(ENDPOINT_LANGUAGE + "/" + waitingLanguage.getId() + "/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SetResourceStateRequestDTO(ResourceState.APPROVED)))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(moderator2)))
+                .andDo(print())
+                .andExpect(status().isConflict());
+        assertThat(languageRepository.findById(waitingLanguage.getId()).orElseThrow().getState())
+                .isEqualTo(ResourceState.WAITING);
+    }
+
+    @Test
+    @WithMockUser(username = "user1@mail.com")
+    void setLanguageState_clearsLease_whenLanguageIsClaimedByUser() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser moderator1 = appUserRepository.save(new AppUser("user1@mail.com", existingRole));
+        Language waitingLanguage = languageRepository.save(new Language("test1", ResourceState.WAITING));
+        claim("languages", 10, moderator1);
+
+        // when
+        mvc.perform(patch(ENDPOINT_LANGUAGE + "/" + waitingLanguage.getId() + "/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SetResourceStateRequestDTO(ResourceState.APPROVED)))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(moderator1)))
+                .andDo(print())
+                .andExpect(status().isOk());
+
+        // then
+        Language approvedLanguage = languageRepository.findById(waitingLanguage.getId()).orElseThrow();
+        assertThat(approvedLanguage.getState()).isEqualTo(ResourceState.APPROVED);
+        assertThat(approvedLanguage.getClaimedById()).isNull();
+        assertThat(approvedLanguage.getClaimExpiresAt()).isNull();
+    }
+
+    @Test
+    @WithMockUser(username = "user2@mail.com")
+    void setLanguageStates_skipsLanguagesClaimedByAnotherModerator() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(Permission.CAN_SET_LANGUAGE_STATE)));
+        AppUser moderator1 = appUserRepository.save(new AppUser("user1@mail.com", existingRole));
+        AppUser moderator2 = appUserRepository.save(new AppUser("user2@mail.com", existingRole));
+        Language claimedLanguage = languageRepository.save(new Language("test1", ResourceState.WAITING));
+        claim("languages", 1, moderator1);
+        Language freeLanguage = languageRepository.save(new Language("test2", ResourceState.WAITING));
+
+        // when
+        MvcResult result = mvc
+                .perform(patch(ENDPOINT_LANGUAGE + "/state")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SetResourceStatesRequestDTO(
+                                List.of(claimedLanguage.getId(), freeLanguage.getId()), null, ResourceState.APPROVED
+                        )))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(moderator2)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        SetResourceStatesResponseDTO response = objectMapper.readValue(
+                result.getResponse().getContentAsString(), SetResourceStatesResponseDTO.class
+        );
+        assertThat(response.getUpdatedCount()).isEqualTo(1);
+        assertThat(response.getResults())
+                .extracting(SetResourceStatesResponseDTO.ResourceStateResult::getStatus)
+                .containsExactly(SetResourceStatesResponseDTO.Status.LEASED, SetResourceStatesResponseDTO.Status.UPDATED);
+        assertThat(languageRepository.findById(claimedLanguage.getId()).orElseThrow().getState())
+                .isEqualTo(ResourceState.WAITING);
+    }
+
+    private ModerationLeaseResponseDTO claim(String resource, int size, AppUser user) throws Exception {
+        MvcResult result = mvc
+                .perform(post(ENDPOINT_MODERATION_QUEUE + "/" + resource + "/claims")
+                        .param("size", String.valueOf(size))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + createAccessToken(user)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), ModerationLeaseResponseDTO.class);
+    }
+
+    private void expireLeases() {
+        jdbcTemplate.update(
+                "UPDATE language SET claim_expires_at = ?",
+                Timestamp.from(ZonedDateTime.now().minusSeconds(1).toInstant())
+        );
+    }
+
+    private AppUser saveModerator(String email, Permission permission) {
+        Role existingRole = roleRepository.save(new Role(List.of(permission)));
+        return appUserRepository.save(new AppUser(email, existingRole));
+    }
+
+    private String createAccessToken(AppUser user) {
+        return tokenProvider.createAccessToken(
+                user, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+        );
+    }
+}
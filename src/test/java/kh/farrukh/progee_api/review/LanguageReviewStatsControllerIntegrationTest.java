@@ -0,0 +1,134 @@
+package kh.farrukh.progee_api.review;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.review.payloads.LanguageReviewStatsResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewRequestDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import kh.farrukh.progee_api.role.RoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.ENDPOINT_LANGUAGE_REVIEW_STATS;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LanguageReviewStatsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private LanguageReviewStatsRepository languageReviewStatsRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @AfterEach
+    void tearDown() {
+        languageReviewStatsRepository.deleteAll();
+        reviewRepository.deleteAll();
+        languageRepository.deleteAll();
+        appUserRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void getLanguageReviewStats_returnsStatsAfterReviewsAreAddedUpdatedAndDeleted() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(List.of(
+                Permission.CAN_UPDATE_OWN_REVIEW,
+                Permission.CAN_DELETE_OWN_REVIEW
+        )));
+        appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Language existingLanguage = languageRepository.save(new Language());
+        List<ReviewResponseDTO> reviews = List.of(
+                reviewService.addReview(new ReviewRequestDTO("test body1", ReviewValue.LIKE, existingLanguage.getId())),
+                reviewService.addReview(new ReviewRequestDTO("test body2", ReviewValue.LIKE, existingLanguage.getId())),
+                reviewService.addReview(new ReviewRequestDTO("test body3", ReviewValue.DISLIKE, existingLanguage.getId())),
+                reviewService.addReview(new ReviewRequestDTO("test body4", ReviewValue.WANT_TO_LEARN, existingLanguage.getId()))
+        );
+        reviewService.updateReview(reviews.get(2).getId(), new ReviewRequestDTO("test body3", ReviewValue.DONT_HAVE_PRACTICE));
+        reviewService.deleteReview(reviews.get(3).getId());
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_LANGUAGE_REVIEW_STATS, existingLanguage.getId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        LanguageReviewStatsResponseDTO actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), LanguageReviewStatsResponseDTO.class
+        );
+        assertThat(actual.getLanguageId()).isEqualTo(existingLanguage.getId());
+        assertThat(actual.getTotalCount()).isEqualTo(3);
+        assertThat(actual.getAverageScore()).isEqualTo(4.0 / 3);
+        assertThat(actual.getValueCounts().get(ReviewValue.LIKE)).isEqualTo(2);
+        assertThat(actual.getValueCounts().get(ReviewValue.DONT_HAVE_PRACTICE)).isEqualTo(1);
+        assertThat(actual.getValueCounts().get(ReviewValue.DISLIKE)).isEqualTo(0);
+        assertThat(actual.getValueCounts().get(ReviewValue.WANT_TO_LEARN)).isEqualTo(0);
+    }
+
+    @Test
+    void getLanguageReviewStats_returnsZeroCounts_whenLanguageHasNoReviews() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language());
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_LANGUAGE_REVIEW_STATS, existingLanguage.getId()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        LanguageReviewStatsResponseDTO actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), LanguageReviewStatsResponseDTO.class
+        );
+        assertThat(actual.getTotalCount()).isEqualTo(0);
+        assertThat(actual.getAverageScore()).isNull();
+        assertThat(actual.getValueCounts().get(ReviewValue.LIKE)).isEqualTo(0);
+    }
+
+    @Test
+    void getLanguageReviewStats_returnsNotFound_whenLanguageDoesNotExist() throws Exception {
+        mvc.perform(get(ENDPOINT_LANGUAGE_REVIEW_STATS, 1000))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+}
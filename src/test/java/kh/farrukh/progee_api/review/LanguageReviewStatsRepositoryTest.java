@@ -0,0 +1,100 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class LanguageReviewStatsRepositoryTest {
+
+    @Autowired
+    private LanguageReviewStatsRepository underTest;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @AfterEach
+    void tearDown() {
+        underTest.deleteAll();
+        reviewRepository.deleteAll();
+        languageRepository.deleteAll();
+    }
+
+    @Test
+    void applyChange_createsStats_whenLanguageDoesNotHaveStats() {
+        // given
+        Language language = languageRepository.save(new Language("test"));
+
+        // when
+        underTest.applyChange(language.getId(), null, ReviewValue.LIKE);
+
+        // then
+        assertThat(underTest.findById(language.getId())).hasValueSatisfying(stats -> {
+            assertThat(stats.getLikeCount()).isEqualTo(1);
+            assertThat(stats.getTotalCount()).isEqualTo(1);
+            assertThat(stats.getScoreSum()).isEqualTo(ReviewValue.LIKE.getScore());
+        });
+    }
+
+    @Test
+    void applyChange_canAddChangeAndRemoveReviews() {
+        // given
+        Language language = languageRepository.save(new Language("test"));
+        underTest.applyChange(language.getId(), null, ReviewValue.LIKE);
+        underTest.applyChange(language.getId(), null, ReviewValue.DISLIKE);
+        underTest.applyChange(language.getId(), null, ReviewValue.WANT_TO_LEARN);
+
+        // when
+        underTest.applyChange(language.getId(), ReviewValue.DISLIKE, ReviewValue.LIKE);
+        underTest.applyChange(language.getId(), ReviewValue.WANT_TO_LEARN, null);
+
+        // then
+        assertThat(underTest.findById(language.getId())).hasValueSatisfying(stats -> {
+            assertThat(stats.getDislikeCount()).isZero();
+            assertThat(stats.getWantToLearnCount()).isZero();
+            assertThat(stats.getLikeCount()).isEqualTo(2);
+            assertThat(stats.getTotalCount()).isEqualTo(2);
+            assertThat(stats.getAverageScore()).isEqualTo(ReviewValue.LIKE.getScore());
+        });
+    }
+
+    @Test
+    void recountAll_replacesStatsWithCountsOfReviews() {
+        // given
+        Language language = languageRepository.save(new Language("test"));
+        Language languageWithoutReviews = languageRepository.save(new Language("test2"));
+        reviewRepository.saveAllAndFlush(List.of(
+                new Review(ReviewValue.LIKE, language),
+                new Review(ReviewValue.LIKE, language),
+                new Review(ReviewValue.DISLIKE, language),
+                new Review(ReviewValue.DONT_HAVE_PRACTICE, language)
+        ));
+        underTest.applyChange(language.getId(), null, ReviewValue.WANT_TO_LEARN);
+        underTest.applyChange(languageWithoutReviews.getId(), null, ReviewValue.LIKE);
+
+        // when
+        int actual = underTest.recountAll();
+
+        // then
+        assertThat(actual).isEqualTo(1);
+        assertThat(underTest.findById(languageWithoutReviews.getId())).isEmpty();
+        assertThat(underTest.findById(language.getId())).hasValueSatisfying(stats -> {
+            assertThat(stats.getDislikeCount()).isEqualTo(1);
+            assertThat(stats.getDontHavePracticeCount()).isEqualTo(1);
+            assertThat(stats.getWantToLearnCount()).isZero();
+            assertThat(stats.getLikeCount()).isEqualTo(2);
+            assertThat(stats.getTotalCount()).isEqualTo(4);
+            assertThat(stats.getAverageScore()).isEqualTo(0.75);
+        });
+    }
+}
@@ -12,6 +12,8 @@ import kh.farrukh.progee_api.language.LanguageRepository;
 import kh.farrukh.progee_api.review.payloads.ReviewRequestDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewVoteRequestDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoteResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoterResponseDTO;
 import kh.farrukh.progee_api.role.Permission;
 import kh.farrukh.progee_api.role.Role;
 import kh.farrukh.progee_api.role.RoleRepository;
@@ -29,9 +31,12 @@ import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import static kh.farrukh.progee_api.review.ReviewConstants.ENDPOINT_REVIEW;
@@ -56,6 +61,12 @@ class ReviewControllerIntegrationTest {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ReviewVoteRepository reviewVoteRepository;
+
+    @Autowired
+    private LanguageReviewStatsRepository languageReviewStatsRepository;
+
     @Autowired
     private AppUserRepository appUserRepository;
 
@@ -78,6 +89,7 @@ class ReviewControllerIntegrationTest {
 
     @AfterEach
     void tearDown() {
+        languageReviewStatsRepository.deleteAll();
         reviewRepository.deleteAll();
         languageRepository.deleteAll();
         appUserRepository.deleteAll();
@@ -113,6 +125,72 @@ class ReviewControllerIntegrationTest {
         assertThat(actual.getItems().stream().allMatch(review -> expectedIds.contains(review.getId()))).isTrue();
     }
 
+    @Test
+    @WithAnonymousUser
+    void getReviews_returnsNextPageWithoutCount_whenCountIsNone() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language());
+        List<Review> reviews = reviewRepository.saveAll(List.of(
+                new Review("test body1", ReviewValue.LIKE, existingLanguage),
+                new Review("test body2", ReviewValue.LIKE, existingLanguage),
+                new Review("test body3", ReviewValue.DISLIKE, existingLanguage)
+        ));
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_REVIEW)
+                        .param("page_size", "2")
+                        .param("sort_by", "id")
+                        .param("count", "none"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        PagingResponse<ReviewResponseDTO> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        assertThat(actual.getTotalItems()).isEqualTo(0);
+        assertThat(actual.getNextPage()).isEqualTo(2);
+        assertThat(actual.getItems().stream().map(ReviewResponseDTO::getId).toList())
+                .isEqualTo(reviews.subList(0, 2).stream().map(Review::getId).toList());
+        assertThat(actual.getItems().get(0).getLanguage().getId()).isEqualTo(existingLanguage.getId());
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviews_canSearchReviewsWithFilter() throws Exception {
+        // given
+        List<Language> languages = languageRepository.saveAll(List.of(new Language(), new Language()));
+        List<Review> reviews = reviewRepository.saveAll(List.of(
+                new Review("Fast and SAFE language", ReviewValue.LIKE, languages.get(0)),
+                new Review("Safe, but slow to compile", ReviewValue.DISLIKE, languages.get(0)),
+                new Review("Fast to write, not safe", ReviewValue.LIKE, languages.get(0)),
+                new Review("Fast and safe language", ReviewValue.LIKE, languages.get(1)),
+                new Review("Nothing to say about it", ReviewValue.LIKE, languages.get(0))
+        ));
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_REVIEW)
+                        .param("q", "safe fast")
+                        .param("language_id", String.valueOf(languages.get(0).getId()))
+                        .param("value", ReviewValue.LIKE.name()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        PagingResponse<ReviewResponseDTO> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        assertThat(actual.getTotalItems()).isEqualTo(2);
+        assertThat(actual.getItems().stream().map(ReviewResponseDTO::getId).toList())
+                .isEqualTo(List.of(reviews.get(0).getId(), reviews.get(2).getId()));
+    }
+
     @Test
     @WithAnonymousUser
     void getReviews_canGetReviewsWithFilter() throws Exception {
@@ -145,6 +223,125 @@ class ReviewControllerIntegrationTest {
         assertThat(actual.getItems().stream().allMatch(review -> expectedIds.contains(review.getId()))).isTrue();
     }
 
+    @Test
+    @WithAnonymousUser
+    void getReviews_canGetReviewsSortedByScore() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language());
+        Review lowScoreReview = new Review("test body1", ReviewValue.LIKE, existingLanguage);
+        lowScoreReview.setScore(-1);
+        Review highScoreReview = new Review("test body2", ReviewValue.LIKE, existingLanguage);
+        highScoreReview.setScore(5);
+        Review middleScoreReview = new Review("test body3", ReviewValue.LIKE, existingLanguage);
+        middleScoreReview.setScore(2);
+        reviewRepository.saveAll(List.of(lowScoreReview, highScoreReview, middleScoreReview));
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_REVIEW)
+                        .param("sort_by", "score")
+                        .param("order_by", "desc"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        PagingResponse<ReviewResponseDTO> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        assertThat(actual.getItems().stream().map(ReviewResponseDTO::getScore).toList()).isEqualTo(List.of(5, 2, -1));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviews_canGetReviewsSortedByConfidence() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language());
+        Review oneUpVoteReview = new Review("test body1", ReviewValue.LIKE, existingLanguage);
+        oneUpVoteReview.setUpVoteCount(1);
+        Review manyUpVotesReview = new Review("test body2", ReviewValue.LIKE, existingLanguage);
+        manyUpVotesReview.setUpVoteCount(20);
+        manyUpVotesReview.setDownVoteCount(2);
+        Review mixedVotesReview = new Review("test body3", ReviewValue.LIKE, existingLanguage);
+        mixedVotesReview.setUpVoteCount(5);
+        mixedVotesReview.setDownVoteCount(5);
+        List<Review> reviews = reviewRepository.saveAll(List.of(oneUpVoteReview, manyUpVotesReview, mixedVotesReview));
+        reviewRepository.refreshRanks(reviews.stream().map(Review::getId).toList());
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_REVIEW)
+                        .param("sort_by", "confidence")
+                        .param("order_by", "desc"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        PagingResponse<ReviewResponseDTO> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        assertThat(actual.getItems().stream().map(ReviewResponseDTO::getId).toList()).isEqualTo(List.of(
+                manyUpVotesReview.getId(), mixedVotesReview.getId(), oneUpVoteReview.getId()
+        ));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviews_canGetAllReviewsByCursor() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language());
+        List<Integer> scores = List.of(3, -1, 3, 7, 0, 3);
+        List<Review> reviews = reviewRepository.saveAll(scores.stream().map(score -> {
+            Review review = new Review("test body", ReviewValue.LIKE, existingLanguage);
+            review.setScore(score);
+            return review;
+        }).toList());
+        // Reviews with the same score are ordered by id
+        List<Long> expectedIds = reviews.stream()
+                .sorted(Comparator.comparingInt(Review::getScore).thenComparingLong(Review::getId).reversed())
+                .map(Review::getId)
+                .toList();
+
+        // when
+        List<Long> actualIds = new ArrayList<>();
+        String nextCursor = null;
+        int requestCount = 0;
+        do {
+            MockHttpServletRequestBuilder request = get(ENDPOINT_REVIEW)
+                    .param("cursor", "true")
+                    .param("page_size", "4")
+                    .param("sort_by", "score")
+                    .param("order_by", "desc");
+            if (nextCursor != null) request.param("after", nextCursor);
+            MvcResult result = mvc.perform(request)
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andReturn();
+            PagingResponse<ReviewResponseDTO> page = objectMapper.readValue(
+                    result.getResponse().getContentAsString(), new TypeReference<>() {
+                    }
+            );
+            page.getItems().forEach(review -> actualIds.add(review.getId()));
+            nextCursor = page.getNextCursor();
+            requestCount++;
+        } while (nextCursor != null);
+
+        // then
+        assertThat(requestCount).isEqualTo(2);
+        assertThat(actualIds).isEqualTo(expectedIds);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviews_returnsBadRequest_whenCursorIsNotValid() throws Exception {
+        mvc.perform(get(ENDPOINT_REVIEW).param("after", "not-a-cursor"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithAnonymousUser
     void getReviewById_canGetReviewById() throws Exception {
@@ -244,6 +441,63 @@ class ReviewControllerIntegrationTest {
         assertThat(reviewRepository.findById(existingReview.getId())).isEmpty();
     }
 
+    @Test
+    @WithAnonymousUser
+    void getReviewById_canGetReviewWithMyVote_whenUserIsLoggedIn() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(Collections.singletonList(Permission.CAN_VOTE_REVIEW)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Language existingLanguage = languageRepository.save(new Language());
+        Review existingReview = reviewRepository.save(new Review("test body", ReviewValue.LIKE, existingLanguage));
+        reviewVoteRepository.save(new ReviewVote(existingReview, existingUser.getId(), ReviewConstants.VOTE_VALUE_DOWN));
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_REVIEW + "/" + existingReview.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        )))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        ReviewResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), ReviewResponseDTO.class);
+        assertThat(actual.getId()).isEqualTo(existingReview.getId());
+        assertThat(actual.getMyVote()).isFalse();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviewVoters_canGetVotersOfReview() throws Exception {
+        // given
+        Language existingLanguage = languageRepository.save(new Language());
+        Review existingReview = reviewRepository.save(new Review("test body", ReviewValue.LIKE, existingLanguage));
+        reviewVoteRepository.saveAll(List.of(
+                new ReviewVote(existingReview, 1, ReviewConstants.VOTE_VALUE_UP),
+                new ReviewVote(existingReview, 2, ReviewConstants.VOTE_VALUE_DOWN),
+                new ReviewVote(existingReview, 3, ReviewConstants.VOTE_VALUE_UP)
+        ));
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_REVIEW + "/" + existingReview.getId() + "/voters")
+                        .param("vote", "true"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        PagingResponse<ReviewVoterResponseDTO> actual = objectMapper.readValue(
+                result.getResponse().getContentAsString(), new TypeReference<>() {
+                }
+        );
+        assertThat(actual.getTotalItems()).isEqualTo(2);
+        assertThat(actual.getItems().get(0).getUserId()).isEqualTo(1);
+        assertThat(actual.getItems().get(1).getUserId()).isEqualTo(3);
+        assertThat(actual.getItems().stream().allMatch(ReviewVoterResponseDTO::isVote)).isTrue();
+    }
+
     @Test
     @WithMockUser(username = "user@mail.com")
     void voteReview_canVoteReview() throws Exception {
@@ -267,9 +521,43 @@ class ReviewControllerIntegrationTest {
                 .andReturn();
 
         // then
-        ReviewResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), ReviewResponseDTO.class);
-        assertThat(actual.getId()).isEqualTo(existingReview.getId());
-        assertThat(existingUser.getId()).isIn(actual.getUpVotes());
-        assertThat(existingUser.getId()).isNotIn(actual.getDownVotes());
+        ReviewVoteResponseDTO actual = objectMapper.readValue(result.getResponse().getContentAsString(), ReviewVoteResponseDTO.class);
+        assertThat(actual.getReviewId()).isEqualTo(existingReview.getId());
+        assertThat(actual.getUpVoteCount()).isEqualTo(1);
+        assertThat(actual.getScore()).isEqualTo(1);
+        assertThat(reviewVoteRepository.findById(new ReviewVoteId(existingReview.getId(), existingUser.getId())))
+                .hasValueSatisfying(vote -> assertThat(vote.getValue()).isEqualTo(ReviewConstants.VOTE_VALUE_UP));
+    }
+
+    @Test
+    @WithMockUser(username = "user@mail.com")
+    void getReviewById_returnsReview_whenItIsVotedAfterETag() throws Exception {
+        // given
+        Role existingRole = roleRepository.save(new Role(Collections.singletonList(Permission.CAN_VOTE_REVIEW)));
+        AppUser existingUser = appUserRepository.save(new AppUser("user@mail.com", existingRole));
+        Language existingLanguage = languageRepository.save(new Language());
+        Review existingReview = reviewRepository.save(new Review("", ReviewValue.LIKE, existingLanguage));
+        String eTag = mvc.perform(get(ENDPOINT_REVIEW + "/" + existingReview.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get(ENDPOINT_REVIEW + "/" + existingReview.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mvc.perform(post(ENDPOINT_REVIEW + "/" + existingReview.getId() + "/vote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ReviewVoteRequestDTO(true)))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.createAccessToken(
+                                existingUser, ZonedDateTime.now().plusSeconds(tokenProvider.getJwtConfiguration().getAccessTokenValidityInSeconds())
+                        )))
+                .andExpect(status().isOk());
+
+        // when
+        MvcResult result = mvc
+                .perform(get(ENDPOINT_REVIEW + "/" + existingReview.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
     }
-}
\ No newline at end of file
+}
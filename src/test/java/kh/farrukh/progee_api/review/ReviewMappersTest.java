@@ -6,6 +6,8 @@ import kh.farrukh.progee_api.language.Language;
 import kh.farrukh.progee_api.language.LanguageRepository;
 import kh.farrukh.progee_api.review.payloads.ReviewRequestDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoteResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoterResponseDTO;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -13,7 +15,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.ZonedDateTime;
 import java.util.Optional;
-import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -45,9 +46,8 @@ class ReviewMappersTest {
                 1,
                 "Test",
                 ReviewValue.LIKE,
-                Set.of(1L, 2L, 3L),
-                Set.of(4L),
-                2,
+                3,
+                1,
                 new Language(1),
                 new AppUser(1),
                 ZonedDateTime.now()
@@ -61,14 +61,30 @@ class ReviewMappersTest {
         assertThat(actual.getId()).isEqualTo(review.getId());
         assertThat(actual.getBody()).isEqualTo(review.getBody());
         assertThat(actual.getReviewValue()).isEqualTo(review.getReviewValue());
-        assertThat(actual.getUpVotes()).isEqualTo(review.getUpVotes());
-        assertThat(actual.getDownVotes()).isEqualTo(review.getDownVotes());
+        assertThat(actual.getUpVoteCount()).isEqualTo(review.getUpVoteCount());
+        assertThat(actual.getDownVoteCount()).isEqualTo(review.getDownVoteCount());
+        assertThat(actual.getMyVote()).isNull();
         assertThat(actual.getScore()).isEqualTo(review.getScore());
+        assertThat(actual.getScore()).isEqualTo(2);
         assertThat(actual.getLanguage().getId()).isEqualTo(review.getLanguage().getId());
         assertThat(actual.getAuthor().getId()).isEqualTo(review.getAuthor().getId());
         assertThat(actual.getCreatedAt()).isEqualTo(review.getCreatedAt());
     }
 
+    @Test
+    void toReviewResponseDTO_canMapWithMyVote_whenReviewIsValid() {
+        // given
+        Review review = new Review(1, "Test", ReviewValue.LIKE, 3, 1, new Language(1), new AppUser(1), ZonedDateTime.now());
+
+        // when
+        ReviewResponseDTO actual = ReviewMappers.toReviewResponseDTO(review, false);
+
+        // then
+        assertThat(actual).isNotNull();
+        assertThat(actual.getId()).isEqualTo(review.getId());
+        assertThat(actual.getMyVote()).isFalse();
+    }
+
     @Test
     void toReview_returnsNull_whenReviewRequestDTOIsNull() {
         // given
@@ -119,4 +135,59 @@ class ReviewMappersTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining(String.valueOf(reviewRequestDTO.getLanguageId()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void toReviewVoteResponseDTO_returnsNull_whenCountsAreNull() {
+        // given
+        ReviewVoteCounts counts = null;
+
+        // when
+        ReviewVoteResponseDTO actual = ReviewMappers.toReviewVoteResponseDTO(1, true, counts);
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void toReviewVoteResponseDTO_canMap_whenCountsAreValid() {
+        // given
+        ReviewVoteCounts counts = new ReviewVoteCounts(3, 1, 2);
+
+        // when
+        ReviewVoteResponseDTO actual = ReviewMappers.toReviewVoteResponseDTO(1, true, counts);
+
+        // then
+        assertThat(actual).isNotNull();
+        assertThat(actual.getReviewId()).isEqualTo(1);
+        assertThat(actual.isVote()).isTrue();
+        assertThat(actual.getUpVoteCount()).isEqualTo(counts.getUpVoteCount());
+        assertThat(actual.getDownVoteCount()).isEqualTo(counts.getDownVoteCount());
+        assertThat(actual.getScore()).isEqualTo(counts.getScore());
+    }
+
+    @Test
+    void toReviewVoterResponseDTO_returnsNull_whenReviewVoteIsNull() {
+        // given
+        ReviewVote reviewVote = null;
+
+        // when
+        ReviewVoterResponseDTO actual = ReviewMappers.toReviewVoterResponseDTO(reviewVote);
+
+        // then
+        assertThat(actual).isNull();
+    }
+
+    @Test
+    void toReviewVoterResponseDTO_canMap_whenReviewVoteIsValid() {
+        // given
+        ReviewVote reviewVote = new ReviewVote(new Review(new Language(1)), 5, ReviewConstants.VOTE_VALUE_DOWN);
+
+        // when
+        ReviewVoterResponseDTO actual = ReviewMappers.toReviewVoterResponseDTO(reviewVote);
+
+        // then
+        assertThat(actual).isNotNull();
+        assertThat(actual.getUserId()).isEqualTo(5);
+        assertThat(actual.isVote()).isFalse();
+    }
+}
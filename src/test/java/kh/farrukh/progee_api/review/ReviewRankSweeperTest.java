@@ -0,0 +1,72 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.TABLE_NAME_REVIEW;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewRankSweeperTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
+    private ReviewRankConfiguration configuration;
+
+    private ReviewRankSweeper underTest;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new ReviewRankConfiguration();
+        configuration.setSweepBatchSize(2);
+        underTest = new ReviewRankSweeper(reviewRepository, configuration, changeTracker);
+    }
+
+    @Test
+    void sweep_refreshesBatchesUntilLastBatchIsNotFull() {
+        // given
+        when(reviewRepository.refreshStaleRanks(eq(2), any(Instant.class))).thenReturn(2, 2, 1);
+
+        // when
+        underTest.sweep();
+
+        // then
+        verify(reviewRepository, times(3)).refreshStaleRanks(eq(2), any(Instant.class));
+        verify(changeTracker).markChanged(TABLE_NAME_REVIEW);
+    }
+
+    @Test
+    void sweep_doesNotMarkReviewsChanged_whenNothingIsRefreshed() {
+        // given
+        when(reviewRepository.refreshStaleRanks(eq(2), any(Instant.class))).thenReturn(0);
+
+        // when
+        underTest.sweep();
+
+        // then
+        verifyNoInteractions(changeTracker);
+    }
+
+    @Test
+    void sweep_doesNothing_whenSweepIsDisabled() {
+        // given
+        configuration.setSweepEnabled(false);
+
+        // when
+        underTest.sweep();
+
+        // then
+        verifyNoInteractions(reviewRepository, changeTracker);
+    }
+}
@@ -0,0 +1,66 @@
+package kh.farrukh.progee_api.review;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReviewRanksTest {
+
+    private final ZonedDateTime now = ZonedDateTime.now();
+
+    @Test
+    void hot_decreasesWithAgeOfReview() {
+        // given
+        int score = 10;
+
+        // when
+        double newReviewRank = ReviewRanks.hot(score, now.minusHours(1), now);
+        double oldReviewRank = ReviewRanks.hot(score, now.minusDays(3), now);
+
+        // then
+        assertThat(newReviewRank).isGreaterThan(oldReviewRank);
+    }
+
+    @Test
+    void hot_ranksNewReviewAboveOldReviewWithHigherScore() {
+        // when
+        double newReviewRank = ReviewRanks.hot(5, now.minusHours(1), now);
+        double oldReviewRank = ReviewRanks.hot(50, now.minusDays(7), now);
+
+        // then
+        assertThat(newReviewRank).isGreaterThan(oldReviewRank);
+    }
+
+    @Test
+    void hot_returnsZero_whenScoreIsZero() {
+        assertThat(ReviewRanks.hot(0, now.minusDays(1), now)).isZero();
+    }
+
+    @Test
+    void hot_treatsReviewAsNew_whenCreationTimeIsUnknown() {
+        assertThat(ReviewRanks.hot(3, null, now)).isEqualTo(ReviewRanks.hot(3, now, now));
+    }
+
+    @Test
+    void confidence_returnsZero_whenReviewHasNoVotes() {
+        assertThat(ReviewRanks.confidence(0, 0)).isZero();
+    }
+
+    @Test
+    void confidence_ranksMoreCertainRatioHigher() {
+        // when
+        double manyVotesRank = ReviewRanks.confidence(10, 0);
+        double oneVoteRank = ReviewRanks.confidence(1, 0);
+
+        // then
+        assertThat(manyVotesRank).isGreaterThan(oneVoteRank);
+        assertThat(manyVotesRank).isLessThan(1);
+    }
+
+    @Test
+    void confidence_ranksHigherRatioHigher_whenVoteCountsAreEqual() {
+        assertThat(ReviewRanks.confidence(8, 2)).isGreaterThan(ReviewRanks.confidence(5, 5));
+    }
+}
@@ -1,17 +1,259 @@
 package kh.farrukh.progee_api.review;
 
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.image.Image;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
+import kh.farrukh.progee_api.role.Permission;
+import kh.farrukh.progee_api.role.Role;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
-@DataJpaTest
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.VOTE_VALUE_DOWN;
+import static kh.farrukh.progee_api.review.ReviewConstants.VOTE_VALUE_UP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class ReviewRepositoryTest {
 
     @Autowired
     private ReviewRepository underTest;
 
+    @Autowired
+    private ReviewVoteRepository reviewVoteRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
     @AfterEach
     void tearDown() {
         underTest.deleteAll();
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAll_loadsPageForResponseWithFixedNumberOfStatements() {
+        // given
+        List<Review> reviews = createReviews(8);
+        statistics.clear();
+
+        // when
+        List<ReviewResponseDTO> actual = underTest
+                .findAll(new ReviewSpecification(null, null), PageRequest.of(0, 5, Sort.by("id")))
+                .map(ReviewMappers::toReviewResponseDTO)
+                .getContent();
+
+        // then
+        // page and count (permissions are in the rows of the roles)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(actual).hasSize(5);
+        assertThat(actual.get(0).getId()).isEqualTo(reviews.get(0).getId());
+        assertThat(actual.get(0).getAuthor().getRole().getPermissions()).isNotEmpty();
+        assertThat(actual.get(0).getLanguage().getAuthor().getImage()).isNotNull();
+    }
+
+    @Test
+    void findAll_doesNotLoadMoreStatements_whenPageIsBigger() {
+        // given
+        createReviews(20);
+        statistics.clear();
+
+        // when
+        List<ReviewResponseDTO> actual = underTest
+                .findAll(new ReviewSpecification(null, null), PageRequest.of(0, 15, Sort.by("id")))
+                .map(ReviewMappers::toReviewResponseDTO)
+                .getContent();
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(actual).hasSize(15);
+    }
+
+    @Test
+    void findWithDetailsById_loadsReviewForResponseWithFixedNumberOfStatements() {
+        // given
+        List<Review> reviews = createReviews(1);
+        statistics.clear();
+
+        // when
+        ReviewResponseDTO actual = underTest.findWithDetailsById(reviews.get(0).getId())
+                .map(ReviewMappers::toReviewResponseDTO)
+                .orElseThrow();
+
+        // then
+        // review with its author, language and their roles
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(actual.getAuthor().getRole().getPermissions()).isNotEmpty();
+        assertThat(actual.getLanguage().getAuthor().getRole()).isNotNull();
+    }
+
+    @Test
+    void findById_loadsOnlyReview() {
+        // given
+        List<Review> reviews = createReviews(1);
+        statistics.clear();
+
+        // when
+        Review actual = underTest.findById(reviews.get(0).getId()).orElseThrow();
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(Hibernate.isInitialized(actual.getAuthor())).isFalse();
+        assertThat(Hibernate.isInitialized(actual.getLanguage())).isFalse();
+    }
+
+    @Test
+    void findVersionTagById_readsVersionTagWithOneStatement() {
+        // given
+        List<Review> reviews = createReviews(1);
+        statistics.clear();
+
+        // when
+        Optional<ReviewVersionTag> actual = underTest.findVersionTagById(reviews.get(0).getId());
+
+        // then
+        assertThat(actual).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findVersionTagById_changesVersionTag_whenAuthorOfLanguageIsChanged() {
+        // given
+        List<Review> reviews = createReviews(1);
+        String versionTag = underTest.findVersionTagById(reviews.get(0).getId()).orElseThrow().getValue();
+        AppUser languageAuthor = entityManager.find(Review.class, reviews.get(0).getId()).getLanguage().getAuthor();
+        languageAuthor.setImage(entityManager.persist(new Image("new image", "new url", 1F)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Optional<ReviewVersionTag> actual = underTest.findVersionTagById(reviews.get(0).getId());
+
+        // then
+        assertThat(actual).hasValueSatisfying(tag -> assertThat(tag.getValue()).isNotEqualTo(versionTag));
+    }
+
+    @Test
+    void findVersionTagById_returnsEmpty_whenReviewDoesNotExist() {
+        // when
+        Optional<ReviewVersionTag> actual = underTest.findVersionTagById(1000);
+
+        // then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void refreshRanks_computesRanksFromVoteCounters() {
+        // given
+        List<Review> reviews = createReviews(2);
+        reviewVoteRepository.vote(reviews.get(0).getId(), 100, VOTE_VALUE_UP);
+        reviewVoteRepository.vote(reviews.get(0).getId(), 101, VOTE_VALUE_UP);
+        reviewVoteRepository.vote(reviews.get(1).getId(), 100, VOTE_VALUE_DOWN);
+
+        // when
+        int actual = underTest.refreshRanks(reviews.stream().map(Review::getId).toList());
+
+        // then
+        entityManager.clear();
+        assertThat(actual).isEqualTo(2);
+        Review upVotedReview = entityManager.find(Review.class, reviews.get(0).getId());
+        Review downVotedReview = entityManager.find(Review.class, reviews.get(1).getId());
+        assertThat(upVotedReview.getConfidenceRank()).isEqualTo(ReviewRanks.confidence(2, 0));
+        assertThat(upVotedReview.getHotRank()).isPositive();
+        assertThat(upVotedReview.getRankedAt()).isNotNull();
+        assertThat(downVotedReview.getConfidenceRank()).isLessThan(upVotedReview.getConfidenceRank());
+        assertThat(downVotedReview.getHotRank()).isLessThan(upVotedReview.getHotRank());
+    }
+
+    @Test
+    void refreshStaleRanks_recomputesNeverRankedReviewsFirstInBoundedBatch() {
+        // given
+        List<Review> reviews = createReviews(3);
+        underTest.refreshRanks(List.of(reviews.get(0).getId()));
+
+        // when
+        int actual = underTest.refreshStaleRanks(2, Instant.now());
+
+        // then
+        entityManager.clear();
+        assertThat(actual).isEqualTo(2);
+        assertThat(reviews.stream().map(review -> entityManager.find(Review.class, review.getId()).getRankedAt()))
+                .doesNotContainNull();
+    }
+
+    @Test
+    void refreshStaleRanks_skipsReviewsRankedAfterGivenTime() {
+        // given
+        List<Review> reviews = createReviews(3);
+        Instant rankedBefore = Instant.now().minusSeconds(60);
+        underTest.refreshRanks(List.of(reviews.get(0).getId()));
+
+        // when
+        int actual = underTest.refreshStaleRanks(10, rankedBefore);
+
+        // then
+        assertThat(actual).isEqualTo(2);
+    }
+
+    /**
+     * This function creates reviews with different authors, languages, roles and images, votes on them, and
+     * clears the persistence context, so nothing is cached for the query under test.
+     *
+     * @param count The number of reviews to create.
+     * @return Created reviews ordered by id.
+     */
+    private List<Review> createReviews(int count) {
+        List<Role> roles = List.of(
+                entityManager.persist(new Role("user", true, List.of(Permission.CAN_VIEW_ROLE))),
+                entityManager.persist(new Role("admin", false, List.of(Permission.values())))
+        );
+        List<AppUser> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            AppUser user = new AppUser("user" + i + "@mail.com", "user" + i, "password", roles.get(i % 2));
+            user.setImage(entityManager.persist(new Image("image" + i, "url" + i, 1F)));
+            users.add(entityManager.persist(user));
+        }
+        List<Language> languages = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Language language = new Language("language" + i, ResourceState.APPROVED);
+            language.setAuthor(users.get(i));
+            language.setImage(entityManager.persist(new Image("language" + i, "url" + i, 1F)));
+            languages.add(entityManager.persist(language));
+        }
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Review review = new Review("review" + i, ReviewValue.LIKE, languages.get(i % languages.size()));
+            review.setAuthor(users.get(i % users.size()));
+            reviews.add(entityManager.persist(review));
+            entityManager.persist(new ReviewVote(review, users.get((i + 1) % users.size()).getId(), 1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return reviews;
+    }
+}
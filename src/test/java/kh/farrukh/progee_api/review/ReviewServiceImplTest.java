@@ -2,15 +2,26 @@ package kh.farrukh.progee_api.review;
 
 import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.BadRequestException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.NotEnoughPermissionException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ReviewDuplicateVoteException;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.SortParamException;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CountMode;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPage;
+import kh.farrukh.progee_api.global.utils.paging_sorting.CursorPaginator;
+import kh.farrukh.progee_api.global.utils.paging_sorting.OffsetPaginator;
+import kh.farrukh.progee_api.global.utils.paging_sorting.PagingResponse;
 import kh.farrukh.progee_api.global.utils.paging_sorting.SortUtils;
 import kh.farrukh.progee_api.language.Language;
 import kh.farrukh.progee_api.language.LanguageRepository;
 import kh.farrukh.progee_api.review.payloads.ReviewRequestDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewResponseDTO;
 import kh.farrukh.progee_api.review.payloads.ReviewVoteRequestDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoteResponseDTO;
+import kh.farrukh.progee_api.review.payloads.ReviewVoterResponseDTO;
 import kh.farrukh.progee_api.role.Permission;
 import kh.farrukh.progee_api.role.Role;
 import org.junit.jupiter.api.Test;
@@ -20,6 +31,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -29,8 +41,11 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static kh.farrukh.progee_api.review.ReviewConstants.VOTE_VALUE_DOWN;
+import static kh.farrukh.progee_api.review.ReviewConstants.VOTE_VALUE_UP;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.Mockito.*;
@@ -43,12 +58,33 @@ class ReviewServiceImplTest {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private ReviewVoteRepository reviewVoteRepository;
+
+    @Mock
+    private ReviewVoteBuffer reviewVoteBuffer;
+
+    @Mock
+    private LanguageReviewStatsRepository languageReviewStatsRepository;
+
     @Mock
     private LanguageRepository languageRepository;
 
     @Mock
     private AppUserRepository appUserRepository;
 
+    @Mock
+    private CursorPaginator cursorPaginator;
+
+    @Mock
+    private OffsetPaginator offsetPaginator;
+
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
     @InjectMocks
     private ReviewServiceImpl underTest;
 
@@ -60,7 +96,7 @@ class ReviewServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getReviews(null, null, 1, 10, "id", "ASC");
+        underTest.getReviews(null, null, null, 1, 10, "id", "ASC", CountMode.EXACT);
 
         // then
         verify(reviewRepository).findAll(
@@ -81,7 +117,7 @@ class ReviewServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getReviews(null, ReviewValue.LIKE, 1, 10, "id", "ASC");
+        underTest.getReviews(null, ReviewValue.LIKE, null, 1, 10, "id", "ASC", CountMode.EXACT);
 
         // then
         verify(reviewRepository).findAll(
@@ -104,7 +140,7 @@ class ReviewServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getReviews(languageId, null, 1, 10, "id", "ASC");
+        underTest.getReviews(languageId, null, null, 1, 10, "id", "ASC", CountMode.EXACT);
 
         // then
         verify(reviewRepository).findAll(
@@ -127,7 +163,7 @@ class ReviewServiceImplTest {
                 .thenReturn(Page.empty(Pageable.ofSize(10)));
 
         // when
-        underTest.getReviews(languageId, ReviewValue.LIKE, 1, 10, "id", "ASC");
+        underTest.getReviews(languageId, ReviewValue.LIKE, null, 1, 10, "id", "ASC", CountMode.EXACT);
 
         // then
         verify(reviewRepository).findAll(
@@ -150,7 +186,7 @@ class ReviewServiceImplTest {
         // then
         assertThatThrownBy(() ->
                 underTest.getReviews(
-                        languageId, null, 1, 10, "id", "ASC"
+                        languageId, null, null, 1, 10, "id", "ASC", CountMode.EXACT
                 ))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("Language")
@@ -158,18 +194,116 @@ class ReviewServiceImplTest {
                 .hasMessageContaining(String.valueOf(languageId));
     }
 
+    @Test
+    @WithAnonymousUser
+    void getReviewsByCursor_canGetReviews_whenSortedByScore() {
+        // given
+        Review review = new Review(1, "Test", ReviewValue.LIKE, 2, 0, new Language(1), new AppUser(2), null);
+        when(cursorPaginator.findAll(eq(Review.class), any(), any(), any(), anyInt(), any()))
+                .thenReturn(new CursorPage<>(List.of(review), "next"));
+
+        // when
+        PagingResponse<ReviewResponseDTO> actual = underTest.getReviewsByCursor(null, null, 10, "score", "DESC", "after");
+
+        // then
+        verify(cursorPaginator).findAll(
+                Review.class,
+                new ReviewSpecification(null, null),
+                Sort.Order.desc("score"),
+                "after",
+                10,
+                "review_with_details"
+        );
+        assertThat(actual.getItems().size()).isEqualTo(1);
+        assertThat(actual.getNextCursor()).isEqualTo("next");
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviewsByCursor_throwsException_whenSortedByNullableField() {
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.getReviewsByCursor(null, null, 10, "body", "ASC", null))
+                .isInstanceOf(SortParamException.class);
+        verify(cursorPaginator, never()).findAll(any(), any(), any(), any(), anyInt(), any());
+    }
+
     @Test
     @WithAnonymousUser
     void getReviewById_canGetReviewById_whenIdIsValid() {
         // given
         long id = 1;
-        when(reviewRepository.findById(id)).thenReturn(Optional.of(new Review()));
+        when(reviewRepository.findWithDetailsById(id)).thenReturn(Optional.of(new Review()));
 
         // when
         underTest.getReviewById(id);
 
         // then
-        verify(reviewRepository).findById(id);
+        verify(reviewRepository).findWithDetailsById(id);
+    }
+
+    @Test
+    @WithMockUser
+    void getReviews_canGetReviewsWithMyVotes_whenUserIsLoggedIn() {
+        // given
+        AppUser user = new AppUser(1);
+        Review upVoted = new Review(1, "Up", ReviewValue.LIKE, 1, 0, new Language(1), new AppUser(2), null);
+        Review downVoted = new Review(2, "Down", ReviewValue.LIKE, 0, 1, new Language(1), new AppUser(2), null);
+        Review notVoted = new Review(3, "None", ReviewValue.LIKE, 0, 0, new Language(1), new AppUser(2), null);
+        when(reviewRepository.findAll(any(ReviewSpecification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(upVoted, downVoted, notVoted), Pageable.ofSize(10), 3));
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
+        when(reviewVoteRepository.findAllByIdUserIdAndIdReviewIdIn(user.getId(), List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new ReviewVote(upVoted, user.getId(), VOTE_VALUE_UP),
+                new ReviewVote(downVoted, user.getId(), VOTE_VALUE_DOWN)
+        ));
+
+        // when
+        PagingResponse<ReviewResponseDTO> actual = underTest.getReviews(null, null, null, 1, 10, "id", "ASC", CountMode.EXACT);
+
+        // then
+        verify(reviewVoteRepository, times(1)).findAllByIdUserIdAndIdReviewIdIn(anyLong(), any());
+        assertThat(actual.getItems().get(0).getMyVote()).isTrue();
+        assertThat(actual.getItems().get(1).getMyVote()).isFalse();
+        assertThat(actual.getItems().get(2).getMyVote()).isNull();
+    }
+
+    @Test
+    @WithMockUser
+    void getReviewById_canGetReviewWithBufferedVote_whenVoteIsNotFlushed() {
+        // given
+        long id = 1;
+        AppUser user = new AppUser(1);
+        Review review = new Review(id, "Test", ReviewValue.LIKE, 0, 1, new Language(1), new AppUser(2), null);
+        when(reviewRepository.findWithDetailsById(id)).thenReturn(Optional.of(review));
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
+        when(reviewVoteRepository.findAllByIdUserIdAndIdReviewIdIn(user.getId(), List.of(id)))
+                .thenReturn(List.of(new ReviewVote(review, user.getId(), VOTE_VALUE_DOWN)));
+        when(reviewVoteBuffer.getPendingVote(id, user.getId())).thenReturn(Optional.of(VOTE_VALUE_UP));
+
+        // when
+        ReviewResponseDTO actual = underTest.getReviewById(id);
+
+        // then
+        assertThat(actual.getMyVote()).isTrue();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviewETag_readsOnlyVersionTag() {
+        // given
+        long id = 1;
+        when(reviewRepository.findVersionTagById(id)).thenReturn(Optional.of(new ReviewVersionTag(
+                1, 2, 0, 1L, 1L, null, 3L, 2L, 2L, 2L, 0L, 1L, 1L, 1L, null
+        )));
+
+        // when
+        String actual = underTest.getReviewETag(id);
+
+        // then
+        assertThat(actual).startsWith("\"");
+        verify(reviewRepository, never()).findById(anyLong());
+        verify(reviewRepository, never()).findWithDetailsById(anyLong());
     }
 
     @Test
@@ -196,20 +330,27 @@ class ReviewServiceImplTest {
         ReviewRequestDTO reviewRequestDto = new ReviewRequestDTO(body, reviewValue, 1L);
         when(languageRepository.findById(reviewRequestDto.getLanguageId()))
                 .thenReturn(Optional.of(new Language(reviewRequestDto.getLanguageId())));
-        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(new AppUser("user@mail.com")));
+        AppUser user = new AppUser("user@mail.com");
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
+        when(appUserRepository.existsById(user.getId())).thenReturn(true);
+        when(appUserRepository.getReferenceById(user.getId())).thenReturn(user);
 
         // when
         underTest.addReview(reviewRequestDto);
 
         // then
         ArgumentCaptor<Review> languageArgCaptor = ArgumentCaptor.forClass(Review.class);
-        verify(reviewRepository).save(languageArgCaptor.capture());
+        verify(reviewRepository).saveAndFlush(languageArgCaptor.capture());
 
         Review actual = languageArgCaptor.getValue();
+        verify(reviewRepository).refreshRanks(List.of(actual.getId()));
         assertThat(actual.getLanguage().getId()).isEqualTo(reviewRequestDto.getLanguageId());
         assertThat(actual.getAuthor().getUsername()).isEqualTo("user@mail.com");
         assertThat(actual.getBody()).isEqualTo(body);
         assertThat(actual.getReviewValue()).isEqualTo(reviewValue);
+        verify(languageReviewStatsRepository).applyChange(reviewRequestDto.getLanguageId(), null, reviewValue);
+        verify(languageRepository).applyReviewChange(reviewRequestDto.getLanguageId(), null, reviewValue);
+        verify(catalogCache).invalidateLanguage(reviewRequestDto.getLanguageId());
     }
 
     @Test
@@ -252,7 +393,7 @@ class ReviewServiceImplTest {
         ReviewValue reviewValue = ReviewValue.LIKE;
         AppUser author = new AppUser("test@mail.com", new Role(Collections.singletonList(Permission.CAN_UPDATE_OWN_REVIEW)));
         ReviewRequestDTO reviewRequestDto = new ReviewRequestDTO(body, reviewValue);
-        Review existingReview = new Review();
+        Review existingReview = new Review(ReviewValue.DISLIKE, new Language(2));
         existingReview.setAuthor(author);
         when(reviewRepository.findById(any())).thenReturn(Optional.of(existingReview));
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(author));
@@ -266,6 +407,7 @@ class ReviewServiceImplTest {
         Review actual = reviewArgCaptor.getValue();
         assertThat(actual.getBody()).isEqualTo(body);
         assertThat(actual.getReviewValue()).isEqualTo(reviewValue);
+        verify(languageReviewStatsRepository).applyChange(2, ReviewValue.DISLIKE, reviewValue);
     }
 
     @Test
@@ -298,7 +440,7 @@ class ReviewServiceImplTest {
         ReviewValue reviewValue = ReviewValue.LIKE;
         AppUser user = new AppUser("test@mail.com", new Role(Collections.singletonList(Permission.CAN_UPDATE_OTHERS_REVIEW)));
         ReviewRequestDTO reviewRequestDto = new ReviewRequestDTO(body, reviewValue);
-        Review existingReview = new Review();
+        Review existingReview = new Review(ReviewValue.DISLIKE, new Language(2));
         existingReview.setAuthor(new AppUser(1));
         when(reviewRepository.findById(id)).thenReturn(Optional.of(existingReview));
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
@@ -313,6 +455,7 @@ class ReviewServiceImplTest {
         Review actual = reviewArgCaptor.getValue();
         assertThat(actual.getBody()).isEqualTo(body);
         assertThat(actual.getReviewValue()).isEqualTo(reviewValue);
+        verify(languageReviewStatsRepository).applyChange(2, ReviewValue.DISLIKE, reviewValue);
     }
 
     @Test
@@ -358,7 +501,7 @@ class ReviewServiceImplTest {
         // given
         long id = 1;
         AppUser user = new AppUser("test@mail.com", new Role(Collections.singletonList(Permission.CAN_DELETE_OTHERS_REVIEW)));
-        Review existingReview = new Review();
+        Review existingReview = new Review(ReviewValue.LIKE, new Language(2));
         existingReview.setAuthor(new AppUser(1));
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
         when(reviewRepository.findById(id)).thenReturn(Optional.of(existingReview));
@@ -368,6 +511,8 @@ class ReviewServiceImplTest {
 
         // then
         verify(reviewRepository).deleteById(id);
+        verify(languageReviewStatsRepository).applyChange(2, ReviewValue.LIKE, null);
+        verify(languageRepository).applyReviewChange(2, ReviewValue.LIKE, null);
     }
 
     @Test
@@ -394,7 +539,7 @@ class ReviewServiceImplTest {
         // given
         long id = 1;
         AppUser author = new AppUser("test@mail.com", new Role(Collections.singletonList(Permission.CAN_DELETE_OWN_REVIEW)));
-        Review existingReview = new Review();
+        Review existingReview = new Review(ReviewValue.LIKE, new Language(2));
         existingReview.setAuthor(author);
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(author));
         when(reviewRepository.findById(id)).thenReturn(Optional.of(existingReview));
@@ -404,6 +549,7 @@ class ReviewServiceImplTest {
 
         // then
         verify(reviewRepository).deleteById(id);
+        verify(languageReviewStatsRepository).applyChange(2, ReviewValue.LIKE, null);
     }
 
     @Test
@@ -439,6 +585,92 @@ class ReviewServiceImplTest {
                 .hasMessageContaining(String.valueOf(id));
     }
 
+    @Test
+    @WithAnonymousUser
+    void getReviews_canGetReviews_whenSortedByScore() {
+        // given
+        when(reviewRepository.findAll(any(ReviewSpecification.class), any(Pageable.class)))
+                .thenReturn(Page.empty(Pageable.ofSize(10)));
+
+        // when
+        underTest.getReviews(null, null, null, 1, 10, "score", "DESC", CountMode.EXACT);
+
+        // then
+        verify(reviewRepository).findAll(
+                new ReviewSpecification(null, null),
+                PageRequest.of(
+                        0,
+                        10,
+                        Sort.by(SortUtils.parseDirection("DESC"), "score")
+                )
+        );
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviews_canGetReviews_whenSortedByHotRank() {
+        // given
+        when(reviewRepository.findAll(any(ReviewSpecification.class), any(Pageable.class)))
+                .thenReturn(Page.empty(Pageable.ofSize(10)));
+
+        // when
+        underTest.getReviews(null, null, null, 1, 10, "hot", "DESC", CountMode.EXACT);
+
+        // then
+        verify(reviewRepository).findAll(
+                new ReviewSpecification(null, null),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "hotRank"))
+        );
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviews_canGetReviews_whenSortedByConfidenceRank() {
+        // given
+        when(reviewRepository.findAll(any(ReviewSpecification.class), any(Pageable.class)))
+                .thenReturn(Page.empty(Pageable.ofSize(10)));
+
+        // when
+        underTest.getReviews(null, null, null, 1, 10, "confidence", "DESC", CountMode.EXACT);
+
+        // then
+        verify(reviewRepository).findAll(
+                new ReviewSpecification(null, null),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "confidenceRank"))
+        );
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviews_canSearchReviewsByRelevance_whenQueryIsGiven() {
+        // given
+        Review first = new Review(2, "Fast language", ReviewValue.LIKE, 0, 0, new Language(1), new AppUser(2), null);
+        Review second = new Review(1, "Fast", ReviewValue.LIKE, 0, 0, new Language(1), new AppUser(2), null);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "relevance"));
+        when(reviewRepository.searchIds("fast language", null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 2));
+        when(reviewRepository.findAllByIdIn(List.of(2L, 1L))).thenReturn(List.of(second, first));
+
+        // when
+        PagingResponse<ReviewResponseDTO> actual = underTest.getReviews(null, null, "fast language", 1, 10, null, "asc", CountMode.EXACT);
+
+        // then
+        verify(reviewRepository, never()).findAll(any(ReviewSpecification.class), any(Pageable.class));
+        assertThat(actual.getTotalItems()).isEqualTo(2);
+        assertThat(actual.getItems().get(0).getId()).isEqualTo(2);
+        assertThat(actual.getItems().get(1).getId()).isEqualTo(1);
+    }
+
+    @Test
+    void getReviews_throwsException_whenSortedByRelevanceWithoutQuery() {
+        // given
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.getReviews(null, null, " ", 1, 10, "relevance", "desc", CountMode.EXACT))
+                .isInstanceOf(SortParamException.class);
+        verify(reviewRepository, never()).searchIds(any(), any(), any(), any());
+    }
+
     @Test
     @WithMockUser
     void voteReview_canUpvoteReview_whenDidNotVoteEarlier() {
@@ -447,17 +679,22 @@ class ReviewServiceImplTest {
         ReviewVoteRequestDTO voteDto = new ReviewVoteRequestDTO(true);
         AppUser user = new AppUser(1);
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
-        when(reviewRepository.findById(id)).thenReturn(Optional.of(new Review()));
+        when(reviewVoteRepository.vote(id, user.getId(), VOTE_VALUE_UP))
+                .thenReturn(Optional.of(new ReviewVoteCounts(1, 0, 1)));
 
         // when
-        underTest.voteReview(id, voteDto);
+        ReviewVoteResponseDTO actual = underTest.voteReview(id, voteDto);
 
         // then
-        ArgumentCaptor<Review> reviewArgCaptor = ArgumentCaptor.forClass(Review.class);
-        verify(reviewRepository).save(reviewArgCaptor.capture());
-
-        Review actual = reviewArgCaptor.getValue();
-        assertThat(user.getId()).isIn(actual.getUpVotes());
+        verify(reviewVoteRepository).vote(id, user.getId(), VOTE_VALUE_UP);
+        verify(reviewRepository).refreshRanks(List.of(id));
+        verify(reviewVoteBuffer).recordDirectVote();
+        verifyNoInteractions(changeTracker);
+        verify(reviewRepository, never()).findById(any());
+        assertThat(actual.getReviewId()).isEqualTo(id);
+        assertThat(actual.isVote()).isTrue();
+        assertThat(actual.getUpVoteCount()).isEqualTo(1);
+        assertThat(actual.getScore()).isEqualTo(1);
     }
 
     @Test
@@ -468,63 +705,62 @@ class ReviewServiceImplTest {
         ReviewVoteRequestDTO voteDto = new ReviewVoteRequestDTO(false);
         AppUser user = new AppUser(1);
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
-        when(reviewRepository.findById(id)).thenReturn(Optional.of(new Review()));
+        when(reviewVoteRepository.vote(id, user.getId(), VOTE_VALUE_DOWN))
+                .thenReturn(Optional.of(new ReviewVoteCounts(0, 1, -1)));
 
         // when
-        underTest.voteReview(id, voteDto);
+        ReviewVoteResponseDTO actual = underTest.voteReview(id, voteDto);
 
         // then
-        ArgumentCaptor<Review> reviewArgCaptor = ArgumentCaptor.forClass(Review.class);
-        verify(reviewRepository).save(reviewArgCaptor.capture());
-
-        Review actual = reviewArgCaptor.getValue();
-        assertThat(user.getId()).isIn(actual.getDownVotes());
+        verify(reviewVoteRepository).vote(id, user.getId(), VOTE_VALUE_DOWN);
+        verify(reviewRepository, never()).findById(any());
+        assertThat(actual.getReviewId()).isEqualTo(id);
+        assertThat(actual.isVote()).isFalse();
+        assertThat(actual.getDownVoteCount()).isEqualTo(1);
+        assertThat(actual.getScore()).isEqualTo(-1);
     }
 
     @Test
     @WithMockUser
-    void voteReview_canChangeDownvoteToUpvoteReview_whenDownvotedEarlier() {
+    void voteReview_canBufferVote_whenBufferAcceptsVotes() {
         // given
         long id = 1;
         ReviewVoteRequestDTO voteDto = new ReviewVoteRequestDTO(true);
         AppUser user = new AppUser(1);
-        Review existingReview = new Review();
-        existingReview.getDownVotes().add(user.getId());
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
-        when(reviewRepository.findById(any())).thenReturn(Optional.of(existingReview));
+        when(reviewVoteBuffer.canAccept()).thenReturn(true);
+        when(reviewVoteBuffer.vote(id, user.getId(), VOTE_VALUE_UP))
+                .thenReturn(Optional.of(new ReviewVoteCounts(2, 0, 2)));
 
         // when
-        underTest.voteReview(id, voteDto);
+        ReviewVoteResponseDTO actual = underTest.voteReview(id, voteDto);
 
         // then
-        ArgumentCaptor<Review> reviewArgCaptor = ArgumentCaptor.forClass(Review.class);
-        verify(reviewRepository).save(reviewArgCaptor.capture());
-
-        Review actual = reviewArgCaptor.getValue();
-        assertThat(user.getId()).isIn(actual.getUpVotes());
+        verify(reviewVoteRepository, never()).vote(anyLong(), anyLong(), anyInt());
+        verify(reviewRepository, never()).refreshRanks(any());
+        assertThat(actual.getReviewId()).isEqualTo(id);
+        assertThat(actual.getUpVoteCount()).isEqualTo(2);
+        assertThat(actual.getScore()).isEqualTo(2);
     }
 
     @Test
     @WithMockUser
-    void voteReview_canChangeUpvoteToDownvoteReview_whenUpvotedEarlier() {
+    void voteReview_discardsBufferedVote_whenVoteIsWrittenDirectly() {
         // given
         long id = 1;
         ReviewVoteRequestDTO voteDto = new ReviewVoteRequestDTO(false);
         AppUser user = new AppUser(1);
-        Review existingReview = new Review();
-        existingReview.getUpVotes().add(user.getId());
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
-        when(reviewRepository.findById(id)).thenReturn(Optional.of(existingReview));
+        when(reviewVoteBuffer.canAccept()).thenReturn(false);
+        when(reviewVoteRepository.vote(id, user.getId(), VOTE_VALUE_DOWN))
+                .thenReturn(Optional.of(new ReviewVoteCounts(0, 1, -1)));
 
         // when
         underTest.voteReview(id, voteDto);
 
         // then
-        ArgumentCaptor<Review> reviewArgCaptor = ArgumentCaptor.forClass(Review.class);
-        verify(reviewRepository).save(reviewArgCaptor.capture());
-
-        Review actual = reviewArgCaptor.getValue();
-        assertThat(user.getId()).isIn(actual.getDownVotes());
+        verify(reviewVoteBuffer).discard(id, user.getId());
+        verify(reviewVoteBuffer, never()).vote(anyLong(), anyLong(), anyInt());
     }
 
     @Test
@@ -534,17 +770,15 @@ class ReviewServiceImplTest {
         long id = 1;
         ReviewVoteRequestDTO voteDto = new ReviewVoteRequestDTO(true);
         AppUser user = new AppUser(1);
-        Review existingReview = new Review();
-        existingReview.getUpVotes().add(user.getId());
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
-        when(reviewRepository.findById(id)).thenReturn(Optional.of(existingReview));
+        when(reviewVoteRepository.vote(id, user.getId(), VOTE_VALUE_UP)).thenReturn(Optional.empty());
+        when(reviewRepository.existsById(id)).thenReturn(true);
 
         // when
         // then
         assertThatThrownBy(() -> underTest.voteReview(id, voteDto))
                 .isInstanceOf(ReviewDuplicateVoteException.class)
                 .hasMessageContaining("up-vote");
-        verify(reviewRepository, never()).save(any());
     }
 
     @Test
@@ -554,17 +788,15 @@ class ReviewServiceImplTest {
         long id = 1;
         ReviewVoteRequestDTO voteDto = new ReviewVoteRequestDTO(false);
         AppUser user = new AppUser(1);
-        Review existingReview = new Review();
-        existingReview.getDownVotes().add(user.getId());
         when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
-        when(reviewRepository.findById(id)).thenReturn(Optional.of(existingReview));
+        when(reviewVoteRepository.vote(id, user.getId(), VOTE_VALUE_DOWN)).thenReturn(Optional.empty());
+        when(reviewRepository.existsById(id)).thenReturn(true);
 
         // when
         // then
         assertThatThrownBy(() -> underTest.voteReview(id, voteDto))
                 .isInstanceOf(ReviewDuplicateVoteException.class)
                 .hasMessageContaining("down-vote");
-        verify(reviewRepository, never()).save(any());
     }
 
     @Test
@@ -573,7 +805,10 @@ class ReviewServiceImplTest {
         // given
         long id = 1;
         ReviewVoteRequestDTO stateDto = new ReviewVoteRequestDTO(true);
-        when(reviewRepository.findById(id)).thenReturn(Optional.empty());
+        AppUser user = new AppUser(1);
+        when(appUserRepository.findByEmail(any())).thenReturn(Optional.of(user));
+        when(reviewVoteRepository.vote(id, user.getId(), VOTE_VALUE_UP)).thenReturn(Optional.empty());
+        when(reviewRepository.existsById(id)).thenReturn(false);
 
         // when
         // then
@@ -583,4 +818,62 @@ class ReviewServiceImplTest {
                 .hasMessageContaining("id")
                 .hasMessageContaining(String.valueOf(id));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithAnonymousUser
+    void getReviewVoters_canGetAllVoters_whenVoteIsNull() {
+        // given
+        long id = 1;
+        Review review = new Review(id, "Test", ReviewValue.LIKE, 1, 1, new Language(1), new AppUser(2), null);
+        when(reviewRepository.existsById(id)).thenReturn(true);
+        when(reviewVoteRepository.findAllByIdReviewId(anyLong(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(
+                new ReviewVote(review, 3, VOTE_VALUE_UP),
+                new ReviewVote(review, 4, VOTE_VALUE_DOWN)
+        ), Pageable.ofSize(10), 2));
+
+        // when
+        PagingResponse<ReviewVoterResponseDTO> actual = underTest.getReviewVoters(id, null, 1, 10);
+
+        // then
+        verify(reviewVoteRepository).findAllByIdReviewId(id, PageRequest.of(0, 10, Sort.by("id.userId")));
+        assertThat(actual.getItems().size()).isEqualTo(2);
+        assertThat(actual.getItems().get(0).getUserId()).isEqualTo(3);
+        assertThat(actual.getItems().get(0).isVote()).isTrue();
+        assertThat(actual.getItems().get(1).isVote()).isFalse();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviewVoters_canGetDownVoters_whenVoteIsFalse() {
+        // given
+        long id = 1;
+        when(reviewRepository.existsById(id)).thenReturn(true);
+        when(reviewVoteRepository.findAllByIdReviewIdAndValue(anyLong(), anyInt(), any(Pageable.class)))
+                .thenReturn(Page.empty(Pageable.ofSize(10)));
+
+        // when
+        underTest.getReviewVoters(id, false, 2, 10);
+
+        // then
+        verify(reviewVoteRepository).findAllByIdReviewIdAndValue(
+                id, VOTE_VALUE_DOWN, PageRequest.of(1, 10, Sort.by("id.userId"))
+        );
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getReviewVoters_throwsException_whenReviewDoesNotExistWithId() {
+        // given
+        long id = 1;
+        when(reviewRepository.existsById(id)).thenReturn(false);
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.getReviewVoters(id, null, 1, 10))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Review")
+                .hasMessageContaining("id")
+                .hasMessageContaining(String.valueOf(id));
+        verify(reviewVoteRepository, never()).findAllByIdReviewId(anyLong(), any());
+    }
+}
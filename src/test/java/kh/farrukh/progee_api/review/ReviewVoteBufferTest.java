@@ -0,0 +1,337 @@
+package kh.farrukh.progee_api.review;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
+import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewVoteBufferTest {
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ReviewVoteRepository reviewVoteRepository;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
+    private ReviewVoteBufferConfiguration configuration;
+
+    private MeterRegistry meterRegistry;
+
+    private ReviewVoteBuffer underTest;
+
+    @BeforeEach
+    void setUp() {
+        configuration = new ReviewVoteBufferConfiguration();
+        configuration.setEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        underTest = new ReviewVoteBuffer(
+                reviewRepository, reviewVoteRepository, configuration, changeTracker, meterRegistry
+        );
+    }
+
+    @Test
+    void canAccept_returnsFalse_whenBufferIsDisabled() {
+        // given
+        configuration.setEnabled(false);
+
+        // when
+        boolean actual = underTest.canAccept();
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    void canAccept_returnsFalse_whenFlushIsBehindMaxLag() throws InterruptedException {
+        // given
+        configuration.setMaxLagInMillis(0);
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+        Thread.sleep(5);
+
+        // when
+        boolean actual = underTest.canAccept();
+
+        // then
+        assertThat(actual).isFalse();
+    }
+
+    @Test
+    void vote_returnsOptimisticCounts_whenVoteIsBuffered() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(3, 1, 2)));
+
+        // when
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+        Optional<ReviewVoteCounts> actual = underTest.vote(1, 2, VOTE_VALUE_DOWN);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> {
+            assertThat(counts.getUpVoteCount()).isEqualTo(4);
+            assertThat(counts.getDownVoteCount()).isEqualTo(2);
+            assertThat(counts.getScore()).isEqualTo(2);
+        });
+        verify(reviewRepository).findVoteCountsById(1);
+        verify(reviewVoteRepository, never()).vote(anyLong(), anyLong(), anyInt());
+        assertThat(meterRegistry.get(ReviewVoteBuffer.METRIC_BUFFER_DEPTH).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void vote_changesOptimisticCounts_whenPendingVoteIsChanged() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(1, 1, VOTE_VALUE_DOWN);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> {
+            assertThat(counts.getUpVoteCount()).isZero();
+            assertThat(counts.getDownVoteCount()).isEqualTo(1);
+            assertThat(counts.getScore()).isEqualTo(-1);
+        });
+    }
+
+    @Test
+    void vote_returnsEmpty_whenSameVoteIsPending() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(1, 1, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).isEmpty();
+        assertThat(underTest.getChangeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void vote_returnsEmpty_whenSameVoteIsFlushed() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        when(reviewVoteRepository.findValueById(new ReviewVoteId(1, 1)))
+                .thenReturn(Optional.empty(), Optional.of(VOTE_VALUE_UP));
+        when(reviewVoteRepository.voteAll(any())).thenReturn(Map.of(1L, new ReviewVoteCounts(1, 0, 1)));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+        underTest.flush();
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(1, 1, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).isEmpty();
+        assertThat(underTest.getPendingVote(1, 1)).isEmpty();
+        assertThat(meterRegistry.get(ReviewVoteBuffer.METRIC_BUFFER_DEPTH).gauge().value()).isZero();
+    }
+
+    @Test
+    void vote_replacesPersistedVote_whenVoteIsChanged() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(2, 0, 2)));
+        when(reviewVoteRepository.findValueById(new ReviewVoteId(1, 1))).thenReturn(Optional.of(VOTE_VALUE_UP));
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(1, 1, VOTE_VALUE_DOWN);
+        Optional<ReviewVoteCounts> actualAfterSecondVote = underTest.vote(1, 1, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> {
+            assertThat(counts.getUpVoteCount()).isEqualTo(1);
+            assertThat(counts.getDownVoteCount()).isEqualTo(1);
+            assertThat(counts.getScore()).isZero();
+        });
+        assertThat(actualAfterSecondVote).hasValueSatisfying(counts -> {
+            assertThat(counts.getUpVoteCount()).isEqualTo(2);
+            assertThat(counts.getDownVoteCount()).isZero();
+        });
+    }
+
+    @Test
+    void vote_throwsException_whenReviewDoesNotExist() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.empty());
+
+        // when
+        // then
+        assertThatThrownBy(() -> underTest.vote(1, 1, VOTE_VALUE_UP))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("Review");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_writesLatestVotesWithSingleBatch() {
+        // given
+        when(reviewRepository.findVoteCountsById(anyLong())).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        when(reviewVoteRepository.voteAll(any())).thenReturn(Map.of(1L, new ReviewVoteCounts(1, 1, 0)));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+        underTest.vote(1, 1, VOTE_VALUE_DOWN);
+        underTest.vote(1, 2, VOTE_VALUE_UP);
+        underTest.vote(2, 1, VOTE_VALUE_UP);
+
+        // when
+        underTest.flush();
+
+        // then
+        ArgumentCaptor<Map<ReviewVoteId, Integer>> votesArgCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(reviewVoteRepository).voteAll(votesArgCaptor.capture());
+        assertThat(votesArgCaptor.getValue()).isEqualTo(Map.of(
+                new ReviewVoteId(1, 1), VOTE_VALUE_DOWN,
+                new ReviewVoteId(1, 2), VOTE_VALUE_UP,
+                new ReviewVoteId(2, 1), VOTE_VALUE_UP
+        ));
+        verify(reviewRepository).refreshRanks(Set.of(1L));
+        verify(changeTracker).markChanged(TABLE_NAME_REVIEW, TABLE_NAME_REVIEW_VOTE);
+        assertThat(meterRegistry.get(ReviewVoteBuffer.METRIC_BUFFER_DEPTH).gauge().value()).isZero();
+        assertThat(meterRegistry.get(ReviewVoteBuffer.METRIC_FLUSH_LATENCY).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void flush_marksTablesChangedOnce_whenVotesAreWrittenDirectly() {
+        // given
+        underTest.recordDirectVote();
+        underTest.recordDirectVote();
+
+        // when
+        underTest.flush();
+        underTest.flush();
+
+        // then
+        verify(changeTracker, times(1)).markChanged(TABLE_NAME_REVIEW, TABLE_NAME_REVIEW_VOTE);
+        verifyNoInteractions(reviewVoteRepository);
+        assertThat(underTest.getChangeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void flush_usesFlushedCounts_whenReviewIsVotedAfterFlush() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        when(reviewVoteRepository.voteAll(any())).thenReturn(Map.of(1L, new ReviewVoteCounts(5, 0, 5)));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+        underTest.flush();
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(1, 2, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> assertThat(counts.getScore()).isEqualTo(6));
+        verify(reviewRepository, times(1)).findVoteCountsById(1);
+    }
+
+    @Test
+    void flush_keepsPendingCounts_whenReviewIsVotedDuringFlush() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        when(reviewVoteRepository.voteAll(any())).thenAnswer(invocation -> {
+            // The vote is buffered after the votes of the flush are drained
+            underTest.vote(1, 2, VOTE_VALUE_UP);
+            return Map.of(1L, new ReviewVoteCounts(1, 0, 1));
+        });
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+        underTest.flush();
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(1, 3, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> {
+            assertThat(counts.getUpVoteCount()).isEqualTo(3);
+            assertThat(counts.getScore()).isEqualTo(3);
+        });
+    }
+
+    @Test
+    void flush_keepsPendingCounts_whenWritingFails() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        when(reviewVoteRepository.voteAll(any())).thenThrow(new IllegalStateException("Database is not available"));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+        underTest.flush();
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(1, 2, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> assertThat(counts.getUpVoteCount()).isEqualTo(2));
+    }
+
+    @Test
+    void flush_keepsVotes_whenWritingFails() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        when(reviewVoteRepository.voteAll(any())).thenThrow(new IllegalStateException("Database is not available"));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+
+        // when
+        underTest.flush();
+
+        // then
+        assertThat(meterRegistry.get(ReviewVoteBuffer.METRIC_BUFFER_DEPTH).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void flushOnShutdown_flushesVotes_whenConfigured() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+
+        // when
+        underTest.flushOnShutdown();
+
+        // then
+        verify(reviewVoteRepository).voteAll(Map.of(new ReviewVoteId(1, 1), VOTE_VALUE_UP));
+    }
+
+    @Test
+    void discard_removesPendingVote() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        underTest.vote(1, 1, VOTE_VALUE_UP);
+
+        // when
+        underTest.discard(1, 1);
+        underTest.flush();
+
+        // then
+        verify(reviewVoteRepository, never()).voteAll(any());
+    }
+
+    @Test
+    void getPendingVote_returnsVote_untilItIsFlushed() {
+        // given
+        when(reviewRepository.findVoteCountsById(1)).thenReturn(Optional.of(new ReviewVoteCounts(0, 0, 0)));
+        when(reviewVoteRepository.voteAll(any())).thenReturn(Map.of(1L, new ReviewVoteCounts(0, 1, -1)));
+        underTest.vote(1, 1, VOTE_VALUE_DOWN);
+
+        // when
+        Optional<Integer> beforeFlush = underTest.getPendingVote(1, 1);
+        underTest.flush();
+        Optional<Integer> afterFlush = underTest.getPendingVote(1, 1);
+
+        // then
+        assertThat(beforeFlush).hasValue(VOTE_VALUE_DOWN);
+        assertThat(afterFlush).isEmpty();
+    }
+}
@@ -0,0 +1,246 @@
+package kh.farrukh.progee_api.review;
+
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static kh.farrukh.progee_api.review.ReviewConstants.VOTE_VALUE_DOWN;
+import static kh.farrukh.progee_api.review.ReviewConstants.VOTE_VALUE_UP;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+@DataJpaTest
+class ReviewVoteRepositoryTest {
+
+    @Autowired
+    private ReviewVoteRepository underTest;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @AfterEach
+    void tearDown() {
+        underTest.deleteAll();
+        reviewRepository.deleteAll();
+        languageRepository.deleteAll();
+    }
+
+    @Test
+    void vote_canUpvoteReview_whenDidNotVoteEarlier() {
+        // given
+        Review review = saveReview();
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(review.getId(), 1, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> {
+            assertThat(counts.getUpVoteCount()).isEqualTo(1);
+            assertThat(counts.getDownVoteCount()).isZero();
+            assertThat(counts.getScore()).isEqualTo(1);
+        });
+        assertThat(underTest.findById(new ReviewVoteId(review.getId(), 1)))
+                .hasValueSatisfying(vote -> assertThat(vote.getValue()).isEqualTo(VOTE_VALUE_UP));
+    }
+
+    @Test
+    void vote_canChangeUpvoteToDownvote_whenUpvotedEarlier() {
+        // given
+        Review review = saveReview();
+        underTest.vote(review.getId(), 1, VOTE_VALUE_UP);
+        underTest.vote(review.getId(), 2, VOTE_VALUE_UP);
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(review.getId(), 1, VOTE_VALUE_DOWN);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> {
+            assertThat(counts.getUpVoteCount()).isEqualTo(1);
+            assertThat(counts.getDownVoteCount()).isEqualTo(1);
+            assertThat(counts.getScore()).isZero();
+        });
+    }
+
+    @Test
+    void vote_canChangeDownvoteToUpvote_whenDownvotedEarlier() {
+        // given
+        Review review = saveReview();
+        underTest.vote(review.getId(), 1, VOTE_VALUE_DOWN);
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(review.getId(), 1, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).hasValueSatisfying(counts -> {
+            assertThat(counts.getUpVoteCount()).isEqualTo(1);
+            assertThat(counts.getDownVoteCount()).isZero();
+            assertThat(counts.getScore()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void vote_returnsEmpty_whenVotesSameValueAgain() {
+        // given
+        Review review = saveReview();
+        underTest.vote(review.getId(), 1, VOTE_VALUE_DOWN);
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(review.getId(), 1, VOTE_VALUE_DOWN);
+
+        // then
+        assertThat(actual).isEmpty();
+        assertThat(underTest.count()).isEqualTo(1);
+    }
+
+    @Test
+    void vote_returnsEmpty_whenReviewDoesNotExist() {
+        // given
+        long reviewId = 1;
+
+        // when
+        Optional<ReviewVoteCounts> actual = underTest.vote(reviewId, 1, VOTE_VALUE_UP);
+
+        // then
+        assertThat(actual).isEmpty();
+        assertThat(underTest.count()).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void vote_savesOneVote_whenSameUserVotesConcurrentlyForFirstTime() throws Exception {
+        // given
+        Review review = saveReview();
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<Optional<ReviewVoteCounts>> vote = () -> {
+            start.await();
+            return underTest.vote(review.getId(), 1, VOTE_VALUE_UP);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        List<Optional<ReviewVoteCounts>> results = new ArrayList<>();
+        try {
+            List<Future<Optional<ReviewVoteCounts>>> futures = List.of(executor.submit(vote), executor.submit(vote));
+            start.countDown();
+            for (Future<Optional<ReviewVoteCounts>> future : futures) results.add(future.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // then
+        assertThat(results.stream().filter(Optional::isPresent).count()).isEqualTo(1);
+        assertThat(underTest.count()).isEqualTo(1);
+        assertThat(reviewRepository.findVoteCountsById(review.getId()))
+                .hasValueSatisfying(counts -> assertThat(counts.getUpVoteCount()).isEqualTo(1));
+    }
+
+    @Test
+    void voteAll_canSaveVotesAndChangeCountersByDifference() {
+        // given
+        Review review = saveReview();
+        underTest.vote(review.getId(), 1, VOTE_VALUE_UP);
+
+        // when
+        Map<Long, ReviewVoteCounts> actual = underTest.voteAll(Map.of(
+                new ReviewVoteId(review.getId(), 1), VOTE_VALUE_DOWN,
+                new ReviewVoteId(review.getId(), 2), VOTE_VALUE_DOWN,
+                new ReviewVoteId(review.getId(), 3), VOTE_VALUE_UP,
+                new ReviewVoteId(review.getId() + 1, 1), VOTE_VALUE_UP
+        ));
+
+        // then
+        assertThat(actual.keySet()).isEqualTo(Set.of(review.getId()));
+        ReviewVoteCounts counts = actual.get(review.getId());
+        assertThat(counts.getUpVoteCount()).isEqualTo(1);
+        assertThat(counts.getDownVoteCount()).isEqualTo(2);
+        assertThat(counts.getScore()).isEqualTo(-1);
+        assertThat(underTest.count()).isEqualTo(3);
+    }
+
+    @Test
+    void voteAll_doesNotRecountCounters_whenVotesAreSaved() {
+        // given
+        Language language = languageRepository.save(new Language());
+        Review review = new Review("test body", ReviewValue.LIKE, language);
+        review.setUpVoteCount(10);
+        review.setScore(10);
+        review = reviewRepository.saveAndFlush(review);
+
+        // when
+        Map<Long, ReviewVoteCounts> actual = underTest.voteAll(Map.of(new ReviewVoteId(review.getId(), 1), VOTE_VALUE_UP));
+
+        // then
+        ReviewVoteCounts counts = actual.get(review.getId());
+        assertThat(counts.getUpVoteCount()).isEqualTo(11);
+        assertThat(counts.getScore()).isEqualTo(11);
+    }
+
+    @Test
+    void voteAll_returnsNoCounters_whenVotesAreNotChanged() {
+        // given
+        Review review = saveReview();
+        underTest.vote(review.getId(), 1, VOTE_VALUE_UP);
+
+        // when
+        Map<Long, ReviewVoteCounts> actual = underTest.voteAll(Map.of(new ReviewVoteId(review.getId(), 1), VOTE_VALUE_UP));
+
+        // then
+        assertThat(actual.isEmpty()).isTrue();
+        assertThat(reviewRepository.findVoteCountsById(review.getId()))
+                .hasValueSatisfying(counts -> assertThat(counts.getUpVoteCount()).isEqualTo(1));
+    }
+
+    @Test
+    void findAllByIdUserIdAndIdReviewIdIn_returnsOnlyVotesOfUser() {
+        // given
+        Review first = saveReview();
+        Review second = saveReview();
+        Review third = saveReview();
+        underTest.vote(first.getId(), 1, VOTE_VALUE_UP);
+        underTest.vote(second.getId(), 1, VOTE_VALUE_DOWN);
+        underTest.vote(third.getId(), 1, VOTE_VALUE_UP);
+        underTest.vote(first.getId(), 2, VOTE_VALUE_DOWN);
+
+        // when
+        List<ReviewVote> actual = underTest.findAllByIdUserIdAndIdReviewIdIn(1, List.of(first.getId(), second.getId()));
+
+        // then
+        assertThat(actual.size()).isEqualTo(2);
+        assertThat(actual.stream().allMatch(vote -> vote.getId().getUserId() == 1)).isTrue();
+        assertThat(actual.stream().noneMatch(vote -> vote.getId().getReviewId() == third.getId())).isTrue();
+    }
+
+    @Test
+    void findValueById_returnsValueOfVote_whenUserVoted() {
+        // given
+        Review review = saveReview();
+        underTest.vote(review.getId(), 1, VOTE_VALUE_DOWN);
+
+        // when
+        Optional<Integer> actual = underTest.findValueById(new ReviewVoteId(review.getId(), 1));
+        Optional<Integer> actualOfOtherUser = underTest.findValueById(new ReviewVoteId(review.getId(), 2));
+
+        // then
+        assertThat(actual).hasValue(VOTE_VALUE_DOWN);
+        assertThat(actualOfOtherUser).isEmpty();
+    }
+
+    private Review saveReview() {
+        Language language = languageRepository.save(new Language());
+        return reviewRepository.saveAndFlush(new Review("test body", ReviewValue.LIKE, language));
+    }
+}
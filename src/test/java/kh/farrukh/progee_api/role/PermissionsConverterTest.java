@@ -0,0 +1,47 @@
+package kh.farrukh.progee_api.role;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermissionsConverterTest {
+
+    private final PermissionsConverter underTest = new PermissionsConverter();
+
+    @Test
+    void convertToDatabaseColumn_setsBitOfEachPermissionOrdinal() {
+        // given
+        Set<Permission> permissions = EnumSet.of(Permission.CAN_VIEW_LANGUAGES_BY_STATE, Permission.CAN_VIEW_ROLE);
+
+        // when
+        Long actual = underTest.convertToDatabaseColumn(permissions);
+
+        // then
+        assertThat(actual).isEqualTo((1L << Permission.CAN_VIEW_LANGUAGES_BY_STATE.ordinal()) |
+                (1L << Permission.CAN_VIEW_ROLE.ordinal()));
+    }
+
+    @Test
+    void convertToEntityAttribute_returnsSamePermissions_whenBitmaskIsConvertedBack() {
+        // given
+        Set<Permission> permissions = EnumSet.of(Permission.CAN_CREATE_REVIEW, Permission.CAN_IMPORT_DATA);
+
+        // when
+        Set<Permission> actual = underTest.convertToEntityAttribute(underTest.convertToDatabaseColumn(permissions));
+
+        // then
+        assertThat(actual).isEqualTo(permissions);
+    }
+
+    @Test
+    void convertToEntityAttribute_returnsEmptySet_whenBitmaskIsNull() {
+        // when
+        Set<Permission> actual = underTest.convertToEntityAttribute(null);
+
+        // then
+        assertThat(actual).isEmpty();
+    }
+}
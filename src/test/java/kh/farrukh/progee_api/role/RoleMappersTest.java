@@ -5,6 +5,8 @@ import kh.farrukh.progee_api.role.payloads.RoleResponseDTO;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
@@ -35,7 +37,7 @@ class RoleMappersTest {
         assertThat(actual.getId()).isEqualTo(1L);
         assertThat(actual.getTitle()).isEqualTo(role.getTitle());
         assertThat(actual.isDefault()).isEqualTo(role.isDefault());
-        assertThat(actual.getPermissions()).isEqualTo(role.getPermissions());
+        assertThat(actual.getPermissions()).isEqualTo(List.copyOf(role.getPermissions()));
     }
 
     @Test
@@ -65,7 +67,7 @@ class RoleMappersTest {
         assertThat(actual.getId()).isEqualTo(1L);
         assertThat(actual.getTitle()).isEqualTo(roleResponseDTO.getTitle());
         assertThat(actual.isDefault()).isEqualTo(roleResponseDTO.isDefault());
-        assertThat(actual.getPermissions()).isEqualTo(roleResponseDTO.getPermissions());
+        assertThat(actual.getPermissions()).isEqualTo(Set.copyOf(roleResponseDTO.getPermissions()));
     }
 
     @Test
@@ -94,6 +96,6 @@ class RoleMappersTest {
         assertThat(actual).isNotNull();
         assertThat(actual.getTitle()).isEqualTo(roleRequestDTO.getTitle());
         assertThat(actual.isDefault()).isEqualTo(roleRequestDTO.isDefault());
-        assertThat(actual.getPermissions()).isEqualTo(roleRequestDTO.getPermissions());
+        assertThat(actual.getPermissions()).isEqualTo(Set.copyOf(roleRequestDTO.getPermissions()));
     }
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package kh.farrukh.progee_api.role;
 
 import kh.farrukh.progee_api.app_user.AppUser;
 import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.global.cache.CatalogCache;
+import kh.farrukh.progee_api.global.cache.RoleAuthorityCache;
+import kh.farrukh.progee_api.global.change_tracking.ChangeTracker;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DefaultRoleDeletionException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.DuplicateResourceException;
 import kh.farrukh.progee_api.global.exceptions.custom_exceptions.ResourceNotFoundException;
@@ -20,6 +23,7 @@ import org.springframework.data.domain.Pageable;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -34,6 +38,15 @@ class RoleServiceImplTest {
     @Mock
     private RoleRepository roleRepository;
 
+    @Mock
+    private CatalogCache catalogCache;
+
+    @Mock
+    private RoleAuthorityCache roleAuthorityCache;
+
+    @Mock
+    private ChangeTracker changeTracker;
+
     @InjectMocks
     private RoleServiceImpl underTest;
 
@@ -77,7 +90,7 @@ class RoleServiceImplTest {
 
         Role actual = roleArgumentCaptor.getValue();
         assertThat(actual.getTitle()).isEqualTo(roleRequestDTO.getTitle());
-        assertThat(actual.getPermissions()).isEqualTo(roleRequestDTO.getPermissions());
+        assertThat(actual.getPermissions()).isEqualTo(Set.copyOf(roleRequestDTO.getPermissions()));
         assertThat(actual.isDefault()).isEqualTo(roleRequestDTO.isDefault());
     }
 
@@ -100,8 +113,9 @@ class RoleServiceImplTest {
 
         Role actual = roleArgumentCaptor.getValue();
         assertThat(actual.getTitle()).isEqualTo(roleRequestDTO.getTitle());
-        assertThat(actual.getPermissions()).isEqualTo(roleRequestDTO.getPermissions());
+        assertThat(actual.getPermissions()).isEqualTo(Set.copyOf(roleRequestDTO.getPermissions()));
         assertThat(actual.isDefault()).isEqualTo(roleRequestDTO.isDefault());
+        verify(roleAuthorityCache).invalidate(id);
     }
 
     @Test
@@ -151,6 +165,7 @@ class RoleServiceImplTest {
 
         // then
         verify(roleRepository).deleteById(id);
+        verify(roleAuthorityCache).invalidate(id);
     }
 
     @Test
@@ -0,0 +1,131 @@
+package kh.farrukh.progee_api.search;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kh.farrukh.progee_api.app_user.AppUser;
+import kh.farrukh.progee_api.app_user.AppUserRepository;
+import kh.farrukh.progee_api.framework.Framework;
+import kh.farrukh.progee_api.framework.FrameworkRepository;
+import kh.farrukh.progee_api.global.resource_state.ResourceState;
+import kh.farrukh.progee_api.image.Image;
+import kh.farrukh.progee_api.image.ImageRepository;
+import kh.farrukh.progee_api.language.Language;
+import kh.farrukh.progee_api.language.LanguageRepository;
+import kh.farrukh.progee_api.search.payloads.SearchHitDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static kh.farrukh.progee_api.search.SearchConstants.ENDPOINT_SEARCH;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SearchControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LanguageRepository languageRepository;
+
+    @Autowired
+    private FrameworkRepository frameworkRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @AfterEach
+    void tearDown() {
+        frameworkRepository.deleteAll();
+        languageRepository.deleteAll();
+        appUserRepository.deleteAll();
+        imageRepository.deleteAll();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void search_findsApprovedLanguagesAndFrameworksAndUsers_sortedBySimilarity() throws Exception {
+        // given
+        Image existingImage = imageRepository.save(new Image("java.png", "https://images/java.png", 1f));
+        Language java = new Language("Java", ResourceState.APPROVED);
+        java.setImage(existingImage);
+        java = languageRepository.save(java);
+        languageRepository.save(new Language("JavaScript", ResourceState.APPROVED));
+        languageRepository.save(new Language("Javanese", ResourceState.WAITING));
+        frameworkRepository.save(new Framework("Javalin", ResourceState.APPROVED, java));
+        frameworkRepository.save(new Framework("Javarun", ResourceState.DECLINED, java));
+        AppUser existingUser = appUserRepository.save(new AppUser("Duke", "java_duke"));
+
+        // when
+        List<SearchHitDTO> actual = search("JAVA");
+
+        // then
+        assertThat(actual).extracting(SearchHitDTO::getName).containsExactly("Java", "Javalin", "JavaScript", "Duke");
+        assertThat(actual.get(0).getType()).isEqualTo(SearchHitType.LANGUAGE);
+        assertThat(actual.get(0).getImageUrl()).isEqualTo(existingImage.getUrl());
+        assertThat(actual.get(0).getScore()).isGreaterThan(actual.get(1).getScore());
+        assertThat(actual.get(1).getType()).isEqualTo(SearchHitType.FRAMEWORK);
+        assertThat(actual.get(3).getType()).isEqualTo(SearchHitType.USER);
+        assertThat(actual.get(3).getId()).isEqualTo(existingUser.getId());
+        assertThat(actual.get(3).getUsername()).isEqualTo("java_duke");
+    }
+
+    @Test
+    @WithAnonymousUser
+    void search_matchesWildcardsOfQueryAsText() throws Exception {
+        // given
+        appUserRepository.save(new AppUser("Duke", "java_duke"));
+        appUserRepository.save(new AppUser("Anna", "javaxduke"));
+
+        // when
+        List<SearchHitDTO> actual = search("a_d");
+
+        // then
+        assertThat(actual).extracting(SearchHitDTO::getName).containsExactly("Duke");
+    }
+
+    @Test
+    @WithAnonymousUser
+    void search_returnsEmptyList_whenQueryIsBlank() throws Exception {
+        // given
+        languageRepository.save(new Language("Java", ResourceState.APPROVED));
+
+        // when
+        // then
+        assertThat(search(" ")).isEmpty();
+    }
+
+    @Test
+    @WithAnonymousUser
+    void search_returnsBadRequest_whenLimitIsNotValid() throws Exception {
+        mvc.perform(get(ENDPOINT_SEARCH).param("q", "java").param("limit", "100"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    private List<SearchHitDTO> search(String query) throws Exception {
+        MvcResult result = mvc.perform(get(ENDPOINT_SEARCH).param("q", query))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {
+        });
+    }
+}